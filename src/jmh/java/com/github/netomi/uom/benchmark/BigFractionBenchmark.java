@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.function.UnitConverters;
+import com.github.netomi.uom.math.BigFraction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures arithmetic on {@link BigFraction} instances with small values,
+ * as they are typically used by unit converters.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BigFractionBenchmark {
+
+    private BigFraction   milli;
+    private BigFraction   surveyFoot;
+    private UnitConverter surveyFootConverter;
+
+    @Setup
+    public void setup() {
+        milli               = BigFraction.of(1, 1000);
+        surveyFoot          = BigFraction.of(1200, 3937);
+        surveyFootConverter = UnitConverters.multiply(1200, 3937);
+    }
+
+    @Benchmark
+    public BigFraction add() {
+        return milli.add(surveyFoot);
+    }
+
+    @Benchmark
+    public BigFraction multiply() {
+        return milli.multiply(surveyFoot);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return milli.compareTo(surveyFoot);
+    }
+
+    @Benchmark
+    public UnitConverter compose() {
+        return surveyFootConverter.andThen(UnitConverters.multiply(1, 1000));
+    }
+
+    @Benchmark
+    public UnitConverter pow() {
+        return UnitConverters.pow(surveyFootConverter, 3);
+    }
+}
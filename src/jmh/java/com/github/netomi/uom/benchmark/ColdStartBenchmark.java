@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.quantity.Length;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to create the first {@link Length} quantity in a fresh JVM,
+ * which includes the complete initialization of the library.
+ * <p>
+ * Each fork measures exactly one invocation, thus the number of forks
+ * determines the number of samples.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ColdStartBenchmark {
+
+    @Benchmark
+    public Length firstLength() {
+        return Length.ofMeter(1);
+    }
+}
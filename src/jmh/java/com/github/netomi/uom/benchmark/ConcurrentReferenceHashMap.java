@@ -26,7 +26,7 @@
  * Expert Group and released to the public domain, as explained at
  * http://creativecommons.org/licenses/publicdomain
  */
-package com.github.netomi.uom.util;
+package com.github.netomi.uom.benchmark;
 
 // Note: this class has been extracted from the hibernate validator library.
 
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.quantity.kinematic.Speed;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lazily derived state of units, i.e. system units and
+ * converters, when accessed concurrently from multiple threads.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ConcurrentUnitBenchmark {
+
+    private Unit<Speed>  kilometrePerHour;
+    private Length       distance;
+    private Unit<Length> millimetre;
+
+    @Setup
+    public void setup() {
+        kilometrePerHour = SI.METRE.withPrefix(Prefixes.Metric.KILO).divide(NonSI.HOUR).forQuantity(Speed.class);
+        distance         = Quantities.create(1.5, SI.METRE.withPrefix(Prefixes.Metric.KILO));
+        millimetre       = SI.METRE.withPrefix(Prefixes.Metric.MILLI);
+    }
+
+    @Benchmark
+    public Unit<Speed> systemUnit() {
+        return kilometrePerHour.getSystemUnit();
+    }
+
+    @Benchmark
+    public boolean isSystemUnit() {
+        return kilometrePerHour.isSystemUnit();
+    }
+
+    @Benchmark
+    public UnitConverter converter() {
+        return kilometrePerHour.getConverterTo(SI.METER_PER_SECOND);
+    }
+
+    @Benchmark
+    public Length quantityConversion() {
+        return distance.to(millimetre);
+    }
+}
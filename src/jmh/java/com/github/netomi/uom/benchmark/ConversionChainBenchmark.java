@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.impl.DecimalQuantity;
+import com.github.netomi.uom.quantity.impl.FractionQuantity;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a chain of linear conversions (inch -> foot -> mile -> metre)
+ * using quantities with decimal precision and exact rational values.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionChainBenchmark {
+
+    @Param({"decimal", "fraction"})
+    public String implementation;
+
+    private Length length;
+
+    @Setup
+    public void setup() {
+        BigDecimal value = new BigDecimal("12345.678");
+
+        length = "decimal".equals(implementation) ?
+                DecimalQuantity.factory(Length.class).create(value, Intl.INCH) :
+                FractionQuantity.factory(Length.class).create(value, Intl.INCH);
+    }
+
+    @Benchmark
+    public BigDecimal conversionChain() {
+        return length.to(Intl.FOOT)
+                     .to(Intl.MILE)
+                     .to(SI.METRE)
+                     .decimalValue();
+    }
+
+    @Benchmark
+    public BigDecimal roundTrip() {
+        return length.to(Intl.FOOT)
+                     .to(Intl.MILE)
+                     .to(SI.METRE)
+                     .to(Intl.MILE)
+                     .to(Intl.FOOT)
+                     .to(Intl.INCH)
+                     .decimalValue();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.unit.ConversionTable;
+import com.github.netomi.uom.unit.systems.Intl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting values between units identified by an index using
+ * {@link Unit#getConverterToAny(Unit)} with a precomputed {@link ConversionTable}.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionTableBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    private ConversionTable table;
+    private Unit<?>[]       units;
+    private int[]           unitCodes;
+    private int             targetCode;
+    private double[]        values;
+    private double[]        result;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+
+        table = Intl.INSTANCE.getConversionTable();
+        units = table.getUnits().toArray(new Unit<?>[0]);
+
+        int[] lengthUnits = { table.indexOf(Intl.INCH), table.indexOf(Intl.FOOT),
+                              table.indexOf(Intl.YARD), table.indexOf(Intl.MILE) };
+
+        targetCode = table.indexOf(Intl.FOOT);
+        unitCodes  = new int[size];
+        values     = new double[size];
+        result     = new double[size];
+        for (int i = 0; i < size; i++) {
+            unitCodes[i] = lengthUnits[random.nextInt(lengthUnits.length)];
+            values[i]    = random.nextDouble() * 100;
+        }
+    }
+
+    @Benchmark
+    public double[] converter() {
+        Unit<?> target = units[targetCode];
+        for (int i = 0; i < size; i++) {
+            result[i] = units[unitCodes[i]].getConverterToAny(target).convert(values[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] table() {
+        for (int i = 0; i < size; i++) {
+            result[i] = table.convert(unitCodes[i], targetCode, values[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] tableBulk() {
+        table.convert(unitCodes, targetCode, values, result);
+        return result;
+    }
+}
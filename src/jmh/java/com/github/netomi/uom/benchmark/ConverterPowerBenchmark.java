@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.function.UnitConverters;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of powered and rooted linear converters and the
+ * conversion of values in units with rational exponents, e.g. {@code cm^(1/2)}.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterPowerBenchmark {
+
+    private UnitConverter centi;
+    private UnitConverter rootConverter;
+
+    private double     value;
+    private BigDecimal decimalValue;
+
+    @Setup
+    public void setup() {
+        centi = UnitConverters.multiply(1, 100);
+
+        // cm^(1/2), the converter to the system unit m^(1/2) has an exact root.
+        Unit<?> rootCentimetre = SI.METRE.withPrefix(Prefixes.Metric.CENTI).root(2);
+        rootConverter = rootCentimetre.getSystemConverter();
+
+        value        = 12345.678;
+        decimalValue = new BigDecimal("12345.678");
+    }
+
+    @Benchmark
+    public UnitConverter pow() {
+        return UnitConverters.pow(centi, 6);
+    }
+
+    @Benchmark
+    public UnitConverter root() {
+        return UnitConverters.root(UnitConverters.pow(centi, 4), 2);
+    }
+
+    @Benchmark
+    public double convertRootUnit() {
+        return rootConverter.convert(value);
+    }
+
+    @Benchmark
+    public BigDecimal convertRootUnitDecimal() {
+        return rootConverter.convert(decimalValue);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.math.DecimalArithmetic;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the adaptive evaluation of decimal arithmetic with plain
+ * {@link BigDecimal} arithmetic for operands with few digits.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecimalArithmeticBenchmark {
+
+    @Param({"true", "false"})
+    public boolean adaptive;
+
+    @Param({"7", "12", "15"})
+    public int precision;
+
+    private MathContext mc;
+
+    private BigDecimal a;
+    private BigDecimal b;
+
+    private UnitConverter footToMetre;
+    private UnitConverter metreToFoot;
+
+    @Setup
+    public void setup() {
+        DecimalArithmetic.setAdaptive(adaptive);
+
+        mc = new MathContext(precision);
+
+        a = new BigDecimal("1234.567");
+        b = new BigDecimal("3.75");
+
+        footToMetre = Intl.FOOT.getConverterTo(SI.METRE);
+        metreToFoot = SI.METRE.getConverterTo(Intl.FOOT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        DecimalArithmetic.setAdaptive(Boolean.getBoolean(DecimalArithmetic.PROPERTY));
+    }
+
+    @Benchmark
+    public BigDecimal multiply() {
+        return DecimalArithmetic.multiply(a, b, mc);
+    }
+
+    @Benchmark
+    public BigDecimal divide() {
+        return DecimalArithmetic.divide(a, b, mc);
+    }
+
+    @Benchmark
+    public BigDecimal convertExactScale() {
+        return footToMetre.convert(a, mc);
+    }
+
+    @Benchmark
+    public BigDecimal convertRoundedScale() {
+        return metreToFoot.convert(a, mc);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.function.UnitConverters;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversions of decimal values with converters whose
+ * scale needs to be computed for a specific {@link MathContext}.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecimalConversionBenchmark {
+
+    @Param({"DECIMAL64", "DECIMAL128"})
+    public String context;
+
+    private MathContext   mc;
+    private BigDecimal    value;
+    private UnitConverter joulesToKilowattHours;
+    private UnitConverter rootConverter;
+
+    @Setup
+    public void setup() {
+        mc    = "DECIMAL64".equals(context) ? MathContext.DECIMAL64 : MathContext.DECIMAL128;
+        value = new BigDecimal("123456.789");
+
+        joulesToKilowattHours = UnitConverters.multiply(1, 3_600_000);
+        rootConverter         = UnitConverters.root(UnitConverters.multiply(1, 3), 2);
+    }
+
+    @Benchmark
+    public BigDecimal multiply() {
+        return joulesToKilowattHours.convert(value, mc);
+    }
+
+    @Benchmark
+    public BigDecimal root() {
+        return rootConverter.convert(value, mc);
+    }
+}
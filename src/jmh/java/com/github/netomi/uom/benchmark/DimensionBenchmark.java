@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.Dimension;
+import com.github.netomi.uom.unit.Dimensions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the algebra of physical {@link Dimension} instances, as it is
+ * performed for every unit multiplication or compatibility check.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DimensionBenchmark {
+
+    private Dimension velocity;
+    private Dimension time;
+    private Dimension force;
+    private Dimension area;
+
+    @Setup
+    public void setup() {
+        velocity = Dimensions.LENGTH.divide(Dimensions.TIME);
+        time     = Dimensions.TIME;
+        force    = Dimensions.MASS.multiply(velocity).divide(time);
+        area     = Dimensions.LENGTH.pow(2);
+    }
+
+    @Benchmark
+    public Dimension multiply() {
+        return velocity.multiply(time);
+    }
+
+    @Benchmark
+    public Dimension divide() {
+        return force.divide(velocity);
+    }
+
+    @Benchmark
+    public Dimension pow() {
+        return velocity.pow(2);
+    }
+
+    @Benchmark
+    public Dimension root() {
+        return area.root(2);
+    }
+
+    @Benchmark
+    public boolean equalsCheck() {
+        return force.equals(velocity.multiply(Dimensions.MASS).divide(time));
+    }
+}
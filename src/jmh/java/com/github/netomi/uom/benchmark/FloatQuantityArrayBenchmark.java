@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.quantity.FloatQuantityArray;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.QuantityArray;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bulk conversion of values stored with double precision in a
+ * {@link QuantityArray} and with single precision in a {@link FloatQuantityArray},
+ * which requires half the memory.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FloatQuantityArrayBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private QuantityArray<Length>      doubleArray;
+    private FloatQuantityArray<Length> floatArray;
+
+    @Setup
+    public void setup() {
+        Random   random = new Random(0);
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextDouble() * 1000;
+        }
+
+        doubleArray = QuantityArray.of(SI.METRE, values);
+        floatArray  = FloatQuantityArray.of(doubleArray);
+    }
+
+    @Benchmark
+    public QuantityArray<Length> convertDouble() {
+        return doubleArray.to(Intl.FOOT);
+    }
+
+    @Benchmark
+    public FloatQuantityArray<Length> convertFloat() {
+        return floatArray.to(Intl.FOOT);
+    }
+
+    @Benchmark
+    public QuantityArray<Length> convertDoubleExactScale() {
+        return doubleArray.to(SI.METRE.withPrefix(Prefixes.Metric.MILLI));
+    }
+
+    @Benchmark
+    public FloatQuantityArray<Length> convertFloatExactScale() {
+        return floatArray.to(SI.METRE.withPrefix(Prefixes.Metric.MILLI));
+    }
+}
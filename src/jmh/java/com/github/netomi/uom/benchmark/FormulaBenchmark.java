@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.quantity.*;
+import com.github.netomi.uom.quantity.kinematic.Acceleration;
+import com.github.netomi.uom.quantity.mechanical.Force;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares multiplying quantities element by element with evaluating
+ * a {@link Formula} over columns of values.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormulaBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private List<Mass>         massList;
+    private List<Acceleration> accelerationList;
+
+    private QuantityArray<Mass>         masses;
+    private QuantityArray<Acceleration> accelerations;
+
+    private Formula.Evaluator<Mass, Acceleration, Force> force;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+
+        double[] first  = new double[size];
+        double[] second = new double[size];
+        for (int i = 0; i < size; i++) {
+            first[i]  = random.nextDouble() * 100;
+            second[i] = random.nextDouble() * 10;
+        }
+
+        masses        = QuantityArray.of(Intl.POUND, first);
+        accelerations = QuantityArray.of(SI.METER_PER_SECOND_SQUARED, second);
+
+        // only materialize the quantities for the small batch.
+        massList         = new ArrayList<>();
+        accelerationList = new ArrayList<>();
+        for (int i = 0; i < Math.min(size, 10000); i++) {
+            massList.add(masses.get(i));
+            accelerationList.add(accelerations.get(i));
+        }
+
+        force = Formula.of(Mass.class, Acceleration.class).multiply().as(Force.class);
+    }
+
+    @Benchmark
+    public List<Force> quantities() {
+        List<Force> result = new ArrayList<>(massList.size());
+        for (int i = 0; i < massList.size(); i++) {
+            result.add(massList.get(i).multiply(accelerationList.get(i), Force.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public QuantityArray<Force> formula() {
+        return force.evaluate(masses, accelerations);
+    }
+
+    @Benchmark
+    public QuantityArray<Force> parallelFormula() {
+        return force.parallelEvaluate(masses, accelerations);
+    }
+}
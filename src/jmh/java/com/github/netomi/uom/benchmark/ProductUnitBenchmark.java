@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of product units, e.g. when multiplying or
+ * dividing quantities with non-system units.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductUnitBenchmark {
+
+    private Unit<?> kilometre;
+    private Unit<?> kilometrePerHour;
+
+    @Setup
+    public void setup() {
+        kilometre        = SI.METRE.withPrefix(Prefixes.Metric.KILO);
+        kilometrePerHour = kilometre.divide(NonSI.HOUR);
+    }
+
+    @Benchmark
+    public Unit<?> multiply() {
+        return kilometre.multiply(Intl.POUND);
+    }
+
+    @Benchmark
+    public Unit<?> divide() {
+        return kilometre.divide(NonSI.HOUR);
+    }
+
+    @Benchmark
+    public Unit<?> divideProduct() {
+        return kilometrePerHour.divide(NonSI.HOUR);
+    }
+
+    @Benchmark
+    public Unit<?> pow() {
+        return kilometre.pow(3);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.impl.DecimalQuantity;
+import com.github.netomi.uom.quantity.impl.DoubleDoubleQuantity;
+import com.github.netomi.uom.quantity.impl.DoubleQuantity;
+import com.github.netomi.uom.quantity.impl.LongQuantity;
+import com.github.netomi.uom.quantity.mechanical.Area;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the arithmetic of the double, decimal, double-double and
+ * fixed-point quantity implementations.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuantityArithmeticBenchmark {
+
+    @Param({"double", "decimal", "doubledouble", "long"})
+    public String implementation;
+
+    private Length a;
+    private Length b;
+
+    @Setup
+    public void setup() {
+        BigDecimal valueA = new BigDecimal("1234.567");
+        BigDecimal valueB = new BigDecimal("0.125");
+
+        switch (implementation) {
+            case "double":
+                a = DoubleQuantity.factory(Length.class).create(valueA.doubleValue(), SI.METRE);
+                b = DoubleQuantity.factory(Length.class).create(valueB.doubleValue(), SI.METRE);
+                break;
+
+            case "decimal":
+                a = DecimalQuantity.factory(MathContext.DECIMAL64, Length.class).create(valueA, SI.METRE);
+                b = DecimalQuantity.factory(MathContext.DECIMAL64, Length.class).create(valueB, SI.METRE);
+                break;
+
+            case "doubledouble":
+                a = DoubleDoubleQuantity.factory(Length.class).create(valueA, SI.METRE);
+                b = DoubleDoubleQuantity.factory(Length.class).create(valueB, SI.METRE);
+                break;
+
+            case "long":
+                a = LongQuantity.factory(3, Length.class).create(valueA, SI.METRE);
+                b = LongQuantity.factory(3, Length.class).create(valueB, SI.METRE);
+                break;
+
+            default:
+                throw new IllegalArgumentException("unknown implementation " + implementation);
+        }
+    }
+
+    @Benchmark
+    public Length add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public Quantity<?> multiply() {
+        return a.multiply(b);
+    }
+
+    @Benchmark
+    public Area multiplyAsArea() {
+        return a.multiply(b, Area.class);
+    }
+
+    @Benchmark
+    public Length convert() {
+        return a.to(SI.METRE.withPrefix(Prefixes.Metric.MILLI));
+    }
+}
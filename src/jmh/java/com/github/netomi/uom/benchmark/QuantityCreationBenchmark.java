@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.quantity.UnitHandle;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating quantities using {@link Quantities#create(double, Unit, Class)}
+ * with a pre-validated {@link UnitHandle}.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuantityCreationBenchmark {
+
+    private Unit<Length>       unit;
+    private UnitHandle<Length> handle;
+    private double             value;
+
+    @Setup
+    public void setup() {
+        unit   = SI.METRE.withPrefix(Prefixes.Metric.KILO);
+        handle = Quantities.handle(unit, Length.class);
+        value  = 1.5;
+    }
+
+    @Benchmark
+    public Length create() {
+        return Quantities.create(value, unit, Length.class);
+    }
+
+    @Benchmark
+    public Length handle() {
+        return handle.create(value);
+    }
+}
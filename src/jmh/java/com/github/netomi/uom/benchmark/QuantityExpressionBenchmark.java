@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.quantity.*;
+import com.github.netomi.uom.quantity.kinematic.Acceleration;
+import com.github.netomi.uom.quantity.mechanical.Power;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluating a formula by chaining quantity operations with
+ * a compiled {@link QuantityExpression}.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuantityExpressionBenchmark {
+
+    private Mass         mass;
+    private Acceleration acceleration;
+    private Length       distance;
+    private Time         time;
+
+    private QuantityExpression.Compiled<Power> compiled;
+
+    @Setup
+    public void setup() {
+        mass         = Quantities.create(2, Intl.POUND);
+        acceleration = Quantities.create(9.81, SI.METER_PER_SECOND_SQUARED);
+        distance     = Quantities.create(3, SI.METRE.withPrefix(Prefixes.Metric.KILO));
+        time         = Quantities.create(0.5, NonSI.HOUR);
+
+        compiled = QuantityExpression.of(mass).multiply(acceleration).multiply(distance).divide(time).compile(Power.class);
+    }
+
+    @Benchmark
+    public Power chained() {
+        return mass.multiply(acceleration).multiply(distance).divide(time, Power.class);
+    }
+
+    @Benchmark
+    public Power expression() {
+        return QuantityExpression.of(mass).multiply(acceleration).multiply(distance).divide(time).evaluate(Power.class);
+    }
+
+    @Benchmark
+    public Power compiled() {
+        return compiled.evaluate(mass, acceleration, distance, time);
+    }
+
+    @Benchmark
+    public double compiledValues() {
+        return compiled.evaluateAsDouble(2, 9.81, 3, 0.5);
+    }
+}
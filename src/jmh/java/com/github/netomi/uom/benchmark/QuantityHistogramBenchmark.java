@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.quantity.QuantityHistogram;
+import com.github.netomi.uom.quantity.Time;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures recording quantities into a {@link QuantityHistogram} compared
+ * to converting each quantity to the base unit explicitly.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuantityHistogramBenchmark {
+
+    private static final Unit<Time> MILLISECOND = SI.SECOND.withPrefix(Prefixes.Metric.MILLI);
+    private static final Unit<Time> MICROSECOND = SI.SECOND.withPrefix(Prefixes.Metric.MICRO);
+
+    private QuantityHistogram<Time> histogram;
+    private Time[]                  latencies;
+    private int                     index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+
+        histogram = QuantityHistogram.of(MILLISECOND, 0.001, 3_600_000, 3);
+        latencies = new Time[1024];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = i % 2 == 0 ?
+                    Quantities.create(random.nextDouble() * 1000, MILLISECOND) :
+                    Quantities.create(random.nextDouble() * 1_000_000, MICROSECOND);
+        }
+    }
+
+    private Time next() {
+        return latencies[index++ & (latencies.length - 1)];
+    }
+
+    @Benchmark
+    public double convert() {
+        return next().to(MILLISECOND).doubleValue();
+    }
+
+    @Benchmark
+    public void record() {
+        histogram.record(next());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.quantity.QuantityComparators;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.SI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares different ways to sort quantities expressed in different units.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuantitySortBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    private List<Length> lengths;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+
+        List<Unit<Length>> units = Arrays.asList(SI.METRE.withPrefix(Prefixes.Metric.MILLI), Intl.INCH, Intl.FOOT);
+
+        lengths = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lengths.add(Quantities.create(random.nextDouble() * 1000, units.get(random.nextInt(units.size()))));
+        }
+    }
+
+    @Benchmark
+    public List<Length> compareTo() {
+        List<Length> result = new ArrayList<>(lengths);
+        result.sort(Comparator.naturalOrder());
+        return result;
+    }
+
+    @Benchmark
+    public List<Length> bySystemValue() {
+        List<Length> result = new ArrayList<>(lengths);
+        result.sort(QuantityComparators.bySystemValue());
+        return result;
+    }
+
+    @Benchmark
+    public List<Length> sortKeys() {
+        return Quantities.sortKeys(lengths);
+    }
+
+    @Benchmark
+    public List<Length> parallelSortKeys() {
+        return Quantities.parallelSortKeys(lengths);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.benchmark;
+
+import com.github.netomi.uom.util.ReferenceCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the {@link ReferenceCache} used for the internal caches with the
+ * {@link ConcurrentReferenceHashMap} it replaced, when accessed concurrently.
+ *
+ * @author Thomas Neidhart
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ReferenceCacheBenchmark {
+
+    private static final int KEYS = 1024;
+
+    @Param({"referenceCache", "concurrentReferenceHashMap"})
+    public String implementation;
+
+    private Integer[]                  keys;
+    private Function<Integer, Integer> getter;
+    private Function<Integer, Integer> computer;
+
+    @Setup
+    public void setup() {
+        keys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = i * 31;
+        }
+
+        switch (implementation) {
+            case "referenceCache":
+                ReferenceCache<Integer, Integer> cache =
+                        ReferenceCache.of(ReferenceCache.Strength.WEAK, ReferenceCache.Strength.SOFT);
+
+                getter   = cache::get;
+                computer = key -> cache.computeIfAbsent(key, k -> k + 1);
+                break;
+
+            case "concurrentReferenceHashMap":
+                Map<Integer, Integer> map =
+                        new ConcurrentReferenceHashMap<>(10,
+                                                         ConcurrentReferenceHashMap.ReferenceType.WEAK,
+                                                         ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+                getter   = map::get;
+                computer = key -> map.computeIfAbsent(key, k -> k + 1);
+                break;
+
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+
+        for (Integer key : keys) {
+            computer.apply(key);
+        }
+    }
+
+    @Benchmark
+    public Integer get() {
+        return getter.apply(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    public Integer computeIfAbsent() {
+        return computer.apply(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares the system unit of a {@link Quantity} type by its symbol.
+ * <p>
+ * Quantity types annotated with this annotation can be resolved without
+ * the need to create a proxy instance to call their {@link Quantity#getSystemUnit()}
+ * method. The declared unit must match the unit returned by that method.
+ * <p>
+ * The symbol refers to a unit of the unit definition files, the
+ * special symbol {@value #ONE} denotes the dimensionless unit.
+ *
+ * @author Thomas Neidhart
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SystemUnit {
+
+    /** The symbol to denote the dimensionless unit {@code Units.ONE}. */
+    String ONE = "1";
+
+    /**
+     * Returns the symbol of the system unit.
+     */
+    String value();
+}
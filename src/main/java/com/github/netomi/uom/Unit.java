@@ -20,14 +20,15 @@ import com.github.netomi.uom.math.Fraction;
 import com.github.netomi.uom.quantity.Quantities;
 import com.github.netomi.uom.unit.UnitElement;
 import com.github.netomi.uom.unit.Units;
-import com.github.netomi.uom.util.ConcurrentReferenceHashMap;
 import com.github.netomi.uom.util.Preconditions;
+import com.github.netomi.uom.util.ReferenceCache;
 
 import java.math.BigDecimal;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
-import static com.github.netomi.uom.util.ConcurrentReferenceHashMap.ReferenceType;
+import static com.github.netomi.uom.util.ReferenceCache.Strength;
 
 /**
  * Represents a unit of measurement to express the magnitude of a quantity.
@@ -40,11 +41,23 @@ import static com.github.netomi.uom.util.ConcurrentReferenceHashMap.ReferenceTyp
  */
 public abstract class Unit<Q extends Quantity<Q>> {
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Unit, ReferenceCache> CONVERTER_CACHE_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(Unit.class, ReferenceCache.class, "converterCache");
+
     /**
      * A lazy initialized cache for {@link UnitConverter}s.
      * It uses WEAK references for its keys, and SOFT references for its values.
      */
-    private volatile Map<Unit<Q>, UnitConverter> converterCache;
+    private volatile ReferenceCache<Unit<Q>, UnitConverter> converterCache;
+
+    // marker for units without an associated quantity type.
+    private static final Class<?> NO_QUANTITY_TYPE = Void.class;
+
+    /**
+     * The lazily resolved quantity type of this unit, see {@link #getQuantityType()}.
+     */
+    private volatile Class<?> cachedQuantityType;
 
     /**
      * Returns the symbol associated with this unit.
@@ -110,26 +123,47 @@ public abstract class Unit<Q extends Quantity<Q>> {
 
     public abstract Unit<Q> getSystemUnit();
 
+    /**
+     * Returns the builtin quantity type associated with the system unit of this unit,
+     * or {@code null} if there is none.
+     * <p>
+     * The quantity type is resolved once and cached for this unit instance.
+     *
+     * @see Quantities#getQuantityType(Unit)
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Quantity<?>> Class<T> getQuantityType() {
+        // racy single-check: all threads will resolve the same quantity type.
+        Class<?> quantityType = cachedQuantityType;
+        if (quantityType == null) {
+            quantityType = Quantities.Type.quantityTypeOf(getSystemUnit());
+            cachedQuantityType = quantityType = quantityType != null ? quantityType : NO_QUANTITY_TYPE;
+        }
+        return quantityType != NO_QUANTITY_TYPE ? (Class<T>) quantityType : null;
+    }
+
     public abstract UnitConverter getSystemConverter();
 
-    private Map<Unit<Q>, UnitConverter> getConverterCache() {
-        // Lazy initialize the converter cache using a double checked locking pattern.
-        // It is fine to use as we target JDK 8+.
-        if (converterCache == null) {
-            synchronized (this) {
-                if (converterCache == null) {
-                    // use WEAK references for the keys
-                    // and SOFT references for the values
-                    // rationale:
-                    //   * the entries can be removed as soon as the unit is not strongly referenced anymore.
-                    //   * unit converters are usually not strongly referenced, using also a WEAK reference would
-                    //     remove them too soon from the cache, use SOFT instead which only removed them if the
-                    //     VM needs memory.
-                    converterCache = new ConcurrentReferenceHashMap<>(10, ReferenceType.WEAK, ReferenceType.SOFT);
-                }
+    private ReferenceCache<Unit<Q>, UnitConverter> getConverterCache() {
+        // Lazy initialize the converter cache using a CAS operation instead of
+        // locking, as a synchronized block during the first initialization
+        // would pin a virtual thread to its carrier thread.
+        ReferenceCache<Unit<Q>, UnitConverter> cache = converterCache;
+        if (cache == null) {
+            // use WEAK references for the keys
+            // and SOFT references for the values
+            // rationale:
+            //   * the entries can be removed as soon as the unit is not strongly referenced anymore.
+            //   * unit converters are usually not strongly referenced, using also a WEAK reference would
+            //     remove them too soon from the cache, use SOFT instead which only removed them if the
+            //     VM needs memory.
+            cache = ReferenceCache.of(Strength.WEAK, Strength.SOFT);
+            if (!CONVERTER_CACHE_UPDATER.compareAndSet(this, null, cache)) {
+                // another thread was faster, use its cache.
+                cache = converterCache;
             }
         }
-        return converterCache;
+        return cache;
     }
 
     /**
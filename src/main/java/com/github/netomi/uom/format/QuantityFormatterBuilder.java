@@ -17,7 +17,11 @@ package com.github.netomi.uom.format;
 
 import com.github.netomi.uom.Quantity;
 import com.github.netomi.uom.quantity.impl.DecimalQuantity;
+import com.github.netomi.uom.quantity.impl.DoubleDoubleQuantity;
 import com.github.netomi.uom.quantity.impl.DoubleQuantity;
+import com.github.netomi.uom.quantity.impl.FloatQuantity;
+import com.github.netomi.uom.quantity.impl.FractionQuantity;
+import com.github.netomi.uom.quantity.impl.LongQuantity;
 
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
@@ -43,7 +47,11 @@ public final class QuantityFormatterBuilder {
         formatters.add((quantity, appendable) -> {
             if (quantity instanceof DoubleQuantity<?>) {
                 appendable.append(format.format(quantity.doubleValue()));
-            } else if (quantity instanceof DecimalQuantity<?>) {
+            } else if (quantity instanceof DecimalQuantity<?>      ||
+                       quantity instanceof DoubleDoubleQuantity<?> ||
+                       quantity instanceof FloatQuantity<?>        ||
+                       quantity instanceof LongQuantity<?>         ||
+                       quantity instanceof FractionQuantity<?>) {
                 appendable.append(format.format(quantity.decimalValue()));
             } else {
                 throw new UnsupportedOperationException("unsupported quantity class: " + quantity.getClass());
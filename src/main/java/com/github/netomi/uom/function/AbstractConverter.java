@@ -17,6 +17,7 @@ package com.github.netomi.uom.function;
 
 import com.github.netomi.uom.UnitConverter;
 import com.github.netomi.uom.math.BigFraction;
+import com.github.netomi.uom.math.DoubleDouble;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -29,6 +30,10 @@ import java.math.MathContext;
  */
 abstract class AbstractConverter implements UnitConverter {
 
+    // the scale as double-double value, computed on first use. Racing threads
+    // might compute it more than once, which is harmless as it is immutable.
+    private DoubleDouble scaleAsDoubleDouble;
+
     @Override
     public double scale() {
         if (!isLinear()) {
@@ -56,6 +61,18 @@ abstract class AbstractConverter implements UnitConverter {
         return convert(BigDecimal.ONE, mc);
     }
 
+    /**
+     * Returns the exact scale of this converter rounded once to double-double precision.
+     */
+    DoubleDouble scaleAsDoubleDouble() {
+        DoubleDouble scale = scaleAsDoubleDouble;
+        if (scale == null) {
+            scale = DoubleDouble.of(scaleAsFraction());
+            scaleAsDoubleDouble = scale;
+        }
+        return scale;
+    }
+
     @Override
     public BigDecimal convert(BigDecimal value) {
         return convert(value, MathContext.DECIMAL128);
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.function;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.function.Function;
+
+/**
+ * A small cache for {@link BigDecimal} values that depend on the {@link MathContext}
+ * in which they are computed, e.g. the scale of a converter.
+ * <p>
+ * Only the values for the most recently used contexts are retained, as usually
+ * only one or very few different contexts are used for conversions. Concurrent
+ * access might compute a value more than once, but never returns an inconsistent
+ * result.
+ *
+ * @author Thomas Neidhart
+ */
+final class DecimalCache {
+
+    private static final int MAX_ENTRIES = 4;
+
+    private final Function<MathContext, BigDecimal> function;
+
+    private volatile Entry[] entries = new Entry[0];
+
+    DecimalCache(Function<MathContext, BigDecimal> function) {
+        this.function = function;
+    }
+
+    /**
+     * Returns the value computed for the given {@link MathContext}.
+     */
+    BigDecimal get(MathContext mc) {
+        Entry[] currentEntries = entries;
+        for (Entry entry : currentEntries) {
+            if (entry.mc == mc || entry.mc.equals(mc)) {
+                return entry.value;
+            }
+        }
+
+        BigDecimal value = function.apply(mc);
+
+        // put the new entry in front and drop the least recently added one if needed.
+        int     length     = Math.min(currentEntries.length + 1, MAX_ENTRIES);
+        Entry[] newEntries = new Entry[length];
+        newEntries[0] = new Entry(mc, value);
+        System.arraycopy(currentEntries, 0, newEntries, 1, length - 1);
+        entries = newEntries;
+
+        return value;
+    }
+
+    private static final class Entry {
+        private final MathContext mc;
+        private final BigDecimal  value;
+
+        Entry(MathContext mc, BigDecimal value) {
+            this.mc    = mc;
+            this.value = value;
+        }
+    }
+}
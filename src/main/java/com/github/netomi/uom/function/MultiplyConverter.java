@@ -17,6 +17,7 @@ package com.github.netomi.uom.function;
 
 import com.github.netomi.uom.UnitConverter;
 import com.github.netomi.uom.math.BigFraction;
+import com.github.netomi.uom.math.DecimalArithmetic;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -31,9 +32,11 @@ import java.util.Objects;
 class MultiplyConverter extends AbstractConverter {
 
     // the multiplier represented as decimal fraction.
-    private final BigFraction multiplier;
+    private final BigFraction  multiplier;
     // the multiplier as double value, for caching reasons.
-    private final double      multiplierAsDouble;
+    private final double       multiplierAsDouble;
+    // the multiplier as decimal value for the recently used contexts.
+    private final DecimalCache multiplierAsDecimal;
 
     public MultiplyConverter(double value) {
         this(BigFraction.from(value));
@@ -48,8 +51,9 @@ class MultiplyConverter extends AbstractConverter {
             throw new IllegalArgumentException("Multiplier must be different from 0.");
         }
 
-        this.multiplier         = multiplier;
-        this.multiplierAsDouble = multiplier.doubleValue();
+        this.multiplier          = multiplier;
+        this.multiplierAsDouble  = multiplier.doubleValue();
+        this.multiplierAsDecimal = new DecimalCache(multiplier::bigDecimalValue);
     }
 
     /**
@@ -76,7 +80,7 @@ class MultiplyConverter extends AbstractConverter {
 
     @Override
     public BigDecimal scale(MathContext mc) {
-        return multiplier.bigDecimalValue(mc);
+        return multiplierAsDecimal.get(mc);
     }
 
     @Override
@@ -111,7 +115,7 @@ class MultiplyConverter extends AbstractConverter {
 
     @Override
     public BigDecimal convert(BigDecimal value, MathContext mc) {
-        return value.multiply(multiplier.bigDecimalValue(mc), mc);
+        return DecimalArithmetic.multiply(value, multiplierAsDecimal.get(mc), mc);
     }
 
     @Override
@@ -16,6 +16,7 @@
 package com.github.netomi.uom.function;
 
 import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.math.DecimalArithmetic;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -35,6 +36,10 @@ class PowConverter extends AbstractConverter {
     private final UnitConverter unitConverter;
     private final int           exponent;
 
+    // the scale of a linear converter raised to the exponent,
+    // cached per MathContext.
+    private final DecimalCache  multiplier;
+
     PowConverter(UnitConverter unitConverter, int exponent) {
         if (exponent < 0) {
             throw new IllegalArgumentException("Exponent must be non-negative.");
@@ -42,6 +47,9 @@ class PowConverter extends AbstractConverter {
 
         this.unitConverter = unitConverter;
         this.exponent      = exponent;
+        this.multiplier    = unitConverter.isLinear() ?
+                new DecimalCache(mc -> unitConverter.scale(mc).pow(exponent, mc)) :
+                null;
     }
 
     public UnitConverter getUnitConverter() {
@@ -71,8 +79,20 @@ class PowConverter extends AbstractConverter {
         return result;
     }
 
+    @Override
+    public BigDecimal scale(MathContext mc) {
+        if (multiplier == null) {
+            return super.scale(mc);
+        }
+        return multiplier.get(mc);
+    }
+
     @Override
     public BigDecimal convert(BigDecimal value, MathContext context) {
+        if (multiplier != null) {
+            return DecimalArithmetic.multiply(value, multiplier.get(context), context);
+        }
+
         BigDecimal result = value;
         for (int i = 0; i < exponent; i++) {
             result = unitConverter.convert(result, context);
@@ -17,6 +17,7 @@ package com.github.netomi.uom.function;
 
 import com.github.netomi.uom.UnitConverter;
 import com.github.netomi.uom.math.ArithmeticUtils;
+import com.github.netomi.uom.math.DecimalArithmetic;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -37,6 +38,7 @@ class RootConverter extends AbstractConverter {
     private final UnitConverter unitConverter;
     private final int           n;
     private final double        multiplierRooted;
+    private final DecimalCache  multiplierRootedAsDecimal;
 
     RootConverter(UnitConverter unitConverter, int n) {
         if (n <= 0) {
@@ -53,13 +55,15 @@ class RootConverter extends AbstractConverter {
 
         // get the scale from the delegate converter and calculate
         // its root as double for caching reasons.
-        // do not cache the BigDecimal value as the MathContext
+        // the BigDecimal value is cached per MathContext as it
         // is not known in advance.
         double scale = unitConverter.scale();
 
         multiplierRooted = n == 2 ?
                 Math.sqrt(scale) :
                 Math.pow(scale, 1. / n);
+
+        multiplierRootedAsDecimal = new DecimalCache(mc -> ArithmeticUtils.root(n, unitConverter.scale(mc), mc));
     }
 
     public UnitConverter getUnitConverter() {
@@ -85,11 +89,14 @@ class RootConverter extends AbstractConverter {
         return value * multiplierRooted;
     }
 
+    @Override
+    public BigDecimal scale(MathContext mc) {
+        return multiplierRootedAsDecimal.get(mc);
+    }
+
     @Override
     public BigDecimal convert(BigDecimal value, MathContext context) {
-        BigDecimal multiplier = unitConverter.scale(context);
-        multiplier = ArithmeticUtils.root(n, multiplier, context);
-        return value.multiply(multiplier, context);
+        return DecimalArithmetic.multiply(value, multiplierRootedAsDecimal.get(context), context);
     }
 
     @Override
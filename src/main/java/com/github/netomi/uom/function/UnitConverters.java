@@ -18,11 +18,13 @@ package com.github.netomi.uom.function;
 import com.github.netomi.uom.UnitConverter;
 import com.github.netomi.uom.math.ArithmeticUtils;
 import com.github.netomi.uom.math.BigFraction;
+import com.github.netomi.uom.math.DoubleDouble;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
 import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Utility class to access various unit converter implementations.
@@ -178,6 +180,9 @@ public final class UnitConverters {
             return converter;
         } else if (exponent == 0) {
             return identity();
+        } else if (converter instanceof MultiplyConverter) {
+            // fold the power into a single multiplier in closed form.
+            return multiply(((MultiplyConverter) converter).getMultiplier().pow(exponent));
         } else if (converter.isLinear()) {
             // unroll the power operation for linear converters to be able
             // to reduce the unit converters.
@@ -209,6 +214,8 @@ public final class UnitConverters {
      * <ul>
      *   <li>if an identity converter is provided, return the converter as is
      *   <li>if an exponent of 1 is provided, return the converter as is
+     *   <li>if the scale of a multiply converter has an exact rational root,
+     *       return a multiply converter with the root as multiplier
      * </ul>
      *
      * @param converter  the converter to use for the power operation.
@@ -217,9 +224,77 @@ public final class UnitConverters {
      * @throws IllegalArgumentException if n is negative.
      */
     public static UnitConverter root(UnitConverter converter, int n) {
-        return converter.isIdentity() ? converter :
-               n == 1                 ? converter :
-                                        new RootConverter(converter, n);
+        if (converter.isIdentity() || n == 1) {
+            return converter;
+        } else if (n > 0 && converter instanceof MultiplyConverter) {
+            BigFraction root = exactRoot(((MultiplyConverter) converter).getMultiplier(), n);
+            if (root != null) {
+                return multiply(root);
+            }
+        }
+
+        return new RootConverter(converter, n);
+    }
+
+    /**
+     * Returns the exact nth root of the given fraction if both its numerator
+     * and denominator are perfect nth powers, or {@code null} otherwise.
+     */
+    private static BigFraction exactRoot(BigFraction fraction, int n) {
+        if (fraction.signum() <= 0) {
+            return null;
+        }
+
+        BigInteger numerator = ArithmeticUtils.exactRoot(fraction.getNumerator(), n);
+        if (numerator == null) {
+            return null;
+        }
+
+        BigInteger denominator = ArithmeticUtils.exactRoot(fraction.getDenominator(), n);
+        return denominator != null ? BigFraction.of(numerator, denominator) : null;
+    }
+
+    /**
+     * Returns a {@link DoubleUnaryOperator} that applies the given converter
+     * to primitive {@code double} values.
+     * <p>
+     * Identity converters are compiled to {@link DoubleUnaryOperator#identity()} and
+     * linear converters to a multiplication with their scale, avoiding the dispatch
+     * through possibly nested converters for each value.
+     *
+     * @param converter the converter to compile.
+     * @return a {@link DoubleUnaryOperator} equivalent to {@link UnitConverter#convert(double)}.
+     */
+    public static DoubleUnaryOperator asOperator(UnitConverter converter) {
+        if (converter.isIdentity()) {
+            return DoubleUnaryOperator.identity();
+        } else if (converter.isLinear()) {
+            double scale = converter.scale();
+            return value -> value * scale;
+        } else {
+            return converter::convert;
+        }
+    }
+
+    /**
+     * Returns the exact scale of the given linear converter rounded once to
+     * double-double precision.
+     * <p>
+     * The scale is computed only once per converter instance, subsequent
+     * calls for the same converter return the same value.
+     *
+     * @param converter the linear converter.
+     * @return the scale of the converter as {@link DoubleDouble}.
+     * @throws UnsupportedOperationException if the converter is not linear.
+     */
+    public static DoubleDouble scaleAsDoubleDouble(UnitConverter converter) {
+        if (converter.isIdentity()) {
+            return DoubleDouble.ONE;
+        } else if (converter instanceof AbstractConverter) {
+            return ((AbstractConverter) converter).scaleAsDoubleDouble();
+        } else {
+            return DoubleDouble.of(converter.scaleAsFraction());
+        }
     }
 
     /**
@@ -332,6 +407,16 @@ public final class UnitConverters {
             return new ComposeConverter(after.inverse(), before.inverse());
         }
 
+        @Override
+        public BigFraction scaleAsFraction() {
+            if (!isLinear()) {
+                throw new UnsupportedOperationException("scale() is only supported for linear converters.");
+            }
+
+            // combine the scales of both converters to avoid any rounding.
+            return before.scaleAsFraction().multiply(after.scaleAsFraction());
+        }
+
         @Override
         public UnitConverter compose(UnitConverter that) {
             return UnitConverters.compose(before.compose(that), after);
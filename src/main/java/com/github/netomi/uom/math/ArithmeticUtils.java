@@ -341,6 +341,74 @@ public final class ArithmeticUtils {
         return result;
     }
 
+    /**
+     * Returns the integer nth root of the provided {@code k}, i.e. the largest
+     * value {@code r} such that {@code r<sup>n</sup> <= k}.
+     *
+     * @param k the non-negative number to compute the root for.
+     * @param n the requested integral root.
+     * @return the integer nth root of {@code k}, rounded towards zero.
+     * @throws ArithmeticException if {@code k} is less than zero or {@code n} is not positive.
+     */
+    public static BigInteger rootFloor(BigInteger k, int n) {
+        Objects.requireNonNull(k);
+
+        if (k.signum() < 0) {
+            throw new ArithmeticException("Attempted root of negative BigInteger: " + k);
+        }
+
+        if (n <= 0) {
+            throw new ArithmeticException("Attempted negative power for root: " + n);
+        }
+
+        if (n == 1 || k.compareTo(BigInteger.ONE) <= 0) {
+            return k;
+        }
+
+        // values representable as double: start from the floating point
+        // estimate and correct it as it might be off by one.
+        if (k.bitLength() <= 52) {
+            long value = k.longValue();
+            long root  = (long) Math.pow(value, 1. / n);
+            while (root > 0 && BigInteger.valueOf(root).pow(n).compareTo(k) > 0) {
+                root--;
+            }
+            while (BigInteger.valueOf(root + 1).pow(n).compareTo(k) <= 0) {
+                root++;
+            }
+            return BigInteger.valueOf(root);
+        }
+
+        // start with a power of 2 that is guaranteed to be larger or equal
+        // to the root, newton iterations are decreasing from there on.
+        final BigInteger nInteger = BigInteger.valueOf(n);
+        final BigInteger nMinus1  = BigInteger.valueOf(n - 1);
+
+        BigInteger s = BigInteger.ONE.shiftLeft((k.bitLength() + n - 1) / n);
+        for (;;) {
+            // t = ((n - 1) * s + k / s^(n-1)) / n
+            BigInteger t = s.multiply(nMinus1).add(k.divide(s.pow(n - 1))).divide(nInteger);
+            if (t.compareTo(s) >= 0) {
+                return s;
+            }
+            s = t;
+        }
+    }
+
+    /**
+     * Returns the exact nth root of the provided {@code k} if {@code k} is
+     * a perfect nth power, or {@code null} otherwise.
+     *
+     * @param k the non-negative number to compute the root for.
+     * @param n the requested integral root.
+     * @return the exact integer nth root of {@code k}, or {@code null} if it does not exist.
+     * @throws ArithmeticException if {@code k} is less than zero or {@code n} is not positive.
+     */
+    public static BigInteger exactRoot(BigInteger k, int n) {
+        BigInteger root = rootFloor(k, n);
+        return root.pow(n).equals(k) ? root : null;
+    }
+
     /**
      * Returns an approximation to the nth root of the provided {@code bigDecimal}
      * with rounding according to the context settings.
@@ -29,6 +29,13 @@ import java.math.RoundingMode;
 /**
  * Representation of a rational number without any overflow. This class is
  * immutable.
+ * <p>
+ * Fractions whose numerator and denominator fit into a {@code long} are stored
+ * as primitive values and most operations on them are performed with overflow
+ * checked {@code long} arithmetic. Only if an overflow occurs, the operation
+ * is repeated with {@link BigInteger} values. The representation is canonical,
+ * i.e. a fraction is stored with {@link BigInteger} values only if its reduced
+ * numerator or denominator do not fit into a {@code long}.
  */
 public final class BigFraction
     extends    Number
@@ -41,22 +48,64 @@ public final class BigFraction
     public static final BigFraction ONE = of(1);
 
     /** Serializable version identifier. */
-    private static final long serialVersionUID = 20190701L;
+    private static final long serialVersionUID = 20201020L;
 
-    /** The numerator of this fraction reduced to lowest terms. */
+    /** The largest absolute value of a numerator or denominator that is exactly representable as double. */
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    /** The largest absolute value of a numerator or denominator that is exactly representable as float. */
+    private static final long MAX_EXACT_FLOAT = 1L << 24;
+
+    /**
+     * The numerator of this fraction reduced to lowest terms, or {@code null}
+     * if the fraction is represented by {@link #num} and {@link #den}.
+     */
     private final BigInteger numerator;
 
-    /** The denominator of this fraction reduced to lowest terms. */
+    /**
+     * The denominator of this fraction reduced to lowest terms, or {@code null}
+     * if the fraction is represented by {@link #num} and {@link #den}.
+     */
     private final BigInteger denominator;
 
+    /** The numerator of this fraction reduced to lowest terms, never {@code Long.MIN_VALUE}. */
+    private final long num;
+
+    /** The denominator of this fraction reduced to lowest terms, never {@code Long.MIN_VALUE}. */
+    private final long den;
+
     /**
      * Private constructor: Instances are created using factory methods.
      *
-     * @param num Numerator, must not be {@code null}.
-     * @param den Denominator, must not be {@code null}.
-     * @throws ArithmeticException if the denominator is zero.
+     * @param num Numerator, already reduced, must not be {@code Long.MIN_VALUE}.
+     * @param den Denominator, already reduced, must not be {@code Long.MIN_VALUE}.
+     */
+    private BigFraction(long num, long den) {
+        this.num         = num;
+        this.den         = den;
+        this.numerator   = null;
+        this.denominator = null;
+    }
+
+    /**
+     * Private constructor: Instances are created using factory methods.
+     *
+     * @param num Numerator, already reduced, must not fit into a long.
+     * @param den Denominator, already reduced, must not fit into a long.
      */
     private BigFraction(BigInteger num, BigInteger den) {
+        this.num         = 0;
+        this.den         = 0;
+        this.numerator   = num;
+        this.denominator = den;
+    }
+
+    /**
+     * Creates a fraction from the given values, reducing them to lowest terms.
+     *
+     * @throws ArithmeticException if the denominator is zero.
+     */
+    private static BigFraction create(BigInteger num, BigInteger den) {
         if (den.signum() == 0) {
             throw new FractionException(FractionException.ERROR_ZERO_DENOMINATOR);
         }
@@ -68,9 +117,63 @@ public final class BigFraction
             den = den.divide(gcd);
         }
 
-        // store the values in the final fields
-        numerator = num;
-        denominator = den;
+        return ofReduced(num, den);
+    }
+
+    /**
+     * Creates a fraction from the given values, reducing them to lowest terms.
+     *
+     * @throws ArithmeticException if the denominator is zero.
+     */
+    private static BigFraction create(long num, long den) {
+        if (den == 0) {
+            throw new FractionException(FractionException.ERROR_ZERO_DENOMINATOR);
+        }
+
+        if (num == Long.MIN_VALUE || den == Long.MIN_VALUE) {
+            return create(BigInteger.valueOf(num), BigInteger.valueOf(den));
+        }
+
+        final long gcd = ArithmeticUtils.gcd(num, den);
+        return gcd > 1 ?
+            new BigFraction(num / gcd, den / gcd) :
+            new BigFraction(num, den);
+    }
+
+    /**
+     * Returns a fraction in its canonical representation for the given values
+     * which are already reduced to lowest terms.
+     */
+    private static BigFraction ofReduced(long num, long den) {
+        return num == Long.MIN_VALUE || den == Long.MIN_VALUE ?
+            new BigFraction(BigInteger.valueOf(num), BigInteger.valueOf(den)) :
+            new BigFraction(num, den);
+    }
+
+    /**
+     * Returns a fraction in its canonical representation for the given values
+     * which are already reduced to lowest terms.
+     */
+    private static BigFraction ofReduced(BigInteger num, BigInteger den) {
+        return fitsLong(num) && fitsLong(den) ?
+            new BigFraction(num.longValue(), den.longValue()) :
+            new BigFraction(num, den);
+    }
+
+    /**
+     * Returns whether the given value can be represented by a long
+     * other than {@code Long.MIN_VALUE}.
+     */
+    private static boolean fitsLong(BigInteger value) {
+        return value.bitLength() < Long.SIZE &&
+               value.longValue() != Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns whether this fraction is represented by {@code long} values.
+     */
+    private boolean isSmall() {
+        return numerator == null;
     }
 
     /**
@@ -116,8 +219,7 @@ public final class BigFraction
         // check for (almost) integer arguments, which should not go
         // to iterations.
         if (Math.abs(a0 - value) < epsilon) {
-            return new BigFraction(BigInteger.valueOf(a0),
-                                   BigInteger.ONE);
+            return of(a0);
         }
 
         long p0 = 1;
@@ -167,10 +269,8 @@ public final class BigFraction
         }
 
         return q2 < maxDenominator ?
-            new BigFraction(BigInteger.valueOf(p2),
-                            BigInteger.valueOf(q2)) :
-            new BigFraction(BigInteger.valueOf(p1),
-                            BigInteger.valueOf(q1));
+            create(p2, q2) :
+            create(p1, q1);
     }
 
     /**
@@ -181,7 +281,7 @@ public final class BigFraction
      * @return a new instance.
      */
     public static BigFraction of(final BigInteger num) {
-        return new BigFraction(num, BigInteger.ONE);
+        return ofReduced(num, BigInteger.ONE);
     }
 
     /**
@@ -194,7 +294,7 @@ public final class BigFraction
      * @return a new instance.
      */
     public static BigFraction of(BigInteger num, BigInteger den) {
-        return new BigFraction(num, den);
+        return create(num, den);
     }
 
     /**
@@ -271,11 +371,12 @@ public final class BigFraction
             ++k;
         }
 
+        // the mantissa m is odd (or zero), thus the fraction is already reduced.
         return k < 0 ?
-            new BigFraction(BigInteger.valueOf(m),
-                            BigInteger.ZERO.flipBit(-k)) :
-            new BigFraction(BigInteger.valueOf(m).multiply(BigInteger.ZERO.flipBit(k)),
-                            BigInteger.ONE);
+            ofReduced(BigInteger.valueOf(m),
+                      BigInteger.ZERO.flipBit(-k)) :
+            ofReduced(BigInteger.valueOf(m).multiply(BigInteger.ZERO.flipBit(k)),
+                      BigInteger.ONE);
     }
 
     /**
@@ -331,7 +432,7 @@ public final class BigFraction
      * @return a new instance.
      */
     public static BigFraction of(final int num) {
-        return new BigFraction(BigInteger.valueOf(num), BigInteger.ONE);
+        return new BigFraction(num, 1L);
     }
 
     /**
@@ -344,7 +445,7 @@ public final class BigFraction
      * @throws ArithmeticException if {@code den} is zero.
      */
     public static BigFraction of(final int num, final int den) {
-        return new BigFraction(BigInteger.valueOf(num), BigInteger.valueOf(den));
+        return create(num, den);
     }
 
     /**
@@ -354,7 +455,7 @@ public final class BigFraction
      * @return a new instance.
      */
     public static BigFraction of(final long num) {
-        return new BigFraction(BigInteger.valueOf(num), BigInteger.ONE);
+        return ofReduced(num, 1L);
     }
 
     /**
@@ -367,7 +468,7 @@ public final class BigFraction
      * @throws ArithmeticException if {@code den} is zero.
      */
     public static BigFraction of(final long num, final long den) {
-        return new BigFraction(BigInteger.valueOf(num), BigInteger.valueOf(den));
+        return create(num, den);
     }
 
     /**
@@ -389,14 +490,15 @@ public final class BigFraction
      * @return a <code>BigFraction</code> instance with the resulting values.
      */
     public BigFraction add(final BigInteger bg) {
-        if (numerator.signum() == 0) {
+        if (signum() == 0) {
             return of(bg);
         }
         if (bg.signum() == 0) {
             return this;
         }
 
-        return new BigFraction(numerator.add(denominator.multiply(bg)), denominator);
+        final BigInteger denominator = getDenominator();
+        return create(getNumerator().add(denominator.multiply(bg)), denominator);
     }
 
     /**
@@ -407,7 +509,7 @@ public final class BigFraction
      * @return a <code>BigFraction</code> instance with the resulting values.
      */
     public BigFraction add(final int i) {
-        return add(BigInteger.valueOf(i));
+        return add(of(i));
     }
 
     /**
@@ -418,7 +520,7 @@ public final class BigFraction
      * @return a <code>BigFraction</code> instance with the resulting values.
      */
     public BigFraction add(final long l) {
-        return add(BigInteger.valueOf(l));
+        return add(of(l));
     }
 
     /**
@@ -429,30 +531,51 @@ public final class BigFraction
      * @return a {@link BigFraction} instance with the resulting values.
      */
     public BigFraction add(final BigFraction fraction) {
-        if (fraction.numerator.signum() == 0) {
+        if (fraction.signum() == 0) {
             return this;
         }
-        if (numerator.signum() == 0) {
+        if (signum() == 0) {
             return fraction;
         }
 
+        if (isSmall() && fraction.isSmall()) {
+            try {
+                final long n;
+                final long d;
+
+                if (den == fraction.den) {
+                    n = Math.addExact(num, fraction.num);
+                    d = den;
+                } else {
+                    n = Math.addExact(Math.multiplyExact(num, fraction.den), Math.multiplyExact(fraction.num, den));
+                    d = Math.multiplyExact(den, fraction.den);
+                }
+
+                return n == 0 ? ZERO : create(n, d);
+            } catch (ArithmeticException ex) {
+                // overflow, fall back to BigInteger arithmetic.
+            }
+        }
+
+        final BigInteger numerator   = getNumerator();
+        final BigInteger denominator = getDenominator();
+
         final BigInteger num;
         final BigInteger den;
 
-        if (denominator.equals(fraction.denominator)) {
-            num = numerator.add(fraction.numerator);
+        if (denominator.equals(fraction.getDenominator())) {
+            num = numerator.add(fraction.getNumerator());
             den = denominator;
         } else {
-            num = (numerator.multiply(fraction.denominator)).add((fraction.numerator).multiply(denominator));
-            den = denominator.multiply(fraction.denominator);
+            num = (numerator.multiply(fraction.getDenominator())).add((fraction.getNumerator()).multiply(denominator));
+            den = denominator.multiply(fraction.getDenominator());
         }
 
         if (num.signum() == 0) {
             return ZERO;
         }
 
-        return new BigFraction(num, den);
-
+        return create(num, den);
     }
 
     /**
@@ -464,7 +587,7 @@ public final class BigFraction
      * @see BigDecimal
      */
     public BigDecimal bigDecimalValue() {
-        return new BigDecimal(numerator).divide(new BigDecimal(denominator));
+        return numeratorAsDecimal().divide(denominatorAsDecimal());
     }
 
     /**
@@ -477,7 +600,7 @@ public final class BigFraction
      * @see BigDecimal
      */
     public BigDecimal bigDecimalValue(RoundingMode roundingMode) {
-        return new BigDecimal(numerator).divide(new BigDecimal(denominator), roundingMode);
+        return numeratorAsDecimal().divide(denominatorAsDecimal(), roundingMode);
     }
 
     /**
@@ -494,7 +617,7 @@ public final class BigFraction
      * @see BigDecimal
      */
     public BigDecimal bigDecimalValue(final int scale, RoundingMode roundingMode) {
-        return new BigDecimal(numerator).divide(new BigDecimal(denominator), scale, roundingMode);
+        return numeratorAsDecimal().divide(denominatorAsDecimal(), scale, roundingMode);
     }
 
     /**
@@ -509,7 +632,15 @@ public final class BigFraction
      * @see BigDecimal
      */
     public BigDecimal bigDecimalValue(MathContext context) {
-        return new BigDecimal(numerator).divide(new BigDecimal(denominator), context);
+        return numeratorAsDecimal().divide(denominatorAsDecimal(), context);
+    }
+
+    private BigDecimal numeratorAsDecimal() {
+        return isSmall() ? BigDecimal.valueOf(num) : new BigDecimal(numerator);
+    }
+
+    private BigDecimal denominatorAsDecimal() {
+        return isSmall() ? BigDecimal.valueOf(den) : new BigDecimal(denominator);
     }
 
     /**
@@ -533,9 +664,23 @@ public final class BigFraction
             return 0;
         }
 
-        final BigInteger nOd = numerator.multiply(other.denominator);
-        final BigInteger dOn = denominator.multiply(other.numerator);
-        return nOd.compareTo(dOn);
+        // the cross products need to be compared in reverse order
+        // if exactly one of the denominators is negative.
+        if (isSmall() && other.isSmall()) {
+            try {
+                final long nOd = Math.multiplyExact(num, other.den);
+                final long dOn = Math.multiplyExact(den, other.num);
+                final int  cmp = Long.compare(nOd, dOn);
+                return (den < 0) == (other.den < 0) ? cmp : -cmp;
+            } catch (ArithmeticException ex) {
+                // overflow, fall back to BigInteger arithmetic.
+            }
+        }
+
+        final BigInteger nOd = getNumerator().multiply(other.getDenominator());
+        final BigInteger dOn = getDenominator().multiply(other.getNumerator());
+        final int        cmp = nOd.compareTo(dOn);
+        return getDenominator().signum() == other.getDenominator().signum() ? cmp : -cmp;
     }
 
     /**
@@ -550,10 +695,10 @@ public final class BigFraction
         if (bg.signum() == 0) {
             throw new FractionException(FractionException.ERROR_ZERO_DENOMINATOR);
         }
-        if (numerator.signum() == 0) {
+        if (signum() == 0) {
             return ZERO;
         }
-        return new BigFraction(numerator, denominator.multiply(bg));
+        return create(getNumerator(), getDenominator().multiply(bg));
     }
 
     /**
@@ -565,7 +710,7 @@ public final class BigFraction
      * @throws ArithmeticException if the value to divide by is zero
      */
     public BigFraction divide(final int i) {
-        return divide(BigInteger.valueOf(i));
+        return divide(of(i));
     }
 
     /**
@@ -577,7 +722,7 @@ public final class BigFraction
      * @throws ArithmeticException if the value to divide by is zero
      */
     public BigFraction divide(final long l) {
-        return divide(BigInteger.valueOf(l));
+        return divide(of(l));
     }
 
     /**
@@ -589,10 +734,10 @@ public final class BigFraction
      * @throws ArithmeticException if the fraction to divide by is zero
      */
     public BigFraction divide(final BigFraction fraction) {
-        if (fraction.numerator.signum() == 0) {
+        if (fraction.signum() == 0) {
             throw new FractionException(FractionException.ERROR_ZERO_DENOMINATOR);
         }
-        if (numerator.signum() == 0) {
+        if (signum() == 0) {
             return ZERO;
         }
 
@@ -628,13 +773,13 @@ public final class BigFraction
             throw new IllegalArgumentException("exponent length: " + exponentLength +
                                                "; significand length: " + significandLength);
         }
-        if (numerator.signum() == 0) {
+        if (signum() == 0) {
             return 0L;
         }
 
-        final long sign = (numerator.signum() * denominator.signum()) == -1 ? 1L : 0L;
-        final BigInteger positiveNumerator = numerator.abs();
-        final BigInteger positiveDenominator = denominator.abs();
+        final long sign = signum() == -1 ? 1L : 0L;
+        final BigInteger positiveNumerator = getNumerator().abs();
+        final BigInteger positiveDenominator = getDenominator().abs();
 
         /*
          * The most significant 1-bit of a non-zero number is not explicitly
@@ -770,6 +915,12 @@ public final class BigFraction
      */
     @Override
     public double doubleValue() {
+        if (isSmall() &&
+            Math.abs(num) <= MAX_EXACT_DOUBLE &&
+            Math.abs(den) <= MAX_EXACT_DOUBLE) {
+            // both values are exactly representable, thus the division is correctly rounded.
+            return (double) num / (double) den;
+        }
         return Double.longBitsToDouble(toFloatingPointBits(11, 52));
     }
 
@@ -821,11 +972,17 @@ public final class BigFraction
         } else if (other instanceof BigFraction) {
             final BigFraction rhs = (BigFraction) other;
 
-            if (signum() == rhs.signum()) {
+            if (signum() != rhs.signum() ||
+                isSmall() != rhs.isSmall()) {
+                // the representation is canonical, thus fractions with
+                // a different representation can not be equal.
+                return false;
+            } else if (isSmall()) {
+                return Math.abs(num) == Math.abs(rhs.num) &&
+                       Math.abs(den) == Math.abs(rhs.den);
+            } else {
                 return numerator.abs().equals(rhs.numerator.abs()) &&
                     denominator.abs().equals(rhs.denominator.abs());
-            } else {
-                return false;
             }
         }
 
@@ -841,6 +998,12 @@ public final class BigFraction
      */
     @Override
     public float floatValue() {
+        if (isSmall() &&
+            Math.abs(num) <= MAX_EXACT_FLOAT &&
+            Math.abs(den) <= MAX_EXACT_FLOAT) {
+            // both values are exactly representable, thus the division is correctly rounded.
+            return (float) num / (float) den;
+        }
         return Float.intBitsToFloat((int) toFloatingPointBits(8, 23));
     }
 
@@ -850,7 +1013,7 @@ public final class BigFraction
      * @return the denominator as a <code>BigInteger</code>.
      */
     public BigInteger getDenominator() {
-        return denominator;
+        return isSmall() ? BigInteger.valueOf(den) : denominator;
     }
 
     /**
@@ -859,7 +1022,7 @@ public final class BigFraction
      * @return the denominator as a {@code int}.
      */
     public int getDenominatorAsInt() {
-        return denominator.intValue();
+        return isSmall() ? (int) den : denominator.intValue();
     }
 
     /**
@@ -868,7 +1031,7 @@ public final class BigFraction
      * @return the denominator as a {@code long}.
      */
     public long getDenominatorAsLong() {
-        return denominator.longValue();
+        return isSmall() ? den : denominator.longValue();
     }
 
     /**
@@ -877,7 +1040,7 @@ public final class BigFraction
      * @return the numerator as a <code>BigInteger</code>.
      */
     public BigInteger getNumerator() {
-        return numerator;
+        return isSmall() ? BigInteger.valueOf(num) : numerator;
     }
 
     /**
@@ -886,7 +1049,7 @@ public final class BigFraction
      * @return the numerator as a {@code int}.
      */
     public int getNumeratorAsInt() {
-        return numerator.intValue();
+        return isSmall() ? (int) num : numerator.intValue();
     }
 
     /**
@@ -895,7 +1058,7 @@ public final class BigFraction
      * @return the numerator as a {@code long}.
      */
     public long getNumeratorAsLong() {
-        return numerator.longValue();
+        return isSmall() ? num : numerator.longValue();
     }
 
     /**
@@ -906,7 +1069,10 @@ public final class BigFraction
      */
     @Override
     public int hashCode() {
-        return 37 * (37 * 17 + numerator.hashCode()) + denominator.hashCode();
+        // consistent with equals, i.e. independent of the sign of numerator and denominator.
+        return isSmall() ?
+            37 * (37 * (37 * 17 + signum()) + Long.hashCode(Math.abs(num))) + Long.hashCode(Math.abs(den)) :
+            37 * (37 * (37 * 17 + signum()) + numerator.abs().hashCode()) + denominator.abs().hashCode();
     }
 
     /**
@@ -918,7 +1084,7 @@ public final class BigFraction
      */
     @Override
     public int intValue() {
-        return numerator.divide(denominator).intValue();
+        return isSmall() ? (int) (num / den) : numerator.divide(denominator).intValue();
     }
 
     /**
@@ -930,7 +1096,7 @@ public final class BigFraction
      */
     @Override
     public long longValue() {
-        return numerator.divide(denominator).longValue();
+        return isSmall() ? num / den : numerator.divide(denominator).longValue();
     }
 
     /**
@@ -941,10 +1107,10 @@ public final class BigFraction
      * @return a {@code BigFraction} instance with the resulting values.
      */
     public BigFraction multiply(final BigInteger bg) {
-        if (numerator.signum() == 0 || bg.signum() == 0) {
+        if (signum() == 0 || bg.signum() == 0) {
             return ZERO;
         }
-        return new BigFraction(bg.multiply(numerator), denominator);
+        return create(bg.multiply(getNumerator()), getDenominator());
     }
 
     /**
@@ -955,11 +1121,11 @@ public final class BigFraction
      * @return a {@link BigFraction} instance with the resulting values.
      */
     public BigFraction multiply(final int i) {
-        if (i == 0 || numerator.signum() == 0) {
+        if (i == 0 || signum() == 0) {
             return ZERO;
         }
 
-        return multiply(BigInteger.valueOf(i));
+        return multiply(of(i));
     }
 
     /**
@@ -970,11 +1136,11 @@ public final class BigFraction
      * @return a {@link BigFraction} instance with the resulting values.
      */
     public BigFraction multiply(final long l) {
-        if (l == 0 || numerator.signum() == 0) {
+        if (l == 0 || signum() == 0) {
             return ZERO;
         }
 
-        return multiply(BigInteger.valueOf(l));
+        return multiply(of(l));
     }
 
     /**
@@ -985,12 +1151,26 @@ public final class BigFraction
      * @return a {@link BigFraction} instance with the resulting values.
      */
     public BigFraction multiply(final BigFraction fraction) {
-        if (numerator.signum() == 0 ||
-            fraction.numerator.signum() == 0) {
+        if (signum() == 0 ||
+            fraction.signum() == 0) {
             return ZERO;
         }
-        return new BigFraction(numerator.multiply(fraction.numerator),
-                               denominator.multiply(fraction.denominator));
+
+        if (isSmall() && fraction.isSmall()) {
+            // reduce the operands crosswise, then the product
+            // is already reduced to lowest terms.
+            final long g1 = ArithmeticUtils.gcd(num, fraction.den);
+            final long g2 = ArithmeticUtils.gcd(fraction.num, den);
+            try {
+                return ofReduced(Math.multiplyExact(num / g1, fraction.num / g2),
+                                 Math.multiplyExact(den / g2, fraction.den / g1));
+            } catch (ArithmeticException ex) {
+                // overflow, fall back to BigInteger arithmetic.
+            }
+        }
+
+        return create(getNumerator().multiply(fraction.getNumerator()),
+                      getDenominator().multiply(fraction.getDenominator()));
     }
 
     /**
@@ -1000,6 +1180,10 @@ public final class BigFraction
      * positive, 0 if it is 0.
      */
     public int signum() {
+        if (isSmall()) {
+            return Long.signum(num) * Long.signum(den);
+        }
+
         final int numS = numerator.signum();
         final int denS = denominator.signum();
 
@@ -1019,7 +1203,9 @@ public final class BigFraction
      * @return the negation of this fraction.
      */
     public BigFraction negate() {
-        return new BigFraction(numerator.negate(), denominator);
+        return isSmall() ?
+            new BigFraction(-num, den) :
+            ofReduced(numerator.negate(), denominator);
     }
 
     /**
@@ -1033,14 +1219,25 @@ public final class BigFraction
         if (exponent == 0) {
             return ONE;
         }
-        if (numerator.signum() == 0) {
+        if (signum() == 0) {
             return this;
         }
 
+        // powers of co-prime values are co-prime, no need to reduce the result.
+        if (isSmall() && exponent != Integer.MIN_VALUE) {
+            try {
+                return exponent < 0 ?
+                    ofReduced(ArithmeticUtils.pow(den, -exponent), ArithmeticUtils.pow(num, -exponent)) :
+                    ofReduced(ArithmeticUtils.pow(num,  exponent), ArithmeticUtils.pow(den,  exponent));
+            } catch (ArithmeticException ex) {
+                // overflow, fall back to BigInteger arithmetic.
+            }
+        }
+
         if (exponent < 0) {
-            return new BigFraction(denominator.pow(-exponent), numerator.pow(-exponent));
+            return ofReduced(getDenominator().pow(-exponent), getNumerator().pow(-exponent));
         }
-        return new BigFraction(numerator.pow(exponent), denominator.pow(exponent));
+        return ofReduced(getNumerator().pow(exponent), getDenominator().pow(exponent));
     }
 
     /**
@@ -1054,16 +1251,20 @@ public final class BigFraction
         if (exponent == 0) {
             return ONE;
         }
-        if (numerator.signum() == 0) {
+        if (signum() == 0) {
             return this;
         }
 
+        if (exponent >= Integer.MIN_VALUE && exponent <= Integer.MAX_VALUE) {
+            return pow((int) exponent);
+        }
+
         if (exponent < 0) {
-            return new BigFraction(ArithmeticUtils.pow(denominator, -exponent),
-                                   ArithmeticUtils.pow(numerator,   -exponent));
+            return ofReduced(ArithmeticUtils.pow(getDenominator(), -exponent),
+                             ArithmeticUtils.pow(getNumerator(),   -exponent));
         }
-        return new BigFraction(ArithmeticUtils.pow(numerator,   exponent),
-                               ArithmeticUtils.pow(denominator, exponent));
+        return ofReduced(ArithmeticUtils.pow(getNumerator(),   exponent),
+                         ArithmeticUtils.pow(getDenominator(), exponent));
     }
 
     /**
@@ -1077,17 +1278,21 @@ public final class BigFraction
         if (exponent.signum() == 0) {
             return ONE;
         }
-        if (numerator.signum() == 0) {
+        if (signum() == 0) {
             return this;
         }
 
+        if (exponent.bitLength() < Integer.SIZE) {
+            return pow(exponent.intValue());
+        }
+
         if (exponent.signum() == -1) {
             final BigInteger eNeg = exponent.negate();
-            return new BigFraction(ArithmeticUtils.pow(denominator, eNeg),
-                                   ArithmeticUtils.pow(numerator,   eNeg));
+            return ofReduced(ArithmeticUtils.pow(getDenominator(), eNeg),
+                             ArithmeticUtils.pow(getNumerator(),   eNeg));
         }
-        return new BigFraction(ArithmeticUtils.pow(numerator,   exponent),
-                               ArithmeticUtils.pow(denominator, exponent));
+        return ofReduced(ArithmeticUtils.pow(getNumerator(),   exponent),
+                         ArithmeticUtils.pow(getDenominator(), exponent));
     }
 
     /**
@@ -1098,8 +1303,8 @@ public final class BigFraction
      * @return \(\mathit{this}^{\mathit{exponent}}\).
      */
     public double pow(final double exponent) {
-        return Math.pow(numerator.doubleValue(),   exponent) /
-               Math.pow(denominator.doubleValue(), exponent);
+        return Math.pow(getNumerator().doubleValue(),   exponent) /
+               Math.pow(getDenominator().doubleValue(), exponent);
     }
 
     /**
@@ -1108,7 +1313,12 @@ public final class BigFraction
      * @return the reciprocal fraction.
      */
     public BigFraction reciprocal() {
-        return new BigFraction(denominator, numerator);
+        if (signum() == 0) {
+            throw new FractionException(FractionException.ERROR_ZERO_DENOMINATOR);
+        }
+        return isSmall() ?
+            new BigFraction(den, num) :
+            ofReduced(denominator, numerator);
     }
 
     /**
@@ -1122,11 +1332,12 @@ public final class BigFraction
         if (bg.signum() == 0) {
             return this;
         }
-        if (numerator.signum() == 0) {
+        if (signum() == 0) {
             return of(bg.negate());
         }
 
-        return new BigFraction(numerator.subtract(denominator.multiply(bg)), denominator);
+        final BigInteger denominator = getDenominator();
+        return create(getNumerator().subtract(denominator.multiply(bg)), denominator);
     }
 
     /**
@@ -1137,7 +1348,7 @@ public final class BigFraction
      * @return a {@code BigFraction} instance with the resulting values.
      */
     public BigFraction subtract(final int i) {
-        return subtract(BigInteger.valueOf(i));
+        return subtract(of(i));
     }
 
     /**
@@ -1148,7 +1359,7 @@ public final class BigFraction
      * @return a {@code BigFraction} instance with the resulting values.
      */
     public BigFraction subtract(final long l) {
-        return subtract(BigInteger.valueOf(l));
+        return subtract(of(l));
     }
 
     /**
@@ -1159,23 +1370,39 @@ public final class BigFraction
      * @return a {@link BigFraction} instance with the resulting values
      */
     public BigFraction subtract(final BigFraction fraction) {
-        if (fraction.numerator.signum() == 0) {
+        if (fraction.signum() == 0) {
             return this;
         }
-        if (numerator.signum() == 0) {
+        if (signum() == 0) {
             return fraction.negate();
         }
 
+        if (isSmall() && fraction.isSmall()) {
+            try {
+                if (den == fraction.den) {
+                    return create(Math.subtractExact(num, fraction.num), den);
+                }
+                return create(Math.subtractExact(Math.multiplyExact(num, fraction.den),
+                                                 Math.multiplyExact(fraction.num, den)),
+                              Math.multiplyExact(den, fraction.den));
+            } catch (ArithmeticException ex) {
+                // overflow, fall back to BigInteger arithmetic.
+            }
+        }
+
+        final BigInteger numerator   = getNumerator();
+        final BigInteger denominator = getDenominator();
+
         final BigInteger num;
         final BigInteger den;
-        if (denominator.equals(fraction.denominator)) {
-            num = numerator.subtract(fraction.numerator);
+        if (denominator.equals(fraction.getDenominator())) {
+            num = numerator.subtract(fraction.getNumerator());
             den = denominator;
         } else {
-            num = (numerator.multiply(fraction.denominator)).subtract((fraction.numerator).multiply(denominator));
-            den = denominator.multiply(fraction.denominator);
+            num = (numerator.multiply(fraction.getDenominator())).subtract((fraction.getNumerator()).multiply(denominator));
+            den = denominator.multiply(fraction.getDenominator());
         }
-        return new BigFraction(num, den);
+        return create(num, den);
     }
 
     /**
@@ -1187,6 +1414,12 @@ public final class BigFraction
      */
     @Override
     public String toString() {
+        if (isSmall()) {
+            return den == 1 ? Long.toString(num) :
+                   num == 0 ? "0" :
+                              num + " / " + den;
+        }
+
         final String str;
         if (BigInteger.ONE.equals(denominator)) {
             str = numerator.toString();
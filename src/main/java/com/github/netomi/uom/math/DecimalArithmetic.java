@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.math;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive evaluation of {@link BigDecimal} multiplication and division with a
+ * {@link MathContext}.
+ * <p>
+ * For a precision of at most {@value #MAX_DOUBLE_DIGITS} digits and operands with few
+ * digits, the result is first computed in {@code double} precision together with a
+ * rigorous bound of its rounding error. The double result is only used if the exact
+ * result is provably far enough from the next rounding boundary, such that rounding
+ * it yields the same value and scale as the respective {@link BigDecimal} method.
+ * Otherwise, e.g. if the exact result has at most as many digits as the precision,
+ * the computation falls back to {@link BigDecimal} arithmetic.
+ * <p>
+ * The adaptive evaluation is disabled by default. It can be enabled by setting the
+ * system property {@value #PROPERTY} to {@code true} or at runtime via
+ * {@link #setAdaptive(boolean)}. While enabled, the number of operations evaluated
+ * in double precision and by {@link BigDecimal} is counted to assess the
+ * effectiveness of the fast path for a workload.
+ *
+ * @author Thomas Neidhart
+ */
+public final class DecimalArithmetic {
+
+    /** The system property to enable or disable the adaptive evaluation. */
+    public static final String PROPERTY = "uom.decimal.adaptive";
+
+    // the maximum precision of the result and of the operands for which the double path
+    // is used: unscaled values with up to 15 digits are converted exactly to double.
+    private static final int MAX_DOUBLE_DIGITS = 15;
+
+    // the maximum number of decimal digits that always fit into a long.
+    private static final int MAX_LONG_DIGITS = 18;
+
+    // the maximum absolute scale of the operands, such that their conversion to double
+    // is a single division or multiplication and the result stays in the normal range.
+    private static final int MAX_SCALE = 22;
+
+    // each operand, the operation and the scaling by a power of ten are rounded once,
+    // i.e. the relative error is below 4 * 2^-53. The bound leaves a margin of 2 for the
+    // roundings of the comparisons that use it.
+    private static final double DOUBLE_ERROR_BOUND = 0x1p-50;
+
+    private static final long[]   LONG_POWERS_OF_TEN   = new long[MAX_DOUBLE_DIGITS + 1];
+    // powers of ten up to 10^22 are exactly representable as double.
+    private static final double[] DOUBLE_POWERS_OF_TEN = new double[23];
+
+    static {
+        LONG_POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < LONG_POWERS_OF_TEN.length; i++) {
+            LONG_POWERS_OF_TEN[i] = LONG_POWERS_OF_TEN[i - 1] * 10;
+        }
+
+        DOUBLE_POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < DOUBLE_POWERS_OF_TEN.length; i++) {
+            DOUBLE_POWERS_OF_TEN[i] = DOUBLE_POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    private static volatile boolean adaptive = Boolean.getBoolean(PROPERTY);
+
+    private static final LongAdder doublePathCount = new LongAdder();
+    private static final LongAdder fallbackCount   = new LongAdder();
+
+    // hide constructor.
+    private DecimalArithmetic() {}
+
+    /**
+     * Returns whether the adaptive evaluation is enabled.
+     */
+    public static boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Enables or disables the adaptive evaluation, if disabled all operations
+     * are directly delegated to {@link BigDecimal}.
+     */
+    public static void setAdaptive(boolean enabled) {
+        adaptive = enabled;
+    }
+
+    /**
+     * Returns the number of operations that have been evaluated in {@code double} precision.
+     */
+    public static long getDoublePathCount() {
+        return doublePathCount.sum();
+    }
+
+    /**
+     * Returns the number of operations that had to be evaluated using {@link BigDecimal}
+     * arithmetic while the adaptive evaluation was enabled.
+     */
+    public static long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public static void resetCounters() {
+        doublePathCount.reset();
+        fallbackCount.reset();
+    }
+
+    /**
+     * Returns {@code multiplicand * multiplier}, equivalent to {@link BigDecimal#multiply(BigDecimal, MathContext)}.
+     */
+    public static BigDecimal multiply(BigDecimal multiplicand, BigDecimal multiplier, MathContext mc) {
+        if (adaptive) {
+            // if the exact product fits into a long, BigDecimal computes and rounds it
+            // with long arithmetic, which is faster than the double path.
+            if (isEligible(multiplicand, multiplier, mc) &&
+                multiplicand.precision() + multiplier.precision() > MAX_LONG_DIGITS) {
+                double product = multiplicand.doubleValue() * multiplier.doubleValue();
+
+                // the decimal exponent of the product is either the sum of the
+                // exponents of the operands, or one larger.
+                int exponent = exponent(multiplicand) + exponent(multiplier) + 1;
+
+                BigDecimal result = roundDouble(product, exponent, mc);
+                if (result != null) {
+                    doublePathCount.increment();
+                    return result;
+                }
+            }
+            fallbackCount.increment();
+        }
+        return multiplicand.multiply(multiplier, mc);
+    }
+
+    /**
+     * Returns {@code dividend / divisor}, equivalent to {@link BigDecimal#divide(BigDecimal, MathContext)}.
+     */
+    public static BigDecimal divide(BigDecimal dividend, BigDecimal divisor, MathContext mc) {
+        if (adaptive) {
+            if (isEligible(dividend, divisor, mc)) {
+                double quotient = dividend.doubleValue() / divisor.doubleValue();
+
+                // the decimal exponent of the quotient is either the difference
+                // of the exponents of the operands, or one smaller.
+                int exponent = exponent(dividend) - exponent(divisor);
+
+                BigDecimal result = roundDouble(quotient, exponent, mc);
+                if (result != null) {
+                    doublePathCount.increment();
+                    return result;
+                }
+            }
+            fallbackCount.increment();
+        }
+        return dividend.divide(divisor, mc);
+    }
+
+    /**
+     * Returns whether the operands are supported by the double path. Zero operands
+     * are excluded as BigDecimal applies special rules for the scale of the result,
+     * as is the rounding mode UNNECESSARY, which requires an exact result.
+     */
+    private static boolean isEligible(BigDecimal a, BigDecimal b, MathContext mc) {
+        int precision = mc.getPrecision();
+        return precision > 0 && precision <= MAX_DOUBLE_DIGITS           &&
+               mc.getRoundingMode() != RoundingMode.UNNECESSARY          &&
+               a.signum() != 0 && b.signum() != 0                        &&
+               a.precision() <= MAX_DOUBLE_DIGITS                        &&
+               b.precision() <= MAX_DOUBLE_DIGITS                        &&
+               Math.abs(a.scale()) <= MAX_SCALE                          &&
+               Math.abs(b.scale()) <= MAX_SCALE;
+    }
+
+    /**
+     * Returns the decimal exponent of the most significant digit of a non-zero value.
+     */
+    private static int exponent(BigDecimal value) {
+        return value.precision() - value.scale() - 1;
+    }
+
+    /**
+     * Rounds a non-zero value computed in double precision according to the given context.
+     * The decimal exponent of the exact result is expected to be either {@code maxExponent}
+     * or one smaller. Returns {@code null} if the correctly rounded result can not be
+     * determined from the double value.
+     */
+    private static BigDecimal roundDouble(double value, int maxExponent, MathContext mc) {
+        int    precision = mc.getPrecision();
+        double abs       = Math.abs(value);
+
+        // scale the value such that its integral part has exactly 'precision' digits.
+        int    k      = precision - 1 - maxExponent;
+        double scaled = scaleByPowerOfTen(abs, k);
+        if (scaled < LONG_POWERS_OF_TEN[precision - 1]) {
+            scaled = scaleByPowerOfTen(abs, ++k);
+        }
+
+        if (!(scaled >= LONG_POWERS_OF_TEN[precision - 1] && scaled < LONG_POWERS_OF_TEN[precision])) {
+            // the power of ten was out of range, or the value is too close to a power of ten.
+            return null;
+        }
+
+        // the exact result needs to be safely away from any integer and from any tie,
+        // otherwise the result might be exact or the rounding ambiguous. As the scaled
+        // value is smaller than 10^15, the floor and the fraction are computed exactly.
+        double error    = scaled * DOUBLE_ERROR_BOUND;
+        double floor    = Math.floor(scaled);
+        double fraction = scaled - floor;
+
+        if (fraction <= error || fraction >= 1.0 - error || Math.abs(fraction - 0.5) <= error) {
+            return null;
+        }
+
+        long quotient = (long) floor;
+        int  sign     = value < 0 ? -1 : 1;
+        int  scale    = k;
+
+        boolean increment;
+        switch (mc.getRoundingMode()) {
+            case UP:
+                increment = true;
+                break;
+
+            case DOWN:
+                increment = false;
+                break;
+
+            case CEILING:
+                increment = sign > 0;
+                break;
+
+            case FLOOR:
+                increment = sign < 0;
+                break;
+
+            default:
+                // ties are excluded above.
+                increment = fraction > 0.5;
+                break;
+        }
+
+        if (increment) {
+            quotient++;
+            if (quotient == LONG_POWERS_OF_TEN[precision]) {
+                quotient /= 10;
+                scale--;
+            }
+        }
+
+        return BigDecimal.valueOf(sign * quotient, scale);
+    }
+
+    /**
+     * Returns {@code value * 10^n} rounded once, or {@code NaN} if {@code 10^n}
+     * is not exactly representable as double.
+     */
+    private static double scaleByPowerOfTen(double value, int n) {
+        if (n >= 0) {
+            return n < DOUBLE_POWERS_OF_TEN.length ? value * DOUBLE_POWERS_OF_TEN[n] : Double.NaN;
+        } else {
+            return -n < DOUBLE_POWERS_OF_TEN.length ? value / DOUBLE_POWERS_OF_TEN[-n] : Double.NaN;
+        }
+    }
+}
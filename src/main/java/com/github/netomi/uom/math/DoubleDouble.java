@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.math;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * An immutable number represented as the unevaluated sum of two {@code double}
+ * values, providing about 32 significant decimal digits.
+ * <p>
+ * The high part is the {@code double} value closest to the number, the low part
+ * holds the remaining error, i.e. {@code |lo| <= ulp(hi) / 2}. The arithmetic is
+ * based on the error-free transformations described by T.J. Dekker and
+ * D.E. Knuth, as implemented in the QD library by Hida, Li and Bailey.
+ *
+ * @see <a href="https://www.davidhbailey.com/dhbpapers/qd.pdf">Library for Double-Double and Quad-Double Arithmetic</a>
+ *
+ * @author Thomas Neidhart
+ */
+public final class DoubleDouble implements Comparable<DoubleDouble> {
+
+    /** The number of significant decimal digits of a double-double number. */
+    public static final int DECIMAL_DIGITS = 32;
+
+    /** The default context to convert double-double numbers to decimal numbers. */
+    public static final MathContext DECIMAL_CONTEXT = new MathContext(DECIMAL_DIGITS, RoundingMode.HALF_EVEN);
+
+    /** A double-double number representing "0". */
+    public static final DoubleDouble ZERO = new DoubleDouble(0.0, 0.0);
+    /** A double-double number representing "1". */
+    public static final DoubleDouble ONE  = new DoubleDouble(1.0, 0.0);
+
+    // the number of bits in the significand of a double.
+    private static final int DOUBLE_PRECISION = 53;
+
+    // 2^27 + 1, used to split a double into two halves of 26 bits.
+    private static final double SPLITTER = 134217729.0;
+    // values above this threshold need to be scaled before splitting to avoid overflow.
+    private static final double SPLIT_THRESHOLD = 6.69692879491417e+299;
+    private static final double SPLIT_SCALE_DOWN = 3.7252902984619140625e-09; // 2^-28
+    private static final double SPLIT_SCALE_UP   = 268435456.0;              // 2^28
+
+    private static final long SIGNIFICAND_MASK = (1L << 52) - 1;
+    private static final long IMPLICIT_BIT     = 1L << 52;
+
+    // the range of values supported by the fast conversion to decimal numbers.
+    private static final double FAST_CONVERSION_MIN = 1e-30;
+    private static final double FAST_CONVERSION_MAX = 1e30;
+
+    private static final BigInteger[] POWERS_OF_TEN = new BigInteger[2 * DECIMAL_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = BigInteger.ONE;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1].multiply(BigInteger.TEN);
+        }
+    }
+
+    // the context used for conversions of decimal numbers, slightly more precise
+    // than a double-double number to avoid double rounding.
+    private static final MathContext CONVERSION_CONTEXT = new MathContext(40, RoundingMode.HALF_EVEN);
+
+    private final double hi;
+    private final double lo;
+
+    private DoubleDouble(double hi, double lo) {
+        this.hi = hi;
+        this.lo = lo;
+    }
+
+    /**
+     * Returns a {@link DoubleDouble} representing the given {@code double} value exactly.
+     */
+    public static DoubleDouble of(double value) {
+        return new DoubleDouble(value, 0.0);
+    }
+
+    /**
+     * Returns the {@link DoubleDouble} closest to the given decimal value.
+     */
+    public static DoubleDouble of(BigDecimal value) {
+        double hi = value.doubleValue();
+        if (!Double.isFinite(hi)) {
+            return new DoubleDouble(hi, 0.0);
+        }
+
+        double lo = value.subtract(new BigDecimal(hi)).doubleValue();
+        return quickTwoSum(hi, lo);
+    }
+
+    /**
+     * Returns the {@link DoubleDouble} closest to the given fraction.
+     */
+    public static DoubleDouble of(BigFraction value) {
+        BigInteger numerator   = value.getNumerator();
+        BigInteger denominator = value.getDenominator();
+
+        // numerator and denominator are exact doubles, avoid the
+        // more expensive conversion to a decimal number.
+        if (numerator.bitLength()   <= DOUBLE_PRECISION &&
+            denominator.bitLength() <= DOUBLE_PRECISION) {
+            DoubleDouble result = of(numerator.doubleValue());
+            return denominator.equals(BigInteger.ONE) ?
+                    result :
+                    result.divide(of(denominator.doubleValue()));
+        }
+
+        return of(value.bigDecimalValue(CONVERSION_CONTEXT));
+    }
+
+    /**
+     * Returns the high part of this number, i.e. its value rounded to a {@code double}.
+     */
+    public double hi() {
+        return hi;
+    }
+
+    /**
+     * Returns the low part of this number, i.e. the remaining error of {@link #hi()}.
+     */
+    public double lo() {
+        return lo;
+    }
+
+    public double doubleValue() {
+        return hi + lo;
+    }
+
+    /**
+     * Returns the value of this number as {@link BigDecimal}, rounded to
+     * {@link #DECIMAL_DIGITS} significant digits.
+     */
+    public BigDecimal bigDecimalValue() {
+        BigDecimal result = scaledBigDecimalValue();
+        return result != null ?
+                result :
+                bigDecimalValue(DECIMAL_CONTEXT).stripTrailingZeros();
+    }
+
+    /**
+     * Converts this number to a decimal number with {@link #DECIMAL_DIGITS} significant digits
+     * by scaling its exact binary representation with a power of ten and rounding the result
+     * with a single shift. This is considerably faster than rounding the exact decimal expansion
+     * of both parts, but is only supported for non-integral values in a reasonable range,
+     * otherwise {@code null} is returned.
+     */
+    private BigDecimal scaledBigDecimalValue() {
+        double absHi = Math.abs(hi);
+        if (!(absHi >= FAST_CONVERSION_MIN && absHi < FAST_CONVERSION_MAX) ||
+            lo != 0.0 && Math.abs(lo) < Double.MIN_NORMAL) {
+            return null;
+        }
+
+        // the exact value is mantissa * 2^exponent.
+        int        exponent = Math.getExponent(hi) - 52;
+        BigInteger mantissa = BigInteger.valueOf(significand(hi));
+
+        if (lo != 0.0) {
+            int loExponent = Math.getExponent(lo) - 52;
+            int shift      = exponent - loExponent;
+            if (shift > 2 * DOUBLE_PRECISION) {
+                return null;
+            }
+            mantissa = mantissa.shiftLeft(shift).add(BigInteger.valueOf(significand(lo)));
+            exponent = loExponent;
+        }
+
+        if (exponent >= 0) {
+            return null;
+        }
+
+        boolean negative = mantissa.signum() < 0;
+        mantissa = mantissa.abs();
+
+        // the estimated scale might be off by one, adjust if needed.
+        int scale = DECIMAL_DIGITS - 1 - (int) Math.floor(Math.log10(absHi));
+        BigInteger digits = roundedShift(mantissa.multiply(POWERS_OF_TEN[scale]), -exponent);
+        if (digits.compareTo(POWERS_OF_TEN[DECIMAL_DIGITS]) >= 0) {
+            scale--;
+            digits = roundedShift(mantissa.multiply(POWERS_OF_TEN[scale]), -exponent);
+        } else if (digits.compareTo(POWERS_OF_TEN[DECIMAL_DIGITS - 1]) < 0) {
+            scale++;
+            digits = roundedShift(mantissa.multiply(POWERS_OF_TEN[scale]), -exponent);
+        }
+
+        // strip trailing zeros in chunks rather than digit by digit, the number
+        // of trailing zeros is bounded by the number of trailing binary zeros.
+        int maxZeros = digits.getLowestSetBit();
+        for (int chunk = 16; chunk > 0; chunk >>= 1) {
+            while (chunk <= maxZeros) {
+                BigInteger[] qr = digits.divideAndRemainder(POWERS_OF_TEN[chunk]);
+                if (qr[1].signum() != 0) {
+                    break;
+                }
+                digits    = qr[0];
+                scale    -= chunk;
+                maxZeros -= chunk;
+            }
+        }
+
+        return new BigDecimal(negative ? digits.negate() : digits, scale);
+    }
+
+    /**
+     * Returns the value of this number as {@link BigDecimal}, rounded
+     * according to the given context.
+     */
+    public BigDecimal bigDecimalValue(MathContext mc) {
+        if (!Double.isFinite(hi)) {
+            throw new ArithmeticException("Non-finite value can not be converted to BigDecimal: " + hi);
+        }
+        return new BigDecimal(hi).add(new BigDecimal(lo), mc);
+    }
+
+    public int signum() {
+        return hi > 0 ? 1 : hi < 0 ? -1 : 0;
+    }
+
+    public boolean isZero() {
+        return hi == 0.0;
+    }
+
+    public DoubleDouble negate() {
+        return new DoubleDouble(-hi, -lo);
+    }
+
+    public DoubleDouble abs() {
+        return hi < 0 ? negate() : this;
+    }
+
+    /**
+     * Returns a {@link DoubleDouble} whose value is {@code this + that}.
+     */
+    public DoubleDouble add(DoubleDouble that) {
+        double s = hi + that.hi;
+        if (!Double.isFinite(s)) {
+            return new DoubleDouble(s, 0.0);
+        }
+
+        double bb = s - hi;
+        double e  = (hi - (s - bb)) + (that.hi - bb);
+
+        double t  = lo + that.lo;
+        double cc = t - lo;
+        double f  = (lo - (t - cc)) + (that.lo - cc);
+
+        e += t;
+        double u = s + e;
+        e = e - (u - s);
+        e += f;
+
+        return quickTwoSum(u, e);
+    }
+
+    /**
+     * Returns a {@link DoubleDouble} whose value is {@code this - that}.
+     */
+    public DoubleDouble subtract(DoubleDouble that) {
+        return add(that.negate());
+    }
+
+    /**
+     * Returns a {@link DoubleDouble} whose value is {@code this * that}.
+     */
+    public DoubleDouble multiply(DoubleDouble that) {
+        double p = hi * that.hi;
+        if (!Double.isFinite(p)) {
+            return new DoubleDouble(p, 0.0);
+        }
+
+        double e = twoProductError(hi, that.hi, p);
+        e += hi * that.lo + lo * that.hi;
+
+        return quickTwoSum(p, e);
+    }
+
+    /**
+     * Returns a {@link DoubleDouble} whose value is {@code this * that}.
+     */
+    public DoubleDouble multiply(double that) {
+        double p = hi * that;
+        if (!Double.isFinite(p)) {
+            return new DoubleDouble(p, 0.0);
+        }
+
+        double e = twoProductError(hi, that, p);
+        e += lo * that;
+
+        return quickTwoSum(p, e);
+    }
+
+    /**
+     * Returns a {@link DoubleDouble} whose value is {@code this / that}.
+     *
+     * @throws ArithmeticException if {@code that} is zero.
+     */
+    public DoubleDouble divide(DoubleDouble that) {
+        if (that.hi == 0.0) {
+            throw new ArithmeticException("Division by zero");
+        }
+
+        double q1 = hi / that.hi;
+        if (!Double.isFinite(q1)) {
+            return new DoubleDouble(q1, 0.0);
+        }
+
+        // long division, each step computes the next double of the quotient.
+        DoubleDouble r = this.subtract(that.multiply(q1));
+        double q2 = r.hi / that.hi;
+        r = r.subtract(that.multiply(q2));
+        double q3 = r.hi / that.hi;
+
+        return quickTwoSum(q1, q2).add(of(q3));
+    }
+
+    /**
+     * Returns a {@link DoubleDouble} whose value is {@code 1 / this}.
+     *
+     * @throws ArithmeticException if this number is zero.
+     */
+    public DoubleDouble reciprocal() {
+        return ONE.divide(this);
+    }
+
+    @Override
+    public int compareTo(DoubleDouble that) {
+        int result = Double.compare(hi, that.hi);
+        return result != 0 ? result : Double.compare(lo, that.lo);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DoubleDouble that = (DoubleDouble) o;
+        return Double.compare(hi, that.hi) == 0 &&
+               Double.compare(lo, that.lo) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(hi) + Double.hashCode(lo);
+    }
+
+    @Override
+    public String toString() {
+        return Double.isFinite(hi) ?
+                bigDecimalValue().toString() :
+                Double.toString(hi);
+    }
+
+    // Error-free transformations.
+
+    /**
+     * Returns the sum of {@code a} and {@code b}, assuming that {@code |a| >= |b|}.
+     */
+    private static DoubleDouble quickTwoSum(double a, double b) {
+        double s = a + b;
+        double e = b - (s - a);
+        return new DoubleDouble(s, e);
+    }
+
+    /**
+     * Returns the signed significand of a normal double value.
+     */
+    private static long significand(double value) {
+        long significand = (Double.doubleToRawLongBits(value) & SIGNIFICAND_MASK) | IMPLICIT_BIT;
+        return value < 0 ? -significand : significand;
+    }
+
+    /**
+     * Returns {@code value / 2^shift} rounded half-even, {@code value} must be non-negative.
+     */
+    private static BigInteger roundedShift(BigInteger value, int shift) {
+        BigInteger result = value.shiftRight(shift);
+        if (value.testBit(shift - 1) &&
+            (value.getLowestSetBit() < shift - 1 || result.testBit(0))) {
+            result = result.add(BigInteger.ONE);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the rounding error of the product {@code p = a * b}.
+     */
+    private static double twoProductError(double a, double b, double p) {
+        double aHi, aLo, bHi, bLo;
+
+        if (Math.abs(a) > SPLIT_THRESHOLD) {
+            double t = SPLITTER * (a * SPLIT_SCALE_DOWN);
+            aHi = (t - (t - a * SPLIT_SCALE_DOWN)) * SPLIT_SCALE_UP;
+        } else {
+            double t = SPLITTER * a;
+            aHi = t - (t - a);
+        }
+        aLo = a - aHi;
+
+        if (Math.abs(b) > SPLIT_THRESHOLD) {
+            double t = SPLITTER * (b * SPLIT_SCALE_DOWN);
+            bHi = (t - (t - b * SPLIT_SCALE_DOWN)) * SPLIT_SCALE_UP;
+        } else {
+            double t = SPLITTER * b;
+            bHi = t - (t - b);
+        }
+        bLo = b - bHi;
+
+        return ((aHi * bHi - p) + aHi * bLo + aLo * bHi) + aLo * bLo;
+    }
+}
@@ -35,6 +35,17 @@ public final class Fraction
     private static final long serialVersionUID = 20190701L;
     /** The default epsilon used for convergence. */
     private static final double DEFAULT_EPSILON = 1e-5;
+    /** The largest absolute numerator of cached fractions. */
+    private static final int CACHE_MAX_NUMERATOR = 12;
+    /** The largest absolute denominator of cached fractions. */
+    private static final int CACHE_MAX_DENOMINATOR = 6;
+    /**
+     * Canonical instances for small fractions as they are typically used as
+     * exponents of units and dimensions, indexed by their unreduced numerator
+     * and denominator. As the sign of the denominator is retained, fractions
+     * with a negative denominator have canonical instances of their own.
+     */
+    private static final Fraction[] CACHE = createCache();
     /** The denominator of this fraction reduced to lowest terms. */
     private final int denominator;
     /** The numerator of this fraction reduced to lowest terms. */
@@ -177,6 +188,58 @@ public final class Fraction
         }
     }
 
+    /**
+     * Creates the cache of small fractions, unreduced fractions share
+     * the instance of their reduced form.
+     */
+    private static Fraction[] createCache() {
+        final Fraction[] cache = new Fraction[(2 * CACHE_MAX_NUMERATOR + 1) * 2 * CACHE_MAX_DENOMINATOR];
+        cache[cacheIndex(0, 1)] = ZERO;
+        cache[cacheIndex(1, 1)] = ONE;
+
+        for (int absDen = 1; absDen <= CACHE_MAX_DENOMINATOR; absDen++) {
+            for (int den : new int[] { absDen, -absDen }) {
+                for (int num = -CACHE_MAX_NUMERATOR; num <= CACHE_MAX_NUMERATOR; num++) {
+                    final int index = cacheIndex(num, den);
+                    if (cache[index] == null) {
+                        final Fraction fraction = new Fraction(num, den);
+                        // the reduced form has already been created for a smaller denominator.
+                        cache[index] = fraction.numerator == num && fraction.denominator == den ?
+                            fraction :
+                            cache[cacheIndex(fraction.numerator, fraction.denominator)];
+                    }
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the index into the cache of small fractions.
+     */
+    private static int cacheIndex(int num, int den) {
+        final int row = den > 0 ? den - 1 : CACHE_MAX_DENOMINATOR - den - 1;
+        return row * (2 * CACHE_MAX_NUMERATOR + 1) + num + CACHE_MAX_NUMERATOR;
+    }
+
+    /**
+     * Returns the cached instance for the given fraction if available,
+     * otherwise the fraction itself.
+     */
+    private static Fraction canonical(Fraction fraction) {
+        return isCached(fraction.numerator, fraction.denominator) ?
+            CACHE[cacheIndex(fraction.numerator, fraction.denominator)] :
+            fraction;
+    }
+
+    /**
+     * Returns whether the fraction {@code num / den} is contained in the cache of small fractions.
+     */
+    private static boolean isCached(int num, int den) {
+        return den != 0 && den >= -CACHE_MAX_DENOMINATOR && den <= CACHE_MAX_DENOMINATOR &&
+               num >= -CACHE_MAX_NUMERATOR && num <= CACHE_MAX_NUMERATOR;
+    }
+
     /**
      * Creates an instance.
      *
@@ -205,7 +268,7 @@ public final class Fraction
      * @return a new instance.
      */
     public static Fraction from(double value, double epsilon, int maxIterations) {
-        return new Fraction(value, epsilon, Integer.MAX_VALUE, maxIterations);
+        return canonical(new Fraction(value, epsilon, Integer.MAX_VALUE, maxIterations));
     }
 
     /**
@@ -223,7 +286,7 @@ public final class Fraction
      * @return a new instance.
      */
     public static Fraction from(double value, int maxDenominator) {
-        return new Fraction(value, 0, maxDenominator, 100);
+        return canonical(new Fraction(value, 0, maxDenominator, 100));
     }
 
     /**
@@ -239,15 +302,21 @@ public final class Fraction
     /**
      * Return a fraction given the numerator and denominator.
      * The fraction is reduced to lowest terms.
+     * <p>
+     * Small fractions, i.e. with an absolute numerator of at most 12 and
+     * an absolute denominator between 1 and 6, are returned from a cache of
+     * canonical instances.
      *
      * @param num Numerator.
      * @param den Denominator.
      * @throws ArithmeticException if the denominator is {@code zero}
      * or if integer overflow occurs.
-     * @return a new instance.
+     * @return a new or cached instance.
      */
     public static Fraction of(int num, int den) {
-        return new Fraction(num, den);
+        return isCached(num, den) ?
+            CACHE[cacheIndex(num, den)] :
+            new Fraction(num, den);
     }
 
     /**
@@ -391,8 +460,8 @@ public final class Fraction
      */
     public Fraction negate() {
         return numerator == Integer.MIN_VALUE ?
-            new Fraction(numerator, -denominator) :
-            new Fraction(-numerator, denominator);
+            of(numerator, -denominator) :
+            of(-numerator, denominator);
     }
 
     /**
@@ -401,7 +470,7 @@ public final class Fraction
      * @return the reciprocal.
      */
     public Fraction reciprocal() {
-        return new Fraction(denominator, numerator);
+        return of(denominator, numerator);
     }
 
     /**
@@ -425,7 +494,7 @@ public final class Fraction
      * @return {@code this + i}.
      */
     public Fraction add(final int i) {
-        return new Fraction(numerator + i * denominator, denominator);
+        return of(numerator + i * denominator, denominator);
     }
 
     /**
@@ -448,7 +517,7 @@ public final class Fraction
      * @return {@code this - i}.
      */
     public Fraction subtract(final int i) {
-        return new Fraction(numerator - i * denominator, denominator);
+        return of(numerator - i * denominator, denominator);
     }
 
     /**
@@ -575,10 +644,19 @@ public final class Fraction
         }
 
         return n < 0 ?
-            new Fraction(ArithmeticUtils.pow(denominator, -n),
-                         ArithmeticUtils.pow(numerator, -n)) :
-            new Fraction(ArithmeticUtils.pow(numerator, n),
-                         ArithmeticUtils.pow(denominator, n));
+            of(ArithmeticUtils.pow(denominator, -n),
+               ArithmeticUtils.pow(numerator, -n)) :
+            of(ArithmeticUtils.pow(numerator, n),
+               ArithmeticUtils.pow(denominator, n));
+    }
+
+    /**
+     * Replaces deserialized small fractions with their canonical instance.
+     *
+     * @return the canonical instance of this fraction.
+     */
+    private Object readResolve() {
+        return canonical(this);
     }
 
     /** {@inheritDoc} */
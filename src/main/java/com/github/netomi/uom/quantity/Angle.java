@@ -17,6 +17,7 @@ package com.github.netomi.uom.quantity;
 
 import com.github.netomi.uom.Quantity;
 import com.github.netomi.uom.QuantityFactory;
+import com.github.netomi.uom.SystemUnit;
 import com.github.netomi.uom.TypedQuantity;
 import com.github.netomi.uom.Unit;
 import com.github.netomi.uom.quantity.impl.DoubleQuantity;
@@ -29,6 +30,7 @@ import com.github.netomi.uom.unit.systems.SI;
  *
  * @author Thomas Neidhart
  */
+@SystemUnit("rad")
 public interface Angle extends TypedQuantity<Angle> {
 
     /**
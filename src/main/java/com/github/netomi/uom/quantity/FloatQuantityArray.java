@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.quantity.impl.FloatQuantity;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An array of quantity values that are expressed in the same {@link Unit}
+ * and stored with single precision.
+ * <p>
+ * The values are stored as primitive {@code float} values, which requires
+ * half the memory of a {@link QuantityArray} for large datasets where about
+ * 7 significant digits are sufficient. Conversions are performed with double
+ * precision and rounded to single precision afterwards.
+ *
+ * @param <Q> the quantity type
+ *
+ * @author Thomas Neidhart
+ */
+public final class FloatQuantityArray<Q extends Quantity<Q>> {
+
+    private final float[] values;
+    private final Unit<Q> unit;
+
+    /**
+     * Returns a new {@link FloatQuantityArray} containing a copy of the given values.
+     *
+     * @param unit   the unit of the values.
+     * @param values the values.
+     * @return a new {@link FloatQuantityArray} instance.
+     */
+    public static <Q extends Quantity<Q>> FloatQuantityArray<Q> of(Unit<Q> unit, float... values) {
+        Objects.requireNonNull(unit);
+        return new FloatQuantityArray<>(values.clone(), unit);
+    }
+
+    /**
+     * Returns a new {@link FloatQuantityArray} containing the values of the given
+     * {@link QuantityArray} rounded to single precision.
+     *
+     * @param array the array to convert.
+     * @return a new {@link FloatQuantityArray} instance.
+     */
+    public static <Q extends Quantity<Q>> FloatQuantityArray<Q> of(QuantityArray<Q> array) {
+        double[] values = array.values();
+        float[]  result = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (float) values[i];
+        }
+        return new FloatQuantityArray<>(result, array.getUnit());
+    }
+
+    /**
+     * Returns a new {@link FloatQuantityArray} containing the values of the given quantities
+     * converted to the specified unit.
+     *
+     * @param unit       the unit of the resulting array.
+     * @param quantities the quantities.
+     * @return a new {@link FloatQuantityArray} instance.
+     */
+    public static <Q extends Quantity<Q>> FloatQuantityArray<Q> of(Unit<Q> unit, Iterable<? extends Quantity<Q>> quantities) {
+        Objects.requireNonNull(unit);
+
+        float[] values = new float[8];
+        int     length = 0;
+        for (Quantity<Q> quantity : quantities) {
+            if (length == values.length) {
+                values = Arrays.copyOf(values, length * 2);
+            }
+            values[length++] = (float) (quantity.getUnit() == unit ?
+                    quantity.doubleValue() :
+                    quantity.getUnit().getConverterTo(unit).convert(quantity.doubleValue()));
+        }
+        return new FloatQuantityArray<>(Arrays.copyOf(values, length), unit);
+    }
+
+    private FloatQuantityArray(float[] values, Unit<Q> unit) {
+        this.values = values;
+        this.unit   = unit;
+    }
+
+    /**
+     * Returns the number of values in this array.
+     */
+    public int length() {
+        return values.length;
+    }
+
+    /**
+     * Returns the {@link Unit} in which all values of this array are expressed.
+     */
+    public Unit<Q> getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the value at the given index.
+     */
+    public float floatValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the value at the given index widened to double precision.
+     */
+    public double doubleValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the value at the given index as {@link Quantity}.
+     *
+     * @throws UnsupportedOperationException if the quantity type of the unit is not known.
+     */
+    public Q get(int index) {
+        Class<Q> quantityType = Quantities.getQuantityType(unit);
+        if (quantityType == null) {
+            throw new UnsupportedOperationException("unknown quantity type for unit " + unit);
+        }
+        return FloatQuantity.factory(quantityType).create(values[index], unit);
+    }
+
+    /**
+     * Returns a new {@link FloatQuantityArray} with all values converted to the given unit.
+     */
+    public FloatQuantityArray<Q> to(Unit<Q> unit) {
+        if (this.unit.equals(unit)) {
+            return this;
+        }
+
+        UnitConverter converter = this.unit.getConverterTo(unit);
+        float[]       result    = new float[values.length];
+        if (converter.isLinear()) {
+            double scale      = converter.scale();
+            float  floatScale = (float) scale;
+            if (floatScale == scale) {
+                // the product of two floats is exact in double precision, thus multiplying
+                // with single precision yields the same result as the widening conversion.
+                for (int i = 0; i < values.length; i++) {
+                    result[i] = values[i] * floatScale;
+                }
+            } else {
+                for (int i = 0; i < values.length; i++) {
+                    result[i] = (float) (values[i] * scale);
+                }
+            }
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                result[i] = (float) converter.convert(values[i]);
+            }
+        }
+        return new FloatQuantityArray<>(result, unit);
+    }
+
+    /**
+     * Returns a new {@link QuantityArray} containing the values of this array
+     * widened to double precision.
+     */
+    public QuantityArray<Q> toQuantityArray() {
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+        return QuantityArray.wrap(unit, result);
+    }
+
+    /**
+     * Returns a copy of the values of this array.
+     */
+    public float[] toFloatArray() {
+        return values.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        FloatQuantityArray<?> that = (FloatQuantityArray<?>) o;
+        return Objects.equals(unit, that.unit) &&
+               Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * unit.hashCode() + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values) + " " + unit;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.util.Preconditions;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A binary formula between two quantity types that is evaluated over columns
+ * of values, e.g.
+ * <pre>
+ *     Formula.Evaluator&lt;Mass, Acceleration, Force&gt; force =
+ *         Formula.of(Mass.class, Acceleration.class).multiply().as(Force.class);
+ *
+ *     QuantityArray&lt;Force&gt; forces = force.evaluate(masses, accelerations);
+ * </pre>
+ * <p>
+ * The unit of the result is resolved once when the formula is created, while
+ * the units of the input columns are checked and their converters resolved
+ * once per batch instead of for each row, as would be the case when using
+ * {@link Quantity#multiply(Quantity, Class)} or {@link Quantity#divide(Quantity, Class)}.
+ * The results are expressed in the system unit of the result quantity type.
+ * <p>
+ * Large batches can be evaluated in parallel by splitting them across a {@link ForkJoinPool}.
+ *
+ * @param <A> the quantity type of the first operand
+ * @param <B> the quantity type of the second operand
+ *
+ * @author Thomas Neidhart
+ */
+public final class Formula<A extends Quantity<A>, B extends Quantity<B>> {
+
+    // the minimum number of rows to evaluate in a single fork-join task.
+    private static final int MIN_PARALLEL_GRANULARITY = 1 << 13;
+
+    private final Unit<A> firstSystemUnit;
+    private final Unit<B> secondSystemUnit;
+
+    /**
+     * Returns a new {@link Formula} for the given quantity types.
+     *
+     * @throws UnsupportedOperationException if the system unit of a quantity type is not known.
+     */
+    public static <A extends Quantity<A>, B extends Quantity<B>> Formula<A, B> of(Class<A> first, Class<B> second) {
+        return new Formula<>(Quantities.getSystemUnit(Objects.requireNonNull(first)),
+                             Quantities.getSystemUnit(Objects.requireNonNull(second)));
+    }
+
+    private Formula(Unit<A> firstSystemUnit, Unit<B> secondSystemUnit) {
+        this.firstSystemUnit  = firstSystemUnit;
+        this.secondSystemUnit = secondSystemUnit;
+    }
+
+    /**
+     * Returns an operation multiplying the first operand with the second one.
+     */
+    public Operation<A, B> multiply() {
+        return new Operation<>(this, false);
+    }
+
+    /**
+     * Returns an operation dividing the first operand by the second one.
+     */
+    public Operation<A, B> divide() {
+        return new Operation<>(this, true);
+    }
+
+    /**
+     * A binary operation of a {@link Formula} whose result type is not yet known.
+     */
+    public static final class Operation<A extends Quantity<A>, B extends Quantity<B>> {
+        private final Formula<A, B> formula;
+        private final boolean       divide;
+
+        private Operation(Formula<A, B> formula, boolean divide) {
+            this.formula = formula;
+            this.divide  = divide;
+        }
+
+        /**
+         * Returns an {@link Evaluator} for this operation producing results
+         * of the given quantity type.
+         *
+         * @throws com.github.netomi.uom.IncommensurableException if the result of the operation
+         * is not compatible with the requested quantity type.
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        public <R extends Quantity<R>> Evaluator<A, B, R> as(Class<R> quantityClass) {
+            Unit<?> firstUnit  = formula.firstSystemUnit;
+            Unit<?> secondUnit = formula.secondSystemUnit;
+
+            Unit<R> calculatedSystemUnit =
+                    (Unit<R>) (divide ? firstUnit.divide(secondUnit) : firstUnit.multiply(secondUnit)).getSystemUnit();
+
+            Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, (Unit) calculatedSystemUnit);
+            if (systemUnit != calculatedSystemUnit) {
+                Preconditions.requireCommensurable(calculatedSystemUnit, systemUnit);
+                calculatedSystemUnit = systemUnit;
+            }
+
+            return new Evaluator<>(formula, divide, calculatedSystemUnit);
+        }
+    }
+
+    /**
+     * Evaluates a binary operation of a {@link Formula} over columns of values.
+     *
+     * @param <A> the quantity type of the first operand
+     * @param <B> the quantity type of the second operand
+     * @param <R> the quantity type of the result
+     */
+    public static final class Evaluator<A extends Quantity<A>, B extends Quantity<B>, R extends Quantity<R>> {
+        private final Formula<A, B> formula;
+        private final boolean       divide;
+        private final Unit<R>       resultUnit;
+
+        private Evaluator(Formula<A, B> formula, boolean divide, Unit<R> resultUnit) {
+            this.formula    = formula;
+            this.divide     = divide;
+            this.resultUnit = resultUnit;
+        }
+
+        /**
+         * Returns the unit in which results are expressed.
+         */
+        public Unit<R> getUnit() {
+            return resultUnit;
+        }
+
+        /**
+         * Evaluates the formula for each row of the given columns.
+         *
+         * @throws IllegalArgumentException if the columns differ in length.
+         */
+        public QuantityArray<R> evaluate(QuantityArray<A> first, QuantityArray<B> second) {
+            return QuantityArray.wrap(resultUnit,
+                                      evaluate(first.values(), first.getUnit(), second.values(), second.getUnit()));
+        }
+
+        /**
+         * Evaluates the formula for each row of the given columns, whose values
+         * are expressed in the respective units.
+         *
+         * @return the results expressed in {@link #getUnit()}.
+         * @throws IllegalArgumentException if the columns differ in length.
+         */
+        public double[] evaluate(double[] first, Unit<A> firstUnit, double[] second, Unit<B> secondUnit) {
+            Batch batch = new Batch(first, firstUnit, second, secondUnit);
+            batch.evaluate(0, first.length);
+            return batch.result;
+        }
+
+        /**
+         * Evaluates the formula for each row of the given columns in parallel
+         * using the common fork-join pool.
+         *
+         * @throws IllegalArgumentException if the columns differ in length.
+         */
+        public QuantityArray<R> parallelEvaluate(QuantityArray<A> first, QuantityArray<B> second) {
+            return parallelEvaluate(first, second, ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Evaluates the formula for each row of the given columns in parallel
+         * using the given fork-join pool.
+         *
+         * @throws IllegalArgumentException if the columns differ in length.
+         */
+        public QuantityArray<R> parallelEvaluate(QuantityArray<A> first, QuantityArray<B> second, ForkJoinPool pool) {
+            return QuantityArray.wrap(resultUnit,
+                                      parallelEvaluate(first.values(), first.getUnit(),
+                                                       second.values(), second.getUnit(),
+                                                       pool));
+        }
+
+        /**
+         * Evaluates the formula for each row of the given columns in parallel
+         * using the given fork-join pool.
+         *
+         * @return the results expressed in {@link #getUnit()}.
+         * @throws IllegalArgumentException if the columns differ in length.
+         */
+        public double[] parallelEvaluate(double[] first, Unit<A> firstUnit,
+                                         double[] second, Unit<B> secondUnit,
+                                         ForkJoinPool pool) {
+            Batch batch = new Batch(first, firstUnit, second, secondUnit);
+
+            int length      = first.length;
+            int granularity = Math.max(MIN_PARALLEL_GRANULARITY, length / (pool.getParallelism() << 2));
+            if (length <= granularity) {
+                batch.evaluate(0, length);
+            } else {
+                pool.invoke(new EvaluationTask(batch, 0, length, granularity));
+            }
+            return batch.result;
+        }
+
+        /**
+         * A single batch of rows, the units of the columns are checked
+         * and their conversion factors resolved once for the whole batch.
+         */
+        private final class Batch {
+            private final double[] first;
+            private final double[] second;
+            private final double[] result;
+
+            private final UnitConverter firstConverter;
+            private final UnitConverter secondConverter;
+
+            Batch(double[] first, Unit<A> firstUnit, double[] second, Unit<B> secondUnit) {
+                if (first.length != second.length) {
+                    throw new IllegalArgumentException("columns differ in length: " +
+                                                       first.length + " != " + second.length);
+                }
+
+                Preconditions.requireCommensurable(firstUnit,  formula.firstSystemUnit);
+                Preconditions.requireCommensurable(secondUnit, formula.secondSystemUnit);
+
+                this.first           = first;
+                this.second          = second;
+                this.result          = new double[first.length];
+                this.firstConverter  = firstUnit.getSystemConverter();
+                this.secondConverter = secondUnit.getSystemConverter();
+            }
+
+            void evaluate(int from, int to) {
+                if (firstConverter.isLinear() && secondConverter.isLinear()) {
+                    double firstScale  = firstConverter.scale();
+                    double secondScale = secondConverter.scale();
+
+                    if (divide) {
+                        for (int i = from; i < to; i++) {
+                            result[i] = (first[i] * firstScale) / (second[i] * secondScale);
+                        }
+                    } else {
+                        for (int i = from; i < to; i++) {
+                            result[i] = (first[i] * firstScale) * (second[i] * secondScale);
+                        }
+                    }
+                } else {
+                    for (int i = from; i < to; i++) {
+                        double a = firstConverter.convert(first[i]);
+                        double b = secondConverter.convert(second[i]);
+                        result[i] = divide ? a / b : a * b;
+                    }
+                }
+            }
+        }
+
+        private final class EvaluationTask extends RecursiveAction {
+            private static final long serialVersionUID = 20201019L;
+
+            private final Batch batch;
+            private final int   from;
+            private final int   to;
+            private final int   granularity;
+
+            EvaluationTask(Batch batch, int from, int to, int granularity) {
+                this.batch       = batch;
+                this.from        = from;
+                this.to          = to;
+                this.granularity = granularity;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from <= granularity) {
+                    batch.evaluate(from, to);
+                } else {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new EvaluationTask(batch, from, middle, granularity),
+                              new EvaluationTask(batch, middle, to, granularity));
+                }
+            }
+        }
+    }
+}
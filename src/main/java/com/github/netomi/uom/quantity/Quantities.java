@@ -36,14 +36,16 @@ import com.github.netomi.uom.quantity.photometric.LuminousFlux;
 import com.github.netomi.uom.quantity.photometric.LuminousIntensity;
 import com.github.netomi.uom.quantity.thermodynamic.Pressure;
 import com.github.netomi.uom.quantity.thermodynamic.Temperature;
+import com.github.netomi.uom.unit.Units;
 import com.github.netomi.uom.util.Proxies;
+import com.github.netomi.uom.util.StartupReport;
 
+import java.lang.ref.WeakReference;
 import java.math.BigDecimal;
 import java.math.MathContext;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 /**
  * A utility class to create concrete instances for specific {@link Quantity} types.
@@ -75,11 +77,11 @@ public final class Quantities {
     static {
         quantityFactories = new ConcurrentHashMap<>(Type.values().length * 2);
         // register default factories for all built-in quantities.
-        registerDefaultFactories();
+        StartupReport.record("Quantities: registerDefaultFactories", Quantities::registerDefaultFactories);
 
         unitToQuantityMap = new ConcurrentHashMap<>(Type.values().length * 2);
         // register system unit -> quantity type mapping.
-        registerSystemUnits();
+        StartupReport.record("Quantities: registerSystemUnits", Quantities::registerSystemUnits);
     }
 
     // hide constructor.
@@ -119,23 +121,30 @@ public final class Quantities {
                         throw new IllegalArgumentException(quantityType + " is not a Quantity.");
                     }
 
-                    try {
-                        // Check if the specified quantity has overridden its getSystemUnit() method.
-                        Quantity<?> testQuantity = Proxies.delegatingProxy(new Object(), quantityType);
-                        testQuantity.getSystemUnit();
-                    } catch (Exception ex) {
-                        throw new UnsupportedOperationException(quantityType +
-                                                                " has not overridden its getSystemUnit() method.");
-                    }
+                    // Check if the specified quantity declares its system unit.
+                    Type.systemUnitOf(quantityType);
 
                     return CombinedQuantityFactory.of(DoubleQuantity.factory(quantityType),
                                                       DecimalQuantity.factory(quantityType));
                 });
     }
 
+    /**
+     * Returns the system unit of the given quantity type.
+     *
+     * @throws UnsupportedOperationException if the system unit could not be determined.
+     */
     @SuppressWarnings("unchecked")
+    static <Q extends Quantity<Q>> Unit<Q> getSystemUnit(Class<Q> quantityType) {
+        return (Unit<Q>) Type.systemUnitOf(quantityType);
+    }
+
+    /**
+     * Returns the builtin quantity type associated with the system unit of the given unit,
+     * or {@code null} if there is none.
+     */
     public static <Q extends Quantity<?>> Class<Q> getQuantityType(Unit<?> unit) {
-        return (Class<Q>) unitToQuantityMap.get(unit.getSystemUnit());
+        return unit.getQuantityType();
     }
 
     // create methods for quantities.
@@ -213,6 +222,104 @@ public final class Quantities {
         return genericFactory.create(value, mc, (Unit) unit);
     }
 
+    /**
+     * Returns a {@link UnitHandle} to repeatedly create quantities of the given
+     * type expressed in the given unit.
+     * <p>
+     * The unit is validated against the quantity type and the registered
+     * {@link QuantityFactory} is resolved only once when creating the handle.
+     * Factories registered afterwards are not taken into account by the handle.
+     *
+     * @throws IncommensurableException if the unit is not commensurable with the quantity type.
+     * @throws IllegalArgumentException if the specified class does not implement the {@link Quantity} interface.
+     */
+    public static <Q extends Quantity<Q>> UnitHandle<Q> handle(Unit<Q> unit, Class<Q> quantityClass) {
+        Objects.requireNonNull(unit);
+
+        QuantityFactory<Q> factory = getQuantityFactory(quantityClass);
+        // validate the unit by creating a quantity.
+        factory.create(0, unit);
+        return new UnitHandle<>(unit, quantityClass, factory);
+    }
+
+    // sorting related methods.
+
+    /**
+     * Returns a new list containing the given quantities sorted by their value
+     * expressed in the system unit of their respective unit, i.e. the same order
+     * as imposed by {@link QuantityComparators#bySystemValue()}.
+     * <p>
+     * Each quantity is converted to its system value only once, the values are then
+     * sorted as primitive {@code double} values. Thus, sorting quantities expressed in
+     * different units requires no converter lookups during the sort. The sort is stable.
+     *
+     * @param quantities the quantities to sort.
+     * @return a new list containing the quantities in ascending order of their system value.
+     */
+    public static <T extends Quantity<?>> List<T> sortKeys(Collection<? extends T> quantities) {
+        return sortKeys(quantities, false);
+    }
+
+    /**
+     * Returns a new list containing the given quantities sorted by their value
+     * expressed in the system unit of their respective unit, see {@link #sortKeys(Collection)}.
+     * <p>
+     * The conversion to system values and the sorting of the primitive values
+     * is performed in parallel using the common fork-join pool.
+     *
+     * @param quantities the quantities to sort.
+     * @return a new list containing the quantities in ascending order of their system value.
+     */
+    public static <T extends Quantity<?>> List<T> parallelSortKeys(Collection<? extends T> quantities) {
+        return sortKeys(quantities, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Quantity<?>> List<T> sortKeys(Collection<? extends T> quantities, boolean parallel) {
+        Object[] elements = quantities.toArray();
+        int      length   = elements.length;
+
+        double[] keys = new double[length];
+        IntStream indices = IntStream.range(0, length);
+        (parallel ? indices.parallel() : indices)
+            .forEach(i -> keys[i] = QuantityComparators.systemValue((Quantity<?>) elements[i]));
+
+        double[] sortedKeys = keys.clone();
+        if (parallel) {
+            Arrays.parallelSort(sortedKeys);
+        } else {
+            Arrays.sort(sortedKeys);
+        }
+
+        // place each quantity at the first free position of its key in the
+        // sorted keys, processing them in their original order keeps the sort stable.
+        T[]      result = (T[]) new Quantity<?>[length];
+        int[]    placed = new int[length];
+        for (int i = 0; i < length; i++) {
+            int position = lowerBound(sortedKeys, keys[i]);
+            result[position + placed[position]++] = (T) elements[i];
+        }
+
+        return new ArrayList<>(Arrays.asList(result));
+    }
+
+    /**
+     * Returns the index of the first element in the sorted array that is not less than the key.
+     */
+    private static int lowerBound(double[] sortedKeys, double key) {
+        int low  = 0;
+        int high = sortedKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(sortedKeys[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     // format related methods.
 
     public static QuantityFormatter defaultFormatter() {
@@ -340,18 +447,64 @@ public final class Quantities {
         private final Unit<?>                      systemUnit;
 
         private static final Map<Class<?>, Unit<?>> quantityToSystemUnitMap = new HashMap<>();
+        private static final Map<Class<?>, Type>    quantityToTypeMap       = new HashMap<>();
+
+        // the system units resulting from multiplying / dividing two quantity types,
+        // indexed by (left.ordinal * #types + right.ordinal) * 2 + operation.
+        // The entries are calculated on first use to avoid calculating
+        // all combinations during startup. The units are weakly referenced,
+        // like product units in general, to not keep them alive forever.
+        private static final WeakReference<Unit<?>>[] operationTable;
+        private static final int                      typeCount;
+
+        private static final int PRODUCT  = 0;
+        private static final int QUOTIENT = 1;
 
         static {
-            for (Type type : values()) {
+            Type[] types = values();
+            for (Type type : types) {
                 quantityToSystemUnitMap.put(type.getQuantityType(), type.getSystemUnit());
+                quantityToTypeMap.put(type.getQuantityType(), type);
             }
+            typeCount      = types.length;
+            operationTable = createOperationTable(typeCount * typeCount * 2);
         }
 
         Type(Class<? extends Quantity<?>> quantityType) {
             this.quantityType = quantityType;
+            this.systemUnit   = systemUnitOf(quantityType);
+        }
 
-            Quantity<?> quantity = Proxies.delegatingProxy(this, quantityType);
-            systemUnit = quantity.getSystemUnit();
+        /**
+         * Returns the system unit of the given quantity type. If the quantity type is
+         * annotated with {@link SystemUnit}, the declared unit is used, otherwise
+         * its {@link Quantity#getSystemUnit()} method is called on a proxy instance.
+         *
+         * @throws UnsupportedOperationException if the system unit could not be determined.
+         */
+        private static Unit<?> systemUnitOf(Class<?> quantityType) {
+            SystemUnit systemUnit = quantityType.getAnnotation(SystemUnit.class);
+            if (systemUnit != null) {
+                String  symbol = systemUnit.value();
+                Unit<?> unit   = SystemUnit.ONE.equals(symbol) ?
+                        Units.ONE :
+                        Units.get(symbol, null);
+
+                if (unit == null) {
+                    throw new UnsupportedOperationException(quantityType +
+                                                            " declares an unknown system unit '" + symbol + "'.");
+                }
+                return unit.getSystemUnit();
+            }
+
+            try {
+                // Check if the specified quantity has overridden its getSystemUnit() method.
+                Quantity<?> quantity = (Quantity<?>) Proxies.delegatingProxy(new Object(), quantityType);
+                return quantity.getSystemUnit();
+            } catch (Exception ex) {
+                throw new UnsupportedOperationException(quantityType +
+                                                        " has not overridden its getSystemUnit() method.");
+            }
         }
 
         public Class<? extends Quantity<?>> getQuantityType() {
@@ -373,5 +526,82 @@ public final class Quantities {
 
             return quantityToSystemUnitMap.getOrDefault(quantityType, defaultUnit);
         }
+
+        /**
+         * Returns the quantity type registered for the given system unit, or {@code null}
+         * if there is none.
+         * <p>
+         * Note: this method is only used for internal purposes, use
+         * {@link Unit#getQuantityType()} instead which caches the result.
+         */
+        public static Class<? extends Quantity<?>> quantityTypeOf(Unit<?> systemUnit) {
+            return unitToQuantityMap.get(systemUnit);
+        }
+
+        /**
+         * Returns the system unit of the product of the given units, i.e.
+         * {@code left.multiply(right).getSystemUnit()}.
+         * <p>
+         * If both units are associated with a builtin quantity type, the result
+         * is looked up from a table of the operations between quantity types.
+         */
+        public static Unit<?> systemUnitOfProduct(Unit<?> left, Unit<?> right) {
+            Type leftType  = typeOf(left);
+            Type rightType = leftType != null ? typeOf(right) : null;
+
+            return rightType != null ?
+                    leftType.resultOf(rightType, PRODUCT) :
+                    left.multiply(right).getSystemUnit();
+        }
+
+        /**
+         * Returns the system unit of the quotient of the given units, i.e.
+         * {@code dividend.divide(divisor).getSystemUnit()}.
+         * <p>
+         * If both units are associated with a builtin quantity type, the result
+         * is looked up from a table of the operations between quantity types.
+         */
+        public static Unit<?> systemUnitOfQuotient(Unit<?> dividend, Unit<?> divisor) {
+            Type dividendType = typeOf(dividend);
+            Type divisorType  = dividendType != null ? typeOf(divisor) : null;
+
+            return divisorType != null ?
+                    dividendType.resultOf(divisorType, QUOTIENT) :
+                    dividend.divide(divisor).getSystemUnit();
+        }
+
+        private static Type typeOf(Unit<?> unit) {
+            Class<?> quantityType = unit.getQuantityType();
+            if (quantityType == null) {
+                return null;
+            }
+
+            // only use the table if the unit is derived from the system unit of the type,
+            // otherwise the resulting unit might be represented differently, e.g. for units
+            // that share the same dimension like Hz and Bq.
+            Type type = quantityToTypeMap.get(quantityType);
+            return type != null && type.systemUnit == unit.getSystemUnit() ? type : null;
+        }
+
+        private Unit<?> resultOf(Type other, int operation) {
+            int index = (ordinal() * typeCount + other.ordinal()) * 2 + operation;
+
+            // racy single-check: the result might be calculated more than
+            // once by concurrent threads, but all results are equal.
+            WeakReference<Unit<?>> reference = operationTable[index];
+            Unit<?>                result    = reference != null ? reference.get() : null;
+            if (result == null) {
+                result = operation == PRODUCT ?
+                        systemUnit.multiply(other.systemUnit).getSystemUnit() :
+                        systemUnit.divide(other.systemUnit).getSystemUnit();
+                operationTable[index] = new WeakReference<>(result);
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static WeakReference<Unit<?>>[] createOperationTable(int size) {
+            return (WeakReference<Unit<?>>[]) new WeakReference<?>[size];
+        }
     }
 }
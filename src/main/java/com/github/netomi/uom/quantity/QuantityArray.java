@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.UnitConverter;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An array of quantity values that are expressed in the same {@link Unit}.
+ * <p>
+ * The values are stored as primitive {@code double} values, which allows
+ * bulk operations like filtering or conversions without creating a
+ * {@link Quantity} instance for each element.
+ *
+ * @param <Q> the quantity type
+ *
+ * @author Thomas Neidhart
+ */
+public final class QuantityArray<Q extends Quantity<Q>> {
+
+    private final double[] values;
+    private final Unit<Q>  unit;
+
+    /**
+     * Returns a new {@link QuantityArray} containing a copy of the given values.
+     *
+     * @param unit   the unit of the values.
+     * @param values the values.
+     * @return a new {@link QuantityArray} instance.
+     */
+    public static <Q extends Quantity<Q>> QuantityArray<Q> of(Unit<Q> unit, double... values) {
+        Objects.requireNonNull(unit);
+        return new QuantityArray<>(values.clone(), unit);
+    }
+
+    /**
+     * Returns a new {@link QuantityArray} containing the values of the given quantities
+     * converted to the specified unit.
+     *
+     * @param unit       the unit of the resulting array.
+     * @param quantities the quantities.
+     * @return a new {@link QuantityArray} instance.
+     */
+    public static <Q extends Quantity<Q>> QuantityArray<Q> of(Unit<Q> unit, Iterable<? extends Quantity<Q>> quantities) {
+        Objects.requireNonNull(unit);
+
+        double[] values = new double[8];
+        int      length = 0;
+        for (Quantity<Q> quantity : quantities) {
+            if (length == values.length) {
+                values = Arrays.copyOf(values, length * 2);
+            }
+            values[length++] = quantity.getUnit() == unit ?
+                    quantity.doubleValue() :
+                    quantity.getUnit().getConverterTo(unit).convert(quantity.doubleValue());
+        }
+        return new QuantityArray<>(Arrays.copyOf(values, length), unit);
+    }
+
+    /**
+     * Returns a new {@link QuantityArray} backed by the given values without copying them,
+     * the caller must not modify the array afterwards.
+     */
+    static <Q extends Quantity<Q>> QuantityArray<Q> wrap(Unit<Q> unit, double[] values) {
+        return new QuantityArray<>(values, unit);
+    }
+
+    private QuantityArray(double[] values, Unit<Q> unit) {
+        this.values = values;
+        this.unit   = unit;
+    }
+
+    /**
+     * Returns the number of values in this array.
+     */
+    public int length() {
+        return values.length;
+    }
+
+    /**
+     * Returns the {@link Unit} in which all values of this array are expressed.
+     */
+    public Unit<Q> getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the value at the given index.
+     */
+    public double doubleValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the value at the given index as {@link Quantity}.
+     *
+     * @throws UnsupportedOperationException if the quantity type of the unit is not known.
+     */
+    public Q get(int index) {
+        return Quantities.create(values[index], unit);
+    }
+
+    /**
+     * Returns a new {@link QuantityArray} with all values converted to the given unit.
+     */
+    public QuantityArray<Q> to(Unit<Q> unit) {
+        if (this.unit.equals(unit)) {
+            return this;
+        }
+
+        UnitConverter converter = this.unit.getConverterTo(unit);
+        double[]      result    = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = converter.convert(values[i]);
+        }
+        return new QuantityArray<>(result, unit);
+    }
+
+    /**
+     * Returns a copy of the values of this array.
+     */
+    public double[] toDoubleArray() {
+        return values.clone();
+    }
+
+    // returns the backing array without copying, for internal use only.
+    double[] values() {
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        QuantityArray<?> that = (QuantityArray<?>) o;
+        return Objects.equals(unit, that.unit) &&
+               Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * unit.hashCode() + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values) + " " + unit;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.Quantity;
+
+import java.util.Comparator;
+
+/**
+ * Utility class providing {@link Comparator}s for {@link Quantity} instances.
+ *
+ * @author Thomas Neidhart
+ */
+public final class QuantityComparators {
+
+    // hide constructor of a pure utility class.
+    private QuantityComparators() {}
+
+    /**
+     * Returns a {@link Comparator} that orders quantities by their value expressed
+     * in the system unit of their respective unit.
+     * <p>
+     * In contrast to {@link Quantity#compareTo(Object)}, no converter between
+     * the units of the compared quantities needs to be looked up, the system
+     * converter of each unit is used instead. No check is performed whether the
+     * compared quantities are commensurable.
+     * <p>
+     * When sorting large collections, prefer {@link Quantities#sortKeys(java.util.Collection)}
+     * which converts each quantity only once.
+     *
+     * @param <T> the type of the compared quantities.
+     * @return a comparator that orders quantities by their system value.
+     */
+    public static <T extends Quantity<?>> Comparator<T> bySystemValue() {
+        return (q1, q2) -> Double.compare(systemValue(q1), systemValue(q2));
+    }
+
+    /**
+     * Returns the value of the given quantity expressed in its system unit.
+     */
+    static double systemValue(Quantity<?> quantity) {
+        return quantity.getUnit().getSystemConverter().convert(quantity.doubleValue());
+    }
+}
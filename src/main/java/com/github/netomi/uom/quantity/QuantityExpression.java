@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.function.UnitConverters;
+import com.github.netomi.uom.math.Fraction;
+import com.github.netomi.uom.quantity.impl.DoubleQuantity;
+import com.github.netomi.uom.quantity.impl.FloatQuantity;
+import com.github.netomi.uom.unit.Units;
+import com.github.netomi.uom.util.Preconditions;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A lazily evaluated product of quantities, e.g. {@code mass * acceleration * distance / time}.
+ * <p>
+ * Chaining the operations directly on quantities creates an intermediate quantity
+ * for each operation, including the calculation of its unit and quantity type.
+ * A {@link QuantityExpression} instead only records the operations. When compiled,
+ * the unit of the result is derived once from the units of all operands and the
+ * numeric value is computed in a single pass in system units.
+ * <p>
+ * A {@link Compiled} expression can be evaluated repeatedly with new inputs, e.g.
+ * <pre>
+ *     QuantityExpression.Compiled&lt;Power&gt; power =
+ *         QuantityExpression.of(mass).multiply(acceleration).multiply(distance).divide(time).compile(Power.class);
+ *
+ *     Power p = power.evaluate(otherMass, otherAcceleration, otherDistance, otherTime);
+ * </pre>
+ * A compiled expression is evaluated in double precision, see {@link Compiled}. When
+ * evaluating an expression directly, operands of a different number type, e.g. decimal
+ * or fraction quantities, are instead combined using their own arithmetic, such that
+ * their precision is retained.
+ *
+ * @author Thomas Neidhart
+ */
+public final class QuantityExpression {
+
+    private final QuantityExpression parent;
+    private final Quantity<?>        operand;
+    private final boolean            divide;
+    private final int                size;
+
+    /**
+     * Returns a new {@link QuantityExpression} starting with the given quantity.
+     */
+    public static QuantityExpression of(Quantity<?> quantity) {
+        return new QuantityExpression(null, quantity, false);
+    }
+
+    private QuantityExpression(QuantityExpression parent, Quantity<?> operand, boolean divide) {
+        this.parent  = parent;
+        this.operand = Objects.requireNonNull(operand);
+        this.divide  = divide;
+        this.size    = parent == null ? 1 : parent.size + 1;
+    }
+
+    /**
+     * Returns a new expression that multiplies the result of this expression with the given quantity.
+     */
+    public QuantityExpression multiply(Quantity<?> multiplier) {
+        return new QuantityExpression(this, multiplier, false);
+    }
+
+    /**
+     * Returns a new expression that divides the result of this expression by the given quantity.
+     */
+    public QuantityExpression divide(Quantity<?> divisor) {
+        return new QuantityExpression(this, divisor, true);
+    }
+
+    /**
+     * Returns the quantities this expression is composed of, in the order they have been added.
+     */
+    public List<Quantity<?>> getOperands() {
+        return Collections.unmodifiableList(Arrays.asList(operands()));
+    }
+
+    /**
+     * Evaluates this expression, the result is expressed in its system unit.
+     */
+    public Quantity<?> evaluate() {
+        Compiled<Quantity<?>> compiled = compile();
+        Quantity<?>[]         operands = operands();
+
+        return Compiled.hasDoublePrecision(operands) ?
+                compiled.evaluate(operands) :
+                evaluateWithOperandArithmetic().toAny(compiled.getUnit());
+    }
+
+    /**
+     * Evaluates this expression as the given quantity type.
+     *
+     * @throws com.github.netomi.uom.IncommensurableException if the result is not compatible
+     * with the requested quantity type.
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends Quantity<R>> R evaluate(Class<R> quantityClass) {
+        Compiled<R>   compiled = compile(quantityClass);
+        Quantity<?>[] operands = operands();
+
+        return Compiled.hasDoublePrecision(operands) ?
+                compiled.evaluate(operands) :
+                (R) evaluateWithOperandArithmetic().asQuantity(quantityClass).to((Unit<R>) compiled.getUnit());
+    }
+
+    /**
+     * Evaluates this expression by combining the operands with their own
+     * arithmetic, retaining the number type of the operands.
+     */
+    private Quantity<?> evaluateWithOperandArithmetic() {
+        if (parent == null) {
+            return operand;
+        }
+
+        Quantity<?> result = parent.evaluateWithOperandArithmetic();
+        return divide ? result.divide(operand) : result.multiply(operand);
+    }
+
+    /**
+     * Compiles this expression, the result of the compiled expression is expressed
+     * in its system unit and has the quantity type registered for the unit, if any.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Compiled<Quantity<?>> compile() {
+        Unit<?>  resultUnit   = resultSystemUnit();
+        Class<?> quantityType = Quantities.getQuantityType(resultUnit);
+
+        DoubleFunction<Quantity<?>> factory = quantityType != null ?
+                value -> Quantities.create(value, (Unit) resultUnit, (Class) quantityType) :
+                value -> Quantities.createGeneric(value, (Unit) resultUnit);
+
+        return new Compiled<>(this, resultUnit, factory);
+    }
+
+    /**
+     * Compiles this expression for the given quantity type.
+     *
+     * @throws com.github.netomi.uom.IncommensurableException if the result is not compatible
+     * with the requested quantity type.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <R extends Quantity<R>> Compiled<R> compile(Class<R> quantityClass) {
+        Unit<R> calculatedSystemUnit = (Unit<R>) resultSystemUnit();
+
+        Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, (Unit) calculatedSystemUnit);
+        if (systemUnit != calculatedSystemUnit) {
+            Preconditions.requireCommensurable(calculatedSystemUnit, systemUnit);
+            calculatedSystemUnit = systemUnit;
+        }
+
+        Unit<R> resultUnit = calculatedSystemUnit;
+        return new Compiled<>(this, resultUnit, value -> Quantities.create(value, resultUnit, quantityClass));
+    }
+
+    private Unit<?> resultSystemUnit() {
+        Unit<?>[]  systemUnits = new Unit<?>[size];
+        Fraction[] fractions   = new Fraction[size];
+
+        QuantityExpression expression = this;
+        for (int i = size - 1; i >= 0; i--) {
+            systemUnits[i] = expression.operand.getUnit().getSystemUnit();
+            fractions[i]   = expression.divide ? Fraction.of(-1) : Fraction.ONE;
+            expression     = expression.parent;
+        }
+
+        // derive the resulting unit once from all unit elements
+        // instead of creating intermediate product units.
+        return Units.productOf(systemUnits, fractions).getSystemUnit();
+    }
+
+    private Quantity<?>[] operands() {
+        Quantity<?>[] operands = new Quantity<?>[size];
+
+        QuantityExpression expression = this;
+        for (int i = size - 1; i >= 0; i--) {
+            operands[i] = expression.operand;
+            expression  = expression.parent;
+        }
+        return operands;
+    }
+
+    @Override
+    public String toString() {
+        return parent == null ?
+                String.valueOf(operand) :
+                parent + (divide ? " / " : " * ") + operand;
+    }
+
+    /**
+     * A compiled {@link QuantityExpression} that can be evaluated with new inputs.
+     * <p>
+     * Inputs are expected in the same order as the operands of the original expression
+     * and need to be commensurable with them. Inputs expressed in the same unit as the
+     * original operands are converted to their system unit using precompiled converters.
+     * <p>
+     * The expression is evaluated in double precision, thus input quantities need to have
+     * at most double precision, i.e. be a {@link DoubleQuantity} or {@link FloatQuantity}.
+     * Quantities of other number types are rejected instead of silently losing precision,
+     * use {@link QuantityExpression#evaluate()} to evaluate them with their own arithmetic.
+     *
+     * @param <R> the quantity type of the result.
+     */
+    public static final class Compiled<R extends Quantity<?>> {
+        private final Unit<?>[]             inputUnits;
+        private final DoubleUnaryOperator[] systemConverters;
+        private final boolean[]             divides;
+        private final Unit<?>               resultUnit;
+        private final DoubleFunction<R>     factory;
+
+        private Compiled(QuantityExpression expression, Unit<?> resultUnit, DoubleFunction<R> factory) {
+            int size = expression.size;
+
+            this.inputUnits       = new Unit<?>[size];
+            this.systemConverters = new DoubleUnaryOperator[size];
+            this.divides          = new boolean[size];
+            this.resultUnit       = resultUnit;
+            this.factory          = factory;
+
+            for (int i = size - 1; i >= 0; i--) {
+                Unit<?> unit = expression.operand.getUnit();
+
+                inputUnits[i]       = unit;
+                systemConverters[i] = UnitConverters.asOperator(unit.getSystemConverter());
+                divides[i]          = expression.divide;
+
+                expression = expression.parent;
+            }
+        }
+
+        /**
+         * Returns the number of inputs of this expression.
+         */
+        public int getInputCount() {
+            return inputUnits.length;
+        }
+
+        /**
+         * Returns the units in which the values passed to {@link #evaluate(double...)}
+         * are expected.
+         */
+        public List<Unit<?>> getInputUnits() {
+            return Collections.unmodifiableList(Arrays.asList(inputUnits));
+        }
+
+        /**
+         * Returns the unit of the result of this expression.
+         */
+        public Unit<?> getUnit() {
+            return resultUnit;
+        }
+
+        /**
+         * Evaluates this expression with the given input quantities.
+         *
+         * @throws IllegalArgumentException if the number of inputs does not match, or an input
+         * has a higher precision than double.
+         * @throws com.github.netomi.uom.IncommensurableException if an input is not commensurable
+         * with the respective operand of the original expression.
+         */
+        public R evaluate(Quantity<?>... inputs) {
+            checkInputCount(inputs.length);
+
+            double result = 1.0;
+            for (int i = 0; i < inputs.length; i++) {
+                if (!hasDoublePrecision(inputs[i])) {
+                    throw new IllegalArgumentException("input " + inputs[i] + " has a higher precision than double");
+                }
+
+                Unit<?> unit = inputs[i].getUnit();
+
+                double value;
+                if (unit == inputUnits[i]) {
+                    value = systemConverters[i].applyAsDouble(inputs[i].doubleValue());
+                } else {
+                    Preconditions.requireCommensurable(unit, inputUnits[i]);
+                    value = unit.getSystemConverter().convert(inputs[i].doubleValue());
+                }
+
+                result = divides[i] ? result / value : result * value;
+            }
+            return factory.apply(result);
+        }
+
+        /**
+         * Evaluates this expression with the given input values, expressed
+         * in the respective {@link #getInputUnits() input units}.
+         *
+         * @throws IllegalArgumentException if the number of inputs does not match.
+         */
+        public R evaluate(double... values) {
+            return factory.apply(evaluateAsDouble(values));
+        }
+
+        /**
+         * Evaluates this expression with the given input values, expressed in the
+         * respective {@link #getInputUnits() input units}, and returns the value
+         * of the result in its {@link #getUnit() unit}.
+         *
+         * @throws IllegalArgumentException if the number of inputs does not match.
+         */
+        public double evaluateAsDouble(double... values) {
+            checkInputCount(values.length);
+
+            double result = 1.0;
+            for (int i = 0; i < values.length; i++) {
+                double value = systemConverters[i].applyAsDouble(values[i]);
+                result = divides[i] ? result / value : result * value;
+            }
+            return result;
+        }
+
+        private static boolean hasDoublePrecision(Quantity<?>... quantities) {
+            for (Quantity<?> quantity : quantities) {
+                if (!(quantity instanceof DoubleQuantity || quantity instanceof FloatQuantity)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void checkInputCount(int count) {
+            if (count != inputUnits.length) {
+                throw new IllegalArgumentException("expected " + inputUnits.length + " inputs but got " + count);
+            }
+        }
+    }
+}
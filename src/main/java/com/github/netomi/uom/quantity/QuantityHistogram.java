@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.function.UnitConverters;
+import com.github.netomi.uom.math.BigFraction;
+import com.github.netomi.uom.unit.Units;
+import com.github.netomi.uom.util.IdentityCache;
+import com.github.netomi.uom.util.Preconditions;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A histogram recording the distribution of quantity values, e.g. latencies
+ * or sizes, to query percentiles of the recorded values.
+ * <p>
+ * Values are recorded in a fixed base unit and counted in log-linear buckets,
+ * similar to an HdrHistogram: values are expressed as multiples of the given
+ * resolution and each power of 2 range is divided into linear sub-buckets,
+ * such that the relative error of a reported value does not exceed the
+ * configured number of significant decimal digits.
+ * <p>
+ * Recorded quantities are converted to the base unit using a converter compiled
+ * for each unit, the converters of the most recently used units are cached.
+ * Recording a value does not allocate any objects and is safe to be performed
+ * concurrently from multiple threads. Queries performed concurrently to recording
+ * might not reflect the most recently recorded values.
+ *
+ * @param <Q> the quantity type
+ *
+ * @author Thomas Neidhart
+ */
+public final class QuantityHistogram<Q extends Quantity<Q>> {
+
+    // the serialization format version.
+    private static final int SERIAL_VERSION = 1;
+
+    // the number of compiled converters cached by each histogram.
+    private static final int CACHED_UNITS = 4;
+
+    private final Unit<Q>         unit;
+    private final double          resolution;
+    private final double          highestTrackableValue;
+    private final int             significantDigits;
+    private final int             subBucketMagnitude;
+    private final long            highestTrackableUnits;
+    private final AtomicLongArray counts;
+
+    private final IdentityCache<Unit<Q>, DoubleUnaryOperator> converters = new IdentityCache<>(CACHED_UNITS);
+
+    /**
+     * Returns a new, empty {@link QuantityHistogram}.
+     *
+     * @param unit                  the base unit in which values are recorded, must have
+     *                              a linear system converter.
+     * @param resolution            the smallest value that can be distinguished from 0, in the base unit.
+     * @param highestTrackableValue the highest value that can be recorded, in the base unit.
+     * @param significantDigits     the number of significant decimal digits, between 1 and 5.
+     * @return a new histogram instance.
+     * @throws IllegalArgumentException if any of the arguments is out of range.
+     */
+    public static <Q extends Quantity<Q>> QuantityHistogram<Q> of(Unit<Q> unit,
+                                                                  double  resolution,
+                                                                  double  highestTrackableValue,
+                                                                  int     significantDigits) {
+        return new QuantityHistogram<>(unit, resolution, highestTrackableValue, significantDigits);
+    }
+
+    private QuantityHistogram(Unit<Q> unit, double resolution, double highestTrackableValue, int significantDigits) {
+        Objects.requireNonNull(unit);
+        if (!unit.getSystemConverter().isLinear()) {
+            throw new IllegalArgumentException("unit '" + unit + "' is not linear.");
+        }
+        if (!(resolution > 0) || Double.isInfinite(resolution)) {
+            throw new IllegalArgumentException("resolution must be positive: " + resolution);
+        }
+        if (!(highestTrackableValue >= 2 * resolution) || highestTrackableValue / resolution >= Long.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("invalid highest trackable value: " + highestTrackableValue);
+        }
+        if (significantDigits < 1 || significantDigits > 5) {
+            throw new IllegalArgumentException("significant digits must be between 1 and 5: " + significantDigits);
+        }
+
+        this.unit                  = unit;
+        this.resolution            = resolution;
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits     = significantDigits;
+
+        // the smallest power of 2 that allows to represent values with single
+        // unit resolution in the given number of significant digits.
+        long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+        this.subBucketMagnitude    = 64 - Long.numberOfLeadingZeros(largestValueWithSingleUnitResolution - 1);
+        this.highestTrackableUnits = (long) Math.ceil(highestTrackableValue / resolution);
+        this.counts                = new AtomicLongArray(bucketIndex(highestTrackableUnits) + 1);
+    }
+
+    /**
+     * Returns the base unit of this histogram.
+     */
+    public Unit<Q> getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the resolution of this histogram in its base unit.
+     */
+    public double getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Records the given quantity.
+     *
+     * @throws IllegalArgumentException if the value is negative or exceeds the highest trackable value.
+     * @throws com.github.netomi.uom.IncommensurableException if the quantity is not commensurable
+     * with the base unit.
+     */
+    public void record(Quantity<Q> quantity) {
+        record(quantity.doubleValue(), quantity.getUnit());
+    }
+
+    /**
+     * Records the given value expressed in the specified unit.
+     *
+     * @throws IllegalArgumentException if the value is negative or exceeds the highest trackable value.
+     * @throws com.github.netomi.uom.IncommensurableException if the unit is not commensurable
+     * with the base unit.
+     */
+    public void record(double value, Unit<Q> unit) {
+        recordValue(toBaseUnit(unit).applyAsDouble(value), 1);
+    }
+
+    /**
+     * Records the given value expressed in the base unit of this histogram.
+     *
+     * @throws IllegalArgumentException if the value is negative or exceeds the highest trackable value.
+     */
+    public void record(double value) {
+        recordValue(value, 1);
+    }
+
+    private void recordValue(double value, long count) {
+        if (!(value >= 0) || value > highestTrackableValue) {
+            throw new IllegalArgumentException("value out of trackable range: " + value);
+        }
+
+        counts.addAndGet(bucketIndex((long) (value / resolution)), count);
+    }
+
+    private DoubleUnaryOperator toBaseUnit(Unit<Q> unit) {
+        DoubleUnaryOperator converter = converters.get(unit);
+        if (converter == null) {
+            Preconditions.requireCommensurable(unit, this.unit);
+            converter = converters.computeIfAbsent(unit, u -> UnitConverters.asOperator(u.getConverterTo(this.unit)));
+        }
+        return converter;
+    }
+
+    /**
+     * Adds all values recorded by the given histogram to this histogram.
+     *
+     * @throws IllegalArgumentException if the given histogram has a different configuration.
+     */
+    public void add(QuantityHistogram<Q> other) {
+        if (!hasSameConfiguration(other)) {
+            throw new IllegalArgumentException("histograms have different configurations.");
+        }
+
+        for (int i = 0; i < other.counts.length(); i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+    }
+
+    private boolean hasSameConfiguration(QuantityHistogram<?> other) {
+        return unit.equals(other.unit)                                 &&
+               resolution            == other.resolution               &&
+               highestTrackableValue == other.highestTrackableValue    &&
+               significantDigits     == other.significantDigits;
+    }
+
+    /**
+     * Returns the total number of recorded values.
+     */
+    public long getTotalCount() {
+        long totalCount = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            totalCount += counts.get(i);
+        }
+        return totalCount;
+    }
+
+    /**
+     * Returns the value at the given percentile, i.e. the largest value that
+     * is equivalent to the recorded value at the percentile, or a zero quantity
+     * if no values have been recorded.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the value at the percentile expressed in the base unit.
+     */
+    public Q getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+
+        long[] snapshot   = snapshot();
+        long   totalCount = 0;
+        for (long count : snapshot) {
+            totalCount += count;
+        }
+
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long cumulativeCount   = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulativeCount += snapshot[i];
+            if (cumulativeCount >= countAtPercentile) {
+                return toQuantity(highestEquivalentUnits(i));
+            }
+        }
+        return toQuantity(0);
+    }
+
+    /**
+     * Returns the mean of all recorded values, or a zero quantity if no values
+     * have been recorded.
+     */
+    public Q getMean() {
+        long[] snapshot   = snapshot();
+        long   totalCount = 0;
+        double total      = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i] != 0) {
+                long   lowest = lowestEquivalentUnits(i);
+                double median = lowest + (highestEquivalentUnits(i) - lowest) / 2.0;
+
+                total      += median * snapshot[i];
+                totalCount += snapshot[i];
+            }
+        }
+        return totalCount == 0 ? toQuantity(0) : Quantities.create(total / totalCount * resolution, unit);
+    }
+
+    private long[] snapshot() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    private Q toQuantity(long units) {
+        return Quantities.create(units * resolution, unit);
+    }
+
+    // bucket index calculations.
+
+    /**
+     * Returns the index of the bucket for the given value expressed in multiples of the resolution.
+     * <p>
+     * Values smaller than {@code 2^subBucketMagnitude} have their own bucket, larger values are
+     * grouped into {@code 2^(subBucketMagnitude - 1)} linear sub-buckets per power of 2.
+     */
+    private int bucketIndex(long units) {
+        int subBucketCount = 1 << subBucketMagnitude;
+        if (units < subBucketCount) {
+            return (int) units;
+        }
+
+        int exponent  = 64 - Long.numberOfLeadingZeros(units) - subBucketMagnitude;
+        int subBucket = (int) (units >>> exponent);
+        int halfCount = subBucketCount >>> 1;
+        return subBucketCount + (exponent - 1) * halfCount + (subBucket - halfCount);
+    }
+
+    private long lowestEquivalentUnits(int index) {
+        int subBucketCount = 1 << subBucketMagnitude;
+        if (index < subBucketCount) {
+            return index;
+        }
+
+        int halfCount = subBucketCount >>> 1;
+        int offset    = index - subBucketCount;
+        int exponent  = offset / halfCount + 1;
+        return (long) (offset % halfCount + halfCount) << exponent;
+    }
+
+    private long highestEquivalentUnits(int index) {
+        int subBucketCount = 1 << subBucketMagnitude;
+        if (index < subBucketCount) {
+            return index;
+        }
+
+        int exponent = (index - subBucketCount) / (subBucketCount >>> 1) + 1;
+        return lowestEquivalentUnits(index) + (1L << exponent) - 1;
+    }
+
+    // serialization.
+
+    /**
+     * Writes a snapshot of this histogram to the given output.
+     * <p>
+     * The base unit is written using its symbol and its exact scale relative
+     * to the system unit, which allows to restore the unit even if it is not
+     * registered by its symbol, e.g. for prefixed units. Units without a symbol
+     * are written with an empty symbol and restored from their scale only.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        BigFraction scale  = unit.getSystemConverter().scaleAsFraction();
+        String      symbol = unit.getSymbol();
+
+        out.writeInt(SERIAL_VERSION);
+        out.writeUTF(symbol != null ? symbol : "");
+        out.writeUTF(scale.getNumerator().toString());
+        out.writeUTF(scale.getDenominator().toString());
+        out.writeDouble(resolution);
+        out.writeDouble(highestTrackableValue);
+        out.writeInt(significantDigits);
+
+        long[] snapshot = snapshot();
+        int    buckets  = 0;
+        for (long count : snapshot) {
+            if (count != 0) {
+                buckets++;
+            }
+        }
+
+        out.writeInt(buckets);
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i] != 0) {
+                out.writeInt(i);
+                out.writeLong(snapshot[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a histogram snapshot that has been written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in           the input to read from.
+     * @param quantityType the quantity type of the histogram.
+     * @return a new histogram containing the recorded values of the snapshot.
+     * @throws IOException if the input could not be read or is malformed.
+     */
+    public static <Q extends Quantity<Q>> QuantityHistogram<Q> readFrom(DataInput in, Class<Q> quantityType) throws IOException {
+        int version = in.readInt();
+        if (version != SERIAL_VERSION) {
+            throw new IOException("unsupported histogram format version: " + version);
+        }
+
+        String      symbol = in.readUTF();
+        BigFraction scale  = BigFraction.of(new BigInteger(in.readUTF()), new BigInteger(in.readUTF()));
+
+        Unit<Q> unit = resolveUnit(symbol, scale, quantityType);
+
+        QuantityHistogram<Q> histogram;
+        try {
+            histogram = of(unit, in.readDouble(), in.readDouble(), in.readInt());
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("malformed histogram snapshot", ex);
+        }
+
+        int buckets = in.readInt();
+        for (int i = 0; i < buckets; i++) {
+            int  index = in.readInt();
+            long count = in.readLong();
+            if (index < 0 || index >= histogram.counts.length() || count < 0) {
+                throw new IOException("malformed histogram bucket: " + index);
+            }
+            histogram.counts.addAndGet(index, count);
+        }
+        return histogram;
+    }
+
+    private static <Q extends Quantity<Q>> Unit<Q> resolveUnit(String symbol, BigFraction scale, Class<Q> quantityType) {
+        Unit<Q> systemUnit = Quantities.getSystemUnit(quantityType);
+        Unit<Q> unit       = symbol.isEmpty() ? null : Units.get(symbol, quantityType);
+
+        if (unit != null &&
+            unit.isCompatible(systemUnit) &&
+            unit.getSystemConverter().scaleAsFraction().compareTo(scale) == 0) {
+            return unit;
+        }
+
+        // the unit is not registered, restore it from its scale.
+        return Units.transformedWith(systemUnit, UnitConverters.multiply(scale));
+    }
+}
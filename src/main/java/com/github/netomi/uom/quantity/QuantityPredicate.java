@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Predicate} for {@link Quantity} instances that can also be
+ * applied to primitive values and to a whole {@link QuantityArray}.
+ * <p>
+ * Instances are usually obtained from {@link QuantityPredicates}.
+ *
+ * @param <Q> the quantity type
+ *
+ * @author Thomas Neidhart
+ */
+public interface QuantityPredicate<Q extends Quantity<Q>> extends Predicate<Quantity<Q>> {
+
+    /**
+     * Evaluates this predicate for a value expressed in the given unit.
+     *
+     * @param value the value.
+     * @param unit  the unit of the value.
+     * @return {@code true} if the value matches the predicate, {@code false} otherwise.
+     * @throws com.github.netomi.uom.IncommensurableException if the unit is not commensurable
+     * with the unit of the predicate.
+     */
+    boolean test(double value, Unit<Q> unit);
+
+    @Override
+    default boolean test(Quantity<Q> quantity) {
+        return test(quantity.doubleValue(), quantity.getUnit());
+    }
+
+    /**
+     * Evaluates this predicate for all values of the given array.
+     *
+     * @param array the array to filter.
+     * @return a {@link BitSet} with the bits set at the index of each matching value.
+     * @throws com.github.netomi.uom.IncommensurableException if the unit of the array is not
+     * commensurable with the unit of the predicate.
+     */
+    BitSet filter(QuantityArray<Q> array);
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.function.UnitConverters;
+import com.github.netomi.uom.util.IdentityCache;
+import com.github.netomi.uom.util.Preconditions;
+
+import java.util.BitSet;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Utility class to create {@link QuantityPredicate} instances.
+ * <p>
+ * The returned predicates convert their thresholds to values in the
+ * system unit at construction time. When evaluated, the tested value is
+ * converted to the system unit using a converter compiled for its unit
+ * and compared as primitive value. The compiled converters of the most
+ * recently used units are cached by each predicate, thus no converter
+ * lookups are needed when testing many values in the same units.
+ *
+ * @author Thomas Neidhart
+ */
+public final class QuantityPredicates {
+
+    // the number of compiled converters cached by each predicate.
+    private static final int CACHED_UNITS = 4;
+
+    // hide constructor of a pure utility class.
+    private QuantityPredicates() {}
+
+    /**
+     * Returns a predicate matching quantities that are greater than the given threshold.
+     */
+    public static <Q extends Quantity<Q>> QuantityPredicate<Q> greaterThan(Quantity<Q> threshold) {
+        double value = QuantityComparators.systemValue(threshold);
+        return new RangePredicate<>(threshold.getUnit(), value, false, Double.POSITIVE_INFINITY, true);
+    }
+
+    /**
+     * Returns a predicate matching quantities that are greater than or equal to the given threshold.
+     */
+    public static <Q extends Quantity<Q>> QuantityPredicate<Q> greaterThanOrEqual(Quantity<Q> threshold) {
+        double value = QuantityComparators.systemValue(threshold);
+        return new RangePredicate<>(threshold.getUnit(), value, true, Double.POSITIVE_INFINITY, true);
+    }
+
+    /**
+     * Returns a predicate matching quantities that are less than the given threshold.
+     */
+    public static <Q extends Quantity<Q>> QuantityPredicate<Q> lessThan(Quantity<Q> threshold) {
+        double value = QuantityComparators.systemValue(threshold);
+        return new RangePredicate<>(threshold.getUnit(), Double.NEGATIVE_INFINITY, true, value, false);
+    }
+
+    /**
+     * Returns a predicate matching quantities that are less than or equal to the given threshold.
+     */
+    public static <Q extends Quantity<Q>> QuantityPredicate<Q> lessThanOrEqual(Quantity<Q> threshold) {
+        double value = QuantityComparators.systemValue(threshold);
+        return new RangePredicate<>(threshold.getUnit(), Double.NEGATIVE_INFINITY, true, value, true);
+    }
+
+    /**
+     * Returns a predicate matching quantities that lie within the given bounds, both inclusive.
+     *
+     * @throws com.github.netomi.uom.IncommensurableException if the units of the bounds are
+     * not commensurable.
+     */
+    public static <Q extends Quantity<Q>> QuantityPredicate<Q> between(Quantity<Q> lower, Quantity<Q> upper) {
+        Preconditions.requireCommensurable(lower.getUnit(), upper.getUnit());
+
+        return new RangePredicate<>(lower.getUnit(),
+                                    QuantityComparators.systemValue(lower), true,
+                                    QuantityComparators.systemValue(upper), true);
+    }
+
+    /**
+     * Returns a predicate matching quantities that are equal to the given reference
+     * within the given epsilon, expressed in the unit of the reference, the same
+     * semantic as {@link Quantity#isEqual(Quantity, double)}.
+     */
+    public static <Q extends Quantity<Q>> QuantityPredicate<Q> isEqual(Quantity<Q> reference, double epsilon) {
+        UnitConverter converter = reference.getUnit().getSystemConverter();
+
+        double value = reference.doubleValue();
+        double lower = converter.convert(value - epsilon);
+        double upper = converter.convert(value + epsilon);
+
+        return new RangePredicate<>(reference.getUnit(), Math.min(lower, upper), true, Math.max(lower, upper), true);
+    }
+
+    // inner helper classes.
+
+    /**
+     * A predicate matching values within a range in the system unit.
+     */
+    private static final class RangePredicate<Q extends Quantity<Q>> implements QuantityPredicate<Q> {
+        private final Unit<Q> unit;
+        private final double  lower;
+        private final boolean lowerInclusive;
+        private final double  upper;
+        private final boolean upperInclusive;
+
+        private final IdentityCache<Unit<?>, DoubleUnaryOperator> converters = new IdentityCache<>(CACHED_UNITS);
+
+        RangePredicate(Unit<Q> unit, double lower, boolean lowerInclusive, double upper, boolean upperInclusive) {
+            this.unit           = unit;
+            this.lower          = lower;
+            this.lowerInclusive = lowerInclusive;
+            this.upper          = upper;
+            this.upperInclusive = upperInclusive;
+        }
+
+        @Override
+        public boolean test(double value, Unit<Q> unit) {
+            return matches(toSystemUnit(unit).applyAsDouble(value));
+        }
+
+        @Override
+        public BitSet filter(QuantityArray<Q> array) {
+            DoubleUnaryOperator toSystemUnit = toSystemUnit(array.getUnit());
+
+            int    length = array.length();
+            BitSet result = new BitSet(length);
+            for (int i = 0; i < length; i++) {
+                if (matches(toSystemUnit.applyAsDouble(array.doubleValue(i)))) {
+                    result.set(i);
+                }
+            }
+            return result;
+        }
+
+        private boolean matches(double value) {
+            return (lowerInclusive ? value >= lower : value > lower) &&
+                   (upperInclusive ? value <= upper : value < upper);
+        }
+
+        private DoubleUnaryOperator toSystemUnit(Unit<Q> unit) {
+            return converters.computeIfAbsent(unit, u -> {
+                Preconditions.requireCommensurable(u, this.unit);
+                return UnitConverters.asOperator(u.getSystemConverter());
+            });
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.QuantityFactory;
+import com.github.netomi.uom.Unit;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * A handle to create quantities of a specific type expressed in a
+ * specific unit, see {@link Quantities#handle(Unit, Class)}.
+ * <p>
+ * The unit has been validated against the quantity type when the handle
+ * was created and the {@link QuantityFactory} for the quantity type has
+ * already been resolved, thus creating quantities through the handle avoids
+ * the repeated lookups performed by {@link Quantities#create(double, Unit, Class)}.
+ *
+ * @param <Q> the quantity type
+ *
+ * @author Thomas Neidhart
+ */
+public final class UnitHandle<Q extends Quantity<Q>> {
+
+    private final Unit<Q>            unit;
+    private final Class<Q>           quantityClass;
+    private final QuantityFactory<Q> factory;
+
+    UnitHandle(Unit<Q> unit, Class<Q> quantityClass, QuantityFactory<Q> factory) {
+        this.unit          = unit;
+        this.quantityClass = quantityClass;
+        this.factory       = factory;
+    }
+
+    /**
+     * Returns the unit of the quantities created by this handle.
+     */
+    public Unit<Q> getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the quantity type of the quantities created by this handle.
+     */
+    public Class<Q> getQuantityClass() {
+        return quantityClass;
+    }
+
+    /**
+     * Returns a new quantity with the given value expressed in the unit of this handle.
+     */
+    public Q create(double value) {
+        return factory.create(value, unit);
+    }
+
+    /**
+     * Returns a new quantity with the given value expressed in the unit of this handle.
+     */
+    public Q create(BigDecimal value) {
+        return factory.create(value, unit);
+    }
+
+    /**
+     * Returns a new quantity with the given value expressed in the unit of this handle.
+     */
+    public Q create(BigDecimal value, MathContext mc) {
+        return factory.create(value, mc, unit);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UnitHandle[%s, %s]", quantityClass.getSimpleName(), unit);
+    }
+}
@@ -17,6 +17,7 @@ package com.github.netomi.uom.quantity.electromagnetic;
 
 import com.github.netomi.uom.Quantity;
 import com.github.netomi.uom.QuantityFactory;
+import com.github.netomi.uom.SystemUnit;
 import com.github.netomi.uom.TypedQuantity;
 import com.github.netomi.uom.Unit;
 import com.github.netomi.uom.quantity.Quantities;
@@ -30,6 +31,7 @@ import com.github.netomi.uom.unit.systems.SI;
  *
  * @author Thomas Neidhart
  */
+@SystemUnit("C")
 public interface ElectricCharge extends TypedQuantity<ElectricCharge> {
 
     /**
@@ -16,6 +16,7 @@
 package com.github.netomi.uom.quantity.impl;
 
 import com.github.netomi.uom.*;
+import com.github.netomi.uom.math.DecimalArithmetic;
 import com.github.netomi.uom.quantity.Quantities;
 import com.github.netomi.uom.unit.Units;
 import com.github.netomi.uom.util.Preconditions;
@@ -129,14 +130,14 @@ abstract class AbstractDecimalQuantity<Q extends Quantity<Q>> implements Decimal
 
     @Override
     public Quantity<?> multiply(Quantity<?> multiplier) {
-        Unit<?> combinedSystemUnit = unit.multiply(multiplier.getUnit()).getSystemUnit();
+        Unit<?> combinedSystemUnit = Quantities.Type.systemUnitOfProduct(unit, multiplier.getUnit());
         return genericDecimalQuantity(multiplyInternal(this, multiplier), combinedSystemUnit);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <R extends Quantity<R>> R multiply(Quantity<?> multiplier, Class<R> quantityClass) {
-        Unit<R> calculatedSystemUnit = (Unit<R>) unit.multiply(multiplier.getUnit()).getSystemUnit();
+        Unit<R> calculatedSystemUnit = (Unit<R>) Quantities.Type.systemUnitOfProduct(unit, multiplier.getUnit());
 
         Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, calculatedSystemUnit);
         if (systemUnit != calculatedSystemUnit) {
@@ -151,19 +152,19 @@ abstract class AbstractDecimalQuantity<Q extends Quantity<Q>> implements Decimal
         BigDecimal multiplicandInSystemUnit = toSystemUnitValue(multiplicand);
         BigDecimal multiplierInSystemUnit   = toSystemUnitValue(multiplier);
 
-        return multiplicandInSystemUnit.multiply(multiplierInSystemUnit, mc);
+        return DecimalArithmetic.multiply(multiplicandInSystemUnit, multiplierInSystemUnit, mc);
     }
 
     @Override
     public Quantity<?> divide(Quantity<?> divisor) {
-        Unit<?> combinedSystemUnit = unit.divide(divisor.getUnit()).getSystemUnit();
+        Unit<?> combinedSystemUnit = Quantities.Type.systemUnitOfQuotient(unit, divisor.getUnit());
         return genericDecimalQuantity(divideInternal(this, divisor), combinedSystemUnit);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <R extends Quantity<R>> R divide(Quantity<?> divisor, Class<R> quantityClass) {
-        Unit<R> calculatedSystemUnit = (Unit<R>) unit.divide(divisor.getUnit()).getSystemUnit();
+        Unit<R> calculatedSystemUnit = (Unit<R>) Quantities.Type.systemUnitOfQuotient(unit, divisor.getUnit());
 
         Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, calculatedSystemUnit);
         if (systemUnit != calculatedSystemUnit) {
@@ -178,12 +179,12 @@ abstract class AbstractDecimalQuantity<Q extends Quantity<Q>> implements Decimal
         BigDecimal dividendInSystemUnit = toSystemUnitValue(dividend);
         BigDecimal divisorInSystemUnit   = toSystemUnitValue(divisor);
 
-        return dividendInSystemUnit.divide(divisorInSystemUnit, mc);
+        return DecimalArithmetic.divide(dividendInSystemUnit, divisorInSystemUnit, mc);
     }
 
     @Override
     public Quantity<?> reciprocal() {
-        return genericDecimalQuantity(divideInternal(one(), this), unit.inverse().getSystemUnit());
+        return genericDecimalQuantity(divideInternal(one(), this), Quantities.Type.systemUnitOfQuotient(Units.ONE, unit));
     }
 
     @Override
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.*;
+import com.github.netomi.uom.function.UnitConverters;
+import com.github.netomi.uom.math.DoubleDouble;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.unit.Units;
+import com.github.netomi.uom.util.Preconditions;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+import static com.github.netomi.uom.quantity.impl.GenericDoubleDoubleQuantity.ONE;
+
+/**
+ *
+ * @param <Q>
+ *
+ * @author Thomas Neidhart
+ */
+abstract class AbstractDoubleDoubleQuantity<Q extends Quantity<Q>> implements DoubleDoubleQuantity<Q>, TypedQuantity<Q> {
+
+    // the MathContext used for conversions that can not be performed with a scale.
+    private static final MathContext MC = MathContext.DECIMAL128;
+
+    protected final DoubleDouble value;
+    protected final Unit<Q>      unit;
+
+    protected AbstractDoubleDoubleQuantity(DoubleDouble value, Unit<Q> unit) {
+        Objects.requireNonNull(value);
+        this.value = value;
+        this.unit  = unit;
+    }
+
+    @Override
+    public DoubleDouble doubleDoubleValue() {
+        return value;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value.doubleValue();
+    }
+
+    @Override
+    public BigDecimal decimalValue() {
+        return value.bigDecimalValue();
+    }
+
+    @Override
+    public Unit<Q> getUnit() {
+        return unit;
+    }
+
+    @Override
+    public int compareTo(Quantity<Q> other) throws IncommensurableException {
+        return value.compareTo(valueIn(other, unit));
+    }
+
+    @Override
+    public boolean isEqual(Quantity<Q> other, double epsilon) {
+        return Math.abs(valueIn(other, unit).subtract(value).doubleValue()) <= epsilon;
+    }
+
+    @Override
+    public boolean isZero(double epsilon) {
+        return Math.abs(value.doubleValue()) <= epsilon;
+    }
+
+    @Override
+    public boolean isZero(Unit<Q> inUnit, double epsilon) {
+        DoubleDouble thisValue = unit.equals(inUnit) ?
+                value :
+                convert(value, unit.getConverterTo(inUnit));
+
+        return Math.abs(thisValue.doubleValue()) <= epsilon;
+    }
+
+    @Override
+    public boolean isStrictlyZero() {
+        return value.isZero();
+    }
+
+    @Override
+    public Q add(Quantity<Q> addend) {
+        return with(value.add(valueIn(addend, unit)), unit);
+    }
+
+    @Override
+    public Q subtract(Quantity<Q> subtrahend) {
+        return with(value.subtract(valueIn(subtrahend, unit)), unit);
+    }
+
+    @Override
+    public Q negate() {
+        return with(value.negate(), unit);
+    }
+
+    @Override
+    public Quantity<?> multiply(Quantity<?> multiplier) {
+        Unit<?> combinedSystemUnit = Quantities.Type.systemUnitOfProduct(unit, multiplier.getUnit());
+        return genericDoubleDoubleQuantity(multiplyInternal(this, multiplier), combinedSystemUnit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R extends Quantity<R>> R multiply(Quantity<?> multiplier, Class<R> quantityClass) {
+        Unit<R> calculatedSystemUnit = (Unit<R>) Quantities.Type.systemUnitOfProduct(unit, multiplier.getUnit());
+
+        Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, calculatedSystemUnit);
+        if (systemUnit != calculatedSystemUnit) {
+            Preconditions.requireCommensurable(calculatedSystemUnit, systemUnit);
+            calculatedSystemUnit = systemUnit;
+        }
+
+        return ProxyDoubleDoubleQuantity.factory(quantityClass).create(multiplyInternal(this, multiplier), calculatedSystemUnit);
+    }
+
+    private DoubleDouble multiplyInternal(Quantity<?> multiplicand, Quantity<?> multiplier) {
+        DoubleDouble multiplicandInSystemUnit = toSystemUnitValue(multiplicand);
+        DoubleDouble multiplierInSystemUnit   = toSystemUnitValue(multiplier);
+
+        return multiplicandInSystemUnit.multiply(multiplierInSystemUnit);
+    }
+
+    @Override
+    public Quantity<?> divide(Quantity<?> divisor) {
+        Unit<?> combinedSystemUnit = Quantities.Type.systemUnitOfQuotient(unit, divisor.getUnit());
+        return genericDoubleDoubleQuantity(divideInternal(this, divisor), combinedSystemUnit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R extends Quantity<R>> R divide(Quantity<?> divisor, Class<R> quantityClass) {
+        Unit<R> calculatedSystemUnit = (Unit<R>) Quantities.Type.systemUnitOfQuotient(unit, divisor.getUnit());
+
+        Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, calculatedSystemUnit);
+        if (systemUnit != calculatedSystemUnit) {
+            Preconditions.requireCommensurable(calculatedSystemUnit, systemUnit);
+            calculatedSystemUnit = systemUnit;
+        }
+
+        return ProxyDoubleDoubleQuantity.factory(quantityClass).create(divideInternal(this, divisor), calculatedSystemUnit);
+    }
+
+    private DoubleDouble divideInternal(Quantity<?> dividend, Quantity<?> divisor) {
+        DoubleDouble dividendInSystemUnit = toSystemUnitValue(dividend);
+        DoubleDouble divisorInSystemUnit  = toSystemUnitValue(divisor);
+
+        return dividendInSystemUnit.divide(divisorInSystemUnit);
+    }
+
+    @Override
+    public Quantity<?> reciprocal() {
+        return genericDoubleDoubleQuantity(divideInternal(ONE, this), Quantities.Type.systemUnitOfQuotient(Units.ONE, unit));
+    }
+
+    public Quantity<?> one() {
+        return ONE;
+    }
+
+    @Override
+    public Quantity<Q> zero() {
+        return with(DoubleDouble.ZERO, unit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Q to(Unit<Q> toUnit) {
+        if (getUnit().equals(toUnit)) {
+            return (Q) this;
+        }
+        Preconditions.requireCommensurable(this, toUnit);
+        UnitConverter converter = unit.getConverterTo(toUnit);
+        return with(convert(value, converter), toUnit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Q toSystemUnit() {
+        if (unit.isSystemUnit()) {
+            Unit<Q> namedUnit = Units.getNamedUnitIfPresent(unit);
+            return namedUnit == unit ?
+                    (Q) this :
+                    with(value, namedUnit);
+        }
+
+        UnitConverter converter = unit.getSystemConverter();
+        return with(convert(value, converter), unit.getSystemUnit());
+    }
+
+    private static DoubleDouble convert(DoubleDouble value, UnitConverter converter) {
+        if (converter.isIdentity()) {
+            return value;
+        }
+
+        if (converter.isLinear()) {
+            // linear conversions multiply by the exact scale of the converter,
+            // rounded once to double-double precision and kept by the converter.
+            return value.multiply(UnitConverters.scaleAsDoubleDouble(converter));
+        }
+
+        return DoubleDouble.of(converter.convert(value.bigDecimalValue(MC), MC));
+    }
+
+    private static DoubleDouble doubleDoubleValueOf(Quantity<?> quantity) {
+        if (quantity instanceof DoubleDoubleQuantity<?>) {
+            return ((DoubleDoubleQuantity<?>) quantity).doubleDoubleValue();
+        } else if (quantity instanceof DoubleQuantity<?>) {
+            // a double value is represented exactly.
+            return DoubleDouble.of(quantity.doubleValue());
+        } else {
+            return DoubleDouble.of(quantity.decimalValue());
+        }
+    }
+
+    private static DoubleDouble valueIn(Quantity<?> quantity, Unit<?> unit) {
+        return quantity.getUnit().equals(unit) ?
+                doubleDoubleValueOf(quantity) :
+                convert(doubleDoubleValueOf(quantity), quantity.getUnit().getConverterToAny(unit));
+    }
+
+    private static DoubleDouble toSystemUnitValue(Quantity<?> quantity) {
+        return quantity.getUnit().isSystemUnit() ?
+                doubleDoubleValueOf(quantity) :
+                convert(doubleDoubleValueOf(quantity), quantity.getUnit().getSystemConverter());
+    }
+
+    public Class<?> getQuantityClass() {
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <R extends Quantity<R>> R asQuantity(Class<R> quantityType) {
+        Objects.requireNonNull(quantityType);
+
+        Class<?> quantityClass = getQuantityClass();
+        if (quantityClass != null &&
+            quantityType.isAssignableFrom(quantityClass)) {
+            return (R) this;
+        } else {
+            try {
+                Unit<Q> systemUnit          = getSystemUnit();
+                Unit<R> requestedSystemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityType, (Unit) unit);
+
+                DoubleDouble quantityValue = this.value;
+                Unit<R>      quantityUnit  = (Unit<R>) this.unit;
+
+                if (!systemUnit.equals(requestedSystemUnit)) {
+                    Preconditions.requireCommensurable(systemUnit, requestedSystemUnit);
+
+                    quantityValue = convert(quantityValue, quantityUnit.getConverterToAny(requestedSystemUnit));
+                    quantityUnit  = requestedSystemUnit;
+                }
+
+                return ProxyDoubleDoubleQuantity.factory(quantityType).create(quantityValue, quantityUnit);
+            } catch (UnsupportedOperationException ex) {
+                throw new IncommensurableException("Incompatible quantity class: " + quantityType.getSimpleName() +
+                                                   " has not overridden its getSystemUnit() method.");
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Quantity<?> genericDoubleDoubleQuantity(DoubleDouble value, Unit<?> unit) {
+        Class quantityClass = Quantities.getQuantityType(unit);
+        return quantityClass == null ?
+            new GenericDoubleDoubleQuantity(value, unit) :
+            ProxyDoubleDoubleQuantity.factory(quantityClass).create(value, (Unit) unit);
+    }
+
+    @Override
+    public String toString() {
+        return Quantities.defaultFormatter().format(this);
+    }
+}
@@ -124,14 +124,14 @@ abstract class AbstractDoubleQuantity<Q extends Quantity<Q>> implements DoubleQu
 
     @Override
     public Quantity<?> multiply(Quantity<?> multiplier) {
-        Unit<?> combinedSystemUnit = unit.multiply(multiplier.getUnit()).getSystemUnit();
+        Unit<?> combinedSystemUnit = Quantities.Type.systemUnitOfProduct(unit, multiplier.getUnit());
         return genericDoubleQuantity(multiplyInternal(this, multiplier), combinedSystemUnit);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <R extends Quantity<R>> R multiply(Quantity<?> multiplier, Class<R> quantityClass) {
-        Unit<R> calculatedSystemUnit = (Unit<R>) unit.multiply(multiplier.getUnit()).getSystemUnit();
+        Unit<R> calculatedSystemUnit = (Unit<R>) Quantities.Type.systemUnitOfProduct(unit, multiplier.getUnit());
 
         Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, calculatedSystemUnit);
         if (systemUnit != calculatedSystemUnit) {
@@ -151,14 +151,14 @@ abstract class AbstractDoubleQuantity<Q extends Quantity<Q>> implements DoubleQu
 
     @Override
     public Quantity<?> divide(Quantity<?> divisor) {
-        Unit<?> combinedSystemUnit = unit.divide(divisor.getUnit()).getSystemUnit();
+        Unit<?> combinedSystemUnit = Quantities.Type.systemUnitOfQuotient(unit, divisor.getUnit());
         return genericDoubleQuantity(divideInternal(this, divisor), combinedSystemUnit);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <R extends Quantity<R>> R divide(Quantity<?> divisor, Class<R> quantityClass) {
-        Unit<R> calculatedSystemUnit = (Unit<R>) unit.divide(divisor.getUnit()).getSystemUnit();
+        Unit<R> calculatedSystemUnit = (Unit<R>) Quantities.Type.systemUnitOfQuotient(unit, divisor.getUnit());
 
         Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, calculatedSystemUnit);
         if (systemUnit != calculatedSystemUnit) {
@@ -178,7 +178,7 @@ abstract class AbstractDoubleQuantity<Q extends Quantity<Q>> implements DoubleQu
 
     @Override
     public Quantity<?> reciprocal() {
-        return genericDoubleQuantity(divideInternal(ONE, this), unit.inverse().getSystemUnit());
+        return genericDoubleQuantity(divideInternal(ONE, this), Quantities.Type.systemUnitOfQuotient(Units.ONE, unit));
     }
 
     public Quantity<?> one() {
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.*;
+import com.github.netomi.uom.math.BigFraction;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.unit.Units;
+import com.github.netomi.uom.util.Preconditions;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ *
+ * @param <Q>
+ *
+ * @author Thomas Neidhart
+ */
+abstract class AbstractFractionQuantity<Q extends Quantity<Q>> implements FractionQuantity<Q>, TypedQuantity<Q> {
+
+    // the MathContext used for materializing decimal values and non-linear conversions.
+    private static final MathContext MC = MathContext.DECIMAL128;
+
+    protected final BigFraction value;
+    protected final Unit<Q>     unit;
+
+    protected AbstractFractionQuantity(BigFraction value, Unit<Q> unit) {
+        this.value = value;
+        this.unit  = unit;
+    }
+
+    @Override
+    public BigFraction fractionValue() {
+        return value;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value.doubleValue();
+    }
+
+    @Override
+    public BigDecimal decimalValue() {
+        return value.bigDecimalValue(MC);
+    }
+
+    @Override
+    public Unit<Q> getUnit() {
+        return unit;
+    }
+
+    @Override
+    public int compareTo(Quantity<Q> other) {
+        return value.compareTo(fractionValueIn(other, unit));
+    }
+
+    @Override
+    public boolean isEqual(Quantity<Q> other, double epsilon) {
+        return fractionValueIn(other, unit).subtract(value).abs().doubleValue() <= epsilon;
+    }
+
+    @Override
+    public boolean isZero(double epsilon) {
+        return value.abs().doubleValue() <= epsilon;
+    }
+
+    @Override
+    public boolean isZero(Unit<Q> inUnit, double epsilon) {
+        BigFraction thisValue = this.unit.equals(inUnit) ?
+                value :
+                convert(value, unit.getConverterTo(inUnit));
+
+        return thisValue.abs().doubleValue() <= epsilon;
+    }
+
+    @Override
+    public boolean isStrictlyZero() {
+        return value.signum() == 0;
+    }
+
+    @Override
+    public Q add(Quantity<Q> addend) {
+        return with(value.add(fractionValueIn(addend, unit)), unit);
+    }
+
+    @Override
+    public Q subtract(Quantity<Q> subtrahend) {
+        return with(value.subtract(fractionValueIn(subtrahend, unit)), unit);
+    }
+
+    @Override
+    public Q negate() {
+        return with(value.negate(), unit);
+    }
+
+    @Override
+    public Quantity<?> multiply(Quantity<?> multiplier) {
+        Unit<?> combinedSystemUnit = Quantities.Type.systemUnitOfProduct(unit, multiplier.getUnit());
+        return genericFractionQuantity(toSystemUnitValue(this).multiply(toSystemUnitValue(multiplier)),
+                                       combinedSystemUnit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R extends Quantity<R>> R multiply(Quantity<?> multiplier, Class<R> quantityClass) {
+        Unit<R> calculatedSystemUnit = (Unit<R>) Quantities.Type.systemUnitOfProduct(unit, multiplier.getUnit());
+
+        Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, calculatedSystemUnit);
+        if (systemUnit != calculatedSystemUnit) {
+            Preconditions.requireCommensurable(calculatedSystemUnit, systemUnit);
+            calculatedSystemUnit = systemUnit;
+        }
+
+        BigFraction result = toSystemUnitValue(this).multiply(toSystemUnitValue(multiplier));
+        return ProxyFractionQuantity.factory(quantityClass).create(result, calculatedSystemUnit);
+    }
+
+    @Override
+    public Quantity<?> divide(Quantity<?> divisor) {
+        Unit<?> combinedSystemUnit = Quantities.Type.systemUnitOfQuotient(unit, divisor.getUnit());
+        return genericFractionQuantity(toSystemUnitValue(this).divide(toSystemUnitValue(divisor)),
+                                       combinedSystemUnit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R extends Quantity<R>> R divide(Quantity<?> divisor, Class<R> quantityClass) {
+        Unit<R> calculatedSystemUnit = (Unit<R>) Quantities.Type.systemUnitOfQuotient(unit, divisor.getUnit());
+
+        Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, calculatedSystemUnit);
+        if (systemUnit != calculatedSystemUnit) {
+            Preconditions.requireCommensurable(calculatedSystemUnit, systemUnit);
+            calculatedSystemUnit = systemUnit;
+        }
+
+        BigFraction result = toSystemUnitValue(this).divide(toSystemUnitValue(divisor));
+        return ProxyFractionQuantity.factory(quantityClass).create(result, calculatedSystemUnit);
+    }
+
+    @Override
+    public Quantity<?> reciprocal() {
+        return genericFractionQuantity(toSystemUnitValue(this).reciprocal(), Quantities.Type.systemUnitOfQuotient(Units.ONE, unit));
+    }
+
+    @Override
+    public Quantity<?> one() {
+        return genericFractionQuantity(BigFraction.ONE, Units.ONE);
+    }
+
+    @Override
+    public Quantity<Q> zero() {
+        return with(BigFraction.ZERO, unit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Q to(Unit<Q> toUnit) {
+        if (getUnit().equals(toUnit)) {
+            return (Q) this;
+        }
+        Preconditions.requireCommensurable(this, toUnit);
+        UnitConverter converter = unit.getConverterTo(toUnit);
+        return with(convert(value, converter), toUnit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Q toSystemUnit() {
+        if (unit.isSystemUnit()) {
+            Unit<Q> namedUnit = Units.getNamedUnitIfPresent(unit);
+            return namedUnit == unit ?
+                    (Q) this :
+                    with(value, namedUnit);
+        }
+
+        UnitConverter converter = unit.getSystemConverter();
+        return with(convert(value, converter), unit.getSystemUnit());
+    }
+
+    private static BigFraction convert(BigFraction value, UnitConverter converter) {
+        // linear conversions are exact, non-linear conversions need
+        // to be performed with decimal precision.
+        return converter.isLinear() ?
+                value.multiply(converter.scaleAsFraction()) :
+                BigFraction.from(converter.convert(value.bigDecimalValue(MC), MC));
+    }
+
+    private static BigFraction fractionValueOf(Quantity<?> quantity) {
+        return quantity instanceof FractionQuantity<?> ?
+                ((FractionQuantity<?>) quantity).fractionValue() :
+                BigFraction.from(quantity.decimalValue());
+    }
+
+    private static BigFraction fractionValueIn(Quantity<?> quantity, Unit<?> unit) {
+        BigFraction value = fractionValueOf(quantity);
+        return quantity.getUnit().equals(unit) ?
+                value :
+                convert(value, quantity.getUnit().getConverterToAny(unit));
+    }
+
+    private static BigFraction toSystemUnitValue(Quantity<?> quantity) {
+        BigFraction value = fractionValueOf(quantity);
+        return quantity.getUnit().isSystemUnit() ?
+                value :
+                convert(value, quantity.getUnit().getSystemConverter());
+    }
+
+    public Class<?> getQuantityClass() {
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <R extends Quantity<R>> R asQuantity(Class<R> quantityType) {
+        Objects.requireNonNull(quantityType);
+
+        Class<?> quantityClass = getQuantityClass();
+        if (quantityClass != null &&
+            quantityType.isAssignableFrom(quantityClass)) {
+            return (R) this;
+        } else {
+            try {
+                Unit<Q> systemUnit          = getSystemUnit();
+                Unit<R> requestedSystemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityType, (Unit) unit);
+
+                BigFraction quantityValue = this.value;
+                Unit<R>     quantityUnit  = (Unit<R>) this.unit;
+
+                if (!systemUnit.equals(requestedSystemUnit)) {
+                    Preconditions.requireCommensurable(systemUnit, requestedSystemUnit);
+
+                    quantityValue = convert(quantityValue, quantityUnit.getConverterToAny(requestedSystemUnit));
+                    quantityUnit  = requestedSystemUnit;
+                }
+
+                return ProxyFractionQuantity.factory(quantityType).create(quantityValue, quantityUnit);
+            } catch (UnsupportedOperationException ex) {
+                throw new IncommensurableException("Incompatible quantity class: " + quantityType.getSimpleName() +
+                                                   " has not overridden its getSystemUnit() method.");
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Quantity<?> genericFractionQuantity(BigFraction value, Unit<?> unit) {
+        // keep the exact representation also for known quantity types.
+        Class quantityClass = Quantities.getQuantityType(unit);
+        return quantityClass == null ?
+                new GenericFractionQuantity(value, unit) :
+                (Quantity<?>) ProxyFractionQuantity.factory(quantityClass).create(value, (Unit) unit);
+    }
+
+    @Override
+    public String toString() {
+        return Quantities.defaultFormatter().format(this);
+    }
+}
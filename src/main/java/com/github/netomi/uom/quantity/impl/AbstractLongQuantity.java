@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.*;
+import com.github.netomi.uom.math.BigFraction;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.unit.Units;
+import com.github.netomi.uom.util.Preconditions;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ *
+ * @param <Q>
+ *
+ * @author Thomas Neidhart
+ */
+abstract class AbstractLongQuantity<Q extends Quantity<Q>> implements LongQuantity<Q>, TypedQuantity<Q> {
+
+    // the MathContext used for conversions that can not be performed exactly.
+    private static final MathContext MC = MathContext.DECIMAL128;
+
+    protected final long    mantissa;
+    protected final int     scale;
+    protected final Unit<Q> unit;
+
+    protected AbstractLongQuantity(long mantissa, int scale, Unit<Q> unit) {
+        this.mantissa = mantissa;
+        this.scale    = scale;
+        this.unit     = unit;
+    }
+
+    @Override
+    public long getMantissa() {
+        return mantissa;
+    }
+
+    @Override
+    public int getScale() {
+        return scale;
+    }
+
+    @Override
+    public double doubleValue() {
+        return FixedPoint.toDouble(mantissa, scale);
+    }
+
+    @Override
+    public BigDecimal decimalValue() {
+        return FixedPoint.toDecimal(mantissa, scale);
+    }
+
+    @Override
+    public Unit<Q> getUnit() {
+        return unit;
+    }
+
+    @Override
+    public int compareTo(Quantity<Q> other) {
+        if (this.unit.equals(other.getUnit())) {
+            return hasSameScale(other) ?
+                    Long.compare(mantissa, ((LongQuantity<?>) other).getMantissa()) :
+                    decimalValue().compareTo(other.decimalValue());
+        } else {
+            UnitConverter converter = other.getUnit().getConverterTo(this.unit);
+            return decimalValue().compareTo(converter.convert(other.decimalValue(), MC));
+        }
+    }
+
+    @Override
+    public boolean isEqual(Quantity<Q> other, double epsilon) {
+        BigDecimal otherValue;
+
+        if (this.unit.equals(other.getUnit())) {
+            otherValue = other.decimalValue();
+        } else {
+            UnitConverter converter = other.getUnit().getConverterTo(this.unit);
+            otherValue = converter.convert(other.decimalValue(), MC);
+        }
+
+        return otherValue.subtract(decimalValue()).abs().doubleValue() <= epsilon;
+    }
+
+    @Override
+    public boolean isZero(double epsilon) {
+        return Math.abs(doubleValue()) <= epsilon;
+    }
+
+    @Override
+    public boolean isZero(Unit<Q> inUnit, double epsilon) {
+        BigDecimal thisValue;
+
+        if (this.unit.equals(inUnit)) {
+            thisValue = decimalValue();
+        } else {
+            UnitConverter converter = unit.getConverterTo(inUnit);
+            thisValue = converter.convert(decimalValue(), MC);
+        }
+
+        return thisValue.abs().doubleValue() <= epsilon;
+    }
+
+    @Override
+    public boolean isStrictlyZero() {
+        return mantissa == 0;
+    }
+
+    @Override
+    public Q add(Quantity<Q> addend) {
+        if (this.unit.equals(addend.getUnit()) && hasSameScale(addend)) {
+            long other  = ((LongQuantity<?>) addend).getMantissa();
+            long result = mantissa + other;
+
+            // an overflow occurred if both operands have a different sign than the result.
+            if (((mantissa ^ result) & (other ^ result)) >= 0) {
+                return withMantissa(result, unit);
+            }
+        }
+
+        return with(decimalValue().add(decimalValueIn(addend, unit)), unit);
+    }
+
+    @Override
+    public Q subtract(Quantity<Q> subtrahend) {
+        if (this.unit.equals(subtrahend.getUnit()) && hasSameScale(subtrahend)) {
+            long other  = ((LongQuantity<?>) subtrahend).getMantissa();
+            long result = mantissa - other;
+
+            // an overflow occurred if the operands have different signs and
+            // the sign of the result differs from this mantissa.
+            if (((mantissa ^ other) & (mantissa ^ result)) >= 0) {
+                return withMantissa(result, unit);
+            }
+        }
+
+        return with(decimalValue().subtract(decimalValueIn(subtrahend, unit)), unit);
+    }
+
+    @Override
+    public Q negate() {
+        return mantissa == Long.MIN_VALUE ?
+                with(decimalValue().negate(), unit) :
+                withMantissa(-mantissa, unit);
+    }
+
+    @Override
+    public Quantity<?> multiply(Quantity<?> multiplier) {
+        Unit<?> combinedSystemUnit = Quantities.Type.systemUnitOfProduct(unit, multiplier.getUnit());
+        return genericLongQuantity(multiplyInternal(this, multiplier), combinedSystemUnit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R extends Quantity<R>> R multiply(Quantity<?> multiplier, Class<R> quantityClass) {
+        Unit<R> calculatedSystemUnit = (Unit<R>) Quantities.Type.systemUnitOfProduct(unit, multiplier.getUnit());
+
+        Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, calculatedSystemUnit);
+        if (systemUnit != calculatedSystemUnit) {
+            Preconditions.requireCommensurable(calculatedSystemUnit, systemUnit);
+            calculatedSystemUnit = systemUnit;
+        }
+
+        return ProxyLongQuantity.factory(scale, quantityClass).create(multiplyInternal(this, multiplier), MC, calculatedSystemUnit);
+    }
+
+    private BigDecimal multiplyInternal(Quantity<?> multiplicand, Quantity<?> multiplier) {
+        BigDecimal multiplicandInSystemUnit = toSystemUnitValue(multiplicand);
+        BigDecimal multiplierInSystemUnit   = toSystemUnitValue(multiplier);
+
+        // the product is exact, it will be rounded to the scale of the result.
+        return multiplicandInSystemUnit.multiply(multiplierInSystemUnit);
+    }
+
+    @Override
+    public Quantity<?> divide(Quantity<?> divisor) {
+        Unit<?> combinedSystemUnit = Quantities.Type.systemUnitOfQuotient(unit, divisor.getUnit());
+        return genericLongQuantity(divideInternal(this, divisor), combinedSystemUnit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R extends Quantity<R>> R divide(Quantity<?> divisor, Class<R> quantityClass) {
+        Unit<R> calculatedSystemUnit = (Unit<R>) Quantities.Type.systemUnitOfQuotient(unit, divisor.getUnit());
+
+        Unit<R> systemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityClass, calculatedSystemUnit);
+        if (systemUnit != calculatedSystemUnit) {
+            Preconditions.requireCommensurable(calculatedSystemUnit, systemUnit);
+            calculatedSystemUnit = systemUnit;
+        }
+
+        return ProxyLongQuantity.factory(scale, quantityClass).create(divideInternal(this, divisor), MC, calculatedSystemUnit);
+    }
+
+    private BigDecimal divideInternal(Quantity<?> dividend, Quantity<?> divisor) {
+        BigDecimal dividendInSystemUnit = toSystemUnitValue(dividend);
+        BigDecimal divisorInSystemUnit  = toSystemUnitValue(divisor);
+
+        // round the quotient directly to the scale of this quantity.
+        return dividendInSystemUnit.divide(divisorInSystemUnit, scale, RoundingMode.HALF_EVEN);
+    }
+
+    @Override
+    public Quantity<?> reciprocal() {
+        return genericLongQuantity(divideInternal(one(), this), Quantities.Type.systemUnitOfQuotient(Units.ONE, unit));
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Quantity<?> one() {
+        // return a generic quantity of dimension ONE with the same scale as this instance.
+        return GenericLongQuantity.factory(scale).create(BigDecimal.ONE, (Unit) Units.ONE);
+    }
+
+    @Override
+    public Quantity<Q> zero() {
+        return withMantissa(0L, unit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Q to(Unit<Q> toUnit) {
+        if (getUnit().equals(toUnit)) {
+            return (Q) this;
+        }
+        Preconditions.requireCommensurable(this, toUnit);
+        UnitConverter converter = unit.getConverterTo(toUnit);
+        return convert(converter, toUnit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Q toSystemUnit() {
+        if (unit.isSystemUnit()) {
+            Unit<Q> namedUnit = Units.getNamedUnitIfPresent(unit);
+            return namedUnit == unit ?
+                    (Q) this :
+                    withMantissa(mantissa, namedUnit);
+        }
+
+        UnitConverter converter = unit.getSystemConverter();
+        return convert(converter, unit.getSystemUnit());
+    }
+
+    private Q convert(UnitConverter converter, Unit<Q> toUnit) {
+        if (converter.isLinear()) {
+            // linear conversions are performed exactly, with a single rounding
+            // to the scale of this quantity.
+            BigFraction factor = converter.scaleAsFraction();
+            try {
+                return withMantissa(FixedPoint.multiply(mantissa, factor.getNumerator(), factor.getDenominator()), toUnit);
+            } catch (ArithmeticException ex) {
+                return with(decimalValue().multiply(factor.bigDecimalValue(MC), MC), toUnit);
+            }
+        }
+
+        return with(converter.convert(decimalValue(), MC), toUnit);
+    }
+
+    private boolean hasSameScale(Quantity<?> other) {
+        return other instanceof LongQuantity<?> &&
+               ((LongQuantity<?>) other).getScale() == scale;
+    }
+
+    private static BigDecimal decimalValueIn(Quantity<?> quantity, Unit<?> unit) {
+        return quantity.getUnit().equals(unit) ?
+                quantity.decimalValue() :
+                quantity.getUnit().getConverterToAny(unit).convert(quantity.decimalValue(), MC);
+    }
+
+    private static BigDecimal toSystemUnitValue(Quantity<?> quantity) {
+        return quantity.getUnit().isSystemUnit() ?
+                quantity.decimalValue() :
+                quantity.getUnit().getSystemConverter().convert(quantity.decimalValue(), MC);
+    }
+
+    public Class<?> getQuantityClass() {
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <R extends Quantity<R>> R asQuantity(Class<R> quantityType) {
+        Objects.requireNonNull(quantityType);
+
+        Class<?> quantityClass = getQuantityClass();
+        if (quantityClass != null &&
+            quantityType.isAssignableFrom(quantityClass)) {
+            return (R) this;
+        } else {
+            try {
+                Unit<Q> systemUnit          = getSystemUnit();
+                Unit<R> requestedSystemUnit = (Unit<R>) Quantities.Type.systemUnitFor(quantityType, (Unit) unit);
+
+                BigDecimal quantityValue = decimalValue();
+                Unit<R>    quantityUnit  = (Unit<R>) this.unit;
+
+                if (!systemUnit.equals(requestedSystemUnit)) {
+                    Preconditions.requireCommensurable(systemUnit, requestedSystemUnit);
+
+                    quantityValue = quantityUnit.getConverterToAny(requestedSystemUnit).convert(quantityValue, MC);
+                    quantityUnit  = requestedSystemUnit;
+                }
+
+                return ProxyLongQuantity.factory(scale, quantityType).create(quantityValue, MC, quantityUnit);
+            } catch (UnsupportedOperationException ex) {
+                throw new IncommensurableException("Incompatible quantity class: " + quantityType.getSimpleName() +
+                                                   " has not overridden its getSystemUnit() method.");
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Quantity<?> genericLongQuantity(BigDecimal value, Unit<?> unit) {
+        Class quantityClass = Quantities.getQuantityType(unit);
+        return quantityClass == null ?
+                GenericLongQuantity.factory(scale).create(value, (Unit) unit) :
+                ProxyLongQuantity.factory(scale, quantityClass).create(value, MC, (Unit) unit);
+    }
+
+    @Override
+    public String toString() {
+        return Quantities.defaultFormatter().format(this);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.math.DoubleDouble;
+
+/**
+ * An extension of the {@link Quantity} interface for quantities with double-double precision.
+ * <p>
+ * The value is stored as {@link DoubleDouble}, the unevaluated sum of two {@code double}
+ * values, which provides about 32 significant digits. Arithmetic is considerably faster
+ * than with {@link DecimalQuantity} while being much more precise than {@link DoubleQuantity}.
+ * Linear conversions multiply the value by the exact scale of the converter rounded to
+ * double-double precision.
+ *
+ * @param <Q> the quantity type
+ *
+ * @author Thomas Neidhart
+ */
+public interface DoubleDoubleQuantity<Q extends Quantity<Q>> extends Quantity<Q> {
+
+    static <Q extends Quantity<Q>> GenericDoubleDoubleQuantityFactory<Q> factory() {
+        return GenericDoubleDoubleQuantity.factory();
+    }
+
+    /**
+     * Returns a new {@link DoubleDoubleQuantityFactory} for the specified quantity class.
+     * <p>
+     * The returned factory creates instances with double-double precision.
+     *
+     * @param quantityClass the quantity class
+     * @param <Q> the quantity type
+     * @return a factory that creates quantities with double-double precision which implement the
+     * specified quantity class.
+     * @throws IllegalArgumentException if the specified class is not a {@link Quantity}.
+     */
+    static <Q extends Quantity<Q>> DoubleDoubleQuantityFactory<Q> factory(Class<Q> quantityClass) {
+        if (!Quantity.class.isAssignableFrom(quantityClass)) {
+            throw new IllegalArgumentException(quantityClass + " is not a Quantity.");
+        }
+
+        return ProxyDoubleDoubleQuantity.factory(quantityClass);
+    }
+
+    /**
+     * Returns the value of this quantity with double-double precision.
+     */
+    DoubleDouble doubleDoubleValue();
+
+    Class<?> getQuantityClass();
+
+    Q with(DoubleDouble value, Unit<Q> unit);
+}
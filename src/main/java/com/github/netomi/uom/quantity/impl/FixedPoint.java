@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Utility methods for fixed-point arithmetic on {@code long} mantissas with
+ * a decimal scale, i.e. a mantissa {@code m} with scale {@code s} represents
+ * the value {@code m * 10^-s}.
+ * <p>
+ * All rounding is performed using {@link RoundingMode#HALF_EVEN}, overflows
+ * are signalled by throwing an {@link ArithmeticException}.
+ *
+ * @author Thomas Neidhart
+ */
+final class FixedPoint {
+
+    /** The maximum supported decimal scale. */
+    static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    // the largest integer n such that all integers in [-n, n] are exactly representable as double.
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    static {
+        long power = 1;
+        for (int i = 0; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+    }
+
+    // hide constructor.
+    private FixedPoint() {}
+
+    static int checkScale(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException(String.format("Unsupported scale '%d', must be within [0, %d].",
+                                                             scale, MAX_SCALE));
+        }
+        return scale;
+    }
+
+    static long powerOfTen(int exponent) {
+        return POWERS_OF_TEN[exponent];
+    }
+
+    /**
+     * Returns the mantissa of the given value rounded to the given scale.
+     *
+     * @throws ArithmeticException if the mantissa does not fit into a long.
+     */
+    static long toMantissa(BigDecimal value, int scale) {
+        BigDecimal scaledValue = value.scale() == scale ?
+                value :
+                value.setScale(scale, RoundingMode.HALF_EVEN);
+
+        return scaledValue.unscaledValue().longValueExact();
+    }
+
+    /**
+     * Returns the mantissa of the given value rounded to the given scale.
+     *
+     * @throws ArithmeticException if the mantissa does not fit into a long.
+     */
+    static long toMantissa(double value, int scale) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new ArithmeticException("Unsupported value " + value);
+        }
+
+        return toMantissa(BigDecimal.valueOf(value), scale);
+    }
+
+    static BigDecimal toDecimal(long mantissa, int scale) {
+        return BigDecimal.valueOf(mantissa, scale);
+    }
+
+    static double toDouble(long mantissa, int scale) {
+        // both values are exactly representable as double, thus the division
+        // is correctly rounded.
+        return mantissa <= MAX_EXACT_DOUBLE && mantissa >= -MAX_EXACT_DOUBLE ?
+                mantissa / (double) POWERS_OF_TEN[scale] :
+                toDecimal(mantissa, scale).doubleValue();
+    }
+
+    /**
+     * Returns the mantissa of the given value scaled by the fraction
+     * {@code numerator / denominator}, rounded to the same scale.
+     *
+     * @throws ArithmeticException if the result does not fit into a long.
+     */
+    static long multiply(long mantissa, BigInteger numerator, BigInteger denominator) {
+        if (numerator.bitLength() < Long.SIZE && denominator.bitLength() < Long.SIZE) {
+            long num = numerator.longValue();
+            long den = denominator.longValue();
+
+            // the product fits into a long if the sum of the bit lengths
+            // of the absolute values does not exceed 63.
+            if (bitLength(mantissa) + bitLength(num) < Long.SIZE) {
+                return divide(mantissa * num, den);
+            }
+        }
+
+        BigInteger result = BigInteger.valueOf(mantissa).multiply(numerator);
+        return new BigDecimal(result).divide(new BigDecimal(denominator), 0, RoundingMode.HALF_EVEN)
+                                     .longValueExact();
+    }
+
+    private static int bitLength(long value) {
+        // Math.abs(Long.MIN_VALUE) is negative and thus has a bit length of 64.
+        return Long.SIZE - Long.numberOfLeadingZeros(Math.abs(value));
+    }
+
+    /**
+     * Returns the quotient of the two values rounded to the nearest long.
+     */
+    static long divide(long dividend, long divisor) {
+        long quotient  = dividend / divisor;
+        long remainder = dividend % divisor;
+
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        // compare twice the remainder to the divisor, using absolute values
+        // while avoiding overflow.
+        long absRemainder = Math.abs(remainder);
+        long absDivisor   = Math.abs(divisor);
+        long halfDivisor  = absDivisor - absRemainder;
+
+        int cmp = Long.compare(absRemainder, halfDivisor);
+        boolean roundAway = cmp > 0 || (cmp == 0 && (quotient & 1) != 0);
+
+        if (roundAway) {
+            boolean negative = (dividend < 0) != (divisor < 0);
+            quotient = negative ?
+                    Math.subtractExact(quotient, 1) :
+                    Math.addExact(quotient, 1);
+        }
+
+        return quotient;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+
+/**
+ * An extension of the {@link Quantity} interface for quantities with single precision.
+ * <p>
+ * The value is stored as {@code float}, which halves the memory footprint compared to
+ * quantities with double precision and is sufficient for values that need about
+ * 7 significant digits, e.g. sensor readings. Arithmetic and conversions are performed
+ * with double precision, the results are rounded to single precision.
+ *
+ * @param <Q> the quantity type
+ *
+ * @author Thomas Neidhart
+ */
+public interface FloatQuantity<Q extends Quantity<Q>> extends Quantity<Q> {
+
+    static <Q extends Quantity<Q>> GenericFloatQuantityFactory<Q> factory() {
+        return GenericFloatQuantity.factory();
+    }
+
+    /**
+     * Returns a new {@link FloatQuantityFactory} for the specified quantity class.
+     * <p>
+     * The returned factory creates instances with single precision.
+     *
+     * @param quantityClass the quantity class
+     * @param <Q> the quantity type
+     * @return a factory that creates quantities with single precision which implement the
+     * specified quantity class.
+     * @throws IllegalArgumentException if the specified class is not a {@link Quantity}.
+     */
+    static <Q extends Quantity<Q>> FloatQuantityFactory<Q> factory(Class<Q> quantityClass) {
+        if (!Quantity.class.isAssignableFrom(quantityClass)) {
+            throw new IllegalArgumentException(quantityClass + " is not a Quantity.");
+        }
+
+        return ProxyFloatQuantity.factory(quantityClass);
+    }
+
+    /**
+     * Returns the value of this quantity with single precision.
+     */
+    float floatValue();
+
+    Class<?> getQuantityClass();
+
+    Q with(float value, Unit<Q> unit);
+}
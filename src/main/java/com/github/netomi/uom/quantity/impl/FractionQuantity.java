@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.math.BigFraction;
+
+/**
+ * An extension of the {@link Quantity} interface for quantities with an exact
+ * rational value represented as {@link BigFraction}.
+ * <p>
+ * Arithmetic operations and linear conversions are performed without any loss
+ * of precision, the value is only materialized as double or decimal number on
+ * demand, e.g. when calling {@link #doubleValue()} or {@link #decimalValue()}.
+ * Non-linear conversions, e.g. involving an offset or a root, are performed with
+ * {@link java.math.MathContext#DECIMAL128} precision.
+ *
+ * @param <Q> the quantity type
+ *
+ * @author Thomas Neidhart
+ */
+public interface FractionQuantity<Q extends Quantity<Q>> extends Quantity<Q> {
+
+    static <Q extends Quantity<Q>> GenericFractionQuantityFactory<Q> factory() {
+        return GenericFractionQuantity.factory();
+    }
+
+    /**
+     * Returns a new {@link FractionQuantityFactory} for the specified quantity class.
+     * <p>
+     * The returned factory creates instances with an exact rational value.
+     *
+     * @param quantityClass the quantity class
+     * @param <Q> the quantity type
+     * @return a factory that creates quantities with an exact rational value which
+     * implement the specified quantity class.
+     * @throws IllegalArgumentException if the specified class is not a {@link Quantity}.
+     */
+    static <Q extends Quantity<Q>> FractionQuantityFactory<Q> factory(Class<Q> quantityClass) {
+        if (!Quantity.class.isAssignableFrom(quantityClass)) {
+            throw new IllegalArgumentException(quantityClass + " is not a Quantity.");
+        }
+
+        return ProxyFractionQuantity.factory(quantityClass);
+    }
+
+    /**
+     * Returns the exact value of this quantity.
+     */
+    BigFraction fractionValue();
+
+    Class<?> getQuantityClass();
+
+    Q with(BigFraction value, Unit<Q> unit);
+}
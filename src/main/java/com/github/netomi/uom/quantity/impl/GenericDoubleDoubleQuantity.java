@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.math.DoubleDouble;
+import com.github.netomi.uom.unit.Units;
+
+@SuppressWarnings("rawtypes")
+class GenericDoubleDoubleQuantity extends AbstractDoubleDoubleQuantity {
+
+    static final Quantity<?> ONE = new GenericDoubleDoubleQuantity(DoubleDouble.ONE, Units.ONE);
+
+    @SuppressWarnings("unchecked")
+    public static <Q extends Quantity<Q>> GenericDoubleDoubleQuantityFactory<Q> factory() {
+        return GenericDoubleDoubleQuantity::new;
+    }
+
+    @SuppressWarnings("unchecked")
+    GenericDoubleDoubleQuantity(DoubleDouble value, Unit unit) {
+        super(value, unit);
+    }
+
+    @Override
+    public DoubleDoubleQuantity with(DoubleDouble value, Unit unit) {
+        return new GenericDoubleDoubleQuantity(value, unit);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.math.BigFraction;
+
+@SuppressWarnings("rawtypes")
+class GenericFractionQuantity extends AbstractFractionQuantity {
+
+    @SuppressWarnings("unchecked")
+    public static <Q extends Quantity<Q>> GenericFractionQuantityFactory<Q> factory() {
+        return GenericFractionQuantity::new;
+    }
+
+    @SuppressWarnings("unchecked")
+    GenericFractionQuantity(BigFraction value, Unit unit) {
+        super(value, unit);
+    }
+
+    @Override
+    public Quantity with(BigFraction value, Unit unit) {
+        return new GenericFractionQuantity(value, unit);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+@SuppressWarnings("rawtypes")
+class GenericLongQuantity extends AbstractLongQuantity {
+
+    // one factory per supported scale, the factories are stateless.
+    private static final Factory[] factories = new Factory[FixedPoint.MAX_SCALE + 1];
+
+    static {
+        for (int scale = 0; scale <= FixedPoint.MAX_SCALE; scale++) {
+            factories[scale] = new Factory(scale);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <Q extends Quantity<Q>> GenericLongQuantityFactory<Q> factory(int scale) {
+        return factories[scale];
+    }
+
+    @SuppressWarnings("unchecked")
+    GenericLongQuantity(long mantissa, int scale, Unit unit) {
+        super(mantissa, scale, unit);
+    }
+
+    @Override
+    public Quantity withMantissa(long mantissa, Unit unit) {
+        return new GenericLongQuantity(mantissa, scale, unit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Quantity with(BigDecimal value, Unit unit) {
+        return factory(scale).create(value, unit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final class Factory implements GenericLongQuantityFactory {
+        private final int scale;
+
+        Factory(int scale) {
+            this.scale = scale;
+        }
+
+        @Override
+        public int getScale() {
+            return scale;
+        }
+
+        @Override
+        public Quantity ofMantissa(long mantissa, Unit unit) {
+            return new GenericLongQuantity(mantissa, scale, unit);
+        }
+
+        @Override
+        public Quantity create(BigDecimal value, MathContext mc, Unit unit) {
+            try {
+                return new GenericLongQuantity(FixedPoint.toMantissa(value, scale), scale, unit);
+            } catch (ArithmeticException ex) {
+                // fall back to decimal precision if the value does not fit.
+                return new GenericDecimalQuantity(value, mc, unit);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.GenericQuantityFactory;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.QuantityFactory;
+import com.github.netomi.uom.Unit;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * A {@link QuantityFactory} that generates generic quantity instances with a
+ * fixed-point representation.
+ *
+ * @param <Q> the quantity type parameter
+ *
+ * @author Thomas Neidhart
+ */
+public interface GenericLongQuantityFactory<Q extends Quantity<Q>> extends GenericQuantityFactory<Q> {
+
+    /**
+     * Returns the decimal scale of the created quantities.
+     */
+    int getScale();
+
+    /**
+     * Creates a new quantity with the given mantissa, expressed with the scale of this factory.
+     */
+    Quantity<Q> ofMantissa(long mantissa, Unit<Q> unit);
+
+    @Override
+    default Quantity<Q> create(double value, Unit<Q> unit) {
+        return create(BigDecimal.valueOf(value), unit);
+    }
+
+    @Override
+    default Quantity<Q> create(BigDecimal value, Unit<Q> unit) {
+        return create(value, MathContext.DECIMAL128, unit);
+    }
+
+    @Override
+    Quantity<Q> create(BigDecimal value, MathContext mc, Unit<Q> unit);
+}
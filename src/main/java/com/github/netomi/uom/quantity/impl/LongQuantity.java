@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+
+import java.math.BigDecimal;
+
+/**
+ * An extension of the {@link Quantity} interface for quantities with a fixed-point
+ * representation, i.e. a {@code long} mantissa with a fixed decimal scale.
+ * <p>
+ * All arithmetic is exact up to the decimal scale of the quantity, rounding
+ * is performed using {@link java.math.RoundingMode#HALF_EVEN}. If a result does not
+ * fit into the fixed-point representation, a quantity with decimal precision is
+ * returned instead.
+ *
+ * @param <Q> the quantity type
+ *
+ * @author Thomas Neidhart
+ */
+public interface LongQuantity<Q extends Quantity<Q>> extends Quantity<Q> {
+
+    /**
+     * Returns a new {@link GenericLongQuantityFactory} which creates generic quantities
+     * with the specified decimal scale.
+     *
+     * @param scale the decimal scale, must be within [0, 18].
+     * @param <Q> the quantity type
+     * @throws IllegalArgumentException if the scale is not supported.
+     */
+    static <Q extends Quantity<Q>> GenericLongQuantityFactory<Q> factory(int scale) {
+        return GenericLongQuantity.factory(FixedPoint.checkScale(scale));
+    }
+
+    /**
+     * Returns a new {@link LongQuantityFactory} for the specified quantity class.
+     * <p>
+     * The returned factory creates instances with a fixed-point representation
+     * and the specified decimal scale.
+     *
+     * @param scale         the decimal scale, must be within [0, 18].
+     * @param quantityClass the quantity class
+     * @param <Q> the quantity type
+     * @return a factory that creates quantities with a fixed-point representation which
+     * implement the specified quantity class.
+     * @throws IllegalArgumentException if the specified class is not a {@link Quantity} or
+     * the scale is not supported.
+     */
+    static <Q extends Quantity<Q>> LongQuantityFactory<Q> factory(int scale, Class<Q> quantityClass) {
+        if (!Quantity.class.isAssignableFrom(quantityClass)) {
+            throw new IllegalArgumentException(quantityClass + " is not a Quantity.");
+        }
+
+        return ProxyLongQuantity.factory(FixedPoint.checkScale(scale), quantityClass);
+    }
+
+    /**
+     * Returns the mantissa of this quantity, i.e. its value multiplied by {@code 10^scale}.
+     */
+    long getMantissa();
+
+    /**
+     * Returns the decimal scale of this quantity.
+     */
+    int getScale();
+
+    Class<?> getQuantityClass();
+
+    /**
+     * Returns a new quantity with the given mantissa expressed with the
+     * same scale as this quantity.
+     */
+    Q withMantissa(long mantissa, Unit<Q> unit);
+
+    /**
+     * Returns a new quantity with the given value rounded to the scale
+     * of this quantity, or a quantity with decimal precision if the
+     * value can not be represented.
+     */
+    Q with(BigDecimal value, Unit<Q> unit);
+}
@@ -18,48 +18,84 @@ package com.github.netomi.uom.quantity.impl;
 import com.github.netomi.uom.util.Proxies;
 import com.github.netomi.uom.Quantity;
 import com.github.netomi.uom.Unit;
-import com.github.netomi.uom.util.Preconditions;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 class ProxyDecimalQuantity<Q extends Quantity<Q>> extends AbstractDecimalQuantity<Q> {
 
-    private final Class<Q> quantityClass;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final ProxyFactories<Factory<?>> factories = new ProxyFactories<>(quantityClass -> new Factory(quantityClass));
 
+    private final Factory<Q> factory;
+
+    @SuppressWarnings("unchecked")
     public static <Q extends Quantity<Q>> DecimalQuantityFactory<Q> factory(Class<Q> quantityClass) {
-        return (value, mc, unit) -> {
-            ProxyDecimalQuantity<Q> proxyImpl = new ProxyDecimalQuantity<>(value, mc, unit, quantityClass);
-            Q proxy = Proxies.delegatingProxy(proxyImpl, quantityClass, DecimalQuantity.class);
-            Preconditions.requireCommensurable(proxy, unit);
-            return proxy;
-        };
+        return (DecimalQuantityFactory<Q>) factories.get(quantityClass);
     }
 
+    @SuppressWarnings("unchecked")
     public static <Q extends Quantity<Q>> DecimalQuantityFactory<Q> factory(MathContext mc, Class<Q> quantityClass) {
-        return (value, ignored, unit) -> {
-            ProxyDecimalQuantity<Q> proxyImpl = new ProxyDecimalQuantity<>(value, mc, unit, quantityClass);
-            Q proxy = Proxies.delegatingProxy(proxyImpl, quantityClass, DecimalQuantity.class);
-            Preconditions.requireCommensurable(proxy, unit);
-            return proxy;
-        };
+        Objects.requireNonNull(mc);
+        return ((Factory<Q>) factories.get(quantityClass)).withFixedContext(mc);
     }
 
-    ProxyDecimalQuantity(BigDecimal value, MathContext mc, Unit<Q> unit, Class<Q> quantityClass) {
+    ProxyDecimalQuantity(BigDecimal value, MathContext mc, Unit<Q> unit, Factory<Q> factory) {
         super(value, mc, unit);
 
-        Objects.requireNonNull(quantityClass);
-        this.quantityClass = quantityClass;
+        Objects.requireNonNull(factory);
+        this.factory = factory;
     }
 
     @Override
     public Class<?> getQuantityClass() {
-        return quantityClass;
+        return factory.quantityClass;
     }
 
     @Override
     public Q with(BigDecimal value, MathContext mc, Unit<Q> unit) {
-        return factory(quantityClass).create(value, mc, unit);
+        return factory.createWithContext(value, mc, unit);
+    }
+
+    static final class Factory<Q extends Quantity<Q>> implements DecimalQuantityFactory<Q> {
+        private final Class<Q>                               quantityClass;
+        private final MathContext                            fixedMathContext;
+        private final ValidatedUnits                         validatedUnits;
+        // the factories with a fixed math context, only present for the default factory.
+        private final ConcurrentMap<MathContext, Factory<Q>> fixedContextFactories;
+
+        Factory(Class<Q> quantityClass) {
+            Objects.requireNonNull(quantityClass);
+            this.quantityClass         = quantityClass;
+            this.fixedMathContext      = null;
+            this.validatedUnits        = new ValidatedUnits();
+            this.fixedContextFactories = new ConcurrentHashMap<>();
+        }
+
+        private Factory(Factory<Q> defaultFactory, MathContext fixedMathContext) {
+            this.quantityClass         = defaultFactory.quantityClass;
+            this.fixedMathContext      = fixedMathContext;
+            this.validatedUnits        = defaultFactory.validatedUnits;
+            this.fixedContextFactories = null;
+        }
+
+        Factory<Q> withFixedContext(MathContext mc) {
+            return fixedContextFactories.computeIfAbsent(mc, fixedMathContext -> new Factory<>(this, fixedMathContext));
+        }
+
+        @Override
+        public Q create(BigDecimal value, MathContext mc, Unit<Q> unit) {
+            return createWithContext(value, fixedMathContext != null ? fixedMathContext : mc, unit);
+        }
+
+        Q createWithContext(BigDecimal value, MathContext mc, Unit<Q> unit) {
+            ProxyDecimalQuantity<Q> proxyImpl = new ProxyDecimalQuantity<>(value, mc, unit, this);
+            Q proxy = Proxies.delegatingProxy(proxyImpl, quantityClass, DecimalQuantity.class);
+            validatedUnits.requireCommensurable(proxy, unit);
+            return proxy;
+        }
     }
 }
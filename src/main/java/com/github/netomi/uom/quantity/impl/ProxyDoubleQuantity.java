@@ -18,37 +18,54 @@ package com.github.netomi.uom.quantity.impl;
 import com.github.netomi.uom.util.Proxies;
 import com.github.netomi.uom.Quantity;
 import com.github.netomi.uom.Unit;
-import com.github.netomi.uom.util.Preconditions;
 
 import java.util.Objects;
 
 class ProxyDoubleQuantity<Q extends Quantity<Q>> extends AbstractDoubleQuantity<Q> {
 
-    private final Class<Q> quantityClass;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final ProxyFactories<Factory<?>> factories = new ProxyFactories<>(quantityClass -> new Factory(quantityClass));
 
+    private final Factory<Q> factory;
+
+    @SuppressWarnings("unchecked")
     public static <Q extends Quantity<Q>> DoubleQuantityFactory<Q> factory(Class<Q> quantityClass) {
-        return (value, unit) -> {
-            ProxyDoubleQuantity<Q> proxyImpl = new ProxyDoubleQuantity<>(value, unit, quantityClass);
-            Q proxy = Proxies.delegatingProxy(proxyImpl, quantityClass, DoubleQuantity.class);
-            Preconditions.requireCommensurable(proxy, unit);
-            return proxy;
-        };
+        return (DoubleQuantityFactory<Q>) factories.get(quantityClass);
     }
 
-    ProxyDoubleQuantity(double value, Unit<Q> unit, Class<Q> quantityClass) {
+    ProxyDoubleQuantity(double value, Unit<Q> unit, Factory<Q> factory) {
         super(value, unit);
 
-        Objects.requireNonNull(quantityClass);
-        this.quantityClass = quantityClass;
+        Objects.requireNonNull(factory);
+        this.factory = factory;
     }
 
     @Override
     public Class<?> getQuantityClass() {
-        return quantityClass;
+        return factory.quantityClass;
     }
 
     @Override
     public Q with(double value, Unit<Q> unit) {
-        return factory(quantityClass).create(value, unit);
+        return factory.create(value, unit);
+    }
+
+    static final class Factory<Q extends Quantity<Q>> implements DoubleQuantityFactory<Q> {
+        private final Class<Q>       quantityClass;
+        private final ValidatedUnits validatedUnits;
+
+        Factory(Class<Q> quantityClass) {
+            Objects.requireNonNull(quantityClass);
+            this.quantityClass  = quantityClass;
+            this.validatedUnits = new ValidatedUnits();
+        }
+
+        @Override
+        public Q create(double value, Unit<Q> unit) {
+            ProxyDoubleQuantity<Q> proxyImpl = new ProxyDoubleQuantity<>(value, unit, this);
+            Q proxy = Proxies.delegatingProxy(proxyImpl, quantityClass, DoubleQuantity.class);
+            validatedUnits.requireCommensurable(proxy, unit);
+            return proxy;
+        }
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.util.ReferenceCache;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The proxy quantity factories of a quantity family, shared per quantity
+ * class such that their validated units are retained.
+ * <p>
+ * A factory references its quantity class, thus the quantity classes are
+ * held weakly and the factories softly. Otherwise a factory would keep its
+ * quantity class, and the class loader that defined it, reachable for as
+ * long as the library itself is loaded.
+ *
+ * @param <F> the type of the cached factories
+ *
+ * @author Thomas Neidhart
+ */
+final class ProxyFactories<F> {
+
+    private final ReferenceCache<Class<?>, F>    factories;
+    private final Function<Class<?>, ? extends F> factoryFunction;
+
+    ProxyFactories(Function<Class<?>, ? extends F> factoryFunction) {
+        Objects.requireNonNull(factoryFunction);
+
+        this.factories       = ReferenceCache.of(ReferenceCache.Strength.WEAK, ReferenceCache.Strength.SOFT);
+        this.factoryFunction = factoryFunction;
+    }
+
+    /**
+     * Returns the factory for the given quantity class, creating it on first use.
+     */
+    F get(Class<?> quantityClass) {
+        return factories.computeIfAbsent(Objects.requireNonNull(quantityClass), factoryFunction);
+    }
+}
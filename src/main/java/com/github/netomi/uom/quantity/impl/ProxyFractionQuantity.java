@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.util.Proxies;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.math.BigFraction;
+
+import java.util.Objects;
+
+class ProxyFractionQuantity<Q extends Quantity<Q>> extends AbstractFractionQuantity<Q> {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final ProxyFactories<Factory<?>> factories = new ProxyFactories<>(quantityClass -> new Factory(quantityClass));
+
+    private final Factory<Q> factory;
+
+    @SuppressWarnings("unchecked")
+    public static <Q extends Quantity<Q>> FractionQuantityFactory<Q> factory(Class<Q> quantityClass) {
+        return (FractionQuantityFactory<Q>) factories.get(quantityClass);
+    }
+
+    ProxyFractionQuantity(BigFraction value, Unit<Q> unit, Factory<Q> factory) {
+        super(value, unit);
+
+        Objects.requireNonNull(factory);
+        this.factory = factory;
+    }
+
+    @Override
+    public Class<?> getQuantityClass() {
+        return factory.quantityClass;
+    }
+
+    @Override
+    public Q with(BigFraction value, Unit<Q> unit) {
+        return factory.create(value, unit);
+    }
+
+    static final class Factory<Q extends Quantity<Q>> implements FractionQuantityFactory<Q> {
+        private final Class<Q>       quantityClass;
+        private final ValidatedUnits validatedUnits;
+
+        Factory(Class<Q> quantityClass) {
+            Objects.requireNonNull(quantityClass);
+            this.quantityClass  = quantityClass;
+            this.validatedUnits = new ValidatedUnits();
+        }
+
+        @Override
+        public Q create(BigFraction value, Unit<Q> unit) {
+            ProxyFractionQuantity<Q> proxyImpl = new ProxyFractionQuantity<>(value, unit, this);
+            Q proxy = Proxies.delegatingProxy(proxyImpl, quantityClass, FractionQuantity.class);
+            validatedUnits.requireCommensurable(proxy, unit);
+            return proxy;
+        }
+    }
+}
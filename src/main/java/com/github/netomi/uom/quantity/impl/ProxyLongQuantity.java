@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.util.Proxies;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+class ProxyLongQuantity<Q extends Quantity<Q>> extends AbstractLongQuantity<Q> {
+
+    // the factories per quantity class, indexed by scale and created on first use.
+    private static final ProxyFactories<Factory<?>[]> factories =
+        new ProxyFactories<>(quantityClass -> new Factory<?>[FixedPoint.MAX_SCALE + 1]);
+
+    private final Factory<Q> factory;
+
+    @SuppressWarnings("unchecked")
+    public static <Q extends Quantity<Q>> LongQuantityFactory<Q> factory(int scale, Class<Q> quantityClass) {
+        Factory<?>[] factoriesByScale = factories.get(quantityClass);
+        Factory<Q> factory = (Factory<Q>) factoriesByScale[scale];
+        if (factory == null) {
+            // racing threads may create the factory twice, which is harmless.
+            factory = new Factory<>(scale, quantityClass);
+            factoriesByScale[scale] = factory;
+        }
+        return factory;
+    }
+
+    ProxyLongQuantity(long mantissa, Unit<Q> unit, Factory<Q> factory) {
+        super(mantissa, factory.scale, unit);
+
+        this.factory = factory;
+    }
+
+    @Override
+    public Class<?> getQuantityClass() {
+        return factory.quantityClass;
+    }
+
+    @Override
+    public Q withMantissa(long mantissa, Unit<Q> unit) {
+        return factory.ofMantissa(mantissa, unit);
+    }
+
+    @Override
+    public Q with(BigDecimal value, Unit<Q> unit) {
+        return factory.create(value, unit);
+    }
+
+    static final class Factory<Q extends Quantity<Q>> implements LongQuantityFactory<Q> {
+        private final int            scale;
+        private final Class<Q>       quantityClass;
+        private final ValidatedUnits validatedUnits;
+
+        Factory(int scale, Class<Q> quantityClass) {
+            Objects.requireNonNull(quantityClass);
+            this.scale          = scale;
+            this.quantityClass  = quantityClass;
+            this.validatedUnits = new ValidatedUnits();
+        }
+
+        @Override
+        public int getScale() {
+            return scale;
+        }
+
+        @Override
+        public Q ofMantissa(long mantissa, Unit<Q> unit) {
+            ProxyLongQuantity<Q> proxyImpl = new ProxyLongQuantity<>(mantissa, unit, this);
+            Q proxy = Proxies.delegatingProxy(proxyImpl, quantityClass, LongQuantity.class);
+            validatedUnits.requireCommensurable(proxy, unit);
+            return proxy;
+        }
+
+        @Override
+        public Q create(BigDecimal value, MathContext mc, Unit<Q> unit) {
+            long mantissa;
+            try {
+                mantissa = FixedPoint.toMantissa(value, scale);
+            } catch (ArithmeticException ex) {
+                // fall back to decimal precision if the value does not fit.
+                return DecimalQuantity.factory(mc, quantityClass).create(value, unit);
+            }
+            return ofMantissa(mantissa, unit);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.util.IdentityCache;
+import com.github.netomi.uom.util.Preconditions;
+
+/**
+ * Remembers the units that have already been validated to be commensurable
+ * with a specific quantity type.
+ * <p>
+ * Validating a unit requires calling the {@link Quantity#getSystemUnit()} method
+ * of a quantity proxy, which is comparatively expensive. As the result only depends
+ * on the quantity type and the unit, the check is performed only once for the most
+ * recently used units of a quantity factory.
+ *
+ * @author Thomas Neidhart
+ */
+final class ValidatedUnits {
+
+    // the number of validated units to remember per quantity type.
+    private static final int SIZE = 8;
+
+    private final IdentityCache<Unit<?>, Unit<?>> validatedUnits = new IdentityCache<>(SIZE);
+
+    /**
+     * Checks that the given unit is commensurable with the quantity, unless
+     * the unit has been validated before.
+     *
+     * @throws com.github.netomi.uom.IncommensurableException if the unit is not commensurable.
+     */
+    void requireCommensurable(Quantity<?> quantity, Unit<?> unit) {
+        if (validatedUnits.get(unit) == null) {
+            Preconditions.requireCommensurable(quantity, unit);
+            validatedUnits.computeIfAbsent(unit, u -> u);
+        }
+    }
+}
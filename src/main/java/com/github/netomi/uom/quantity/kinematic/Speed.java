@@ -17,6 +17,7 @@ package com.github.netomi.uom.quantity.kinematic;
 
 import com.github.netomi.uom.Quantity;
 import com.github.netomi.uom.QuantityFactory;
+import com.github.netomi.uom.SystemUnit;
 import com.github.netomi.uom.TypedQuantity;
 import com.github.netomi.uom.Unit;
 import com.github.netomi.uom.quantity.Length;
@@ -32,6 +33,7 @@ import com.github.netomi.uom.unit.systems.SI;
  *
  * @author Thomas Neidhart
  */
+@SystemUnit("m/s")
 public interface Speed extends TypedQuantity<Speed> {
 
     /**
@@ -22,6 +22,7 @@ import com.github.netomi.uom.quantity.Quantities;
 import com.github.netomi.uom.quantity.impl.DoubleQuantity;
 import com.github.netomi.uom.unit.systems.SI;
 import com.github.netomi.uom.QuantityFactory;
+import com.github.netomi.uom.SystemUnit;
 
 /**
  * A {@link Quantity} representing a measure of force.
@@ -30,6 +31,7 @@ import com.github.netomi.uom.QuantityFactory;
  *
  * @author Thomas Neidhart
  */
+@SystemUnit("N")
 public interface Force extends TypedQuantity<Force> {
 
     /**
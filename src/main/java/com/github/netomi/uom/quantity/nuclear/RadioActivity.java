@@ -19,6 +19,7 @@ import com.github.netomi.uom.TypedQuantity;
 import com.github.netomi.uom.quantity.impl.DoubleQuantity;
 import com.github.netomi.uom.Quantity;
 import com.github.netomi.uom.QuantityFactory;
+import com.github.netomi.uom.SystemUnit;
 import com.github.netomi.uom.Unit;
 import com.github.netomi.uom.quantity.Quantities;
 import com.github.netomi.uom.unit.systems.SI;
@@ -30,6 +31,7 @@ import com.github.netomi.uom.unit.systems.SI;
  *
  * @author Thomas Neidhart
  */
+@SystemUnit("Bq")
 public interface RadioActivity extends TypedQuantity<RadioActivity> {
 
     /**
@@ -37,6 +37,8 @@ class AlternateSystemUnit<Q extends Quantity<Q>> extends DelegateUnit<Q> {
 
     private final Map<Unit<Q>, Fraction> baseUnitMap;
 
+    private volatile UnitElement[]       cachedUnitElements;
+
     static <Q extends Quantity<Q>> AlternateSystemUnit<Q> of(Unit<?> parentUnit, String symbol, String name) {
         return new AlternateSystemUnit<>(parentUnit, symbol, name);
     }
@@ -88,9 +90,15 @@ class AlternateSystemUnit<Q extends Quantity<Q>> extends DelegateUnit<Q> {
 
     @Override
     public UnitElement[] getUnitElements() {
-        return getDimension() == Dimensions.NONE ?
-                new UnitElement[] { new UnitElement(this, Fraction.ONE) } :
-                getDelegateUnit().getUnitElements();
+        if (getDimension() != Dimensions.NONE) {
+            return getDelegateUnit().getUnitElements();
+        }
+
+        UnitElement[] elements = cachedUnitElements;
+        if (elements == null) {
+            cachedUnitElements = elements = new UnitElement[] { new UnitElement(this, Fraction.ONE) };
+        }
+        return elements;
     }
 
     @Override
@@ -44,6 +44,8 @@ class BaseUnit<Q extends Quantity<Q>> extends Unit<Q> {
 
     private final Map<Unit<Q>, Fraction> baseUnitMap;
 
+    private volatile UnitElement[]       cachedUnitElements;
+
     BaseUnit(String symbol, String name, Dimension dimension) {
         Objects.requireNonNull(symbol);
         Objects.requireNonNull(dimension);
@@ -91,7 +93,11 @@ class BaseUnit<Q extends Quantity<Q>> extends Unit<Q> {
 
     @Override
     public UnitElement[] getUnitElements() {
-        return new UnitElement[] { new UnitElement(this, Fraction.ONE) };
+        UnitElement[] elements = cachedUnitElements;
+        if (elements == null) {
+            cachedUnitElements = elements = new UnitElement[] { new UnitElement(this, Fraction.ONE) };
+        }
+        return elements;
     }
 
     @Override
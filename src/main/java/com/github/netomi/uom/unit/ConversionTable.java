@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.unit;
+
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.util.Preconditions;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.*;
+
+/**
+ * A dense table of the conversion factors between a fixed set of units.
+ * <p>
+ * Each unit is assigned an index in the range {@code [0, size())} in the order
+ * they have been provided. The scale and offset for converting between any two
+ * commensurable units is precomputed, thus converting a value using the unit
+ * indices does not require any lookup, equality check or converter allocation.
+ * This is useful for tight loops where units are identified by codes, e.g.
+ * when received from a wire protocol.
+ * <p>
+ * Conversions that can not be expressed as {@code value * scale + offset} are
+ * delegated to the respective {@link UnitConverter}.
+ *
+ * @author Thomas Neidhart
+ */
+public final class ConversionTable {
+
+    private static final MathContext MATH_CONTEXT = MathContext.DECIMAL128;
+
+    private static final BigDecimal PROBE_VALUE = BigDecimal.valueOf(1000);
+
+    private final Unit<?>[]             units;
+    private final Map<Unit<?>, Integer> indices;
+
+    // the scales and offsets of all unit pairs, indexed by from * size + to.
+    // incommensurable and non-affine pairs have a NaN scale.
+    private final double[]        scales;
+    private final double[]        offsets;
+    private final UnitConverter[] converters;
+
+    /**
+     * Returns a new {@link ConversionTable} for the given units. Duplicate
+     * units are only assigned a single index.
+     */
+    public static ConversionTable of(Iterable<? extends Unit<?>> units) {
+        Map<Unit<?>, Integer> indices = new LinkedHashMap<>();
+        for (Unit<?> unit : units) {
+            Objects.requireNonNull(unit);
+            indices.putIfAbsent(unit, indices.size());
+        }
+        return new ConversionTable(indices);
+    }
+
+    /**
+     * Returns a new {@link ConversionTable} for the given units. Duplicate
+     * units are only assigned a single index.
+     */
+    public static ConversionTable of(Unit<?>... units) {
+        return of(Arrays.asList(units));
+    }
+
+    private ConversionTable(Map<Unit<?>, Integer> indices) {
+        this.indices = Collections.unmodifiableMap(indices);
+        this.units   = indices.keySet().toArray(new Unit<?>[0]);
+
+        int size = units.length;
+        this.scales     = new double[size * size];
+        this.offsets    = new double[size * size];
+        this.converters = new UnitConverter[size * size];
+
+        UnitConverter[] inverseSystemConverters = new UnitConverter[size];
+        for (int i = 0; i < size; i++) {
+            inverseSystemConverters[i] = units[i].getSystemConverter().inverse();
+        }
+
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                int index = from * size + to;
+
+                if (from == to) {
+                    scales[index] = 1.0;
+                    continue;
+                } else if (!units[from].isCompatible(units[to])) {
+                    scales[index] = Double.NaN;
+                    continue;
+                }
+
+                UnitConverter converter =
+                        units[from].getSystemConverter().andThen(inverseSystemConverters[to]);
+
+                if (converter.isLinear()) {
+                    scales[index] = converter.scale();
+                } else {
+                    // check whether the converter is affine, e.g. for temperature units.
+                    BigDecimal offset = converter.convert(BigDecimal.ZERO, MATH_CONTEXT);
+                    BigDecimal scale  = converter.convert(BigDecimal.ONE, MATH_CONTEXT).subtract(offset, MATH_CONTEXT);
+
+                    BigDecimal expected = scale.multiply(PROBE_VALUE, MATH_CONTEXT).add(offset, MATH_CONTEXT);
+                    BigDecimal actual   = converter.convert(PROBE_VALUE, MATH_CONTEXT);
+
+                    if (expected.round(MathContext.DECIMAL64).compareTo(actual.round(MathContext.DECIMAL64)) == 0) {
+                        scales[index]  = scale.doubleValue();
+                        offsets[index] = offset.doubleValue();
+                    } else {
+                        scales[index]     = Double.NaN;
+                        converters[index] = converter;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of units in this table.
+     */
+    public int size() {
+        return units.length;
+    }
+
+    /**
+     * Returns the index of the given unit, or {@code -1} if the unit
+     * is not contained in this table.
+     */
+    public int indexOf(Unit<?> unit) {
+        Integer index = indices.get(unit);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the unit with the given index.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Unit<?> getUnit(int index) {
+        return units[index];
+    }
+
+    /**
+     * Returns the units of this table in the order of their indices.
+     */
+    public List<Unit<?>> getUnits() {
+        return Collections.unmodifiableList(Arrays.asList(units));
+    }
+
+    /**
+     * Returns whether values can be converted between the units with the given indices.
+     *
+     * @throws IndexOutOfBoundsException if any index is out of range.
+     */
+    public boolean isConvertible(int fromIndex, int toIndex) {
+        int index = pairIndex(fromIndex, toIndex);
+        return !Double.isNaN(scales[index]) || converters[index] != null;
+    }
+
+    /**
+     * Converts the given value from the unit with index {@code fromIndex}
+     * to the unit with index {@code toIndex}.
+     *
+     * @throws IndexOutOfBoundsException if any index is out of range.
+     * @throws com.github.netomi.uom.IncommensurableException if the units are not commensurable.
+     */
+    public double convert(int fromIndex, int toIndex, double value) {
+        int    index = pairIndex(fromIndex, toIndex);
+        double scale = scales[index];
+        return scale == scale ?
+                value * scale + offsets[index] :
+                converterAt(index).convert(value);
+    }
+
+    /**
+     * Converts the given values from the unit with index {@code fromIndex}
+     * to the unit with index {@code toIndex} and stores them in {@code result}.
+     * The arrays may be the same to convert the values in place.
+     *
+     * @throws IndexOutOfBoundsException if any index is out of range or the result array is too small.
+     * @throws com.github.netomi.uom.IncommensurableException if the units are not commensurable.
+     */
+    public void convert(int fromIndex, int toIndex, double[] values, double[] result) {
+        checkLength(values.length, result.length);
+
+        int    index = pairIndex(fromIndex, toIndex);
+        double scale = scales[index];
+        if (scale == scale) {
+            double offset = offsets[index];
+            for (int i = 0; i < values.length; i++) {
+                result[i] = values[i] * scale + offset;
+            }
+        } else {
+            UnitConverter converter = converterAt(index);
+            for (int i = 0; i < values.length; i++) {
+                result[i] = converter.convert(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Converts the given values, each expressed in the unit with the respective
+     * index in {@code fromIndices}, to the unit with index {@code toIndex} and
+     * stores them in {@code result}. The value arrays may be the same to convert
+     * the values in place.
+     *
+     * @throws IndexOutOfBoundsException if any index is out of range or the arrays do not match in length.
+     * @throws com.github.netomi.uom.IncommensurableException if any units are not commensurable.
+     */
+    public void convert(int[] fromIndices, int toIndex, double[] values, double[] result) {
+        checkLength(values.length, fromIndices.length);
+        checkLength(values.length, result.length);
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = convert(fromIndices[i], toIndex, values[i]);
+        }
+    }
+
+    private int pairIndex(int fromIndex, int toIndex) {
+        int size = units.length;
+        if (fromIndex < 0 || fromIndex >= size || toIndex < 0 || toIndex >= size) {
+            throw new IndexOutOfBoundsException("unit index out of range: " + fromIndex + " -> " + toIndex);
+        }
+        return fromIndex * size + toIndex;
+    }
+
+    private UnitConverter converterAt(int index) {
+        UnitConverter converter = converters[index];
+        if (converter == null) {
+            int size = units.length;
+            Preconditions.requireCommensurable(units[index / size], units[index % size]);
+        }
+        return converter;
+    }
+
+    private static void checkLength(int expected, int actual) {
+        if (actual < expected) {
+            throw new IndexOutOfBoundsException("array length " + actual + " < " + expected);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConversionTable[%s]", Arrays.toString(units));
+    }
+}
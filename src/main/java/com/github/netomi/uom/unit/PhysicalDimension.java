@@ -16,20 +16,19 @@
 package com.github.netomi.uom.unit;
 
 import com.github.netomi.uom.Dimension;
+import com.github.netomi.uom.math.ArithmeticUtils;
 import com.github.netomi.uom.math.Fraction;
-import com.github.netomi.uom.util.ConcurrentReferenceHashMap;
 import com.github.netomi.uom.util.ObjectPrinter;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
-import java.util.function.BinaryOperator;
-import java.util.function.UnaryOperator;
-
-import static com.github.netomi.uom.util.ConcurrentReferenceHashMap.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * An efficient implementation of a {@link Dimension} for physical dimensions
- * using an {@link EnumMap} that stores the fraction for each physical dimension
- * (see {@link Base} for the list of base dimension types).
+ * that stores the exponent of each physical base dimension (see {@link Base}
+ * for the list of base dimension types) as a small fraction packed into two
+ * {@code long} values.
  * <p>
  * A physical dimension is represented in the form:
  * <code>
@@ -38,11 +37,18 @@ import static com.github.netomi.uom.util.ConcurrentReferenceHashMap.*;
  * with L, M, T, I, Θ, N and J representing the physical base dimensions with their respective
  * dimensional exponent as a fraction.
  * <p>
- * Created dimensions are cached in a synchronized {@link WeakHashMap} to avoid
- * creating too many dimension instances. This implementation guarantees that
- * for base dimensions (e.g. the result of operations like {@link #multiply(Dimension)})
- * always the same instance is returned as these dimension have a strong reference in the
- * {@link Dimensions} class and will never be garbage collected.
+ * Each exponent is stored in lowest terms with a numerator in the range [-256, 255]
+ * and a denominator in the range [1, 512]. Operations resulting in exponents outside
+ * of these ranges throw an {@link ArithmeticException}. Dimension algebra, {@link #equals(Object)}
+ * and {@link #hashCode()} are thus performed using integer arithmetic without
+ * allocating any intermediate objects.
+ * <p>
+ * Created dimensions are cached in a lock-free table indexed by their packed
+ * representation to avoid creating too many dimension instances. The table only
+ * holds weak references, thus unused dimensions may be garbage collected. This
+ * implementation guarantees that for base dimensions (e.g. the result of operations
+ * like {@link #multiply(Dimension)}) and dimensionless results always the same
+ * instance as defined in the {@link Dimensions} class is returned.
  *
  * @author Thomas Neidhart
  */
@@ -82,53 +88,162 @@ class PhysicalDimension extends Dimension {
         }
     }
 
+    private static final Base[] BASES = Base.values();
+
+    // the number of bits used for each numerator / denominator.
+    private static final int  BITS            = 9;
+    private static final long FIELD_MASK      = (1L << BITS) - 1;
+    private static final int  MIN_NUMERATOR   = -(1 << (BITS - 1));
+    private static final int  MAX_NUMERATOR   = (1 << (BITS - 1)) - 1;
+    private static final int  MAX_DENOMINATOR = 1 << BITS;
+
+    // the size of the dimension cache, must be a power of 2.
+    private static final int CACHE_SIZE   = 256;
+    // the number of slots to probe before evicting a cached dimension.
+    private static final int CACHE_PROBES = 4;
+
     /**
-     * A cache for {@link Dimension} instances. Wrap values into a weak
-     * reference as the keys are contained in the values, creating a
-     * circular reference which would prevent the keys from being collected.
+     * A cache for {@link Dimension} instances indexed by their packed representation.
      */
-    private static final Map<EnumMap<?, ?>, Dimension> dimensionCache =
-            new ConcurrentReferenceHashMap<>(20, ReferenceType.WEAK, ReferenceType.WEAK);
+    private static final AtomicReferenceArray<WeakReference<PhysicalDimension>> dimensionCache =
+            new AtomicReferenceArray<>(CACHE_SIZE);
 
-    private final EnumMap<Base, Fraction> dimensionMap;
-    private final String                  cachedToString;
+    // the numerators of the exponents in two's complement.
+    private final long numerators;
+    // the denominators of the exponents, stored as (denominator - 1).
+    private final long denominators;
+
+    private volatile String cachedToString;
 
     static Dimension empty() {
-        return new PhysicalDimension(new EnumMap<>(Base.class));
+        return new PhysicalDimension(0L, 0L);
     }
 
     static Dimension of(Base baseDimension) {
-        return new PhysicalDimension(baseDimension);
+        return intern(packNumerator(0L, baseDimension.ordinal(), 1), 0L);
     }
 
-    static Dimension of(EnumMap<Base, Fraction> map) {
-        Dimension cachedDimension = getCachedDimension(map);
-        return cachedDimension != null ? cachedDimension : new PhysicalDimension(map);
+    private PhysicalDimension(long numerators, long denominators) {
+        this.numerators   = numerators;
+        this.denominators = denominators;
     }
 
-    private static Dimension getCachedDimension(EnumMap<Base, Fraction> map) {
-        return dimensionCache.get(map);
+    /**
+     * Returns the canonical {@link Dimension} instance for the given packed representation.
+     */
+    private static Dimension of(long numerators, long denominators) {
+        if (numerators == 0L) {
+            return Dimensions.NONE;
+        }
+
+        // a single base dimension with an exponent of 1.
+        if (denominators == 0L && Long.bitCount(numerators) == 1) {
+            int bit = Long.numberOfTrailingZeros(numerators);
+            if (bit % BITS == 0) {
+                Dimension baseDimension = Dimensions.getPhysicalBaseDimension(BASES[bit / BITS]);
+                if (baseDimension != null) {
+                    return baseDimension;
+                }
+            }
+        }
+
+        return intern(numerators, denominators);
     }
 
-    private static void putDimensionIntoCache(PhysicalDimension dimension) {
-        dimensionCache.putIfAbsent(dimension.dimensionMap, dimension);
+    private static PhysicalDimension intern(long numerators, long denominators) {
+        int hash = hash(numerators, denominators);
+
+        for (int i = 0; i < CACHE_PROBES; i++) {
+            PhysicalDimension dimension = cachedDimension((hash + i) & (CACHE_SIZE - 1));
+            if (dimension != null && dimension.matches(numerators, denominators)) {
+                return dimension;
+            }
+        }
+
+        PhysicalDimension newDimension = new PhysicalDimension(numerators, denominators);
+
+        for (int i = 0; i < CACHE_PROBES; i++) {
+            int                              slot      = (hash + i) & (CACHE_SIZE - 1);
+            WeakReference<PhysicalDimension> reference = dimensionCache.get(slot);
+            PhysicalDimension                dimension = reference != null ? reference.get() : null;
+
+            if (dimension == null) {
+                if (dimensionCache.compareAndSet(slot, reference, new WeakReference<>(newDimension))) {
+                    return newDimension;
+                }
+
+                // another thread was faster, check whether it stored the same dimension.
+                dimension = cachedDimension(slot);
+            }
+
+            if (dimension != null && dimension.matches(numerators, denominators)) {
+                return dimension;
+            }
+        }
+
+        // all probed slots are in use, evict the first one.
+        dimensionCache.set(hash & (CACHE_SIZE - 1), new WeakReference<>(newDimension));
+        return newDimension;
     }
 
-    PhysicalDimension(Base baseDimension) {
-        dimensionMap = new EnumMap<>(Base.class);
-        dimensionMap.put(baseDimension, Fraction.ONE);
+    private static PhysicalDimension cachedDimension(int slot) {
+        WeakReference<PhysicalDimension> reference = dimensionCache.get(slot);
+        return reference != null ? reference.get() : null;
+    }
 
-        cachedToString = calculateToString();
+    private boolean matches(long numerators, long denominators) {
+        return this.numerators   == numerators &&
+               this.denominators == denominators;
+    }
 
-        putDimensionIntoCache(this);
+    private static int hash(long numerators, long denominators) {
+        long h = numerators * 0x9E3779B97F4A7C15L + denominators;
+        int  i = (int) (h ^ (h >>> 32));
+        return i ^ (i >>> 16);
     }
 
-    PhysicalDimension(Map<Base, Fraction> map) {
-        dimensionMap = new EnumMap<>(map);
+    // helper methods to access the packed representation.
 
-        cachedToString = calculateToString();
+    private static int numerator(long numerators, int index) {
+        // shift the field to the top and sign-extend it.
+        return (int) (numerators << (Long.SIZE - BITS * (index + 1)) >> (Long.SIZE - BITS));
+    }
 
-        putDimensionIntoCache(this);
+    private static int denominator(long denominators, int index) {
+        return (int) ((denominators >>> (BITS * index)) & FIELD_MASK) + 1;
+    }
+
+    private static long packNumerator(long numerators, int index, long value) {
+        return numerators | ((value & FIELD_MASK) << (BITS * index));
+    }
+
+    private static long packDenominator(long denominators, int index, long value) {
+        return denominators | (((value - 1) & FIELD_MASK) << (BITS * index));
+    }
+
+    /**
+     * Reduces the given exponent and stores it at the given index in the
+     * packed representation {@code [numerators, denominators]}.
+     */
+    private static void pack(long[] packed, int index, long numerator, long denominator) {
+        if (numerator == 0) {
+            return;
+        }
+
+        if (denominator != 1) {
+            long gcd = ArithmeticUtils.gcd(numerator, denominator);
+            numerator   /= gcd;
+            denominator /= gcd;
+        }
+
+        if (numerator   < MIN_NUMERATOR || numerator   > MAX_NUMERATOR ||
+            denominator < 1             || denominator > MAX_DENOMINATOR) {
+            throw new ArithmeticException(String.format("Dimension exponent %d/%d of %s out of supported range.",
+                                                        numerator, denominator, BASES[index]));
+        }
+
+        packed[0] = packNumerator(packed[0], index, numerator);
+        packed[1] = packDenominator(packed[1], index, denominator);
     }
 
     @Override
@@ -136,7 +251,7 @@ class PhysicalDimension extends Dimension {
         Objects.requireNonNull(multiplicand);
 
         // Optimization: NONE * anything = anything
-        if (this == Dimensions.NONE || dimensionMap.isEmpty()) {
+        if (this == Dimensions.NONE) {
             return multiplicand;
         }
 
@@ -144,9 +259,7 @@ class PhysicalDimension extends Dimension {
             return super.multiply(multiplicand);
         }
 
-        // the other instance must be of type EnumDimension.
-        PhysicalDimension that = (PhysicalDimension) multiplicand;
-        return of(combine(this.dimensionMap, that.dimensionMap, fraction -> fraction, Fraction::add));
+        return combine((PhysicalDimension) multiplicand, 1);
     }
 
     @Override
@@ -154,59 +267,65 @@ class PhysicalDimension extends Dimension {
         Objects.requireNonNull(divisor);
 
         if (!(divisor instanceof PhysicalDimension)) {
-            return super.multiply(divisor);
+            return super.divide(divisor);
         }
 
-        // the other instance must be of type EnumDimension.
-        PhysicalDimension that = (PhysicalDimension) divisor;
-        return of(combine(this.dimensionMap, that.dimensionMap, Fraction::negate, Fraction::subtract));
+        return combine((PhysicalDimension) divisor, -1);
     }
 
-    private EnumMap<Base, Fraction> combine(EnumMap<Base, Fraction>  first,
-                                            EnumMap<Base, Fraction>  second,
-                                            UnaryOperator<Fraction>  absentOperator,
-                                            BinaryOperator<Fraction> presentOperator) {
-
-        EnumMap<Base, Fraction> newMap = new EnumMap<>(first);
-
-        for (Map.Entry<Base, Fraction> entry : second.entrySet()) {
-            Fraction value = newMap.get(entry.getKey());
-
-            if (value == null) {
-                value = absentOperator.apply(entry.getValue());
-            } else {
-                value = presentOperator.apply(value, entry.getValue());
+    private Dimension combine(PhysicalDimension that, int sign) {
+        if (this.denominators == 0L && that.denominators == 0L) {
+            // fast path: only integer exponents.
+            long numerators = 0L;
+            for (int i = 0; i < BASES.length; i++) {
+                int value = numerator(this.numerators, i) + sign * numerator(that.numerators, i);
+                if (value < MIN_NUMERATOR || value > MAX_NUMERATOR) {
+                    throw new ArithmeticException(String.format("Dimension exponent %d of %s out of supported range.",
+                                                                value, BASES[i]));
+                }
+                numerators = packNumerator(numerators, i, value);
             }
+            return of(numerators, 0L);
+        }
+
+        long[] packed = new long[2];
+        for (int i = 0; i < BASES.length; i++) {
+            long n1 = numerator(this.numerators, i);
+            long d1 = denominator(this.denominators, i);
+            long n2 = numerator(that.numerators, i);
+            long d2 = denominator(that.denominators, i);
 
-            if (Fraction.ZERO.compareTo(value) == 0) {
-                newMap.remove(entry.getKey());
+            if (d1 == d2) {
+                pack(packed, i, n1 + sign * n2, d1);
             } else {
-                newMap.put(entry.getKey(), value);
+                pack(packed, i, n1 * d2 + sign * n2 * d1, d1 * d2);
             }
         }
-
-        return newMap;
+        return of(packed[0], packed[1]);
     }
 
     @Override
     public Dimension pow(int n) {
-        if (n == 1) {
+        if (n == 1 || this == Dimensions.NONE) {
             return this;
         }
 
-        if (this == Dimensions.NONE || dimensionMap.isEmpty()) {
-            return this;
-        }
+        long[] packed = new long[2];
+        for (int i = 0; i < BASES.length; i++) {
+            long numerator   = (long) numerator(numerators, i) * n;
+            long denominator = denominator(denominators, i);
 
-        EnumMap<Base, Fraction> newMap = new EnumMap<>(this.dimensionMap);
-
-        for (Map.Entry<Base, Fraction> entry : dimensionMap.entrySet()) {
-            Fraction value = newMap.get(entry.getKey());
-            value = value.multiply(n);
-            newMap.put(entry.getKey(), value);
+            if (denominator == 1) {
+                if (numerator < MIN_NUMERATOR || numerator > MAX_NUMERATOR) {
+                    throw new ArithmeticException(String.format("Dimension exponent %d of %s out of supported range.",
+                                                                numerator, BASES[i]));
+                }
+                packed[0] = packNumerator(packed[0], i, numerator);
+            } else {
+                pack(packed, i, numerator, denominator);
+            }
         }
-
-        return of(newMap);
+        return of(packed[0], packed[1]);
     }
 
     @Override
@@ -215,49 +334,46 @@ class PhysicalDimension extends Dimension {
             throw new IllegalArgumentException("n must be a positive integer.");
         }
 
-        if (n == 1) {
+        if (n == 1 || this == Dimensions.NONE) {
             return this;
         }
 
-        if (this == Dimensions.NONE || dimensionMap.isEmpty()) {
-            return this;
-        }
-
-        EnumMap<Base, Fraction> newMap = new EnumMap<>(this.dimensionMap);
-
-        for (Map.Entry<? extends Base, Fraction> entry : dimensionMap.entrySet()) {
-            Fraction value = newMap.get(entry.getKey());
-            value = value.multiply(Fraction.of(1, n));
-            newMap.put(entry.getKey(), value);
+        long[] packed = new long[2];
+        for (int i = 0; i < BASES.length; i++) {
+            pack(packed, i, numerator(numerators, i), (long) denominator(denominators, i) * n);
         }
-
-        return of(newMap);
+        return of(packed[0], packed[1]);
     }
 
     @Override
     public Map<Dimension, Fraction> getBaseDimensions() {
-        switch (dimensionMap.size()) {
-            case 0:
-                return Collections.emptyMap();
-
-            case 1:
-                Map.Entry<Base, Fraction> firstEntry = dimensionMap.entrySet().iterator().next();
-                return Collections.singletonMap(Dimensions.getPhysicalBaseDimension(firstEntry.getKey()),
-                                                firstEntry.getValue());
-
-            default:
-                Map<Dimension, Fraction> baseDimensionMap = new LinkedHashMap<>(dimensionMap.size());
-                for (Map.Entry<? extends Base, Fraction> entry : dimensionMap.entrySet()) {
-                    baseDimensionMap.put(Dimensions.getPhysicalBaseDimension(entry.getKey()),
-                                         entry.getValue());
+        Map<Dimension, Fraction> baseDimensionMap = Collections.emptyMap();
+
+        for (int i = 0; i < BASES.length; i++) {
+            int numerator = numerator(numerators, i);
+            if (numerator == 0) {
+                continue;
+            }
+
+            Dimension baseDimension = Dimensions.getPhysicalBaseDimension(BASES[i]);
+            Fraction  exponent      = Fraction.of(numerator, denominator(denominators, i));
+
+            if (baseDimensionMap.isEmpty()) {
+                baseDimensionMap = Collections.singletonMap(baseDimension, exponent);
+            } else {
+                if (baseDimensionMap.size() == 1) {
+                    baseDimensionMap = new LinkedHashMap<>(baseDimensionMap);
                 }
-                return baseDimensionMap;
+                baseDimensionMap.put(baseDimension, exponent);
+            }
         }
+
+        return baseDimensionMap;
     }
 
     @Override
     public int hashCode() {
-        return dimensionMap.hashCode();
+        return hash(numerators, denominators);
     }
 
     @Override
@@ -266,17 +382,31 @@ class PhysicalDimension extends Dimension {
         if (o == null || getClass() != o.getClass()) return false;
 
         PhysicalDimension that = (PhysicalDimension) o;
-        return Objects.equals(dimensionMap, that.dimensionMap);
+        return matches(that.numerators, that.denominators);
     }
 
     @Override
     public String toString() {
-        return cachedToString;
+        String result = cachedToString;
+        if (result == null) {
+            result = cachedToString = calculateToString();
+        }
+        return result;
     }
 
     private String calculateToString() {
-        return dimensionMap.isEmpty() ?
-                DIMENSIONLESS_SYMBOL :
-                ObjectPrinter.instance().print(dimensionMap, base -> String.valueOf(base.getSymbol()));
+        if (numerators == 0L) {
+            return DIMENSIONLESS_SYMBOL;
+        }
+
+        EnumMap<Base, Fraction> dimensionMap = new EnumMap<>(Base.class);
+        for (int i = 0; i < BASES.length; i++) {
+            int numerator = numerator(numerators, i);
+            if (numerator != 0) {
+                dimensionMap.put(BASES[i], Fraction.of(numerator, denominator(denominators, i)));
+            }
+        }
+
+        return ObjectPrinter.instance().print(dimensionMap, base -> String.valueOf(base.getSymbol()));
     }
 }
@@ -18,7 +18,6 @@ package com.github.netomi.uom.unit;
 import com.github.netomi.uom.Prefix;
 import com.github.netomi.uom.Quantity;
 import com.github.netomi.uom.Unit;
-import com.github.netomi.uom.math.Fraction;
 
 import java.util.Objects;
 
@@ -72,11 +71,6 @@ class PrefixedUnit<Q extends Quantity<Q>> extends TransformedUnit<Q> {
         return name != null ? name : prefix.getName() + getDelegateUnit().getName();
     }
 
-    @Override
-    public UnitElement[] getUnitElements() {
-        return new UnitElement[] { new UnitElement(this, Fraction.ONE) };
-    }
-
     @Override
     public PrefixedUnit<Q> withSymbol(String symbol) {
         return new PrefixedUnit<>(getDelegateUnit(), prefix, symbol, this.name);
@@ -20,14 +20,14 @@ import com.github.netomi.uom.function.UnitConverters;
 import com.github.netomi.uom.Dimension;
 import com.github.netomi.uom.Quantity;
 import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.math.ArithmeticUtils;
 import com.github.netomi.uom.math.Fraction;
-import com.github.netomi.uom.util.ConcurrentReferenceHashMap;
 import com.github.netomi.uom.util.ObjectPrinter;
+import com.github.netomi.uom.util.ReferenceCache;
 
-import java.lang.ref.WeakReference;
 import java.util.*;
 
-import static com.github.netomi.uom.util.ConcurrentReferenceHashMap.ReferenceType;
+import static com.github.netomi.uom.util.ReferenceCache.Strength;
 
 /**
  * @param <Q> the quantity type
@@ -39,116 +39,113 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
     private static final String EMPTY_SYMBOL = "1";
 
     /**
-     * A cache for {@link ProductUnit} instances. Wrap values into a weak
-     * reference as the keys are contained in the values, creating a
-     * circular reference which would prevent the keys from being collected.
+     * A cache for {@link ProductUnit} instances. The keys are strongly referenced
+     * by the units themselves, thus only the values are held by weak references,
+     * the entries are removed once the unit has been collected.
+     * <p>
+     * The keys are {@link UnitElementWrapper} instances, lookups are performed
+     * with an {@link ElementBuffer} to avoid allocations on a cache hit.
      */
-    private static final Map<UnitElementWrapper, WeakReference<Unit<?>>> unitCache =
-            new ConcurrentReferenceHashMap<>(50, ReferenceType.WEAK, ReferenceType.WEAK);
+    private static final ReferenceCache<ElementKey, Unit<?>> unitCache =
+            ReferenceCache.of(64, Strength.STRONG, Strength.WEAK);
+
+    private static final ThreadLocal<ElementBuffer> elementBuffer = ThreadLocal.withInitial(ElementBuffer::new);
 
-    private final String                 symbol;
-    private final String                 name;
+    private final String                          symbol;
+    private final String                          name;
 
-    private final UnitElementWrapper     unitElements;
-    private final String                 cachedSymbol;
-    private final Dimension              cachedDimension;
-    private final UnitConverter          cachedSystemConverter;
-    private final Map<Unit<?>, Fraction> cachedBaseUnitMap;
-    private       Unit<Q>                cachedSystemUnit;
+    private final UnitElementWrapper              unitElements;
+    private final Dimension                       cachedDimension;
+    private final UnitConverter                   cachedSystemConverter;
+    private final boolean                         cachedIsSystemUnit;
+    // the symbol, base unit map and system unit are lazily initialized.
+    private volatile String                       cachedSymbol;
+    private volatile Map<Unit<?>, Fraction>       cachedBaseUnitMap;
+    private volatile Unit<Q>                      cachedSystemUnit;
 
     public static Unit<?> ofProduct(Unit<?> unit, Fraction fraction) {
         return ofProduct(unit, fraction, null, null);
     }
 
     public static Unit<?> ofProduct(Unit<?> left, Fraction leftFraction, Unit<?> right, Fraction rightFraction) {
-        List<UnitElement> elements = new ArrayList<>();
+        ElementBuffer buffer = ElementBuffer.acquire();
+        try {
+            buffer.addAll(left, leftFraction);
+            if (right != null) {
+                buffer.addAll(right, rightFraction);
+            }
 
-        collectElements(left, leftFraction, elements);
-        if (right != null) {
-            collectElements(right, rightFraction, elements);
+            return ofElements(buffer);
+        } finally {
+            buffer.release();
         }
+    }
 
-        // create a canonical representation of the elements which is required
-        // for the cache to work properly, otherwise the same elements are not
-        // equal to each other.
-        SortedMap<Unit<?>, Fraction> map = new TreeMap<>(Comparator.comparing(Unit::getSymbol));
-
-        for (UnitElement element : elements) {
-            Fraction fraction = map.get(element.getUnit());
-            if (fraction != null) {
-                fraction = fraction.add(element.getFraction());
-            } else {
-                fraction = element.getFraction();
+    public static Unit<?> ofProduct(Unit<?>[] units, Fraction[] fractions) {
+        ElementBuffer buffer = ElementBuffer.acquire();
+        try {
+            for (int i = 0; i < units.length; i++) {
+                buffer.addAll(units[i], fractions[i]);
             }
 
-            if (Fraction.ZERO.compareTo(fraction) == 0) {
-                map.remove(element.getUnit());
-            } else {
-                map.put(element.getUnit(), fraction);
-            }
+            return ofElements(buffer);
+        } finally {
+            buffer.release();
         }
+    }
 
-        if (map.isEmpty()) {
+    private static Unit<?> ofElements(ElementBuffer buffer) {
+        // the buffer contains a canonical representation of the elements which
+        // is required for the cache to work properly, otherwise the same elements
+        // are not equal to each other.
+        if (buffer.size == 0) {
             return Units.ONE;
         }
 
-        int idx = 0;
-        UnitElement[] newElements = new UnitElement[map.size()];
-        for (Map.Entry<Unit<?>, Fraction> entry : map.entrySet()) {
-            newElements[idx++] = new UnitElement(entry.getKey(), entry.getValue());
-        }
-
         // If only one element with exponent 1 is left, return it.
-        if (newElements.length == 1 &&
-            newElements[0].getFraction().compareTo(Fraction.ONE) == 0) {
-            return newElements[0].getUnit();
+        if (buffer.size == 1 &&
+            buffer.numerators[0]   == 1 &&
+            buffer.denominators[0] == 1) {
+            return buffer.units[0];
         }
 
-        Unit<?> cachedUnit = getCachedUnit(newElements);
+        Unit<?> cachedUnit = unitCache.get(buffer);
         if (cachedUnit != null) {
             return cachedUnit;
-        } else {
-            ProductUnit<?> unit = new ProductUnit<>(UnitElementWrapper.of(newElements));
-
-            // if the generated product unit has an identity converter but is composed of
-            // non-system units, we can return the system unit instead. This can happen
-            // when e.g. multiplying km with mm which results in a product unit of km * mm
-            // but it is equivalent to m^2.
-            if (!unit.isSystemUnit() &&
-                unit.getSystemConverter() == UnitConverters.identity()) {
-                return unit.getSystemUnit();
-            }
-
-            // do not cache dimensionless units, currently they are equal to each other
-            // if they have a unit system converter ("1" == "rad").
-            if (unit.getDimension() != Dimensions.NONE) {
-                putUnitIntoCache(unit);
-            }
-            return unit;
         }
-    }
 
-    private static void collectElements(Unit<?>           unit,
-                                        Fraction          fraction,
-                                        List<UnitElement> elements) {
-        for (UnitElement e : unit.getUnitElements()) {
-            elements.add(e.multiply(fraction));
+        // creating the unit might create other product units,
+        // thus release the buffer before that.
+        UnitElement[] elements = buffer.toElements();
+        buffer.release();
+
+        ProductUnit<?> unit = new ProductUnit<>(UnitElementWrapper.of(elements));
+
+        // if the generated product unit has an identity converter but is composed of
+        // non-system units, we can return the system unit instead. This can happen
+        // when e.g. multiplying km with mm which results in a product unit of km * mm
+        // but it is equivalent to m^2.
+        if (!unit.isSystemUnit() &&
+            unit.getSystemConverter() == UnitConverters.identity()) {
+            return unit.getSystemUnit();
         }
-    }
 
-    private static Unit<?> getCachedUnit(UnitElement[] elements) {
-        WeakReference<Unit<?>> reference = unitCache.get(UnitElementWrapper.of(elements));
-        return reference != null ? reference.get() : null;
+        // do not cache dimensionless units, currently they are equal to each other
+        // if they have a unit system converter ("1" == "rad").
+        if (unit.getDimension() != Dimensions.NONE) {
+            putUnitIntoCache(unit);
+        }
+        return unit;
     }
 
     private static void putUnitIntoCache(ProductUnit<?> unit) {
-        unitCache.putIfAbsent(unit.unitElements, new WeakReference<>(unit));
+        unitCache.putIfAbsent(unit.unitElements, unit);
     }
 
     static void putProductUnitIntoCache(Unit<?> unit) {
         if (unit instanceof ProductUnit<?>) {
             ProductUnit<?> productUnit = (ProductUnit<?>) unit;
-            unitCache.put(productUnit.unitElements, new WeakReference<>(unit));
+            unitCache.put(productUnit.unitElements, unit);
         }
     }
 
@@ -158,9 +155,10 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
 
         this.unitElements = UnitElementWrapper.of(new UnitElement[0]);
 
-        this.cachedSymbol          = EMPTY_SYMBOL;
         this.cachedDimension       = Dimensions.NONE;
         this.cachedSystemConverter = UnitConverters.identity();
+        this.cachedIsSystemUnit    = true;
+        this.cachedSymbol          = EMPTY_SYMBOL;
         this.cachedBaseUnitMap     = Collections.emptyMap();
     }
 
@@ -169,12 +167,9 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
         this.name   = null;
 
         this.unitElements          = unitElements;
-        this.cachedSymbol          = calculateSymbol();
         this.cachedDimension       = calculateDimension();
         this.cachedSystemConverter = calculateSystemConverter();
-        this.cachedBaseUnitMap     = calculateBaseUnitMap();
-        // the system unit is lazily initialized.
-        this.cachedSystemUnit      = null;
+        this.cachedIsSystemUnit    = calculateIsSystemUnit();
     }
 
     protected ProductUnit(ProductUnit<Q> productUnit, String symbol, String name) {
@@ -182,9 +177,10 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
         this.name                  = name;
 
         this.unitElements          = productUnit.unitElements;
-        this.cachedSymbol          = productUnit.cachedSymbol;
         this.cachedDimension       = productUnit.cachedDimension;
         this.cachedSystemConverter = productUnit.cachedSystemConverter;
+        this.cachedIsSystemUnit    = productUnit.cachedIsSystemUnit;
+        this.cachedSymbol          = productUnit.cachedSymbol;
         this.cachedBaseUnitMap     = productUnit.cachedBaseUnitMap;
         this.cachedSystemUnit      = productUnit.cachedSystemUnit;
     }
@@ -213,7 +209,16 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
 
     @Override
     public String getSymbol() {
-        return symbol != null ? symbol : cachedSymbol;
+        if (symbol != null) {
+            return symbol;
+        }
+
+        // racy single-check, see getSystemUnit().
+        String productSymbol = cachedSymbol;
+        if (productSymbol == null) {
+            cachedSymbol = productSymbol = calculateSymbol();
+        }
+        return productSymbol;
     }
 
     @Override
@@ -228,6 +233,10 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
 
     @Override
     public boolean isSystemUnit() {
+        return cachedIsSystemUnit;
+    }
+
+    private boolean calculateIsSystemUnit() {
         for (UnitElement element : unitElements.elements) {
             if (!element.getUnit().isSystemUnit()) {
                 return false;
@@ -238,13 +247,14 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
 
     @Override
     public Unit<Q> getSystemUnit() {
-        synchronized (this) {
-            if (cachedSystemUnit == null) {
-                cachedSystemUnit = calculateSystemUnit();
-            }
-
-            return cachedSystemUnit;
+        // racy single-check: the system unit might be calculated more than
+        // once by concurrent threads, but all results are equal, thus no
+        // lock is needed.
+        Unit<Q> systemUnit = cachedSystemUnit;
+        if (systemUnit == null) {
+            cachedSystemUnit = systemUnit = calculateSystemUnit();
         }
+        return systemUnit;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -282,7 +292,12 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
 
     @Override
     public Map<? extends Unit<?>, Fraction> getBaseUnits() {
-        return cachedBaseUnitMap;
+        // racy single-check, see getSystemUnit().
+        Map<Unit<?>, Fraction> baseUnitMap = cachedBaseUnitMap;
+        if (baseUnitMap == null) {
+            cachedBaseUnitMap = baseUnitMap = calculateBaseUnitMap();
+        }
+        return baseUnitMap;
     }
 
     private Map<Unit<?>, Fraction> calculateBaseUnitMap() {
@@ -354,6 +369,53 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
                Objects.equals(unitElements,          otherUnit.unitElements);
     }
 
+    /**
+     * Common base class for the keys of the unit cache. Two keys are equal if
+     * they contain equal elements in the same order, regardless of their type,
+     * thus an {@link ElementBuffer} finds the entry stored for the
+     * {@link UnitElementWrapper} of the same elements and vice versa.
+     * <p>
+     * Implementations must compute their hash code like
+     * {@code Arrays.hashCode(UnitElement[])} would do for their elements.
+     */
+    abstract static class ElementKey {
+
+        abstract int size();
+
+        abstract Unit<?> unitAt(int idx);
+
+        abstract int numeratorAt(int idx);
+
+        abstract int denominatorAt(int idx);
+
+        @Override
+        public abstract int hashCode();
+
+        @Override
+        public final boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ElementKey)) return false;
+
+            ElementKey other = (ElementKey) o;
+            int size = size();
+            if (size != other.size()) {
+                return false;
+            }
+
+            for (int i = 0; i < size; i++) {
+                Unit<?> unit      = unitAt(i);
+                Unit<?> otherUnit = other.unitAt(i);
+
+                if (numeratorAt(i)   != other.numeratorAt(i)   ||
+                    denominatorAt(i) != other.denominatorAt(i) ||
+                    !(unit == otherUnit || unit.equals(otherUnit))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Internal class used by {@link Unit} implementations to return an
      * array of {@link UnitElement}'s this unit is composed of.
@@ -363,8 +425,9 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
      * {@link #equals(Object)} do not take such arrays into account. The wrapper
      * correctly implements these methods.
      */
-    static class UnitElementWrapper {
+    static final class UnitElementWrapper extends ElementKey {
         final UnitElement[] elements;
+        private final int   hash;
 
         static UnitElementWrapper of(UnitElement[] elements) {
             return new UnitElementWrapper(elements);
@@ -372,20 +435,32 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
 
         private UnitElementWrapper(UnitElement[] elements) {
             this.elements = elements;
+            this.hash     = Arrays.hashCode(elements);
         }
 
         @Override
-        public int hashCode() {
-            return Arrays.hashCode(elements);
+        int size() {
+            return elements.length;
         }
 
         @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
+        Unit<?> unitAt(int idx) {
+            return elements[idx].getUnit();
+        }
+
+        @Override
+        int numeratorAt(int idx) {
+            return elements[idx].getFraction().getNumerator();
+        }
+
+        @Override
+        int denominatorAt(int idx) {
+            return elements[idx].getFraction().getDenominator();
+        }
 
-            UnitElementWrapper other = (UnitElementWrapper) o;
-            return Arrays.equals(elements, other.elements);
+        @Override
+        public int hashCode() {
+            return hash;
         }
 
         @Override
@@ -393,4 +468,161 @@ class ProductUnit<Q extends Quantity<Q>> extends Unit<Q> {
             return Arrays.toString(elements);
         }
     }
+
+    /**
+     * A mutable buffer to merge the elements of a product into a canonical form,
+     * ordered by the symbol of their units. Units with the same symbol are merged.
+     * <p>
+     * The buffer is also used as lookup key for the unit cache: it is equal to the
+     * {@link UnitElementWrapper} of the resulting elements, thus no objects need to
+     * be created if the unit is already cached.
+     */
+    private static final class ElementBuffer extends ElementKey {
+        private static final int INITIAL_CAPACITY = 8;
+
+        Unit<?>[] units        = new Unit<?>[INITIAL_CAPACITY];
+        String[]  symbols      = new String[INITIAL_CAPACITY];
+        int[]     unitHashes   = new int[INITIAL_CAPACITY];
+        int[]     numerators   = new int[INITIAL_CAPACITY];
+        int[]     denominators = new int[INITIAL_CAPACITY];
+        int       size;
+
+        private boolean inUse;
+
+        /**
+         * Returns the buffer of the current thread, or a new buffer in case
+         * the buffer of the current thread is already in use.
+         */
+        static ElementBuffer acquire() {
+            ElementBuffer buffer = elementBuffer.get();
+            if (buffer.inUse) {
+                buffer = new ElementBuffer();
+            }
+            buffer.inUse = true;
+            buffer.size  = 0;
+            return buffer;
+        }
+
+        void release() {
+            inUse = false;
+            // do not retain any units.
+            Arrays.fill(units,   0, size, null);
+            Arrays.fill(symbols, 0, size, null);
+            size = 0;
+        }
+
+        void addAll(Unit<?> unit, Fraction fraction) {
+            for (UnitElement element : unit.getUnitElements()) {
+                long numerator   = (long) element.getFraction().getNumerator()   * fraction.getNumerator();
+                long denominator = (long) element.getFraction().getDenominator() * fraction.getDenominator();
+                add(element, numerator, denominator);
+            }
+        }
+
+        private void add(UnitElement element, long numerator, long denominator) {
+            String symbol = element.getUnitSymbol();
+
+            int idx = 0;
+            int cmp = 1;
+            while (idx < size && (cmp = symbols[idx].compareTo(symbol)) < 0) {
+                idx++;
+            }
+
+            if (cmp == 0) {
+                numerator   = numerator * denominators[idx] + numerators[idx] * denominator;
+                denominator = denominator * denominators[idx];
+
+                if (numerator == 0) {
+                    remove(idx);
+                } else {
+                    setFraction(idx, numerator, denominator);
+                }
+            } else if (numerator != 0) {
+                insert(idx, element);
+                setFraction(idx, numerator, denominator);
+            }
+        }
+
+        private void insert(int idx, UnitElement element) {
+            if (size == units.length) {
+                int capacity = 2 * size;
+                units        = Arrays.copyOf(units,        capacity);
+                symbols      = Arrays.copyOf(symbols,      capacity);
+                unitHashes   = Arrays.copyOf(unitHashes,   capacity);
+                numerators   = Arrays.copyOf(numerators,   capacity);
+                denominators = Arrays.copyOf(denominators, capacity);
+            }
+
+            int length = size - idx;
+            System.arraycopy(units,        idx, units,        idx + 1, length);
+            System.arraycopy(symbols,      idx, symbols,      idx + 1, length);
+            System.arraycopy(unitHashes,   idx, unitHashes,   idx + 1, length);
+            System.arraycopy(numerators,   idx, numerators,   idx + 1, length);
+            System.arraycopy(denominators, idx, denominators, idx + 1, length);
+
+            units[idx]      = element.getUnit();
+            symbols[idx]    = element.getUnitSymbol();
+            unitHashes[idx] = element.getUnitHash();
+            size++;
+        }
+
+        private void remove(int idx) {
+            int length = size - idx - 1;
+            System.arraycopy(units,        idx + 1, units,        idx, length);
+            System.arraycopy(symbols,      idx + 1, symbols,      idx, length);
+            System.arraycopy(unitHashes,   idx + 1, unitHashes,   idx, length);
+            System.arraycopy(numerators,   idx + 1, numerators,   idx, length);
+            System.arraycopy(denominators, idx + 1, denominators, idx, length);
+
+            units[--size] = null;
+            symbols[size] = null;
+        }
+
+        private void setFraction(int idx, long numerator, long denominator) {
+            long gcd = ArithmeticUtils.gcd(Math.abs(numerator), denominator);
+            numerators[idx]   = Math.toIntExact(numerator   / gcd);
+            denominators[idx] = Math.toIntExact(denominator / gcd);
+        }
+
+        UnitElement[] toElements() {
+            UnitElement[] elements = new UnitElement[size];
+            for (int i = 0; i < size; i++) {
+                elements[i] = new UnitElement(units[i],
+                                              Fraction.of(numerators[i], denominators[i]),
+                                              symbols[i],
+                                              unitHashes[i]);
+            }
+            return elements;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        Unit<?> unitAt(int idx) {
+            return units[idx];
+        }
+
+        @Override
+        int numeratorAt(int idx) {
+            return numerators[idx];
+        }
+
+        @Override
+        int denominatorAt(int idx) {
+            return denominators[idx];
+        }
+
+        @Override
+        public int hashCode() {
+            // equivalent to Arrays.hashCode(toElements()).
+            int result = 1;
+            for (int i = 0; i < size; i++) {
+                result = 31 * result + UnitElement.hash(unitHashes[i], numerators[i], denominators[i]);
+            }
+            return result;
+        }
+    }
 }
@@ -40,6 +40,8 @@ class TransformedUnit<Q extends Quantity<Q>> extends DelegateUnit<Q> {
 
     private final UnitConverter converterToDelegate;
 
+    private volatile UnitElement[] cachedUnitElements;
+
     static <Q extends Quantity<Q>> Unit<Q> of(Unit<Q> unit, UnitConverter converterToDelegate) {
         Unit<Q>       delegateUnit = unit;
         UnitConverter converter    = converterToDelegate;
@@ -111,7 +113,11 @@ class TransformedUnit<Q extends Quantity<Q>> extends DelegateUnit<Q> {
 
     @Override
     public UnitElement[] getUnitElements() {
-        return new UnitElement[] { new UnitElement(this, Fraction.ONE) };
+        UnitElement[] elements = cachedUnitElements;
+        if (elements == null) {
+            cachedUnitElements = elements = new UnitElement[] { new UnitElement(this, Fraction.ONE) };
+        }
+        return elements;
     }
 
     @Override
@@ -25,6 +25,7 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.StringTokenizer;
@@ -33,6 +34,7 @@ class UnitDefinitionParser {
 
     private static final String COMMENT = "#";
     private static final String INCLUDE = "@include";
+    private static final String DEFER   = "@defer";
 
     private static final String SPACE          = " ";
     private static final String BASE_UNIT_ID   = "!";
@@ -52,7 +54,7 @@ class UnitDefinitionParser {
     private static final String DELIMITERS_FORMULA  = SPACE + MULTIPLY + DIVIDE + OPEN_BRACKET + CLOSE_BRACKET + BASE_UNIT_ID + ALTERNATE_UNIT + ASSIGNMENT;
     private static final String DELIMITERS_FUNCTION = SPACE + ADD + SUBTRACT + MULTIPLY + DIVIDE + OPEN_BRACKET + CLOSE_BRACKET;
 
-    private final Map<String, Unit<?>> knownUnits;
+    private final UnitRegistry         unitRegistry;
     private final Map<String, Unit<?>> parsedUnits;
 
     public static Map<String, Unit<?>> parse(String       definitionFile,
@@ -61,8 +63,8 @@ class UnitDefinitionParser {
     }
 
     private UnitDefinitionParser(UnitRegistry unitRegistry) {
-        this.knownUnits  = unitRegistry.getUnits();
-        this.parsedUnits = new HashMap<>();
+        this.unitRegistry = unitRegistry;
+        this.parsedUnits  = new HashMap<>();
     }
 
     private Map<String, Unit<?>> getParsedUnits() {
@@ -72,7 +74,7 @@ class UnitDefinitionParser {
     private UnitDefinitionParser parseFile(String definitionFile) {
 
         try (InputStream    is     = UnitDefinitionParser.class.getResourceAsStream(definitionFile);
-             BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+             BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
 
             String line;
             while ((line = reader.readLine()) != null) {
@@ -84,6 +86,10 @@ class UnitDefinitionParser {
                 } else if (line.startsWith(INCLUDE)) {
                     String fileName = line.split(SPACE)[1];
                     parseFile(fileName);
+                } else if (line.startsWith(DEFER)) {
+                    // deferred files are loaded by the registry on first access.
+                    String fileName = line.split(SPACE)[1];
+                    unitRegistry.defer(fileName);
                 } else {
                     Unit<?> unit = parseUnitLine(line);
                     if (unit != null) {
@@ -110,7 +116,7 @@ class UnitDefinitionParser {
         String name   = symbolAndName.length > 1 ? symbolAndName[1].replaceAll("_", " ") : symbol;
 
         // if we have already parsed a unit with the same name, ignore it.
-        if (parsedUnits.get(symbol) != null) {
+        if (parsedUnits.get(symbol) != null || unitRegistry.isRegistered(symbol)) {
             return null;
         }
 
@@ -307,7 +313,11 @@ class UnitDefinitionParser {
     private Unit<?> getUnit(String symbolicName) {
         // FIXME: make this more sane to avoid the need to replace _
         String name = symbolicName.replaceAll("_", " ");
-        Unit<?> unit = parsedUnits.getOrDefault(name, knownUnits.get(name));
+        Unit<?> unit = parsedUnits.get(name);
+        if (unit == null) {
+            // might trigger loading a deferred definition file.
+            unit = unitRegistry.get(name);
+        }
         if (unit == null) {
             throw new RuntimeException("undefined unit with name " + symbolicName);
         }
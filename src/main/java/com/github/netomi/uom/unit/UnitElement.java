@@ -27,12 +27,23 @@ import java.util.Objects;
  * @author Thomas Neidhart
  */
 public class UnitElement {
-    private final Unit<?> unit;
+
+    private final Unit<?>  unit;
     private final Fraction fraction;
+    // the symbol and hash code of the unit, cached as they are
+    // needed to order and look up the elements of product units.
+    private final String   unitSymbol;
+    private final int      unitHash;
 
     UnitElement(Unit<?> unit, Fraction fraction) {
-        this.unit     = unit;
-        this.fraction = fraction;
+        this(unit, fraction, Objects.toString(unit.getSymbol(), ""), unit.hashCode());
+    }
+
+    UnitElement(Unit<?> unit, Fraction fraction, String unitSymbol, int unitHash) {
+        this.unit       = unit;
+        this.fraction   = fraction;
+        this.unitSymbol = unitSymbol;
+        this.unitHash   = unitHash;
     }
 
     public Unit<?> getUnit() {
@@ -43,13 +54,31 @@ public class UnitElement {
         return fraction;
     }
 
+    String getUnitSymbol() {
+        return unitSymbol;
+    }
+
+    int getUnitHash() {
+        return unitHash;
+    }
+
     UnitElement multiply(Fraction multiplicand) {
-        return new UnitElement(unit, fraction.multiply(multiplicand));
+        return new UnitElement(unit, fraction.multiply(multiplicand), unitSymbol, unitHash);
+    }
+
+    /**
+     * Returns the hash code of a unit element with the given unit hash code
+     * and fraction, without the need to create an instance.
+     */
+    static int hash(int unitHash, int numerator, int denominator) {
+        // equivalent to Objects.hash(unit, fraction).
+        int fractionHash = 37 * (37 * 17 + numerator) + denominator;
+        return 31 * (31 + unitHash) + fractionHash;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(unit, fraction);
+        return hash(unitHash, fraction.getNumerator(), fraction.getDenominator());
     }
 
     @Override
@@ -16,19 +16,42 @@
 package com.github.netomi.uom.unit;
 
 import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.util.StartupReport;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * A registry of all named units.
+ * <p>
+ * Unit definition files can be registered for deferred loading, in which
+ * case they are only parsed once a unit defined in them is requested. The
+ * definition file containing a symbol is looked up in an index that is
+ * generated during the build. If no index is available, all deferred
+ * definition files are loaded when an unknown symbol is requested.
+ *
+ * @author Thomas Neidhart
+ */
 class UnitRegistry {
 
+    private static final String DEFINITION_INDEX = "units.index";
+
     private final Map<String, Unit<?>>  units;
     private final Map<Unit<?>, Unit<?>> unitMapping;
+    private final Map<String, String>   definitionIndex;
+    private final Set<String>           deferredFiles;
 
     public UnitRegistry() {
-        this.units       = new ConcurrentHashMap<>();
-        this.unitMapping = new ConcurrentHashMap<>();
+        this(loadDefinitionIndex(DEFINITION_INDEX));
+    }
+
+    UnitRegistry(Map<String, String> definitionIndex) {
+        this.units           = new ConcurrentHashMap<>();
+        this.unitMapping     = new ConcurrentHashMap<>();
+        this.definitionIndex = definitionIndex;
+        this.deferredFiles   = ConcurrentHashMap.newKeySet();
     }
 
     public void addUnits(Map<String, Unit<?>> units) {
@@ -46,7 +69,30 @@ class UnitRegistry {
     }
 
     public Unit<?> get(String symbol) {
-        return units.get(symbol);
+        Unit<?> unit = units.get(symbol);
+        return unit != null || deferredFiles.isEmpty() ?
+                unit :
+                getDeferred(symbol);
+    }
+
+    /**
+     * Returns whether a unit with the given symbol has already been registered,
+     * without triggering the loading of any deferred definition file.
+     */
+    public boolean isRegistered(String symbol) {
+        return units.containsKey(symbol);
+    }
+
+    /**
+     * Registers the given definition file to be loaded on first access
+     * of one of its units.
+     */
+    public void defer(String definitionFile) {
+        deferredFiles.add(definitionFile);
+    }
+
+    boolean isDeferred(String definitionFile) {
+        return deferredFiles.contains(definitionFile);
     }
 
     public Unit<?> getOrDefault(Unit<?> unit, Unit<?> defaultUnit) {
@@ -58,7 +104,45 @@ class UnitRegistry {
         this.unitMapping.putIfAbsent(unit, unit);
     }
 
-    Map<String, Unit<?>> getUnits() {
-        return new HashMap<>(units);
+    private synchronized Unit<?> getDeferred(String symbol) {
+        String definitionFile = definitionIndex.get(symbol);
+        if (definitionFile != null) {
+            load(definitionFile);
+        } else if (definitionIndex.isEmpty()) {
+            // without an index, we have to load all deferred files.
+            for (String file : new ArrayList<>(deferredFiles)) {
+                load(file);
+            }
+        }
+        return units.get(symbol);
+    }
+
+    private synchronized void load(String definitionFile) {
+        // remove the file first, units of the same file are resolved
+        // by the parser itself.
+        if (deferredFiles.remove(definitionFile)) {
+            StartupReport.record("UnitRegistry: load deferred " + definitionFile,
+                                 () -> addUnits(UnitDefinitionParser.parse(definitionFile, this)));
+        }
+    }
+
+    private static Map<String, String> loadDefinitionIndex(String indexFile) {
+        Map<String, String> index = new HashMap<>();
+
+        try (InputStream is = UnitRegistry.class.getResourceAsStream(indexFile)) {
+            if (is != null) {
+                Properties properties = new Properties();
+                properties.load(is);
+
+                for (String symbol : properties.stringPropertyNames()) {
+                    index.put(symbol, properties.getProperty(symbol));
+                }
+            }
+        } catch (IOException ex) {
+            // ignore, deferred files will be loaded all at once.
+            index.clear();
+        }
+
+        return index;
     }
 }
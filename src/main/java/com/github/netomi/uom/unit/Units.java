@@ -20,6 +20,7 @@ import com.github.netomi.uom.format.UnitFormat;
 import com.github.netomi.uom.format.UnitFormatter;
 import com.github.netomi.uom.math.Fraction;
 import com.github.netomi.uom.quantity.Dimensionless;
+import com.github.netomi.uom.util.StartupReport;
 
 import java.util.Map;
 import java.util.Objects;
@@ -56,8 +57,11 @@ public final class Units {
     public static final Unit<Dimensionless> ONE = new ProductUnit<>();
 
     static {
-        Map<String, Unit<?>> units = UnitDefinitionParser.parse(unitSystem.getDefinitionFile(), unitReqistry);
-        unitReqistry.addUnits(units);
+        String definitionFile = unitSystem.getDefinitionFile();
+        StartupReport.record("Units: parse " + definitionFile, () -> {
+            Map<String, Unit<?>> units = UnitDefinitionParser.parse(definitionFile, unitReqistry);
+            unitReqistry.addUnits(units);
+        });
     }
 
     public static UnitSystem getUnitSystem() {
@@ -122,6 +126,20 @@ public final class Units {
         return ProductUnit.ofProduct(left, leftFraction, right, rightFraction);
     }
 
+    /**
+     * Returns a {@link Unit} which is the product of all given units raised
+     * to their associated fractions.
+     * <p>
+     * Note: this method is only used for internal purposes and should not be called
+     * otherwise.
+     */
+    public static Unit<?> productOf(Unit<?>[] units, Fraction[] fractions) {
+        if (units.length != fractions.length) {
+            throw new IllegalArgumentException("units and fractions do not match in length.");
+        }
+        return ProductUnit.ofProduct(units, fractions);
+    }
+
     /**
      * Returns a new {@link Unit} that represents the nth power of this unit.
      * <p>
@@ -18,6 +18,7 @@ package com.github.netomi.uom.unit.systems;
 import com.github.netomi.uom.Quantity;
 import com.github.netomi.uom.SystemOfUnits;
 import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.unit.ConversionTable;
 
 import java.util.*;
 
@@ -33,6 +34,11 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
 
     protected final Map<Class<?>, Collection<Unit<?>>> unitsPerQuantity;
 
+    // the number of units that have been added, used to detect
+    // whether the cached conversion table is outdated.
+    private volatile int         modificationCount;
+    private volatile CachedTable conversionTable;
+
     protected AbstractSystemOfUnits(String name) {
         this.name  = name;
         this.units = new ArrayList<>();
@@ -51,6 +57,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
             unitsPerQuantity.put(quantityClass, currentUnits);
         }
         currentUnits.add(unit);
+        modificationCount++;
 
         return (Unit<Q>) unit;
     }
@@ -69,4 +76,34 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits {
     public <Q extends Quantity<Q>> Iterable<Unit<?>> getUnitsForQuantity(Class<Q> quantityClass) {
         return Collections.unmodifiableCollection(unitsPerQuantity.getOrDefault(quantityClass, Collections.emptyList()));
     }
+
+    /**
+     * Returns a {@link ConversionTable} containing all units of this system,
+     * indexed in the order they have been added to this system.
+     * <p>
+     * The table is created lazily on first access.
+     */
+    public ConversionTable getConversionTable() {
+        // racy single-check: concurrent callers might create the table more
+        // than once. A table is only used while no unit has been added since
+        // its creation, thus a table that has been created concurrently with
+        // the addition of a unit and published afterwards is never used.
+        int         currentCount = modificationCount;
+        CachedTable cachedTable  = conversionTable;
+        if (cachedTable == null || cachedTable.modificationCount != currentCount) {
+            cachedTable     = new CachedTable(ConversionTable.of(units), currentCount);
+            conversionTable = cachedTable;
+        }
+        return cachedTable.table;
+    }
+
+    private static final class CachedTable {
+        final ConversionTable table;
+        final int             modificationCount;
+
+        CachedTable(ConversionTable table, int modificationCount) {
+            this.table             = table;
+            this.modificationCount = modificationCount;
+        }
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.util;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A small, fixed-size cache that compares its keys by identity.
+ * <p>
+ * The cache is intended to memoize values derived from a handful of
+ * frequently used keys, e.g. converters for the units encountered by
+ * a predicate. Lookups and updates are lock-free, entries are replaced
+ * in a round-robin fashion once the cache is full. Concurrent updates
+ * might overwrite each other, in which case the value is simply computed
+ * again on the next lookup.
+ * <p>
+ * Keys are strongly referenced, thus the cache should only be used
+ * for long-lived keys or be short-lived itself.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ *
+ * @author Thomas Neidhart
+ */
+public final class IdentityCache<K, V> {
+
+    private final Entry<?, ?>[] entries;
+    private int                 nextSlot;
+
+    /**
+     * Creates a new {@link IdentityCache} holding at most {@code size} entries.
+     *
+     * @param size the maximum number of cached entries.
+     * @throws IllegalArgumentException if size is not positive.
+     */
+    public IdentityCache(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        this.entries = new Entry<?, ?>[size];
+    }
+
+    /**
+     * Returns the value cached for the given key, or {@code null} if
+     * the key is not contained in the cache.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        for (Entry<?, ?> entry : entries) {
+            if (entry != null && entry.key == key) {
+                return (V) entry.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value cached for the given key. If the key is not
+     * contained in the cache, the value is computed using the given function
+     * and added to the cache, possibly evicting another entry.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = Objects.requireNonNull(mappingFunction.apply(key));
+
+            int slot = nextSlot;
+            entries[slot] = new Entry<>(key, value);
+            nextSlot = slot + 1 < entries.length ? slot + 1 : 0;
+        }
+        return value;
+    }
+
+    // an immutable entry, its final fields guarantee safe publication.
+    private static final class Entry<K, V> {
+        final K key;
+        final V value;
+
+        Entry(K key, V value) {
+            this.key   = key;
+            this.value = value;
+        }
+    }
+}
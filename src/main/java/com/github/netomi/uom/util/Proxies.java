@@ -19,8 +19,7 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
-import java.util.Map;
-import java.util.stream.Stream;
+import java.util.Arrays;
 
 public final class Proxies {
 
@@ -29,8 +28,7 @@ public final class Proxies {
 
     @SuppressWarnings("unchecked")
     public static <T> T delegatingProxy(final Object delegate, Class<T> iface, Class<?>... otherIfaces) {
-        Class<?>[] ifaces =
-                Stream.concat(Stream.of(iface), Stream.of(otherIfaces)).distinct().toArray(Class<?>[]::new);
+        Class<?>[] ifaces = interfaces(iface, otherIfaces);
 
         return (T) Proxy.newProxyInstance(iface.getClassLoader(), ifaces, new InvocationHandler() {
             @Override
@@ -48,11 +46,34 @@ public final class Proxies {
                     }
                 }
 
-                return DefaultMethodHandler.getMethodHandle(method).bindTo(proxy).invokeWithArguments(args);
+                return (Object) DefaultMethodHandler.getInvoker(method).invokeExact(proxy, args);
             }
         });
     }
 
+    private static Class<?>[] interfaces(Class<?> iface, Class<?>... otherIfaces) {
+        Class<?>[] ifaces = new Class<?>[otherIfaces.length + 1];
+        ifaces[0] = iface;
+
+        int count = 1;
+        for (Class<?> otherIface : otherIfaces) {
+            if (!contains(ifaces, count, otherIface)) {
+                ifaces[count++] = otherIface;
+            }
+        }
+
+        return count == ifaces.length ? ifaces : Arrays.copyOf(ifaces, count);
+    }
+
+    private static boolean contains(Class<?>[] classes, int length, Class<?> clazz) {
+        for (int i = 0; i < length; i++) {
+            if (classes[i] == clazz) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // Note: code for this class has been extracted from the spring data commons library.
 
     /**
@@ -67,21 +88,32 @@ public final class Proxies {
      */
     static final class DefaultMethodHandler {
 
-        private static final MethodHandleLookup        methodHandleLookup = MethodHandleLookup.getMethodHandleLookup();
-        private static final Map<Method, MethodHandle> methodHandleCache  =
-                new ConcurrentReferenceHashMap<>(10,
-                                                 ConcurrentReferenceHashMap.ReferenceType.WEAK,
-                                                 ConcurrentReferenceHashMap.ReferenceType.WEAK);
+        // the type of the invokers, taking the receiver and the arguments as array.
+        private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
 
-        public static MethodHandle getMethodHandle(Method method) throws Exception {
-            MethodHandle handle = methodHandleCache.get(method);
+        private static final MethodHandleLookup        methodHandleLookup = MethodHandleLookup.getMethodHandleLookup();
+        private static final ReferenceCache<Method, MethodHandle> methodHandleCache =
+                ReferenceCache.of(ReferenceCache.Strength.WEAK, ReferenceCache.Strength.SOFT);
 
-            if (handle == null) {
-                handle = methodHandleLookup.lookup(method);
-                methodHandleCache.put(method, handle);
+        /**
+         * Returns a {@link MethodHandle} of type {@code (Object, Object[])Object} that invokes
+         * the given default method on the receiver with the spread arguments.
+         * <p>
+         * The adaption of the arguments is part of the cached handle, as
+         * {@link MethodHandle#invokeWithArguments(Object...)} would create
+         * a new spreader on every call.
+         */
+        public static MethodHandle getInvoker(Method method) throws Exception {
+            MethodHandle invoker = methodHandleCache.get(method);
+
+            if (invoker == null) {
+                MethodHandle handle = methodHandleLookup.lookup(method);
+                invoker = methodHandleCache.putIfAbsent(method,
+                                                        handle.asSpreader(Object[].class, method.getParameterCount())
+                                                              .asType(INVOKER_TYPE));
             }
 
-            return handle;
+            return invoker;
         }
 
         /**
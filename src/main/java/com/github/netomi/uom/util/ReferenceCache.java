@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A concurrent cache that holds its keys and / or values using weak or soft
+ * references, primarily used to canonicalize instances or to cache derived
+ * values of objects that may be garbage collected.
+ * <p>
+ * The cache is backed by a {@link ConcurrentHashMap}, thus lookups are
+ * lock-free. Entries whose key or value has been garbage collected are
+ * removed in batches during subsequent modifications of the cache, lookups
+ * never need to process reference queues.
+ * <p>
+ * Keys are compared using their {@code equals} method, {@code null} keys
+ * and values are not supported.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ *
+ * @author Thomas Neidhart
+ */
+public final class ReferenceCache<K, V> {
+
+    /**
+     * The type of reference used to hold keys or values.
+     */
+    public enum Strength {
+        /** Holds the key or value with a normal strong reference. */
+        STRONG,
+        /** Holds the key or value with a {@link SoftReference}. */
+        SOFT,
+        /** Holds the key or value with a {@link WeakReference}. */
+        WEAK
+    }
+
+    // the maximum number of collected references to process at once.
+    private static final int MAX_PURGE_BATCH = 64;
+
+    private final Strength                          keyStrength;
+    private final Strength                          valueStrength;
+    private final ConcurrentHashMap<Object, Object> map;
+    private final ReferenceQueue<Object>            queue;
+
+    /**
+     * Returns a new {@link ReferenceCache} holding its keys and values with the
+     * given reference strengths.
+     *
+     * @param keyStrength   the reference strength for keys.
+     * @param valueStrength the reference strength for values.
+     * @return a new, empty cache.
+     */
+    public static <K, V> ReferenceCache<K, V> of(Strength keyStrength, Strength valueStrength) {
+        return new ReferenceCache<>(16, keyStrength, valueStrength);
+    }
+
+    /**
+     * Returns a new {@link ReferenceCache} holding its keys and values with the
+     * given reference strengths.
+     *
+     * @param initialCapacity the initial capacity of the cache.
+     * @param keyStrength     the reference strength for keys.
+     * @param valueStrength   the reference strength for values.
+     * @return a new, empty cache.
+     */
+    public static <K, V> ReferenceCache<K, V> of(int initialCapacity, Strength keyStrength, Strength valueStrength) {
+        return new ReferenceCache<>(initialCapacity, keyStrength, valueStrength);
+    }
+
+    private ReferenceCache(int initialCapacity, Strength keyStrength, Strength valueStrength) {
+        this.keyStrength   = Objects.requireNonNull(keyStrength);
+        this.valueStrength = Objects.requireNonNull(valueStrength);
+        this.map           = new ConcurrentHashMap<>(initialCapacity);
+        this.queue         = keyStrength == Strength.STRONG && valueStrength == Strength.STRONG ? null : new ReferenceQueue<>();
+    }
+
+    /**
+     * Returns the value associated with the given key, or {@code null} if
+     * the cache does not contain a value for the key.
+     */
+    public V get(K key) {
+        Objects.requireNonNull(key);
+        if (keyStrength == Strength.STRONG) {
+            Object entry = map.get(key);
+            return entry != null ? value(entry) : null;
+        }
+
+        LookupKey lookupKey = LookupKey.acquire(key);
+        try {
+            Object entry = map.get(lookupKey);
+            return entry != null ? value(entry) : null;
+        } finally {
+            lookupKey.release();
+        }
+    }
+
+    /**
+     * Returns the value associated with the given key. If the cache does not
+     * contain a value for the key yet, it is computed using the given function
+     * and added to the cache.
+     * <p>
+     * The function is called without holding any lock, thus in case of concurrent
+     * access it might be called more than once for the same key. In that case,
+     * all callers will receive the value that has been added to the cache first.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        return value != null ? value : putIfAbsent(key, mappingFunction.apply(key));
+    }
+
+    /**
+     * Associates the given value with the key unless the cache already contains
+     * a value for it.
+     *
+     * @return the value associated with the key after this operation, i.e. either
+     * the existing value or the provided value, never {@code null}.
+     */
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value);
+        purge();
+
+        Object mapKey = mapKey(key);
+        Object entry  = wrap(mapKey, value);
+
+        while (true) {
+            Object existingEntry = map.putIfAbsent(mapKey, entry);
+            if (existingEntry == null) {
+                return value;
+            }
+
+            V existingValue = value(existingEntry);
+            if (existingValue != null) {
+                return existingValue;
+            }
+
+            // the existing value has been collected, but the entry was not yet purged.
+            if (map.replace(mapKey, existingEntry, entry)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Associates the given value with the key, replacing any existing value.
+     */
+    public void put(K key, V value) {
+        Objects.requireNonNull(value);
+        purge();
+
+        Object mapKey = mapKey(key);
+        map.put(mapKey, wrap(mapKey, value));
+    }
+
+    /**
+     * Returns the number of entries in this cache, including entries whose
+     * key or value has been collected but were not yet removed.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Removes all entries whose key or value has been collected.
+     */
+    public void purge() {
+        if (queue == null) {
+            return;
+        }
+
+        Reference<?> reference;
+        int count = 0;
+        // limit the number of processed references to amortize the cost
+        // of purging over several modifications.
+        while (count++ < MAX_PURGE_BATCH && (reference = queue.poll()) != null) {
+            ((Purgeable) reference).purge(map);
+        }
+    }
+
+    private Object mapKey(K key) {
+        Objects.requireNonNull(key);
+        switch (keyStrength) {
+            case SOFT: return new SoftKey(key, queue);
+            case WEAK: return new WeakKey(key, queue);
+            default:   return key;
+        }
+    }
+
+    private Object wrap(Object mapKey, V value) {
+        switch (valueStrength) {
+            case SOFT: return new SoftValue<>(mapKey, value, queue);
+            case WEAK: return new WeakValue<>(mapKey, value, queue);
+            default:   return value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(Object entry) {
+        return valueStrength == Strength.STRONG ?
+                (V) entry :
+                ((Reference<V>) entry).get();
+    }
+
+    // Inner helper classes.
+
+    /**
+     * A reference that removes its entry from the cache once it has been collected.
+     */
+    private interface Purgeable {
+        void purge(ConcurrentHashMap<Object, Object> map);
+    }
+
+    /**
+     * Common interface for keys held by a weak or soft reference.
+     */
+    private interface ReferenceKey {
+        Object get();
+    }
+
+    /**
+     * A key used for lookups only, avoids the creation of a reference object.
+     * <p>
+     * Each thread reuses its own instance, thus a lookup does not allocate.
+     * A fresh instance is used if a lookup is performed while the key of the
+     * current thread is in use, e.g. by an {@code equals} method of a key.
+     */
+    private static final class LookupKey {
+        private static final ThreadLocal<LookupKey> threadLookupKey = ThreadLocal.withInitial(LookupKey::new);
+
+        private Object  key;
+        private int     hash;
+        private boolean inUse;
+
+        static LookupKey acquire(Object key) {
+            LookupKey lookupKey = threadLookupKey.get();
+            if (lookupKey.inUse) {
+                lookupKey = new LookupKey();
+            }
+            lookupKey.inUse = true;
+            lookupKey.key   = key;
+            lookupKey.hash  = key.hashCode();
+            return lookupKey;
+        }
+
+        void release() {
+            // do not retain the key.
+            key   = null;
+            inUse = false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof ReferenceKey) {
+                Object otherKey = ((ReferenceKey) o).get();
+                return key == otherKey || key.equals(otherKey);
+            }
+            return false;
+        }
+    }
+
+    private static boolean keyEquals(Reference<?> reference, Object o) {
+        if (reference == o) return true;
+        if (!(o instanceof ReferenceKey)) return false;
+
+        // collected keys are only equal to themselves.
+        Object key = reference.get();
+        return key != null && key.equals(((ReferenceKey) o).get());
+    }
+
+    private static final class WeakKey extends WeakReference<Object> implements ReferenceKey, Purgeable {
+        private final int hash;
+
+        WeakKey(Object key, ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.hash = key.hashCode();
+        }
+
+        @Override
+        public void purge(ConcurrentHashMap<Object, Object> map) {
+            map.remove(this);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return keyEquals(this, o);
+        }
+    }
+
+    private static final class SoftKey extends SoftReference<Object> implements ReferenceKey, Purgeable {
+        private final int hash;
+
+        SoftKey(Object key, ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.hash = key.hashCode();
+        }
+
+        @Override
+        public void purge(ConcurrentHashMap<Object, Object> map) {
+            map.remove(this);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return keyEquals(this, o);
+        }
+    }
+
+    private static final class WeakValue<V> extends WeakReference<V> implements Purgeable {
+        private final Object mapKey;
+
+        WeakValue(Object mapKey, V value, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.mapKey = mapKey;
+        }
+
+        @Override
+        public void purge(ConcurrentHashMap<Object, Object> map) {
+            // only remove the entry if it has not been replaced in the meantime.
+            map.remove(mapKey, this);
+        }
+    }
+
+    private static final class SoftValue<V> extends SoftReference<V> implements Purgeable {
+        private final Object mapKey;
+
+        SoftValue(Object mapKey, V value, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.mapKey = mapKey;
+        }
+
+        @Override
+        public void purge(ConcurrentHashMap<Object, Object> map) {
+            // only remove the entry if it has not been replaced in the meantime.
+            map.remove(mapKey, this);
+        }
+    }
+}
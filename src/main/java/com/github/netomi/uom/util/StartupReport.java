@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.util;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An opt-in report of the time and memory spent in the various phases
+ * of initializing the library, e.g. parsing of unit definition files or
+ * registering the builtin quantity types.
+ * <p>
+ * The report is enabled by setting the system property {@value #PROPERTY}
+ * to {@code true}, in which case it is printed to {@link System#err} when
+ * the JVM shuts down. Otherwise, recording a phase is a no-op.
+ * <p>
+ * Phases with the same name are aggregated and phases started while
+ * another phase is active are reported as nested phases. The allocated
+ * bytes are only available on JVMs supporting thread allocation
+ * measurement, otherwise they are reported as {@code -1}.
+ *
+ * @author Thomas Neidhart
+ */
+public final class StartupReport {
+
+    /** The system property to enable the startup report. */
+    public static final String PROPERTY = "uom.startupReport";
+
+    private static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final Phase NO_OP_PHASE = new Phase(null, 0);
+
+    private static final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    private static final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    // prints the report when the JVM shuts down, only present if enabled.
+    private static final Thread shutdownHook = ENABLED ? new Thread(() -> print(System.err)) : null;
+
+    static {
+        if (shutdownHook != null) {
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+    }
+
+    // hide constructor.
+    private StartupReport() {}
+
+    /**
+     * Returns whether the startup report is enabled.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Starts recording a phase with the given name. The returned phase
+     * needs to be closed at the end of the phase, preferably using a
+     * try-with-resources statement, see also {@link #record(String, Runnable)}.
+     */
+    public static Phase begin(String name) {
+        if (!ENABLED) {
+            return NO_OP_PHASE;
+        }
+
+        int[] currentDepth = depth.get();
+        synchronized (entries) {
+            entries.computeIfAbsent(name, key -> new Entry(key, currentDepth[0]));
+        }
+        currentDepth[0]++;
+        return new Phase(name, Allocations.currentThreadAllocatedBytes());
+    }
+
+    /**
+     * Records the execution of the given action as a phase with the given name.
+     */
+    public static void record(String name, Runnable action) {
+        Phase phase = begin(name);
+        try {
+            action.run();
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the entries recorded so far, in the order
+     * they were first started.
+     */
+    public static List<Entry> getEntries() {
+        synchronized (entries) {
+            List<Entry> result = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values()) {
+                result.add(entry.copy());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Prints the report to the given stream.
+     */
+    public static void print(PrintStream out) {
+        out.println("uom startup report:");
+        out.println(String.format("  %-60s %6s %12s %14s", "phase", "count", "time [ms]", "allocated [kB]"));
+        for (Entry entry : getEntries()) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < entry.getDepth(); i++) {
+                name.append("  ");
+            }
+            name.append(entry.getName());
+
+            out.println(String.format("  %-60s %6d %12.3f %14s",
+                                      name,
+                                      entry.getCount(),
+                                      entry.getElapsedNanos() / 1e6,
+                                      entry.getAllocatedBytes() < 0 ?
+                                          "n/a" :
+                                          String.format("%.1f", entry.getAllocatedBytes() / 1024.0)));
+        }
+    }
+
+    /**
+     * Removes the shutdown hook that prints the report, e.g. for tests that
+     * enable the report without printing it.
+     */
+    static void removeShutdownHook() {
+        if (shutdownHook != null) {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        }
+    }
+
+    private static void end(Phase phase, long elapsedNanos, long allocatedBytes) {
+        depth.get()[0]--;
+        synchronized (entries) {
+            entries.get(phase.name).add(elapsedNanos, allocatedBytes);
+        }
+    }
+
+    /**
+     * A recorded phase that is active until it is closed.
+     */
+    public static final class Phase implements AutoCloseable {
+        private final String name;
+        private final long   startNanos;
+        private final long   startAllocatedBytes;
+
+        private Phase(String name, long startAllocatedBytes) {
+            this.name                = name;
+            this.startAllocatedBytes = startAllocatedBytes;
+            this.startNanos          = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (this == NO_OP_PHASE) {
+                return;
+            }
+
+            long elapsedNanos   = System.nanoTime() - startNanos;
+            long allocatedBytes = startAllocatedBytes < 0 ?
+                    -1 :
+                    Allocations.currentThreadAllocatedBytes() - startAllocatedBytes;
+
+            end(this, elapsedNanos, allocatedBytes);
+        }
+    }
+
+    /**
+     * The aggregated measurements of a phase.
+     */
+    public static final class Entry {
+        private final String name;
+        private final int    depth;
+        private int          count;
+        private long         elapsedNanos;
+        private long         allocatedBytes;
+
+        private Entry(String name, int depth) {
+            this.name  = name;
+            this.depth = depth;
+        }
+
+        private void add(long elapsedNanos, long allocatedBytes) {
+            this.count++;
+            this.elapsedNanos += elapsedNanos;
+            this.allocatedBytes = allocatedBytes < 0 || this.allocatedBytes < 0 ?
+                    -1 :
+                    this.allocatedBytes + allocatedBytes;
+        }
+
+        private Entry copy() {
+            Entry copy = new Entry(name, depth);
+            copy.count          = count;
+            copy.elapsedNanos   = elapsedNanos;
+            copy.allocatedBytes = allocatedBytes;
+            return copy;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the nesting level of this phase when it was first started.
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Returns the number of allocated bytes in this phase including
+         * nested phases, or {@code -1} if not supported by the JVM.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    // lazily initialized holder to avoid loading the management
+    // classes if the report is disabled. The allocated bytes are only
+    // available via the com.sun.management extension of the thread
+    // bean, which is looked up reflectively as it is not part of every
+    // runtime.
+    private static final class Allocations {
+        private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        private static final Method getThreadAllocatedBytes = findAllocatedBytesMethod();
+
+        private static Method findAllocatedBytesMethod() {
+            try {
+                Class<?> beanClass = Class.forName("com.sun.management.ThreadMXBean");
+                if (beanClass.isInstance(threadMXBean) &&
+                    (Boolean) beanClass.getMethod("isThreadAllocatedMemorySupported").invoke(threadMXBean) &&
+                    (Boolean) beanClass.getMethod("isThreadAllocatedMemoryEnabled").invoke(threadMXBean)) {
+                    return beanClass.getMethod("getThreadAllocatedBytes", long.class);
+                }
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException ex) {
+                // ignore, allocations will not be reported.
+            }
+            return null;
+        }
+
+        static long currentThreadAllocatedBytes() {
+            if (getThreadAllocatedBytes == null) {
+                return -1;
+            }
+
+            try {
+                return (Long) getThreadAllocatedBytes.invoke(threadMXBean, Thread.currentThread().getId());
+            } catch (ReflectiveOperationException ex) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.flow;
+
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.UnitConverter;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.quantity.impl.DoubleQuantity;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link Flow.Processor} that normalizes a stream of quantities to a target unit
+ * per quantity type and emits them in batches of up to a configured size.
+ * <p>
+ * The target unit of an incoming quantity is resolved by its quantity type, or if
+ * there is no target unit for its type, by its system unit. Quantities without a
+ * target unit are passed through unchanged. The conversion is resolved once for
+ * each distinct source unit, quantities with double precision are converted using
+ * the cached converter, other quantities are converted with {@link Quantity#to(Unit)}
+ * to retain their precision.
+ * <p>
+ * The processor supports a single subscriber. A request for {@code n} batches from
+ * the subscriber is translated into a request for {@code n * batchSize} quantities
+ * from the upstream publisher, thus no more quantities are buffered than requested.
+ * A batch is emitted once it is full, the last, possibly incomplete, batch is emitted
+ * when the upstream publisher completes. Signals are serialized with a non-blocking
+ * drain loop, no locks are involved.
+ *
+ * @author Thomas Neidhart
+ */
+public final class QuantityProcessor implements Flow.Processor<Quantity<?>, List<Quantity<?>>> {
+
+    private final int                    batchSize;
+    private final Map<Class<?>, Unit<?>> targetUnitsByType;
+    private final Map<Unit<?>, Unit<?>>  targetUnitsBySystemUnit;
+
+    // the resolved conversions per source unit, only accessed by the upstream signals
+    // which are serialized according to the reactive streams specification.
+    private final Map<Unit<?>, UnaryOperator<Quantity<?>>> conversions = new HashMap<>();
+
+    private final AtomicReference<Flow.Subscription>                          upstream   = new AtomicReference<>();
+    private final AtomicReference<Flow.Subscriber<? super List<Quantity<?>>>> downstream = new AtomicReference<>();
+
+    // the number of batches requested by the subscriber that have not yet been emitted.
+    private final AtomicLong requested       = new AtomicLong();
+    // the number of quantities to request once the upstream subscription is available.
+    private final AtomicLong pendingUpstream = new AtomicLong();
+    // the number of missed drain invocations while another thread is draining.
+    private final AtomicInteger wip          = new AtomicInteger();
+
+    private final Queue<List<Quantity<?>>> batches = new ConcurrentLinkedQueue<>();
+
+    private List<Quantity<?>> currentBatch;
+
+    private volatile boolean   done;
+    private volatile Throwable error;
+    private volatile boolean   cancelled;
+    // the error for a non-positive request, signalled before any pending batch.
+    private volatile Throwable invalidRequest;
+
+    /**
+     * Returns a new {@link Builder} to configure a {@link QuantityProcessor}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private QuantityProcessor(Builder builder) {
+        this.batchSize               = builder.batchSize;
+        this.targetUnitsByType       = new HashMap<>(builder.targetUnits);
+        this.targetUnitsBySystemUnit = new HashMap<>();
+
+        for (Unit<?> targetUnit : builder.targetUnits.values()) {
+            targetUnitsBySystemUnit.putIfAbsent(targetUnit.getSystemUnit(), targetUnit);
+        }
+
+        this.currentBatch = new ArrayList<>(batchSize);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    // upstream signals.
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (!upstream.compareAndSet(null, subscription)) {
+            subscription.cancel();
+            return;
+        }
+
+        if (cancelled || done) {
+            subscription.cancel();
+            return;
+        }
+
+        long n = pendingUpstream.getAndSet(0);
+        if (n > 0) {
+            subscription.request(n);
+        }
+    }
+
+    @Override
+    public void onNext(Quantity<?> quantity) {
+        Objects.requireNonNull(quantity);
+        if (done || cancelled) {
+            return;
+        }
+
+        Quantity<?> normalized;
+        try {
+            normalized = conversions.computeIfAbsent(quantity.getUnit(), this::resolveConversion).apply(quantity);
+        } catch (RuntimeException ex) {
+            cancelUpstreamSubscription();
+            onError(ex);
+            return;
+        }
+
+        currentBatch.add(normalized);
+        if (currentBatch.size() == batchSize) {
+            batches.offer(Collections.unmodifiableList(currentBatch));
+            currentBatch = new ArrayList<>(batchSize);
+            drain();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        if (done) {
+            return;
+        }
+        error = throwable;
+        done  = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+
+        if (!currentBatch.isEmpty()) {
+            batches.offer(Collections.unmodifiableList(currentBatch));
+            currentBatch = Collections.emptyList();
+        }
+        done = true;
+        drain();
+    }
+
+    // downstream signals.
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<Quantity<?>>> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("QuantityProcessor supports only a single subscriber."));
+            return;
+        }
+
+        subscriber.onSubscribe(new BatchSubscription());
+        drain();
+    }
+
+    private UnaryOperator<Quantity<?>> resolveConversion(Unit<?> sourceUnit) {
+        Unit<?> targetUnit = targetUnitsByType.get(sourceUnit.getQuantityType());
+        if (targetUnit == null) {
+            targetUnit = targetUnitsBySystemUnit.get(sourceUnit.getSystemUnit());
+        }
+
+        if (targetUnit == null || targetUnit.equals(sourceUnit)) {
+            return UnaryOperator.identity();
+        }
+
+        UnitConverter converter = sourceUnit.getConverterToAny(targetUnit);
+        Unit<?>       unit      = targetUnit;
+
+        return quantity -> convert(quantity, converter, unit);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Quantity<?> convert(Quantity<?> quantity, UnitConverter converter, Unit<?> targetUnit) {
+        return quantity instanceof DoubleQuantity<?> ?
+                Quantities.create(converter.convert(quantity.doubleValue()), (Unit) targetUnit) :
+                ((Quantity) quantity).to(targetUnit);
+    }
+
+    private void requestUpstream(long n) {
+        Flow.Subscription subscription = upstream.get();
+        if (subscription != null) {
+            subscription.request(n);
+            return;
+        }
+
+        addCapped(pendingUpstream, n);
+
+        // the upstream subscription might have been set concurrently.
+        subscription = upstream.get();
+        if (subscription != null) {
+            long pending = pendingUpstream.getAndSet(0);
+            if (pending > 0) {
+                subscription.request(pending);
+            }
+        }
+    }
+
+    private void cancelUpstreamSubscription() {
+        Flow.Subscription subscription = upstream.get();
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * Emits the available batches as long as there is demand, only a single thread
+     * is draining at any time, other threads merely signal that there is more work.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super List<Quantity<?>>> subscriber = downstream.get();
+            if (subscriber != null) {
+                if (isTerminated(subscriber)) {
+                    return;
+                }
+
+                long r = requested.get();
+                long e = 0;
+
+                while (e != r) {
+                    List<Quantity<?>> batch = batches.poll();
+                    if (batch == null) {
+                        break;
+                    }
+
+                    subscriber.onNext(batch);
+                    e++;
+
+                    if (isTerminated(subscriber)) {
+                        return;
+                    }
+                }
+
+                if (done && batches.isEmpty()) {
+                    cancelled = true;
+                    Throwable throwable = error;
+                    if (throwable != null) {
+                        subscriber.onError(throwable);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+
+                if (e != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-e);
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Returns whether the subscription has been cancelled or terminated, in which
+     * case pending batches are discarded. A non-positive request is signalled to
+     * the subscriber immediately, without emitting pending batches (rule 3.9).
+     */
+    private boolean isTerminated(Flow.Subscriber<? super List<Quantity<?>>> subscriber) {
+        if (cancelled) {
+            batches.clear();
+            return true;
+        }
+
+        Throwable throwable = invalidRequest;
+        if (throwable != null) {
+            cancelled = true;
+            batches.clear();
+            subscriber.onError(throwable);
+            return true;
+        }
+        return false;
+    }
+
+    private static void addCapped(AtomicLong value, long n) {
+        long current;
+        long next;
+        do {
+            current = value.get();
+            if (current == Long.MAX_VALUE) {
+                return;
+            }
+            next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+        } while (!value.compareAndSet(current, next));
+    }
+
+    private static long multiplyCapped(long a, long b) {
+        long result = a * b;
+        return (a | b) >>> 31 != 0 && result / b != a ? Long.MAX_VALUE : result;
+    }
+
+    private final class BatchSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (invalidRequest == null) {
+                    invalidRequest = new IllegalArgumentException("non-positive request: " + n);
+                }
+                cancelUpstreamSubscription();
+                drain();
+                return;
+            }
+
+            addCapped(requested, n);
+            requestUpstream(multiplyCapped(n, batchSize));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelUpstreamSubscription();
+            drain();
+        }
+    }
+
+    /**
+     * A builder for {@link QuantityProcessor} instances.
+     */
+    public static final class Builder {
+
+        private static final int DEFAULT_BATCH_SIZE = 64;
+
+        private final Map<Class<?>, Unit<?>> targetUnits = new LinkedHashMap<>();
+        private int                          batchSize   = DEFAULT_BATCH_SIZE;
+
+        private Builder() {}
+
+        /**
+         * Normalizes all quantities of the given type to the specified unit.
+         */
+        public <Q extends Quantity<Q>> Builder normalize(Class<Q> quantityType, Unit<Q> targetUnit) {
+            Objects.requireNonNull(quantityType);
+            Objects.requireNonNull(targetUnit);
+            targetUnits.put(quantityType, targetUnit);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of quantities emitted in a single batch.
+         *
+         * @throws IllegalArgumentException if the batch size is not positive.
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public QuantityProcessor build() {
+            return new QuantityProcessor(this);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.github.netomi.uom.UnitConverter;
 import com.github.netomi.uom.math.BigFraction;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -82,6 +83,20 @@ public class MultiplyConverterTest {
         assertEquals(BigFraction.of(1, 100), inverse.scaleAsFraction());
     }
 
+    @Test
+    public void scaleWithDifferentContexts() {
+        MultiplyConverter converter = new MultiplyConverter(1, 3);
+
+        // the decimal scale is cached per context, ensure that each context yields its own value.
+        for (int i = 0; i < 2; i++) {
+            for (MathContext mc : new MathContext[] { MathContext.DECIMAL32, MathContext.DECIMAL64,
+                                                      MathContext.DECIMAL128, new MathContext(50) }) {
+                assertEquals(BigFraction.of(1, 3).bigDecimalValue(mc), converter.scale(mc));
+                assertEquals(mc.getPrecision(), converter.convert(BigDecimal.ONE, mc).precision());
+            }
+        }
+    }
+
     @Test
     public void negate() {
         MultiplyConverter converter = new MultiplyConverter(10.0);
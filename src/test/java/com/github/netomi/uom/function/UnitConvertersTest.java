@@ -20,6 +20,7 @@ import com.google.common.testing.EqualsTester;
 import org.junit.jupiter.api.Test;
 import com.github.netomi.uom.UnitConverter;
 import com.github.netomi.uom.math.BigFraction;
+import com.github.netomi.uom.math.DoubleDouble;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -164,6 +165,56 @@ public class UnitConvertersTest {
         assertThrows(IllegalArgumentException.class, () -> UnitConverters.root(multiplyConverter, -2));
     }
 
+    @Test
+    public void powFolding() {
+        UnitConverter pow = UnitConverters.pow(UnitConverters.multiply(1, 100), 3);
+
+        assertTrue(pow instanceof MultiplyConverter);
+        assertEquals(BigFraction.of(1, 1000000), pow.scaleAsFraction());
+
+        pow = UnitConverters.pow(UnitConverters.multiply(3, 2), -2);
+
+        assertTrue(pow instanceof MultiplyConverter);
+        assertEquals(BigFraction.of(4, 9), pow.scaleAsFraction());
+
+        // powers exceeding the long range.
+        pow = UnitConverters.pow(UnitConverters.multiply(10, 1), 30);
+
+        assertTrue(pow instanceof MultiplyConverter);
+        assertEquals(BigFraction.of(BigInteger.TEN.pow(30)), pow.scaleAsFraction());
+    }
+
+    @Test
+    public void exactRoot() {
+        // sqrt(1/10000) = 1/100
+        UnitConverter root = UnitConverters.root(UnitConverters.multiply(1, 10000), 2);
+
+        assertTrue(root instanceof MultiplyConverter);
+        assertEquals(BigFraction.of(1, 100), root.scaleAsFraction());
+        assertEquals(0.01, root.convert(1), 0);
+
+        // cbrt(8/27) = 2/3
+        root = UnitConverters.root(UnitConverters.multiply(8, 27), 3);
+
+        assertTrue(root instanceof MultiplyConverter);
+        assertEquals(BigFraction.of(2, 3), root.scaleAsFraction());
+
+        // root of a product of a power, e.g. cm^2^1/2 = cm
+        UnitConverter centi = UnitConverters.multiply(1, 100);
+        assertEquals(centi, UnitConverters.root(UnitConverters.pow(centi, 2), 2));
+
+        // irrational roots are not folded.
+        root = UnitConverters.root(UnitConverters.multiply(1, 1000), 2);
+
+        assertTrue(root instanceof RootConverter);
+        assertEquals(Math.sqrt(0.001), root.convert(1), 1e-15);
+
+        root = UnitConverters.root(UnitConverters.multiply(4, 3), 2);
+
+        assertTrue(root instanceof RootConverter);
+        assertEquals(Math.sqrt(4. / 3.), root.convert(1), 1e-15);
+    }
+
     @Test
     public void compose() {
         UnitConverter m1 = new MultiplyConverter(2);
@@ -187,6 +238,24 @@ public class UnitConvertersTest {
         assertEquals(m3.convert(m2.convert(m1.convert(10))), UnitConverters.compose(m12, m3).convert(10), 1e-6);
     }
 
+    @Test
+    public void scaleAsDoubleDouble() {
+        assertSame(DoubleDouble.ONE, UnitConverters.scaleAsDoubleDouble(UnitConverters.identity()));
+
+        UnitConverter multiply = UnitConverters.multiply(1, 3);
+
+        DoubleDouble scale = UnitConverters.scaleAsDoubleDouble(multiply);
+        assertEquals(DoubleDouble.of(BigFraction.of(1, 3)), scale);
+        // the scale is computed only once per converter.
+        assertSame(scale, UnitConverters.scaleAsDoubleDouble(multiply));
+
+        UnitConverter compose = UnitConverters.compose(multiply, UnitConverters.pow(2, 3));
+        assertEquals(DoubleDouble.of(BigFraction.of(8, 3)), UnitConverters.scaleAsDoubleDouble(compose));
+
+        assertThrows(UnsupportedOperationException.class,
+                     () -> UnitConverters.scaleAsDoubleDouble(UnitConverters.shift(1)));
+    }
+
     @Test
     public void equality() {
         // all unit converters shall be different.
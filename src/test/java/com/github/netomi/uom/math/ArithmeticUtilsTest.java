@@ -327,4 +327,38 @@ public class ArithmeticUtilsTest {
         }
     }
 
+    @Test
+    public void testRootFloor() {
+        for (int n = 1; n <= 5; n++) {
+            for (long i = 0; i < 1000; i++) {
+                final BigInteger k    = BigInteger.valueOf(i);
+                final BigInteger root = ArithmeticUtils.rootFloor(k, n);
+
+                Assertions.assertTrue(root.pow(n).compareTo(k) <= 0, "k: " + k + ", n: " + n);
+                Assertions.assertTrue(root.add(BigInteger.ONE).pow(n).compareTo(k) > 0, "k: " + k + ", n: " + n);
+            }
+        }
+
+        final BigInteger large = BigInteger.TEN.pow(60);
+        Assertions.assertEquals(BigInteger.TEN.pow(30), ArithmeticUtils.rootFloor(large, 2));
+        Assertions.assertEquals(BigInteger.TEN.pow(20), ArithmeticUtils.rootFloor(large, 3));
+        Assertions.assertEquals(BigInteger.TEN.pow(30).subtract(BigInteger.ONE),
+                                ArithmeticUtils.rootFloor(large.subtract(BigInteger.ONE), 2));
+
+        Assertions.assertThrows(ArithmeticException.class,
+            () -> ArithmeticUtils.rootFloor(BigInteger.valueOf(-1), 2));
+        Assertions.assertThrows(ArithmeticException.class,
+            () -> ArithmeticUtils.rootFloor(BigInteger.TEN, 0));
+    }
+
+    @Test
+    public void testExactRoot() {
+        Assertions.assertEquals(BigInteger.valueOf(100), ArithmeticUtils.exactRoot(BigInteger.valueOf(10000), 2));
+        Assertions.assertEquals(BigInteger.valueOf(3),   ArithmeticUtils.exactRoot(BigInteger.valueOf(27), 3));
+        Assertions.assertEquals(BigInteger.ONE,          ArithmeticUtils.exactRoot(BigInteger.ONE, 7));
+
+        Assertions.assertNull(ArithmeticUtils.exactRoot(BigInteger.valueOf(1000), 2));
+        Assertions.assertNull(ArithmeticUtils.exactRoot(BigInteger.valueOf(26), 3));
+    }
+
 }
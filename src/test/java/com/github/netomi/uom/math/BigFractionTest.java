@@ -686,4 +686,58 @@ public class BigFractionTest {
         Assertions.assertThrows(NumberFormatException.class, () -> BigFraction.parse("1 / --2"));
         Assertions.assertThrows(NumberFormatException.class, () -> BigFraction.parse("x"));
     }
+
+    @Test
+    public void testCompareToNegativeDenominator() {
+        final BigFraction a = BigFraction.of(1, -2);
+        final BigFraction b = BigFraction.of(-1, 3);
+
+        Assertions.assertEquals(-1, a.compareTo(b));
+        Assertions.assertEquals(1, b.compareTo(a));
+
+        final BigFraction c = BigFraction.of(BigInteger.ONE, BigInteger.valueOf(Long.MAX_VALUE).pow(2).negate());
+        final BigFraction d = BigFraction.of(BigInteger.ONE.negate(), BigInteger.valueOf(Long.MAX_VALUE));
+
+        Assertions.assertEquals(1, c.compareTo(d));
+        Assertions.assertEquals(-1, d.compareTo(c));
+    }
+
+    @Test
+    public void testHashCodeConsistentWithEquals() {
+        Assertions.assertEquals(BigFraction.of(1, -2), BigFraction.of(-1, 2));
+        Assertions.assertEquals(BigFraction.of(1, -2).hashCode(), BigFraction.of(-1, 2).hashCode());
+
+        final BigInteger large = BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TEN);
+        Assertions.assertEquals(BigFraction.of(large, BigInteger.valueOf(-3)).hashCode(),
+                                BigFraction.of(large.negate(), BigInteger.valueOf(3)).hashCode());
+    }
+
+    @Test
+    public void testLongOverflow() {
+        final BigFraction max = BigFraction.of(Long.MAX_VALUE);
+        final BigInteger  maxValue = BigInteger.valueOf(Long.MAX_VALUE);
+
+        // results that do not fit into a long are promoted.
+        assertFraction(maxValue.add(BigInteger.ONE), BigInteger.ONE, max.add(1));
+        assertFraction(maxValue.multiply(maxValue), BigInteger.ONE, max.multiply(max));
+        assertFraction(maxValue.pow(3), BigInteger.ONE, max.pow(3));
+        assertFraction(BigInteger.ONE, maxValue.add(BigInteger.ONE), BigFraction.of(1, 2).divide(max.add(1).divide(2)));
+        assertFraction(BigInteger.valueOf(Long.MIN_VALUE), BigInteger.ONE, BigFraction.of(Long.MIN_VALUE));
+
+        // ... and demoted again if they fit.
+        final BigFraction back = max.add(1).subtract(1);
+        Assertions.assertEquals(max, back);
+        Assertions.assertEquals(max.hashCode(), back.hashCode());
+        Assertions.assertEquals(0, max.compareTo(back));
+
+        Assertions.assertEquals(max, max.multiply(max).divide(max));
+        Assertions.assertEquals(BigFraction.of(1, Long.MAX_VALUE), max.pow(2).reciprocal().multiply(max));
+        Assertions.assertEquals(BigFraction.of(Long.MIN_VALUE + 1), BigFraction.of(Long.MIN_VALUE).add(1));
+        Assertions.assertEquals(BigFraction.ONE, BigFraction.of(Long.MIN_VALUE, -(1L << 33))
+                                                            .multiply(BigFraction.of(1, 1L << 30)));
+
+        // the cross products overflow.
+        Assertions.assertEquals(1, BigFraction.of(Long.MAX_VALUE - 1, Long.MAX_VALUE)
+                                              .compareTo(BigFraction.of(Long.MAX_VALUE - 2, Long.MAX_VALUE - 1)));
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.math;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+/**
+ * Test cases for the {@link DecimalArithmetic} class.
+ */
+public class DecimalArithmeticTest {
+
+    private static final int ITERATIONS = 20000;
+
+    private boolean adaptive;
+
+    @BeforeEach
+    public void setup() {
+        adaptive = DecimalArithmetic.isAdaptive();
+        DecimalArithmetic.setAdaptive(true);
+        DecimalArithmetic.resetCounters();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DecimalArithmetic.setAdaptive(adaptive);
+    }
+
+    @Test
+    public void testMultiply() {
+        assertEquivalent(BigDecimal::multiply, DecimalArithmetic::multiply);
+    }
+
+    @Test
+    public void testDivide() {
+        Random random = new Random(17);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigDecimal  a  = randomDecimal(random);
+            BigDecimal  b  = randomDecimal(random);
+            MathContext mc = randomContext(random);
+
+            assertSameResult(() -> a.divide(b, mc), () -> DecimalArithmetic.divide(a, b, mc), a, b, mc);
+        }
+
+        Assertions.assertTrue(DecimalArithmetic.getDoublePathCount() > 0);
+        Assertions.assertTrue(DecimalArithmetic.getFallbackCount()   > 0);
+    }
+
+    @Test
+    public void testExamples() {
+        MathContext mc = new MathContext(5);
+
+        Assertions.assertEquals(new BigDecimal("0.33333"), DecimalArithmetic.divide(BigDecimal.ONE, new BigDecimal("3"), mc));
+        Assertions.assertEquals(new BigDecimal("0.25"), DecimalArithmetic.divide(BigDecimal.ONE, new BigDecimal("4"), mc));
+        Assertions.assertEquals(new BigDecimal("2.0"), DecimalArithmetic.divide(new BigDecimal("1.00"), new BigDecimal("0.5"), mc));
+        Assertions.assertEquals(new BigDecimal("1.00E+6"),
+                                DecimalArithmetic.divide(new BigDecimal("1000000"), BigDecimal.ONE, new MathContext(3)));
+        Assertions.assertEquals(new BigDecimal("1.0E+3"),
+                                DecimalArithmetic.multiply(new BigDecimal("999.96"), new BigDecimal("1.0001"), new MathContext(2)));
+        Assertions.assertEquals(new BigDecimal("-0.14286"),
+                                DecimalArithmetic.divide(BigDecimal.ONE, new BigDecimal("-7"), mc));
+        Assertions.assertEquals(new BigDecimal("3.0000"),
+                                DecimalArithmetic.multiply(new BigDecimal("1.50"), new BigDecimal("2.00"), mc));
+
+        Assertions.assertThrows(ArithmeticException.class, () -> DecimalArithmetic.divide(BigDecimal.ONE, BigDecimal.ZERO, mc));
+        Assertions.assertThrows(ArithmeticException.class,
+                                () -> DecimalArithmetic.divide(BigDecimal.ONE, new BigDecimal("3"), MathContext.UNLIMITED));
+        Assertions.assertThrows(ArithmeticException.class,
+                                () -> DecimalArithmetic.multiply(new BigDecimal("1.5"), new BigDecimal("1.5"),
+                                                                 new MathContext(2, RoundingMode.UNNECESSARY)));
+    }
+
+    @Test
+    public void testDisabled() {
+        DecimalArithmetic.setAdaptive(false);
+        Assertions.assertFalse(DecimalArithmetic.isAdaptive());
+
+        Assertions.assertEquals(new BigDecimal("0.33333"),
+                                DecimalArithmetic.divide(BigDecimal.ONE, new BigDecimal("3"), new MathContext(5)));
+
+        Assertions.assertEquals(0, DecimalArithmetic.getDoublePathCount());
+        Assertions.assertEquals(0, DecimalArithmetic.getFallbackCount());
+    }
+
+    private static void assertEquivalent(TernaryOperator expected, TernaryOperator actual) {
+        Random random = new Random(42);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigDecimal  a  = randomDecimal(random);
+            BigDecimal  b  = randomDecimal(random);
+            MathContext mc = randomContext(random);
+
+            assertSameResult(() -> expected.apply(a, b, mc), () -> actual.apply(a, b, mc), a, b, mc);
+        }
+
+        Assertions.assertTrue(DecimalArithmetic.getDoublePathCount() > 0);
+        Assertions.assertTrue(DecimalArithmetic.getFallbackCount()   > 0);
+    }
+
+    private static void assertSameResult(Operation expected, Operation actual, BigDecimal a, BigDecimal b, MathContext mc) {
+        BigDecimal expectedResult;
+        try {
+            expectedResult = expected.get();
+        } catch (ArithmeticException ex) {
+            Assertions.assertThrows(ArithmeticException.class, actual::get);
+            return;
+        }
+
+        // equals also compares the scale of the results.
+        Assertions.assertEquals(expectedResult, actual.get(), () -> a + ", " + b + ", " + mc);
+    }
+
+    private static BigDecimal randomDecimal(Random random) {
+        int digits = 1 + random.nextInt(random.nextBoolean() ? 8 : 20);
+
+        BigInteger unscaledValue = new BigInteger(digits * 4, random);
+        if (random.nextInt(10) == 0) {
+            // values with trailing zeros.
+            unscaledValue = unscaledValue.multiply(BigInteger.TEN.pow(random.nextInt(5)));
+        }
+        if (random.nextBoolean()) {
+            unscaledValue = unscaledValue.negate();
+        }
+
+        return new BigDecimal(unscaledValue, random.nextInt(20) - 5);
+    }
+
+    private static MathContext randomContext(Random random) {
+        int          precision = random.nextInt(20) == 0 ? 0 : 1 + random.nextInt(random.nextBoolean() ? 15 : 34);
+        RoundingMode mode      = RoundingMode.values()[random.nextInt(RoundingMode.values().length)];
+        return new MathContext(precision, mode);
+    }
+
+    private interface TernaryOperator {
+        BigDecimal apply(BigDecimal a, BigDecimal b, MathContext mc);
+    }
+
+    private interface Operation {
+        BigDecimal get();
+    }
+}
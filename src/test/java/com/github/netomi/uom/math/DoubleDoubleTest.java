@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.math;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+/**
+ * Test cases for the {@link DoubleDouble} class.
+ */
+public class DoubleDoubleTest {
+
+    private static final MathContext MC = new MathContext(31);
+
+    @Test
+    public void testOf() {
+        Assertions.assertEquals(0.5, DoubleDouble.of(0.5).hi());
+        Assertions.assertEquals(0.0, DoubleDouble.of(0.5).lo());
+
+        DoubleDouble tenth = DoubleDouble.of(new BigDecimal("0.1"));
+        Assertions.assertEquals(0.1, tenth.hi());
+        Assertions.assertNotEquals(0.0, tenth.lo());
+        Assertions.assertEquals(new BigDecimal("0.1"), tenth.bigDecimalValue());
+
+        Assertions.assertEquals(DoubleDouble.of(new BigDecimal("0.25")), DoubleDouble.of(BigFraction.of(1, 4)));
+        Assertions.assertEquals(new BigDecimal("0.3333333333333333333333333333333"),
+                                DoubleDouble.of(BigFraction.of(1, 3)).bigDecimalValue(MC));
+    }
+
+    @Test
+    public void testAdd() {
+        DoubleDouble a = DoubleDouble.of(new BigDecimal("0.1"));
+        DoubleDouble b = DoubleDouble.of(new BigDecimal("0.2"));
+
+        Assertions.assertEquals(new BigDecimal("0.3"), a.add(b).bigDecimalValue());
+        Assertions.assertEquals(new BigDecimal("-0.1"), a.subtract(b).bigDecimalValue());
+
+        // the low part keeps digits that are lost with double precision.
+        DoubleDouble sum = DoubleDouble.of(1e20).add(DoubleDouble.ONE);
+        Assertions.assertEquals(new BigDecimal("100000000000000000001"), sum.bigDecimalValue());
+        Assertions.assertEquals(DoubleDouble.ONE, sum.subtract(DoubleDouble.of(1e20)));
+    }
+
+    @Test
+    public void testMultiply() {
+        DoubleDouble a = DoubleDouble.of(new BigDecimal("1.1"));
+
+        Assertions.assertEquals(new BigDecimal("1.21"), a.multiply(a).bigDecimalValue());
+        Assertions.assertEquals(new BigDecimal("3.3"), a.multiply(3).bigDecimalValue());
+
+        // the exact product of two doubles is representable as double-double.
+        double x = 1.0 + Math.ulp(1.0);
+        DoubleDouble product = DoubleDouble.of(x).multiply(DoubleDouble.of(x));
+        Assertions.assertEquals(new BigDecimal(x).multiply(new BigDecimal(x)), new BigDecimal(product.hi()).add(new BigDecimal(product.lo())));
+
+        // large values are split without overflow.
+        DoubleDouble large = DoubleDouble.of(1e300).multiply(DoubleDouble.of(1.5));
+        Assertions.assertEquals(1.5e300, large.doubleValue());
+        Assertions.assertTrue(Double.isInfinite(DoubleDouble.of(1e300).multiply(DoubleDouble.of(1e300)).hi()));
+    }
+
+    @Test
+    public void testDivide() {
+        DoubleDouble one   = DoubleDouble.ONE;
+        DoubleDouble three = DoubleDouble.of(3);
+
+        Assertions.assertEquals(new BigDecimal("0.3333333333333333333333333333333"),
+                                one.divide(three).bigDecimalValue(MC));
+        Assertions.assertEquals(one, one.divide(three).multiply(three));
+        Assertions.assertEquals(new BigDecimal("0.25"), DoubleDouble.of(4).reciprocal().bigDecimalValue());
+
+        Assertions.assertThrows(ArithmeticException.class, () -> one.divide(DoubleDouble.ZERO));
+    }
+
+    @Test
+    public void testRandomAgainstBigDecimal() {
+        Random random = new Random(1234);
+        MathContext mc = new MathContext(28);
+
+        for (int i = 0; i < 1000; i++) {
+            BigDecimal x = new BigDecimal(random.nextDouble() * 1e6).add(new BigDecimal(random.nextDouble() * 1e-12));
+            BigDecimal y = new BigDecimal(random.nextDouble() * 1e3 + 1).add(new BigDecimal(random.nextDouble() * 1e-15));
+
+            DoubleDouble a = DoubleDouble.of(x);
+            DoubleDouble b = DoubleDouble.of(y);
+
+            Assertions.assertEquals(x.add(y, mc),      a.add(b).bigDecimalValue(mc));
+            Assertions.assertEquals(x.multiply(y, mc), a.multiply(b).bigDecimalValue(mc));
+            Assertions.assertEquals(x.divide(y, mc),   a.divide(b).bigDecimalValue(mc));
+        }
+    }
+
+    @Test
+    public void testBigDecimalValue() {
+        Random random = new Random(4321);
+
+        for (int i = 0; i < 10000; i++) {
+            double       magnitude = Math.pow(10, random.nextInt(80) - 40);
+            DoubleDouble value     = DoubleDouble.of(random.nextGaussian() * magnitude)
+                                                 .add(DoubleDouble.of(random.nextGaussian() * magnitude * 1e-17));
+
+            Assertions.assertEquals(value.bigDecimalValue(DoubleDouble.DECIMAL_CONTEXT).stripTrailingZeros(),
+                                    value.bigDecimalValue());
+        }
+
+        Assertions.assertEquals(new BigDecimal("154.320875"),
+                                DoubleDouble.of(new BigDecimal("1234.567")).multiply(DoubleDouble.of(0.125)).bigDecimalValue());
+        Assertions.assertEquals(new BigDecimal("1E+2"), DoubleDouble.of(100).bigDecimalValue());
+        Assertions.assertEquals(new BigDecimal("-0.5"), DoubleDouble.of(-0.5).bigDecimalValue());
+        Assertions.assertEquals(BigDecimal.ZERO, DoubleDouble.ZERO.bigDecimalValue());
+    }
+
+    @Test
+    public void testCompareTo() {
+        DoubleDouble a = DoubleDouble.of(1e20);
+        DoubleDouble b = a.add(DoubleDouble.ONE);
+
+        Assertions.assertEquals(a.doubleValue(), b.doubleValue());
+        Assertions.assertTrue(a.compareTo(b) < 0);
+        Assertions.assertTrue(b.compareTo(a) > 0);
+        Assertions.assertEquals(0, b.compareTo(b.negate().negate()));
+
+        Assertions.assertEquals(-1, b.negate().signum());
+        Assertions.assertEquals(b, b.negate().abs());
+        Assertions.assertTrue(DoubleDouble.ZERO.isZero());
+    }
+
+    @Test
+    public void testToString() {
+        Assertions.assertEquals("0.1", DoubleDouble.of(new BigDecimal("0.1")).toString());
+        Assertions.assertEquals("Infinity", DoubleDouble.of(Double.POSITIVE_INFINITY).toString());
+        Assertions.assertThrows(ArithmeticException.class, () -> DoubleDouble.of(Double.NaN).bigDecimalValue());
+    }
+}
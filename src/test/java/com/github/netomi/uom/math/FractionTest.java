@@ -107,6 +107,34 @@ public class FractionTest {
         assertFraction(769, 1250, Fraction.from(0.6152, 1.0e-7, 100));
     }
 
+    @Test
+    public void testCachedInstances() {
+        Assertions.assertSame(Fraction.ZERO, Fraction.of(0, 5));
+        Assertions.assertSame(Fraction.ONE, Fraction.of(3, 3));
+        Assertions.assertSame(Fraction.of(1, 2), Fraction.of(3, 6));
+        Assertions.assertSame(Fraction.of(-2), Fraction.of(-12, 6));
+        Assertions.assertSame(Fraction.of(1, 3), Fraction.from(1.0 / 3.0));
+
+        // arithmetic operations shall return cached instances for small results.
+        Assertions.assertSame(Fraction.of(5, 6), Fraction.of(1, 2).add(Fraction.of(1, 3)));
+        Assertions.assertSame(Fraction.of(1, 6), Fraction.of(1, 2).multiply(Fraction.of(1, 3)));
+        Assertions.assertSame(Fraction.of(-1, 2), Fraction.of(1, 2).negate());
+        Assertions.assertSame(Fraction.of(3), Fraction.of(1, 3).reciprocal());
+        Assertions.assertSame(Fraction.of(4), Fraction.of(2).pow(2));
+        Assertions.assertSame(Fraction.of(3, 2), Fraction.of(1, 2).add(1));
+
+        // fractions with a negative denominator are cached as well.
+        Assertions.assertSame(Fraction.of(1, -2), Fraction.of(2, -4));
+        Assertions.assertSame(Fraction.of(-1, -2), Fraction.of(-3, -6));
+        Assertions.assertSame(Fraction.ONE, Fraction.of(-3, -3));
+        assertFraction(1, -2, Fraction.of(1, -2));
+        assertFraction(0, -1, Fraction.of(0, -4));
+
+        // larger fractions are still created as needed.
+        assertFraction(13, 7, Fraction.of(13, 7));
+        assertFraction(13, -7, Fraction.of(13, -7));
+    }
+
     @Test
     public void testCompareTo() {
         Fraction first = Fraction.of(1, 2);
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+import com.github.netomi.uom.quantity.impl.FloatQuantity;
+import com.github.netomi.uom.quantity.thermodynamic.Temperature;
+import com.google.common.testing.EqualsTester;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link FloatQuantityArray} class.
+ */
+public class FloatQuantityArrayTest {
+
+    @Test
+    public void values() {
+        float[] values = { 1, 2, 3 };
+
+        FloatQuantityArray<Length> array = FloatQuantityArray.of(SI.METRE, values);
+        values[0] = 10;
+
+        assertEquals(3, array.length());
+        assertEquals(SI.METRE, array.getUnit());
+        assertEquals(1f, array.floatValue(0));
+        assertEquals(2, array.doubleValue(1));
+        assertEquals(2, array.get(1).doubleValue());
+        assertTrue(array.get(1) instanceof FloatQuantity);
+        assertEquals(SI.METRE, array.get(1).getUnit());
+        assertArrayEquals(new float[] { 1, 2, 3 }, array.toFloatArray());
+    }
+
+    @Test
+    public void fromQuantities() {
+        FloatQuantityArray<Length> array =
+                FloatQuantityArray.of(SI.METRE.withPrefix(Prefixes.Metric.CENTI),
+                                      Arrays.asList(Quantities.create(1, SI.METRE), Quantities.create(1, Intl.INCH)));
+
+        assertArrayEquals(new float[] { 100, 2.54f }, array.toFloatArray());
+    }
+
+    @Test
+    public void fromQuantityArray() {
+        QuantityArray<Length> array = QuantityArray.of(SI.METRE, 0.1, 1e-10, 123456.789);
+
+        FloatQuantityArray<Length> floatArray = FloatQuantityArray.of(array);
+        assertEquals(SI.METRE, floatArray.getUnit());
+        assertArrayEquals(new float[] { 0.1f, 1e-10f, 123456.789f }, floatArray.toFloatArray());
+
+        QuantityArray<Length> widened = floatArray.toQuantityArray();
+        assertEquals(SI.METRE, widened.getUnit());
+        assertArrayEquals(new double[] { 0.1f, 1e-10f, 123456.789f }, widened.toDoubleArray());
+        assertArrayEquals(array.toDoubleArray(), widened.toDoubleArray(), 1e-2);
+    }
+
+    @Test
+    public void conversion() {
+        FloatQuantityArray<Length> array = FloatQuantityArray.of(SI.METRE, 1, 2);
+
+        assertSame(array, array.to(SI.METRE));
+        assertArrayEquals(new float[] { 1000, 2000 },
+                          array.to(SI.METRE.withPrefix(Prefixes.Metric.MILLI)).toFloatArray());
+
+        // the conversion is performed with double precision, only the result is rounded.
+        FloatQuantityArray<Length> feet = FloatQuantityArray.of(Intl.FOOT, 0.1f, 3.3f);
+        assertArrayEquals(new float[] { (float) (0.1f * 0.3048), (float) (3.3f * 0.3048) },
+                          feet.to(SI.METRE).toFloatArray());
+
+        float[] values   = { 0.1f, 0.2f, 0.3f, 1.5f, 2.5f, 1e5f, 1e-5f };
+        float[] expected = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            expected[i] = (float) (values[i] * 0.3048);
+        }
+        assertArrayEquals(expected, FloatQuantityArray.of(Intl.FOOT, values).to(SI.METRE).toFloatArray());
+
+        // scales that can be represented as float use single precision arithmetic
+        // which yields the same result.
+        FloatQuantityArray<Length> metres = FloatQuantityArray.of(SI.METRE, 0.1f, 3.3f, 1e-7f);
+        assertArrayEquals(new float[] { (float) (0.1f * 1000.0), (float) (3.3f * 1000.0), (float) (1e-7f * 1000.0) },
+                          metres.to(SI.METRE.withPrefix(Prefixes.Metric.MILLI)).toFloatArray());
+    }
+
+    @Test
+    public void nonLinearConversion() {
+        FloatQuantityArray<Temperature> array = FloatQuantityArray.of(SI.CELSIUS, 0, 100);
+
+        assertArrayEquals(new float[] { 32, 212 }, array.to(NonSI.FAHRENHEIT).toFloatArray(), 1e-4f);
+    }
+
+    @Test
+    public void equality() {
+        new EqualsTester()
+                .addEqualityGroup(FloatQuantityArray.of(SI.METRE, 1, 2), FloatQuantityArray.of(SI.METRE, 1, 2))
+                .addEqualityGroup(FloatQuantityArray.of(SI.METRE, 1))
+                .addEqualityGroup(FloatQuantityArray.of(Intl.FOOT, 1, 2))
+                .testEquals();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.IncommensurableException;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.quantity.kinematic.Acceleration;
+import com.github.netomi.uom.quantity.kinematic.Speed;
+import com.github.netomi.uom.quantity.mechanical.Force;
+import com.github.netomi.uom.quantity.mechanical.Power;
+import com.github.netomi.uom.quantity.thermodynamic.Temperature;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.Units;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link Formula} class.
+ */
+public class FormulaTest {
+
+    @Test
+    public void multiply() {
+        Formula.Evaluator<Mass, Acceleration, Force> force =
+                Formula.of(Mass.class, Acceleration.class).multiply().as(Force.class);
+
+        assertSame(SI.NEWTON, force.getUnit());
+
+        QuantityArray<Mass>         masses        = QuantityArray.of(Intl.POUND, 1, 2, 3);
+        QuantityArray<Acceleration> accelerations = QuantityArray.of(SI.METER_PER_SECOND_SQUARED, 9.81, 1, 0);
+
+        QuantityArray<Force> forces = force.evaluate(masses, accelerations);
+
+        assertSame(SI.NEWTON, forces.getUnit());
+        assertEquals(3, forces.length());
+        for (int i = 0; i < forces.length(); i++) {
+            Force expected = masses.get(i).multiply(accelerations.get(i), Force.class);
+            assertEquals(expected.doubleValue(), forces.doubleValue(i), 1e-12);
+        }
+    }
+
+    @Test
+    public void divide() {
+        Formula.Evaluator<Length, Time, Speed> speed =
+                Formula.of(Length.class, Time.class).divide().as(Speed.class);
+
+        Unit<Length> kilometre = SI.METRE.withPrefix(Prefixes.Metric.KILO);
+
+        double[] result = speed.evaluate(new double[] { 36, 72 }, kilometre, new double[] { 1, 0.5 }, NonSI.HOUR);
+        assertArrayEquals(new double[] { 10, 40 }, result, 1e-12);
+    }
+
+    @Test
+    public void nonLinearUnits() {
+        Formula.Evaluator<Temperature, Dimensionless, Temperature> formula =
+                Formula.of(Temperature.class, Dimensionless.class).multiply().as(Temperature.class);
+
+        double[] result = formula.evaluate(new double[] { 0, 100 }, SI.CELSIUS, new double[] { 2, 2 }, Units.ONE);
+        assertArrayEquals(new double[] { 546.3, 746.3 }, result, 1e-9);
+    }
+
+    @Test
+    public void parallelEvaluation() {
+        Formula.Evaluator<Mass, Acceleration, Force> force =
+                Formula.of(Mass.class, Acceleration.class).multiply().as(Force.class);
+
+        Random   random = new Random(42);
+        double[] first  = new double[100_000];
+        double[] second = new double[first.length];
+        for (int i = 0; i < first.length; i++) {
+            first[i]  = random.nextDouble();
+            second[i] = random.nextDouble();
+        }
+
+        QuantityArray<Mass>         masses        = QuantityArray.of(Intl.POUND, first);
+        QuantityArray<Acceleration> accelerations = QuantityArray.of(SI.METER_PER_SECOND_SQUARED, second);
+
+        double[] expected = force.evaluate(masses, accelerations).toDoubleArray();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertArrayEquals(expected, force.parallelEvaluate(masses, accelerations, pool).toDoubleArray());
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(expected, force.parallelEvaluate(masses, accelerations).toDoubleArray());
+    }
+
+    @Test
+    public void invalidInputs() {
+        Formula.Evaluator<Length, Time, Speed> speed =
+                Formula.of(Length.class, Time.class).divide().as(Speed.class);
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> speed.evaluate(new double[2], SI.METRE, new double[3], SI.SECOND));
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Unit<Time> metre = (Unit) SI.METRE;
+        assertThrows(IncommensurableException.class,
+                     () -> speed.evaluate(new double[1], SI.METRE, new double[1], metre));
+
+        assertThrows(IncommensurableException.class,
+                     () -> Formula.of(Length.class, Time.class).multiply().as(Speed.class));
+        assertThrows(IncommensurableException.class,
+                     () -> Formula.of(Length.class, Time.class).divide().as(Power.class));
+    }
+}
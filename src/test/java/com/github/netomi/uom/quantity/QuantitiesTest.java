@@ -15,13 +15,18 @@
  */
 package com.github.netomi.uom.quantity;
 
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.SystemUnit;
 import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.SI;
+import com.github.netomi.uom.util.Proxies;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class QuantitiesTest {
 
@@ -36,4 +41,81 @@ public class QuantitiesTest {
 
         assertEquals(Quantities.Type.values().length, systemUnits.size());
     }
+
+    @Test
+    public void declaredSystemUnits() {
+        // Ensure that the declared system units match the ones returned by the quantities.
+        for (Quantities.Type type : Quantities.Type.values()) {
+            assertNotNull(type.getQuantityType().getAnnotation(SystemUnit.class), type + " has no declared system unit");
+
+            Quantity<?> quantity = Proxies.delegatingProxy(new Object(), type.getQuantityType());
+            assertEquals(quantity.getSystemUnit(), type.getSystemUnit(), "system unit mismatch for " + type);
+        }
+    }
+
+    @Test
+    public void sortKeys() {
+        Random random = new Random(42);
+
+        List<Unit<Length>> units = Arrays.asList(SI.METRE, Intl.FOOT, Intl.INCH, SI.METRE.withPrefix(Prefixes.Metric.MILLI));
+
+        List<Length> lengths = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            lengths.add(Quantities.create(random.nextInt(100), units.get(random.nextInt(units.size()))));
+        }
+
+        List<Length> expected = new ArrayList<>(lengths);
+        // List.sort is stable, equal elements keep their relative order.
+        expected.sort(QuantityComparators.bySystemValue());
+
+        assertIterableEquals(expected, Quantities.sortKeys(lengths));
+        assertIterableEquals(expected, Quantities.parallelSortKeys(lengths));
+
+        // the quantities shall be returned as is.
+        assertSame(expected.get(0), Quantities.sortKeys(lengths).get(0));
+
+        assertTrue(Quantities.sortKeys(Collections.<Length>emptyList()).isEmpty());
+    }
+
+    @Test
+    public void operationTable() {
+        for (Quantities.Type left : Quantities.Type.values()) {
+            for (Quantities.Type right : Quantities.Type.values()) {
+                // use scaled units to ensure the system unit is derived.
+                Unit<?> leftUnit  = left.getSystemUnit().multiply(1000);
+                Unit<?> rightUnit = right.getSystemUnit().multiply(1, 60);
+
+                assertOperationResult(leftUnit.multiply(rightUnit).getSystemUnit(),
+                                      Quantities.Type.systemUnitOfProduct(leftUnit, rightUnit));
+
+                assertOperationResult(leftUnit.divide(rightUnit).getSystemUnit(),
+                                      Quantities.Type.systemUnitOfQuotient(leftUnit, rightUnit));
+
+                // the results of the table shall be stable.
+                assertSame(Quantities.Type.systemUnitOfProduct(leftUnit, rightUnit),
+                           Quantities.Type.systemUnitOfProduct(left.getSystemUnit(), right.getSystemUnit()));
+            }
+        }
+
+        // units without a quantity type are calculated as usual.
+        Unit<?> unit = SI.METRE.multiply(SI.KELVIN);
+        assertOperationResult(unit.multiply(SI.SECOND).getSystemUnit(), Quantities.Type.systemUnitOfProduct(unit, SI.SECOND));
+    }
+
+    private static void assertOperationResult(Unit<?> expected, Unit<?> actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.getQuantityType(), actual.getQuantityType());
+    }
+
+    @Test
+    public void cachedQuantityType() {
+        assertSame(Length.class, SI.METRE.getQuantityType());
+        assertSame(Length.class, Intl.FOOT.getQuantityType());
+        assertSame(Length.class, Quantities.getQuantityType(SI.METRE.withPrefix(Prefixes.Metric.MILLI)));
+
+        Unit<?> unit = SI.METRE.multiply(SI.KELVIN);
+        assertNull(unit.getQuantityType());
+        assertNull(unit.getQuantityType());
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.SI;
+import com.google.common.testing.EqualsTester;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link QuantityArray} class.
+ */
+public class QuantityArrayTest {
+
+    @Test
+    public void values() {
+        double[] values = { 1, 2, 3 };
+
+        QuantityArray<Length> array = QuantityArray.of(SI.METRE, values);
+        values[0] = 10;
+
+        assertEquals(3, array.length());
+        assertEquals(SI.METRE, array.getUnit());
+        assertEquals(1, array.doubleValue(0));
+        assertEquals(2, array.get(1).doubleValue());
+        assertEquals(SI.METRE, array.get(1).getUnit());
+        assertArrayEquals(new double[] { 1, 2, 3 }, array.toDoubleArray());
+    }
+
+    @Test
+    public void fromQuantities() {
+        QuantityArray<Length> array =
+                QuantityArray.of(SI.METRE.withPrefix(Prefixes.Metric.CENTI),
+                                 Arrays.asList(Quantities.create(1, SI.METRE), Quantities.create(1, Intl.INCH)));
+
+        assertArrayEquals(new double[] { 100, 2.54 }, array.toDoubleArray(), 1e-12);
+    }
+
+    @Test
+    public void conversion() {
+        QuantityArray<Length> array = QuantityArray.of(SI.METRE, 1, 2);
+
+        assertSame(array, array.to(SI.METRE));
+        assertArrayEquals(new double[] { 1000, 2000 },
+                          array.to(SI.METRE.withPrefix(Prefixes.Metric.MILLI)).toDoubleArray(), 1e-12);
+    }
+
+    @Test
+    public void equality() {
+        new EqualsTester()
+                .addEqualityGroup(QuantityArray.of(SI.METRE, 1, 2), QuantityArray.of(SI.METRE, 1, 2))
+                .addEqualityGroup(QuantityArray.of(SI.METRE, 1))
+                .addEqualityGroup(QuantityArray.of(Intl.FOOT, 1, 2))
+                .testEquals();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.quantity.thermodynamic.Temperature;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.SI;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link QuantityComparators} class.
+ */
+public class QuantityComparatorsTest {
+
+    @Test
+    public void bySystemValue() {
+        Comparator<Length> comparator = QuantityComparators.bySystemValue();
+
+        Length oneFoot       = Quantities.create(1, Intl.FOOT);
+        Length footInMetre   = Quantities.create(0.3048, SI.METRE);
+        Length tenCentimetre = Quantities.create(10, SI.METRE.withPrefix(Prefixes.Metric.CENTI));
+
+        assertTrue(comparator.compare(tenCentimetre, oneFoot) < 0);
+        assertTrue(comparator.compare(oneFoot, tenCentimetre) > 0);
+        assertEquals(0, comparator.compare(oneFoot, footInMetre));
+
+        List<Length> lengths = new ArrayList<>(Arrays.asList(oneFoot, tenCentimetre, footInMetre));
+        lengths.sort(comparator);
+        assertSame(tenCentimetre, lengths.get(0));
+        assertSame(oneFoot,       lengths.get(1));
+        assertSame(footInMetre,   lengths.get(2));
+    }
+
+    @Test
+    public void bySystemValueNonLinear() {
+        Comparator<Temperature> comparator = QuantityComparators.bySystemValue();
+
+        Temperature celsius = Quantities.create(0, SI.CELSIUS);
+        Temperature kelvin  = Quantities.create(100, SI.KELVIN);
+
+        assertTrue(comparator.compare(kelvin, celsius) < 0);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.IncommensurableException;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.quantity.kinematic.Acceleration;
+import com.github.netomi.uom.quantity.kinematic.Speed;
+import com.github.netomi.uom.quantity.mechanical.Power;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link QuantityExpression} class.
+ */
+public class QuantityExpressionTest {
+
+    private final Mass         mass         = Quantities.create(2, Intl.POUND);
+    private final Acceleration acceleration = Quantities.create(9.81, SI.METER_PER_SECOND_SQUARED);
+    private final Length       distance     = Quantities.create(3, SI.METRE.withPrefix(Prefixes.Metric.KILO));
+    private final Time         time         = Quantities.create(0.5, NonSI.HOUR);
+
+    @Test
+    public void evaluate() {
+        Power expected = mass.multiply(acceleration).multiply(distance).divide(time, Power.class);
+
+        QuantityExpression expression =
+                QuantityExpression.of(mass).multiply(acceleration).multiply(distance).divide(time);
+
+        Power power = expression.evaluate(Power.class);
+        assertSame(SI.WATT, power.getUnit());
+        assertEquals(expected.doubleValue(), power.doubleValue());
+
+        Quantity<?> result = expression.evaluate();
+        assertTrue(result instanceof Power);
+        assertEquals(expected.getUnit(), result.getUnit());
+        assertEquals(expected.doubleValue(), result.doubleValue());
+    }
+
+    @Test
+    public void genericResult() {
+        Quantity<?> expected = distance.multiply(time);
+        Quantity<?> result   = QuantityExpression.of(distance).multiply(time).evaluate();
+
+        assertEquals(expected.getUnit(),        result.getUnit());
+        assertEquals(expected.doubleValue(),    result.doubleValue());
+    }
+
+    @Test
+    public void reuseCompiledExpression() {
+        QuantityExpression.Compiled<Speed> speed =
+                QuantityExpression.of(distance).divide(time).compile(Speed.class);
+
+        assertEquals(2, speed.getInputCount());
+        assertSame(SI.METER_PER_SECOND, speed.getUnit());
+        assertEquals(distance.getUnit(), speed.getInputUnits().get(0));
+
+        assertEquals(3000.0 / 1800.0, speed.evaluate(distance, time).doubleValue(), 1e-12);
+
+        // inputs in the compiled units.
+        assertEquals(10000.0 / 3600.0, speed.evaluate(10, 1).doubleValue(), 1e-12);
+        assertEquals(10000.0 / 3600.0, speed.evaluateAsDouble(10, 1),        1e-12);
+
+        // inputs in different but commensurable units.
+        Speed result = speed.evaluate(Quantities.create(100, SI.METRE), Quantities.create(10, SI.SECOND));
+        assertSame(SI.METER_PER_SECOND, result.getUnit());
+        assertEquals(10, result.doubleValue(), 1e-12);
+    }
+
+    @Test
+    public void invalidInputs() {
+        QuantityExpression.Compiled<Speed> speed =
+                QuantityExpression.of(distance).divide(time).compile(Speed.class);
+
+        assertThrows(IllegalArgumentException.class, () -> speed.evaluate(1.0));
+        assertThrows(IllegalArgumentException.class, () -> speed.evaluate(distance));
+        assertThrows(IncommensurableException.class, () -> speed.evaluate(time, distance));
+    }
+
+    @Test
+    public void decimalOperands() {
+        Length a = Quantities.create(new BigDecimal("0.1"), SI.METRE);
+        Length b = Quantities.create(new BigDecimal("0.3"), SI.METRE);
+        Time   t = Quantities.create(new BigDecimal("0.7"), SI.SECOND);
+
+        Quantity<?> expected = a.multiply(b).divide(t);
+
+        QuantityExpression expression = QuantityExpression.of(a).multiply(b).divide(t);
+
+        Quantity<?> result = expression.evaluate();
+        assertEquals(expected.getUnit(),         result.getUnit());
+        assertEquals(expected.decimalValue(),     result.decimalValue());
+
+        Length length = QuantityExpression.of(a).multiply(b).divide(a).evaluate(Length.class);
+        assertSame(SI.METRE, length.getUnit());
+        assertEquals(0, new BigDecimal("0.3").compareTo(length.decimalValue()));
+
+        // compiled expressions are evaluated in double precision.
+        QuantityExpression.Compiled<Quantity<?>> compiled = expression.compile();
+        assertThrows(IllegalArgumentException.class, () -> compiled.evaluate(a, b, t));
+        assertEquals(expected.doubleValue(),
+                     compiled.evaluate(a.doubleValue(), b.doubleValue(), t.doubleValue()).doubleValue(), 1e-15);
+    }
+
+    @Test
+    public void incompatibleQuantityType() {
+        QuantityExpression expression = QuantityExpression.of(distance).divide(time);
+        assertThrows(IncommensurableException.class, () -> expression.compile(Power.class));
+    }
+
+    @Test
+    public void operands() {
+        QuantityExpression expression = QuantityExpression.of(distance).divide(time);
+
+        assertEquals(2, expression.getOperands().size());
+        assertSame(distance, expression.getOperands().get(0));
+        assertSame(time,     expression.getOperands().get(1));
+        assertEquals(distance + " / " + time, expression.toString());
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.IncommensurableException;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link QuantityHistogram} class.
+ */
+public class QuantityHistogramTest {
+
+    private static final Unit<Time> MILLISECOND = SI.SECOND.withPrefix(Prefixes.Metric.MILLI);
+
+    @Test
+    public void percentiles() {
+        QuantityHistogram<Time> histogram = QuantityHistogram.of(MILLISECOND, 1, 3_600_000, 3);
+
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i, MILLISECOND);
+        }
+
+        assertEquals(10_000, histogram.getTotalCount());
+
+        assertPercentile(histogram, 0,   1);
+        assertPercentile(histogram, 50,  5_000);
+        assertPercentile(histogram, 90,  9_000);
+        assertPercentile(histogram, 99,  9_900);
+        assertPercentile(histogram, 100, 10_000);
+
+        Time mean = histogram.getMean();
+        assertEquals(MILLISECOND, mean.getUnit());
+        assertEquals(5_000.5, mean.doubleValue(), 5_000.5 * 1e-3);
+    }
+
+    @Test
+    public void emptyHistogram() {
+        QuantityHistogram<Time> histogram = QuantityHistogram.of(MILLISECOND, 1, 1000, 2);
+
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(50).doubleValue());
+        assertEquals(0, histogram.getMean().doubleValue());
+    }
+
+    @Test
+    public void mixedUnits() {
+        QuantityHistogram<Time> histogram = QuantityHistogram.of(MILLISECOND, 1, 10_000_000, 3);
+
+        histogram.record(Quantities.create(1.5, SI.SECOND));
+        histogram.record(Quantities.create(0.5, NonSI.HOUR));
+        histogram.record(250, MILLISECOND);
+        histogram.record(750);
+
+        assertEquals(4, histogram.getTotalCount());
+        assertPercentile(histogram, 25,  250);
+        assertPercentile(histogram, 50,  750);
+        assertPercentile(histogram, 75,  1_500);
+        assertPercentile(histogram, 100, 1_800_000);
+    }
+
+    @Test
+    public void invalidValues() {
+        QuantityHistogram<Length> histogram = QuantityHistogram.of(SI.METRE, 0.01, 100, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(1, Intl.FOOT.withPrefix(Prefixes.Metric.KILO)));
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Unit<Length> second = (Unit) SI.SECOND;
+        assertThrows(IncommensurableException.class, () -> histogram.record(1, second));
+
+        assertEquals(0, histogram.getTotalCount());
+    }
+
+    @Test
+    public void invalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> QuantityHistogram.of(SI.METRE, 0, 100, 2));
+        assertThrows(IllegalArgumentException.class, () -> QuantityHistogram.of(SI.METRE, 1, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> QuantityHistogram.of(SI.METRE, 1, 100, 0));
+        assertThrows(IllegalArgumentException.class, () -> QuantityHistogram.of(SI.METRE, 1, 100, 6));
+        assertThrows(IllegalArgumentException.class, () -> QuantityHistogram.of(SI.CELSIUS, 1, 100, 2));
+    }
+
+    @Test
+    public void merge() {
+        QuantityHistogram<Time> first  = QuantityHistogram.of(MILLISECOND, 1, 100_000, 3);
+        QuantityHistogram<Time> second = QuantityHistogram.of(MILLISECOND, 1, 100_000, 3);
+
+        for (int i = 1; i <= 500; i++) {
+            first.record(i);
+            second.record(i + 500);
+        }
+
+        first.add(second);
+
+        assertEquals(1000, first.getTotalCount());
+        assertEquals(500,  second.getTotalCount());
+        assertPercentile(first, 50,  500);
+        assertPercentile(first, 100, 1000);
+
+        QuantityHistogram<Time> other = QuantityHistogram.of(MILLISECOND, 1, 100_000, 2);
+        assertThrows(IllegalArgumentException.class, () -> first.add(other));
+    }
+
+    @Test
+    public void concurrentRecording() throws Exception {
+        QuantityHistogram<Time> histogram = QuantityHistogram.of(MILLISECOND, 1, 100_000, 3);
+
+        int threads    = 4;
+        int iterations = 10_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Unit<Time> unit = t % 2 == 0 ? MILLISECOND : SI.SECOND;
+                double     step = t % 2 == 0 ? 1 : 1e-3;
+                futures.add(executor.submit(() -> {
+                    for (int i = 1; i <= iterations; i++) {
+                        histogram.record(i * step, unit);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals((long) threads * iterations, histogram.getTotalCount());
+        assertPercentile(histogram, 50, 5_000);
+    }
+
+    @Test
+    public void serialization() throws IOException {
+        QuantityHistogram<Time> histogram = QuantityHistogram.of(MILLISECOND, 0.5, 100_000, 3);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i, MILLISECOND);
+        }
+
+        QuantityHistogram<Time> copy = roundTrip(histogram, Time.class);
+
+        assertEquals(MILLISECOND,                  copy.getUnit());
+        assertEquals(histogram.getResolution(),    copy.getResolution());
+        assertEquals(histogram.getTotalCount(),    copy.getTotalCount());
+
+        for (double percentile : new double[] { 0, 10, 50, 99.9, 100 }) {
+            assertEquals(histogram.getValueAtPercentile(percentile).doubleValue(),
+                         copy.getValueAtPercentile(percentile).doubleValue());
+        }
+
+        // the copy shall have the same configuration.
+        copy.add(histogram);
+        assertEquals(2000, copy.getTotalCount());
+    }
+
+    @Test
+    public void serializationWithRegisteredUnit() throws IOException {
+        QuantityHistogram<Length> histogram = QuantityHistogram.of(Intl.FOOT, 1, 1000, 2);
+        histogram.record(Quantities.create(3.048, SI.METRE));
+
+        QuantityHistogram<Length> copy = roundTrip(histogram, Length.class);
+
+        assertSame(Intl.FOOT, copy.getUnit());
+        assertEquals(1, copy.getTotalCount());
+        assertPercentile(copy, 100, 10);
+    }
+
+    @Test
+    public void serializationWithoutSymbol() throws IOException {
+        // snapshot of a histogram in a unit without symbol, restored from its scale only.
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            out.writeInt(1);
+            out.writeUTF("");
+            out.writeUTF("1");
+            out.writeUTF("1000");
+            out.writeDouble(1);
+            out.writeDouble(1000);
+            out.writeInt(2);
+            out.writeInt(0);
+        }
+
+        QuantityHistogram<Time> copy;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            copy = QuantityHistogram.readFrom(in, Time.class);
+        }
+
+        assertEquals(0, copy.getTotalCount());
+        assertEquals(0.001, copy.getUnit().getSystemConverter().convert(1.0), 1e-15);
+    }
+
+    @Test
+    public void malformedSnapshot() {
+        byte[] bytes = { 0, 0, 0, 42 };
+        assertThrows(IOException.class,
+                     () -> QuantityHistogram.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)), Time.class));
+    }
+
+    private static <Q extends Quantity<Q>> QuantityHistogram<Q> roundTrip(QuantityHistogram<Q> histogram,
+                                                                        Class<Q>             quantityType)
+            throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            histogram.writeTo(out);
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            return QuantityHistogram.readFrom(in, quantityType);
+        }
+    }
+
+    private static void assertPercentile(QuantityHistogram<?> histogram, double percentile, double expected) {
+        Quantity<?> value = histogram.getValueAtPercentile(percentile);
+        assertEquals(histogram.getUnit(), value.getUnit());
+        // the value at the percentile is accurate within the configured significant digits.
+        assertEquals(expected, value.doubleValue(), Math.max(histogram.getResolution(), expected * 1e-2));
+    }
+}
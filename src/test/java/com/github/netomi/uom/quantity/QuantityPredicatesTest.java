@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.IncommensurableException;
+import com.github.netomi.uom.quantity.thermodynamic.Temperature;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.SI;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link QuantityPredicates} class.
+ */
+public class QuantityPredicatesTest {
+
+    @Test
+    public void greaterAndLessThan() {
+        Length oneMetre = Quantities.create(1, SI.METRE);
+
+        QuantityPredicate<Length> greaterThan = QuantityPredicates.greaterThan(oneMetre);
+        assertTrue(greaterThan.test(Quantities.create(4, Intl.FOOT)));
+        assertFalse(greaterThan.test(Quantities.create(3, Intl.FOOT)));
+        assertFalse(greaterThan.test(1000, SI.METRE.withPrefix(Prefixes.Metric.MILLI)));
+        assertTrue(QuantityPredicates.greaterThanOrEqual(oneMetre).test(1000, SI.METRE.withPrefix(Prefixes.Metric.MILLI)));
+
+        QuantityPredicate<Length> lessThan = QuantityPredicates.lessThan(oneMetre);
+        assertTrue(lessThan.test(Quantities.create(3, Intl.FOOT)));
+        assertFalse(lessThan.test(Quantities.create(1, SI.METRE)));
+        assertTrue(QuantityPredicates.lessThanOrEqual(oneMetre).test(Quantities.create(1, SI.METRE)));
+
+        assertFalse(greaterThan.test(Double.NaN, SI.METRE));
+    }
+
+    @Test
+    public void between() {
+        QuantityPredicate<Length> between =
+                QuantityPredicates.between(Quantities.create(1, Intl.FOOT), Quantities.create(1, SI.METRE));
+
+        List<Length> lengths = Arrays.asList(Quantities.create(10, SI.METRE.withPrefix(Prefixes.Metric.CENTI)),
+                                             Quantities.create(20, Intl.INCH),
+                                             Quantities.create(1, SI.METRE),
+                                             Quantities.create(1, Intl.FOOT),
+                                             Quantities.create(2, SI.METRE));
+
+        List<Length> result = lengths.stream().filter(between).collect(Collectors.toList());
+        assertEquals(3, result.size());
+        assertSame(lengths.get(1), result.get(0));
+        assertSame(lengths.get(2), result.get(1));
+        assertSame(lengths.get(3), result.get(2));
+    }
+
+    @Test
+    public void isEqual() {
+        Temperature reference = Quantities.create(20, SI.CELSIUS);
+
+        QuantityPredicate<Temperature> isEqual = QuantityPredicates.isEqual(reference, 0.5);
+        assertTrue(isEqual.test(293.4, SI.KELVIN));
+        assertTrue(isEqual.test(20.5, SI.CELSIUS));
+        assertFalse(isEqual.test(292.5, SI.KELVIN));
+
+        for (double value = 19; value <= 21; value += 0.125) {
+            Temperature temperature = Quantities.create(value, SI.CELSIUS);
+            assertEquals(reference.isEqual(temperature, 0.5), isEqual.test(temperature), "value " + value);
+        }
+    }
+
+    @Test
+    public void filter() {
+        QuantityArray<Length> array = QuantityArray.of(SI.METRE.withPrefix(Prefixes.Metric.MILLI), 100, 500, 1000, 1500, 2000);
+
+        BitSet expected = new BitSet();
+        expected.set(2);
+        expected.set(3);
+
+        assertEquals(expected, QuantityPredicates.between(Quantities.create(1, SI.METRE),
+                                                          Quantities.create(1.5, SI.METRE)).filter(array));
+
+        // use bounds that are not affected by rounding errors of the conversion.
+        assertEquals(expected, QuantityPredicates.between(Quantities.create(0.9, SI.METRE),
+                                                          Quantities.create(1.6, SI.METRE)).filter(array.to(Intl.FOOT)));
+    }
+
+    @Test
+    public void incommensurable() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        QuantityPredicate<Length> predicate = (QuantityPredicate) QuantityPredicates.greaterThan(Quantities.create(1, SI.SECOND));
+        assertThrows(IncommensurableException.class, () -> predicate.test(1, SI.METRE));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity;
+
+import com.github.netomi.uom.IncommensurableException;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.quantity.impl.DecimalQuantity;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.SI;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link UnitHandle} class.
+ */
+public class UnitHandleTest {
+
+    @Test
+    public void create() {
+        Unit<Length>       kilometre = SI.METRE.withPrefix(Prefixes.Metric.KILO);
+        UnitHandle<Length> handle    = Quantities.handle(kilometre, Length.class);
+
+        assertSame(kilometre,    handle.getUnit());
+        assertSame(Length.class, handle.getQuantityClass());
+
+        Length length = handle.create(1.5);
+        assertSame(kilometre, length.getUnit());
+        assertEquals(1.5, length.doubleValue());
+        assertEquals(1500, length.to(SI.METRE).doubleValue(), 1e-12);
+
+        Length decimal = handle.create(new BigDecimal("2.5"), MathContext.DECIMAL64);
+        assertTrue(decimal instanceof DecimalQuantity);
+        assertEquals(new BigDecimal("2.5"), decimal.decimalValue());
+        assertEquals(new BigDecimal("3"),   handle.create(BigDecimal.valueOf(3)).decimalValue());
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void incommensurableUnit() {
+        Unit<Length> second = (Unit) SI.SECOND;
+
+        assertThrows(IncommensurableException.class, () -> Quantities.handle(second, Length.class));
+
+        // the validation must not be bypassed after a valid unit has been used.
+        Quantities.create(1, SI.METRE, Length.class);
+        assertThrows(IncommensurableException.class, () -> Quantities.create(1, second, Length.class));
+        assertThrows(IncommensurableException.class, () -> Quantities.create(1, second, Length.class));
+    }
+}
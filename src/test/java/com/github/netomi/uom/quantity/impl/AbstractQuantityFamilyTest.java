@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.github.netomi.uom.GenericQuantityFactory;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.QuantityFactory;
+import com.github.netomi.uom.SystemUnit;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.quantity.mechanical.Area;
+import com.github.netomi.uom.unit.systems.SI;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Generic test cases for the quantity implementations of a specific
+ * family, e.g. single precision or fixed-point quantities.
+ */
+public abstract class AbstractQuantityFamilyTest {
+
+    /**
+     * Returns the interface implemented by all quantities of the family.
+     */
+    protected abstract Class<?> getFamilyClass();
+
+    protected abstract <Q extends Quantity<Q>> QuantityFactory<Q> getFactory(Class<Q> quantityClass);
+
+    protected abstract <Q extends Quantity<Q>> GenericQuantityFactory<Q> getGenericFactory();
+
+    @AfterEach
+    public void restoreDefaultFactory() {
+        // the registration of a factory is global, restore the
+        // factory that is used by default for the test quantity.
+        DoubleQuantityFactory<Distance>  doubleFactory  = DoubleQuantity.factory(Distance.class);
+        DecimalQuantityFactory<Distance> decimalFactory = DecimalQuantity.factory(Distance.class);
+
+        Quantities.registerQuantityFactory(Distance.class, new QuantityFactory<Distance>() {
+            @Override
+            public Distance create(double value, Unit<Distance> unit) {
+                return doubleFactory.create(value, unit);
+            }
+
+            @Override
+            public Distance create(BigDecimal value, Unit<Distance> unit) {
+                return decimalFactory.create(value, unit);
+            }
+
+            @Override
+            public Distance create(BigDecimal value, MathContext mc, Unit<Distance> unit) {
+                return decimalFactory.create(value, mc, unit);
+            }
+        });
+    }
+
+    @Test
+    public void factoryReuse() {
+        assertSame(getFactory(Length.class), getFactory(Length.class));
+    }
+
+    @Test
+    public void genericFactory() {
+        Quantity<Length> q = this.<Length>getGenericFactory().create(new BigDecimal("1.5"), SI.METRE);
+
+        assertInFamily(q);
+        assertEquals(SI.METRE, q.getUnit());
+        assertEquals(1.5, q.doubleValue());
+    }
+
+    @Test
+    public void multiplyAndDivide() {
+        QuantityFactory<Length> factory = getFactory(Length.class);
+
+        Length a = factory.create(new BigDecimal("1.5"), SI.METRE);
+        Length b = factory.create(new BigDecimal("2"),   SI.METRE);
+
+        Quantity<?> area = a.multiply(b);
+        assertTrue(area instanceof Area);
+        assertEquals(SI.METRE.multiply(SI.METRE), area.getUnit());
+        assertEquals(3, area.doubleValue());
+
+        Area typedArea = a.multiply(b, Area.class);
+        assertEquals(3, typedArea.doubleValue());
+
+        Length length = typedArea.divide(b, Length.class);
+        assertEquals(SI.METRE, length.getUnit());
+        assertEquals(1.5, length.doubleValue());
+
+        Quantity<?> ratio = b.divide(b);
+        assertEquals(1, ratio.doubleValue());
+
+        assertInFamily(area);
+        assertInFamily(typedArea);
+        assertInFamily(length);
+        assertInFamily(ratio);
+        assertInFamily(area.asQuantity(Area.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void registerFactory() {
+        Quantities.registerQuantityFactory(Distance.class, getFactory(Distance.class));
+
+        Distance d = Quantities.create(new BigDecimal("1.5"), (Unit<Distance>) (Unit<?>) SI.METRE, Distance.class);
+        assertInFamily(d);
+        assertEquals(1.5, d.doubleValue());
+    }
+
+    protected void assertInFamily(Quantity<?> quantity) {
+        assertTrue(getFamilyClass().isInstance(quantity),
+                   () -> quantity.getClass() + " is not a " + getFamilyClass().getSimpleName());
+    }
+
+    @SystemUnit("m")
+    public interface Distance extends Quantity<Distance> {}
+}
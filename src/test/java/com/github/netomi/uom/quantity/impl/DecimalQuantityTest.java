@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.math.DecimalArithmetic;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.SI;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link DecimalQuantity} class.
+ */
+public class DecimalQuantityTest {
+
+    private static final List<Unit<Length>> UNITS =
+        Arrays.asList(SI.METRE, SI.METRE.withPrefix(Prefixes.Metric.KILO), Intl.FOOT, Intl.INCH, Intl.MILE);
+
+    private boolean adaptive;
+
+    @BeforeEach
+    public void setup() {
+        adaptive = DecimalArithmetic.isAdaptive();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DecimalArithmetic.setAdaptive(adaptive);
+    }
+
+    @Test
+    public void adaptiveArithmetic() {
+        Random random = new Random(7);
+
+        for (MathContext mc : Arrays.asList(new MathContext(7), MathContext.DECIMAL64, MathContext.DECIMAL128)) {
+            DecimalQuantityFactory<Length> factory = DecimalQuantity.factory(mc, Length.class);
+
+            for (int i = 0; i < 500; i++) {
+                Length a = factory.create(BigDecimal.valueOf(random.nextInt(1000000) + 1, random.nextInt(6)),
+                                          UNITS.get(random.nextInt(UNITS.size())));
+                Length b = factory.create(BigDecimal.valueOf(random.nextInt(1000000) + 1, random.nextInt(6)),
+                                          UNITS.get(random.nextInt(UNITS.size())));
+
+                assertSameResult(() -> a.add(b));
+                assertSameResult(() -> a.subtract(b));
+                assertSameResult(() -> a.multiply(b));
+                assertSameResult(() -> a.divide(b));
+                assertSameResult(() -> a.to(b.getUnit()));
+            }
+        }
+    }
+
+    @Test
+    public void counters() {
+        DecimalArithmetic.setAdaptive(true);
+        DecimalArithmetic.resetCounters();
+
+        DecimalQuantityFactory<Length> factory = DecimalQuantity.factory(new MathContext(10), Length.class);
+
+        Length a = factory.create(new BigDecimal("1.5"), SI.METRE);
+        Length b = factory.create(new BigDecimal("2.25"), SI.METRE);
+
+        // the exact product has less digits than the precision.
+        assertEquals(new BigDecimal("3.375"), a.multiply(b).decimalValue());
+        assertEquals(1, DecimalArithmetic.getFallbackCount());
+
+        assertEquals(new BigDecimal("0.6666666667"), a.divide(b).decimalValue());
+        assertEquals(1, DecimalArithmetic.getDoublePathCount());
+    }
+
+    private static void assertSameResult(Supplier<Quantity<?>> operation) {
+        List<Quantity<?>> results = new ArrayList<>();
+        for (boolean enabled : new boolean[] { false, true }) {
+            DecimalArithmetic.setAdaptive(enabled);
+            results.add(operation.get());
+        }
+
+        Quantity<?> expected = results.get(0);
+        Quantity<?> actual   = results.get(1);
+
+        assertEquals(expected.getUnit(), actual.getUnit());
+        assertEquals(expected.decimalValue(), actual.decimalValue());
+    }
+}
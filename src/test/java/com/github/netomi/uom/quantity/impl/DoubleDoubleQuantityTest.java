@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import org.junit.jupiter.api.Test;
+import com.github.netomi.uom.GenericQuantityFactory;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.QuantityFactory;
+import com.github.netomi.uom.math.DoubleDouble;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.quantity.mechanical.Area;
+import com.github.netomi.uom.quantity.thermodynamic.Temperature;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link DoubleDoubleQuantity} class.
+ */
+public class DoubleDoubleQuantityTest extends AbstractQuantityFamilyTest {
+
+    @Override
+    protected Class<?> getFamilyClass() {
+        return DoubleDoubleQuantity.class;
+    }
+
+    @Override
+    protected <Q extends Quantity<Q>> QuantityFactory<Q> getFactory(Class<Q> quantityClass) {
+        return DoubleDoubleQuantity.factory(quantityClass);
+    }
+
+    @Override
+    protected <Q extends Quantity<Q>> GenericQuantityFactory<Q> getGenericFactory() {
+        return DoubleDoubleQuantity.factory();
+    }
+
+    @Test
+    public void doubleDoublePrecision() {
+        DoubleDoubleQuantityFactory<Length> factory = DoubleDoubleQuantity.factory(Length.class);
+
+        Length l = factory.create(new BigDecimal("0.1"), SI.METRE);
+        assertTrue(l instanceof DoubleDoubleQuantity);
+        assertEquals(0.1, l.doubleValue());
+        assertEquals(new BigDecimal("0.1"), l.decimalValue());
+
+        assertEquals(DoubleDouble.of(0.1), ((DoubleDoubleQuantity<?>) factory.create(0.1, SI.METRE)).doubleDoubleValue());
+    }
+
+    @Test
+    public void arithmetic() {
+        DoubleDoubleQuantityFactory<Length> factory = DoubleDoubleQuantity.factory(Length.class);
+
+        Length a = factory.create(new BigDecimal("0.1"), SI.METRE);
+        Length b = factory.create(new BigDecimal("0.2"), SI.METRE);
+
+        Length sum = a.add(b);
+        assertTrue(sum instanceof DoubleDoubleQuantity);
+        assertEquals(new BigDecimal("0.3"), sum.decimalValue());
+
+        Length difference = a.subtract(b);
+        assertEquals(new BigDecimal("-0.1"), difference.decimalValue());
+        assertEquals(new BigDecimal("0.1"), difference.negate().decimalValue());
+
+        assertTrue(a.zero().isStrictlyZero());
+        assertEquals(-1, a.compareTo(b));
+        assertTrue(a.add(a).isEqual(b, 0.0));
+
+        // mixed with other quantity implementations.
+        assertEquals(new BigDecimal("0.35"), a.add(Quantities.create(new BigDecimal("0.25"), SI.METRE)).decimalValue());
+        assertEquals(new BigDecimal("0.6"), a.add(Quantities.create(0.5, SI.METRE)).decimalValue().round(new MathContext(16)));
+    }
+
+    @Test
+    public void conversion() {
+        DoubleDoubleQuantityFactory<Length> factory = DoubleDoubleQuantity.factory(Length.class);
+
+        Length km = factory.create(new BigDecimal("1.2345"), SI.METRE.withPrefix(Prefixes.Metric.KILO));
+        Length m  = km.toSystemUnit();
+
+        assertTrue(m instanceof DoubleDoubleQuantity);
+        assertEquals(SI.METRE, m.getUnit());
+        assertEquals(new BigDecimal("1234.5"), m.decimalValue());
+
+        // 1 / 0.3048 can not be represented exactly, the scale is exact to double-double precision.
+        Length ft = factory.create(1, SI.METRE).to(Intl.FOOT);
+        assertTrue(ft instanceof DoubleDoubleQuantity);
+        assertEquals(new BigDecimal("3.280839895013123359580052493438"), ft.decimalValue().round(new MathContext(31)));
+        assertEquals(new BigDecimal("1"), ft.to(SI.METRE).decimalValue().round(new MathContext(30)));
+
+        Temperature celsius = DoubleDoubleQuantity.factory(Temperature.class).create(100, SI.CELSIUS);
+        assertEquals(new BigDecimal("212"), celsius.to(NonSI.FAHRENHEIT).decimalValue().round(new MathContext(30)));
+    }
+
+    @Test
+    public void doubleDoubleProductAndQuotient() {
+        DoubleDoubleQuantityFactory<Length> factory = DoubleDoubleQuantity.factory(Length.class);
+
+        Length a = factory.create(new BigDecimal("1.1"), SI.METRE);
+        Length b = factory.create(new BigDecimal("3"),   SI.METRE);
+
+        // the decimal values are exact to double-double precision.
+        Area area = a.multiply(b, Area.class);
+        assertEquals(0, new BigDecimal("3.3").compareTo(area.decimalValue()));
+        assertEquals(0, new BigDecimal("1.1").compareTo(area.divide(b, Length.class).decimalValue()));
+
+        Quantity<?> reciprocal = b.reciprocal();
+        assertTrue(reciprocal instanceof DoubleDoubleQuantity);
+        assertEquals(new BigDecimal("0.3333333333333333333333333333333"),
+                     reciprocal.decimalValue().round(new MathContext(31)));
+    }
+
+    @Test
+    public void format() {
+        Length l = DoubleDoubleQuantity.factory(Length.class).create(new BigDecimal("0.1"), SI.METRE);
+        assertEquals(Quantities.create(0.1, SI.METRE).toString(), l.toString());
+    }
+}
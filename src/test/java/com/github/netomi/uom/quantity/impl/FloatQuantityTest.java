@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import org.junit.jupiter.api.Test;
+import com.github.netomi.uom.GenericQuantityFactory;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.QuantityFactory;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.quantity.thermodynamic.Temperature;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link FloatQuantity} class.
+ */
+public class FloatQuantityTest extends AbstractQuantityFamilyTest {
+
+    @Override
+    protected Class<?> getFamilyClass() {
+        return FloatQuantity.class;
+    }
+
+    @Override
+    protected <Q extends Quantity<Q>> QuantityFactory<Q> getFactory(Class<Q> quantityClass) {
+        return FloatQuantity.factory(quantityClass);
+    }
+
+    @Override
+    protected <Q extends Quantity<Q>> GenericQuantityFactory<Q> getGenericFactory() {
+        return FloatQuantity.factory();
+    }
+
+    @Test
+    public void singlePrecision() {
+        FloatQuantityFactory<Length> factory = FloatQuantity.factory(Length.class);
+
+        Length l = factory.create(0.1, SI.METRE);
+        assertTrue(l instanceof FloatQuantity);
+        assertEquals(0.1f, ((FloatQuantity<?>) l).floatValue());
+        assertEquals((double) 0.1f, l.doubleValue());
+        assertEquals(new BigDecimal("0.1"), l.decimalValue());
+
+        assertEquals(1.5f, ((FloatQuantity<?>) factory.create(new BigDecimal("1.5"), SI.METRE)).floatValue());
+    }
+
+    @Test
+    public void arithmetic() {
+        FloatQuantityFactory<Length> factory = FloatQuantity.factory(Length.class);
+
+        Length a = factory.create(0.1f, SI.METRE);
+        Length b = factory.create(0.2f, SI.METRE);
+
+        Length sum = a.add(b);
+        assertTrue(sum instanceof FloatQuantity);
+        assertEquals(0.1f + 0.2f, ((FloatQuantity<?>) sum).floatValue());
+
+        Length difference = a.subtract(b);
+        assertEquals(0.1f - 0.2f, ((FloatQuantity<?>) difference).floatValue());
+        assertEquals(0.2f - 0.1f, ((FloatQuantity<?>) difference.negate()).floatValue());
+
+        assertTrue(a.zero().isStrictlyZero());
+        assertEquals(-1, a.compareTo(b));
+        assertTrue(a.add(a).isEqual(b, 0.0));
+    }
+
+    @Test
+    public void conversion() {
+        FloatQuantityFactory<Length> factory = FloatQuantity.factory(Length.class);
+
+        Length km = factory.create(1.2345f, SI.METRE.withPrefix(Prefixes.Metric.KILO));
+        Length m  = km.toSystemUnit();
+
+        assertTrue(m instanceof FloatQuantity);
+        assertEquals(SI.METRE, m.getUnit());
+        assertEquals((float) (1.2345f * 1000.0), ((FloatQuantity<?>) m).floatValue());
+
+        Length ft = factory.create(1, SI.METRE).to(Intl.FOOT);
+        assertTrue(ft instanceof FloatQuantity);
+        assertEquals((float) (1 / 0.3048), ((FloatQuantity<?>) ft).floatValue());
+
+        Temperature celsius = FloatQuantity.factory(Temperature.class).create(100, SI.CELSIUS);
+        assertEquals(212, celsius.to(NonSI.FAHRENHEIT).doubleValue(), 1e-4);
+    }
+
+    @Test
+    public void singlePrecisionQuotient() {
+        FloatQuantityFactory<Length> factory = FloatQuantity.factory(Length.class);
+
+        Quantity<?> ratio = factory.create(2f, SI.METRE).divide(factory.create(1.5f, SI.METRE));
+        assertEquals(2 / 1.5f, ((FloatQuantity<?>) ratio).floatValue());
+
+        Quantity<?> generic = FloatQuantity.<Length>factory().create(0.3, SI.METRE);
+        assertEquals(0.3f, ((FloatQuantity<?>) generic).floatValue());
+    }
+
+    @Test
+    public void format() {
+        Length l = FloatQuantity.factory(Length.class).create(0.1f, SI.METRE);
+        assertEquals(Quantities.create(0.1, SI.METRE).toString(), l.toString());
+    }
+}
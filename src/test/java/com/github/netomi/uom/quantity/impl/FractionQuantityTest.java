@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import org.junit.jupiter.api.Test;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.math.BigFraction;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.mechanical.Area;
+import com.github.netomi.uom.quantity.thermodynamic.Temperature;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.SI;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link FractionQuantity} class.
+ */
+public class FractionQuantityTest {
+
+    @Test
+    public void exactConversionChain() {
+        FractionQuantityFactory<Length> factory = FractionQuantity.factory(Length.class);
+
+        Length inch = factory.create(BigFraction.of(1, 3), Intl.INCH);
+        Length metre = inch.to(Intl.FOOT).to(Intl.MILE).to(SI.METRE);
+
+        // 1/3 in = 0.0254 / 3 m
+        assertEquals(BigFraction.of(254, 30000), ((FractionQuantity<?>) metre).fractionValue());
+
+        Length back = metre.to(Intl.MILE).to(Intl.FOOT).to(Intl.INCH);
+        assertEquals(BigFraction.of(1, 3), ((FractionQuantity<?>) back).fractionValue());
+        assertEquals(0, inch.compareTo(back));
+    }
+
+    @Test
+    public void exactArithmetic() {
+        FractionQuantityFactory<Length> factory = FractionQuantity.factory(Length.class);
+
+        Length a = factory.create(BigFraction.of(1, 3), SI.METRE);
+        Length b = factory.create(BigFraction.of(2, 3), SI.METRE);
+
+        assertEquals(BigFraction.ONE, ((FractionQuantity<?>) a.add(b)).fractionValue());
+        assertEquals(BigFraction.of(-1, 3), ((FractionQuantity<?>) a.subtract(b)).fractionValue());
+        assertEquals(BigFraction.of(-1, 3), ((FractionQuantity<?>) a.negate()).fractionValue());
+        assertTrue(a.subtract(a).isStrictlyZero());
+
+        Area area = a.multiply(b, Area.class);
+        assertTrue(area instanceof FractionQuantity);
+        assertEquals(BigFraction.of(2, 9), ((FractionQuantity<?>) area).fractionValue());
+
+        Quantity<?> ratio = a.divide(b);
+        assertEquals(BigFraction.of(1, 2), ((FractionQuantity<?>) ratio).fractionValue());
+
+        Quantity<?> reciprocal = a.reciprocal();
+        assertEquals(BigFraction.of(3), ((FractionQuantity<?>) reciprocal).fractionValue());
+    }
+
+    @Test
+    public void mixedImplementations() {
+        Length a = FractionQuantity.factory(Length.class).create(BigFraction.of(1, 4), SI.METRE);
+        Length b = DecimalQuantity.factory(Length.class).create(new BigDecimal("0.25"),
+                                                                SI.METRE.withPrefix(Prefixes.Metric.KILO));
+
+        Length sum = a.add(b);
+        assertTrue(sum instanceof FractionQuantity);
+        assertEquals(BigFraction.of(1001, 4), ((FractionQuantity<?>) sum).fractionValue());
+        assertTrue(a.compareTo(b) < 0);
+    }
+
+    @Test
+    public void materialization() {
+        Length a = FractionQuantity.factory(Length.class).create(BigFraction.of(1, 3), SI.METRE);
+
+        assertEquals(1.0 / 3.0, a.doubleValue());
+        assertEquals(new BigDecimal("0.3333333333333333333333333333333333"), a.decimalValue());
+    }
+
+    @Test
+    public void nonLinearConversion() {
+        Temperature t = FractionQuantity.factory(Temperature.class).create(BigFraction.of(1, 2), SI.KELVIN);
+        Temperature c = t.to(SI.CELSIUS);
+
+        assertEquals(new BigDecimal("-272.65"), c.decimalValue().stripTrailingZeros());
+    }
+
+    @Test
+    public void factoryReuse() {
+        assertSame(FractionQuantity.factory(Length.class), FractionQuantity.factory(Length.class));
+
+        Length a = FractionQuantity.factory(Length.class).create(BigFraction.of(1, 2), SI.METRE);
+        Length b = a.multiply(a).divide(a, Length.class);
+        assertEquals(0.5, b.doubleValue(), 0.0);
+    }
+
+    @Test
+    public void genericQuantityType() {
+        Quantity<?> a = FractionQuantity.<Length>factory().create(BigFraction.of(1, 3), SI.METRE);
+        Quantity<?> area = a.multiply(a);
+
+        // known quantity types keep the exact representation.
+        assertTrue(area instanceof Area);
+        assertTrue(area instanceof FractionQuantity);
+        assertEquals(BigFraction.of(1, 9), ((FractionQuantity<?>) area).fractionValue());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.quantity.impl;
+
+import org.junit.jupiter.api.Test;
+import com.github.netomi.uom.GenericQuantityFactory;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.QuantityFactory;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.SI;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LongQuantity} class.
+ */
+public class LongQuantityTest extends AbstractQuantityFamilyTest {
+
+    @Override
+    protected Class<?> getFamilyClass() {
+        return LongQuantity.class;
+    }
+
+    @Override
+    protected <Q extends Quantity<Q>> QuantityFactory<Q> getFactory(Class<Q> quantityClass) {
+        return LongQuantity.factory(2, quantityClass);
+    }
+
+    @Override
+    protected <Q extends Quantity<Q>> GenericQuantityFactory<Q> getGenericFactory() {
+        return LongQuantity.factory(2);
+    }
+
+    @Test
+    public void exactArithmetic() {
+        LongQuantityFactory<Length> factory = LongQuantity.factory(2, Length.class);
+
+        Length a = factory.create(new BigDecimal("0.10"), SI.METRE);
+        Length b = factory.create(new BigDecimal("0.20"), SI.METRE);
+
+        Length sum = a.add(b);
+        assertTrue(sum instanceof LongQuantity);
+        assertEquals(30, ((LongQuantity<?>) sum).getMantissa());
+        assertEquals(new BigDecimal("0.30"), sum.decimalValue());
+
+        Length difference = a.subtract(b);
+        assertEquals(new BigDecimal("-0.10"), difference.decimalValue());
+        assertEquals(new BigDecimal("0.10"), difference.negate().decimalValue());
+    }
+
+    @Test
+    public void rounding() {
+        LongQuantityFactory<Length> factory = LongQuantity.factory(2, Length.class);
+
+        // rounding is done using HALF_EVEN.
+        assertEquals(12, ((LongQuantity<?>) factory.create(new BigDecimal("0.125"), SI.METRE)).getMantissa());
+        assertEquals(14, ((LongQuantity<?>) factory.create(new BigDecimal("0.135"), SI.METRE)).getMantissa());
+
+        // 1 mm = 0.001 m, rounded to 0.00 m.
+        Length l = factory.create(1, SI.METRE.withPrefix(Prefixes.Metric.MILLI));
+        assertTrue(l.to(SI.METRE).isStrictlyZero());
+
+        // 1 m = 1000 mm
+        Length m = factory.create(1, SI.METRE);
+        Length mm = m.to(SI.METRE.withPrefix(Prefixes.Metric.MILLI));
+        assertEquals(new BigDecimal("1000.00"), mm.decimalValue());
+    }
+
+    @Test
+    public void conversion() {
+        LongQuantityFactory<Length> factory = LongQuantity.factory(4, Length.class);
+
+        Length km = factory.create(new BigDecimal("1.2345"), SI.METRE.withPrefix(Prefixes.Metric.KILO));
+        Length m  = km.toSystemUnit();
+
+        assertTrue(m instanceof LongQuantity);
+        assertEquals(new BigDecimal("1234.5000"), m.decimalValue());
+        assertEquals(0, km.compareTo(m));
+        assertTrue(km.isEqual(m, 0.0));
+    }
+
+    @Test
+    public void overflow() {
+        LongQuantityFactory<Length> factory = LongQuantity.factory(0, Length.class);
+
+        Length max = factory.ofMantissa(Long.MAX_VALUE, SI.METRE);
+        Length one = factory.create(1, SI.METRE);
+
+        // the result can not be represented anymore, fall back to a decimal quantity.
+        Length sum = max.add(one);
+        assertTrue(sum instanceof DecimalQuantity);
+        assertEquals(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE), sum.decimalValue());
+
+        Length min = factory.ofMantissa(Long.MIN_VALUE, SI.METRE);
+        assertTrue(min.negate() instanceof DecimalQuantity);
+    }
+
+    @Test
+    public void quotientRounding() {
+        LongQuantityFactory<Length> factory = LongQuantity.factory(3, Length.class);
+
+        Quantity<?> ratio = factory.create(2, SI.METRE).divide(factory.create(3, SI.METRE));
+        assertEquals(0, new BigDecimal("0.667").compareTo(ratio.decimalValue()));
+    }
+
+    @Test
+    public void genericFactoryRounding() {
+        Quantity<?> q = LongQuantity.<Length>factory(2).create(new BigDecimal("1.234"), SI.METRE);
+        assertTrue(q instanceof LongQuantity);
+        assertEquals(new BigDecimal("1.23"), q.decimalValue());
+    }
+
+    @Test
+    public void factoryPerScale() {
+        assertSame(LongQuantity.factory(2), LongQuantity.factory(2));
+        assertNotSame(LongQuantity.factory(2), LongQuantity.factory(3));
+        assertNotSame(LongQuantity.factory(2, Length.class), LongQuantity.factory(3, Length.class));
+    }
+
+    @Test
+    public void invalidScale() {
+        assertThrows(IllegalArgumentException.class, () -> LongQuantity.factory(-1));
+        assertThrows(IllegalArgumentException.class, () -> LongQuantity.factory(19, Length.class));
+    }
+}
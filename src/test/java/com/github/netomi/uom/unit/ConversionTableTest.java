@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.unit;
+
+import com.github.netomi.uom.IncommensurableException;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.unit.systems.AbstractSystemOfUnits;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ConversionTable} class.
+ */
+public class ConversionTableTest {
+
+    @Test
+    public void indices() {
+        ConversionTable table = ConversionTable.of(SI.METRE, Intl.FOOT, SI.SECOND, SI.METRE);
+
+        assertEquals(3, table.size());
+        assertEquals(0, table.indexOf(SI.METRE));
+        assertEquals(1, table.indexOf(Intl.FOOT));
+        assertEquals(2, table.indexOf(SI.SECOND));
+        assertEquals(-1, table.indexOf(Intl.INCH));
+
+        assertSame(Intl.FOOT, table.getUnit(1));
+        assertEquals(3, table.getUnits().size());
+    }
+
+    @Test
+    public void linearConversions() {
+        ConversionTable table = ConversionTable.of(Intl.INSTANCE.getUnits());
+
+        for (int from = 0; from < table.size(); from++) {
+            for (int to = 0; to < table.size(); to++) {
+                Unit<?> fromUnit = table.getUnit(from);
+                Unit<?> toUnit   = table.getUnit(to);
+
+                if (fromUnit.isCompatible(toUnit)) {
+                    assertTrue(table.isConvertible(from, to));
+                    double expected = fromUnit.getConverterToAny(toUnit).convert(12.5);
+                    assertEquals(expected, table.convert(from, to, 12.5), Math.abs(expected) * 1e-14);
+                } else {
+                    assertFalse(table.isConvertible(from, to));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void affineConversions() {
+        ConversionTable table = ConversionTable.of(SI.KELVIN, SI.CELSIUS, NonSI.FAHRENHEIT);
+
+        int kelvin     = table.indexOf(SI.KELVIN);
+        int celsius    = table.indexOf(SI.CELSIUS);
+        int fahrenheit = table.indexOf(NonSI.FAHRENHEIT);
+
+        assertEquals(273.15, table.convert(celsius, kelvin, 0),      1e-12);
+        assertEquals(0,      table.convert(kelvin, celsius, 273.15), 1e-12);
+        assertEquals(212,    table.convert(celsius, fahrenheit, 100), 1e-12);
+        assertEquals(-40,    table.convert(fahrenheit, celsius, -40), 1e-12);
+        assertEquals(0,      table.convert(fahrenheit, fahrenheit, 0));
+    }
+
+    @Test
+    public void nonAffineConversions() {
+        Unit<?> squareCelsius    = SI.CELSIUS.pow(2);
+        Unit<?> squareFahrenheit = NonSI.FAHRENHEIT.pow(2);
+
+        ConversionTable table = ConversionTable.of(squareCelsius, squareFahrenheit);
+
+        assertTrue(table.isConvertible(0, 1));
+        for (double value : new double[] { 0, 1, 100, 1000 }) {
+            double expected = squareCelsius.getConverterToAny(squareFahrenheit).convert(value);
+            assertEquals(expected, table.convert(0, 1, value), Math.abs(expected) * 1e-14);
+        }
+    }
+
+    @Test
+    public void bulkConversions() {
+        ConversionTable table = ConversionTable.of(SI.METRE, Intl.FOOT, Intl.INCH);
+
+        double[] values = { 1, 2, 3 };
+        double[] result = new double[3];
+
+        table.convert(1, 0, values, result);
+        assertArrayEquals(new double[] { 0.3048, 0.6096, 0.9144 }, result, 1e-12);
+
+        table.convert(new int[] { 0, 1, 2 }, 2, values, result);
+        assertArrayEquals(new double[] { 1 / 0.0254, 24, 3 }, result, 1e-12);
+
+        // convert in place.
+        table.convert(0, 2, values, values);
+        assertArrayEquals(new double[] { 1 / 0.0254, 2 / 0.0254, 3 / 0.0254 }, values, 1e-12);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> table.convert(0, 1, new double[2], new double[1]));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.convert(new int[1], 1, new double[2], new double[2]));
+    }
+
+    @Test
+    public void invalidConversions() {
+        ConversionTable table = ConversionTable.of(SI.METRE, SI.SECOND);
+
+        assertThrows(IncommensurableException.class,  () -> table.convert(0, 1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.convert(0, 2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.convert(-1, 0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.isConvertible(2, 0));
+    }
+
+    @Test
+    public void systemOfUnits() {
+        ConversionTable table = Intl.INSTANCE.getConversionTable();
+
+        assertSame(table, Intl.INSTANCE.getConversionTable());
+
+        int foot = table.indexOf(Intl.FOOT);
+        int inch = table.indexOf(Intl.INCH);
+        int mile = table.indexOf(Intl.MILE);
+
+        assertEquals(12,   table.convert(foot, inch, 1), 1e-12);
+        assertEquals(5280, table.convert(mile, foot, 1), 1e-9);
+    }
+
+    @Test
+    public void systemOfUnitsWithAddedUnit() {
+        TestSystem system = new TestSystem();
+        system.addUnitForQuantity(SI.METRE, Length.class);
+
+        ConversionTable table = system.getConversionTable();
+        assertEquals(1, table.size());
+
+        system.addUnitForQuantity(Intl.FOOT, Length.class);
+
+        ConversionTable updatedTable = system.getConversionTable();
+        assertNotSame(table, updatedTable);
+        assertEquals(2, updatedTable.size());
+        assertSame(updatedTable, system.getConversionTable());
+    }
+
+    private static final class TestSystem extends AbstractSystemOfUnits {
+        TestSystem() {
+            super("test");
+        }
+
+        @Override
+        protected <Q extends Quantity<Q>> Unit<Q> addUnitForQuantity(Unit<?> unit, Class<Q> quantityClass) {
+            return super.addUnitForQuantity(unit, quantityClass);
+        }
+    }
+}
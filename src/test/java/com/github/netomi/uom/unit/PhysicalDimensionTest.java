@@ -114,6 +114,22 @@ public class PhysicalDimensionTest {
         assertSame(Dimensions.NONE, combined.divide(money).divide(length));
 
         assertEquals(money, combined.divide(length));
+
+        Dimension divided = length.divide(money);
+        assertEquals("L,MONEY⁻¹", divided.toString());
+        assertSame(length, divided.multiply(money));
+    }
+
+    @Test
+    public void exponentOutOfRange() {
+        assertEquals(Fraction.of(255), Dimensions.LENGTH.pow(255).getBaseDimensions().get(Dimensions.LENGTH));
+        assertEquals(Fraction.of(-256), Dimensions.LENGTH.pow(-256).getBaseDimensions().get(Dimensions.LENGTH));
+        assertEquals(Fraction.of(1, 512), Dimensions.LENGTH.root(512).getBaseDimensions().get(Dimensions.LENGTH));
+
+        assertThrows(ArithmeticException.class, () -> Dimensions.LENGTH.pow(256));
+        assertThrows(ArithmeticException.class, () -> Dimensions.LENGTH.pow(255).multiply(Dimensions.LENGTH));
+        assertThrows(ArithmeticException.class, () -> Dimensions.LENGTH.root(513));
+        assertThrows(ArithmeticException.class, () -> Dimensions.LENGTH.root(512).multiply(Dimensions.LENGTH.root(511)));
     }
 
     @Test
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.unit;
+
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.math.Fraction;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ProductUnit} class.
+ */
+public class ProductUnitTest {
+
+    @Test
+    public void canonicalOrder() {
+        Unit<?> ms = SI.METRE.multiply(SI.SECOND);
+        Unit<?> sm = SI.SECOND.multiply(SI.METRE);
+
+        assertSame(ms, sm);
+        assertEquals(ms.getSymbol(), sm.getSymbol());
+
+        Unit<?> product1 = Intl.FOOT.multiply(SI.KELVIN).divide(NonSI.HOUR);
+        Unit<?> product2 = SI.KELVIN.divide(NonSI.HOUR).multiply(Intl.FOOT);
+
+        assertSame(product1, product2);
+        assertEquals(product1.getSymbol(), product2.getSymbol());
+        assertEquals(product1.getBaseUnits(), product2.getBaseUnits());
+    }
+
+    @Test
+    public void symbolOrder() {
+        // the symbol lists the elements ordered by their symbol,
+        // independent of the order in which they were combined.
+        assertEquals(SI.KILOGRAM.multiply(SI.METRE).getSymbol(),
+                     SI.METRE.multiply(SI.KILOGRAM).getSymbol());
+        assertTrue(SI.METRE.multiply(SI.KILOGRAM).getSymbol().startsWith("kg"));
+    }
+
+    @Test
+    public void elementOrder() {
+        // the elements are ordered by the symbol of their units.
+        UnitElement[] elements = SI.SECOND.multiply(SI.AMPERE).getUnitElements();
+        assertEquals(2, elements.length);
+        assertSame(SI.AMPERE, elements[0].getUnit());
+        assertSame(SI.SECOND, elements[1].getUnit());
+
+        elements = SI.AMPERE.multiply(SI.SECOND).getUnitElements();
+        assertSame(SI.AMPERE, elements[0].getUnit());
+        assertSame(SI.SECOND, elements[1].getUnit());
+    }
+
+    @Test
+    public void cancellation() {
+        assertSame(SI.METRE,  SI.METRE.multiply(SI.SECOND).divide(SI.SECOND));
+        assertSame(Units.ONE, SI.METRE.divide(SI.METRE));
+        assertSame(Units.ONE, SI.METRE.pow(3).multiply(SI.METRE.pow(-3)));
+
+        Unit<?> unit = SI.METRE.pow(3).root(2).multiply(SI.METRE.root(2));
+        assertEquals(SI.METRE.pow(2), unit);
+    }
+
+    @Test
+    public void fractionalExponents() {
+        Unit<?> unit = SI.METRE.pow(3).root(2);
+
+        UnitElement[] elements = unit.getUnitElements();
+        assertEquals(1, elements.length);
+        assertSame(SI.METRE, elements[0].getUnit());
+        assertEquals(Fraction.of(3, 2), elements[0].getFraction());
+    }
+
+    @Test
+    public void manyElements() {
+        Unit<?>[] units = {
+            SI.METRE, SI.SECOND, SI.KELVIN, SI.KILOGRAM, SI.AMPERE, SI.MOLE, SI.CANDELA,
+            Intl.FOOT, Intl.INCH, Intl.MILE, Intl.POUND, NonSI.HOUR
+        };
+
+        Unit<?> product1 = Units.ONE;
+        Unit<?> product2 = Units.ONE;
+        for (int i = 0; i < units.length; i++) {
+            product1 = product1.multiply(units[i]);
+            product2 = product2.multiply(units[units.length - i - 1]);
+        }
+
+        assertSame(product1, product2);
+        assertEquals(units.length, product1.getUnitElements().length);
+
+        for (Unit<?> unit : units) {
+            product1 = product1.divide(unit);
+        }
+        assertSame(Units.ONE, product1);
+    }
+
+    @Test
+    public void cachedUnitElements() {
+        assertSame(SI.METRE.getUnitElements(),  SI.METRE.getUnitElements());
+        assertSame(Intl.FOOT.getUnitElements(), Intl.FOOT.getUnitElements());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.unit;
+
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.quantity.Time;
+import com.github.netomi.uom.quantity.kinematic.Speed;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for the lazily initialized state of units when accessed concurrently.
+ */
+public class UnitConcurrencyTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Test
+    public void concurrentSystemUnit() throws Exception {
+        int threads = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(threads);
+
+            List<Future<Unit<?>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    Unit<?> unit = SI.METRE.withPrefix(Prefixes.Metric.KILO).divide(NonSI.HOUR);
+                    barrier.await();
+                    assertFalse(unit.isSystemUnit());
+                    return unit.getSystemUnit();
+                }));
+            }
+
+            for (Future<Unit<?>> result : results) {
+                assertEquals(SI.METER_PER_SECOND, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void noPinningOfVirtualThreads() throws Exception {
+        // virtual threads are only available on JDK 21+, access them via reflection.
+        // JDK 19 and 20 already have the method, but as a preview API that fails
+        // unless preview features are enabled.
+        assumeTrue(javaFeatureVersion() >= 21, "virtual threads not supported");
+        Method startVirtualThread = Thread.class.getMethod("startVirtualThread", Runnable.class);
+
+        Path recordingFile = Files.createTempFile("uom-pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO);
+            recording.start();
+
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                threads.add((Thread) startVirtualThread.invoke(null, (Runnable) UnitConcurrencyTest::quantityOperations));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            recording.stop();
+            recording.dump(recordingFile);
+
+            for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+                assertNotEquals(PINNED_EVENT, event.getEventType().getName(), () -> "pinned: " + event);
+            }
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+
+    private static int javaFeatureVersion() {
+        // "1.8" up to JDK 8, the feature version afterwards.
+        String version = System.getProperty("java.specification.version");
+        return version.startsWith("1.") ?
+                Integer.parseInt(version.substring(2)) :
+                Integer.parseInt(version);
+    }
+
+    private static void quantityOperations() {
+        for (int i = 0; i < 100; i++) {
+            Unit<Length> kilometre = SI.METRE.withPrefix(Prefixes.Metric.KILO);
+
+            Length distance = Quantities.create(i, kilometre);
+            Time   time     = Quantities.create(2, NonSI.HOUR);
+
+            Speed speed = distance.divide(time, Speed.class);
+
+            speed.to(SI.METER_PER_SECOND);
+            speed.getUnit().getSystemUnit();
+            distance.to(SI.METRE);
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.unit;
+
+import org.junit.jupiter.api.Test;
+import com.github.netomi.uom.Unit;
+import com.github.netomi.uom.unit.systems.SI;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link UnitRegistry} class.
+ */
+public class UnitRegistryTest {
+
+    @Test
+    public void deferredLoadingWithIndex() {
+        Map<String, String> index = new HashMap<>();
+        index.put("min", "nonsi.units");
+        index.put("dyn", "cgs.units");
+
+        UnitRegistry registry = siRegistry(index);
+
+        assertTrue(registry.isDeferred("nonsi.units"));
+        assertTrue(registry.isDeferred("cgs.units"));
+        assertFalse(registry.isRegistered("min"));
+
+        Unit<?> minute = registry.get("min");
+        assertNotNull(minute);
+        assertEquals(SI.SECOND.multiply(60), minute);
+
+        // only the file containing the unit shall be loaded.
+        assertFalse(registry.isDeferred("nonsi.units"));
+        assertTrue(registry.isDeferred("cgs.units"));
+
+        // units from the same file are available right away.
+        assertTrue(registry.isRegistered("h"));
+    }
+
+    @Test
+    public void deferredLoadingWithDependencies() {
+        Map<String, String> index = new HashMap<>();
+        index.put("h",  "nonsi.units");
+        index.put("kt", "imperial.units");
+
+        UnitRegistry registry = siRegistry(index);
+
+        // knots are defined in terms of hours, thus the nonsi definitions
+        // have to be loaded as well.
+        assertNotNull(registry.get("kt"));
+        assertFalse(registry.isDeferred("imperial.units"));
+        assertFalse(registry.isDeferred("nonsi.units"));
+    }
+
+    @Test
+    public void unknownSymbol() {
+        Map<String, String> index = new HashMap<>();
+        index.put("min", "nonsi.units");
+
+        UnitRegistry registry = siRegistry(index);
+
+        assertNull(registry.get("unknown"));
+        assertTrue(registry.isDeferred("nonsi.units"));
+    }
+
+    @Test
+    public void deferredLoadingWithoutIndex() {
+        UnitRegistry registry = siRegistry(Collections.emptyMap());
+
+        assertNotNull(registry.get("dyn"));
+        assertFalse(registry.isDeferred("nonsi.units"));
+        assertFalse(registry.isDeferred("cgs.units"));
+        assertFalse(registry.isDeferred("imperial.units"));
+    }
+
+    private static UnitRegistry siRegistry(Map<String, String> index) {
+        UnitRegistry registry = new UnitRegistry(index);
+        registry.addUnits(UnitDefinitionParser.parse(Units.getUnitSystem().getDefinitionFile(), registry));
+        return registry;
+    }
+}
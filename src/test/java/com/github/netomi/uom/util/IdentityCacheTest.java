@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link IdentityCache} class.
+ */
+public class IdentityCacheTest {
+
+    @Test
+    public void identityKeys() {
+        IdentityCache<String, Integer> cache = new IdentityCache<>(2);
+        AtomicInteger calls = new AtomicInteger();
+
+        String key      = "key";
+        String equalKey = new String(key);
+
+        assertNull(cache.get(key));
+        assertEquals(1, cache.computeIfAbsent(key, k -> calls.incrementAndGet()));
+        assertEquals(1, cache.computeIfAbsent(key, k -> calls.incrementAndGet()));
+
+        // equal but not identical keys are not found.
+        assertNull(cache.get(equalKey));
+        assertEquals(2, cache.computeIfAbsent(equalKey, k -> calls.incrementAndGet()));
+        assertEquals(1, cache.get(key));
+    }
+
+    @Test
+    public void eviction() {
+        IdentityCache<Object, Integer> cache = new IdentityCache<>(2);
+
+        Object a = new Object();
+        Object b = new Object();
+        Object c = new Object();
+
+        cache.computeIfAbsent(a, k -> 1);
+        cache.computeIfAbsent(b, k -> 2);
+        cache.computeIfAbsent(c, k -> 3);
+
+        // the oldest entry is evicted first.
+        assertNull(cache.get(a));
+        assertEquals(2, cache.get(b));
+        assertEquals(3, cache.get(c));
+
+        assertThrows(IllegalArgumentException.class, () -> new IdentityCache<>(0));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.netomi.uom.util.ReferenceCache.Strength;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ReferenceCache} class.
+ */
+public class ReferenceCacheTest {
+
+    @Test
+    public void getAndPut() {
+        ReferenceCache<String, Integer> cache = ReferenceCache.of(Strength.STRONG, Strength.STRONG);
+
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.putIfAbsent("a", 1));
+        assertEquals(1, cache.putIfAbsent("a", 2));
+        assertEquals(1, cache.get("a"));
+
+        cache.put("a", 3);
+        assertEquals(3, cache.get("a"));
+        assertEquals(1, cache.size());
+
+        assertThrows(NullPointerException.class, () -> cache.get(null));
+        assertThrows(NullPointerException.class, () -> cache.put("b", null));
+    }
+
+    @Test
+    public void computeIfAbsent() {
+        ReferenceCache<String, String> cache = ReferenceCache.of(Strength.WEAK, Strength.SOFT);
+        AtomicInteger calls = new AtomicInteger();
+
+        // use a key that is not interned to allow equal but not identical lookups.
+        String key = new String("key");
+
+        String value = cache.computeIfAbsent(key, k -> k + calls.incrementAndGet());
+        assertEquals("key1", value);
+        assertSame(value, cache.computeIfAbsent(new String("key"), k -> k + calls.incrementAndGet()));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void canonicalization() {
+        ReferenceCache<String, Object> cache = ReferenceCache.of(Strength.STRONG, Strength.WEAK);
+
+        Object first  = new Object();
+        Object second = new Object();
+
+        assertSame(first, cache.putIfAbsent("a", first));
+        assertSame(first, cache.putIfAbsent("a", second));
+        assertSame(first, cache.get("a"));
+    }
+
+    @Test
+    public void reentrantLookup() {
+        ReferenceCache<Object, String> cache = ReferenceCache.of(Strength.WEAK, Strength.STRONG);
+
+        Object nested = new Object();
+        cache.put(nested, "nested");
+
+        // the key performs a lookup itself while being compared.
+        ReentrantKey key = new ReentrantKey("a", () -> assertEquals("nested", cache.get(nested)));
+        cache.put(key, "a");
+
+        ReentrantKey lookup = new ReentrantKey("a", () -> assertEquals("nested", cache.get(nested)));
+        assertEquals("a", cache.get(lookup));
+        assertEquals(1, lookup.comparisons);
+        assertNull(cache.get(new ReentrantKey("b", () -> {})));
+    }
+
+    @Test
+    public void collectedValuesArePurged() throws InterruptedException {
+        ReferenceCache<String, Object> cache = ReferenceCache.of(Strength.STRONG, Strength.WEAK);
+
+        Object value = new Object();
+        cache.put("a", value);
+        assertSame(value, cache.get("a"));
+
+        // remove the strong reference.
+        value = null;
+
+        // let the GC do its work.
+        System.gc();
+        TimeUnit.SECONDS.sleep(1);
+        System.gc();
+
+        assertNull(cache.get("a"));
+
+        // collected entries are removed during the next modification.
+        Object other = new Object();
+        cache.put("b", other);
+        assertEquals(1, cache.size());
+
+        // a collected value can be replaced.
+        assertSame(other, cache.get("b"));
+    }
+
+    @Test
+    public void collectedKeysArePurged() throws InterruptedException {
+        ReferenceCache<Object, String> cache = ReferenceCache.of(Strength.WEAK, Strength.STRONG);
+
+        Object key = new Object();
+        cache.put(key, "a");
+        assertEquals("a", cache.get(key));
+
+        // remove the strong reference.
+        key = null;
+
+        // let the GC do its work.
+        System.gc();
+        TimeUnit.SECONDS.sleep(1);
+        System.gc();
+
+        cache.purge();
+        assertEquals(0, cache.size());
+    }
+
+    private static final class ReentrantKey {
+        private final String   name;
+        private final Runnable onEquals;
+        int                    comparisons;
+
+        ReentrantKey(String name, Runnable onEquals) {
+            this.name     = name;
+            this.onEquals = onEquals;
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ReentrantKey)) return false;
+
+            comparisons++;
+            onEquals.run();
+            return name.equals(((ReentrantKey) o).name);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Unit tests for the {@link StartupReport} class.
+ * <p>
+ * As the report is enabled when the class is initialized, the library
+ * classes are loaded again by an isolating class loader after the system
+ * property has been set accordingly.
+ */
+public class StartupReportTest {
+
+    private static final String QUANTITIES = "com.github.netomi.uom.quantity.Quantities";
+
+    @Test
+    public void disabled() {
+        assumeFalse(Boolean.getBoolean(StartupReport.PROPERTY));
+
+        assertFalse(StartupReport.isEnabled());
+        try (StartupReport.Phase phase = StartupReport.begin("test")) {
+            assertNotNull(phase);
+        }
+        assertTrue(StartupReport.getEntries().isEmpty());
+    }
+
+    @Test
+    public void nothingRecordedWhenDisabled() throws Exception {
+        Class<?> report = loadIsolated(false);
+
+        assertEquals(false, report.getMethod("isEnabled").invoke(null));
+        assertTrue(entries(report).isEmpty());
+    }
+
+    @Test
+    public void libraryPhases() throws Exception {
+        Class<?> report = loadIsolated(true);
+
+        assertEquals(true, report.getMethod("isEnabled").invoke(null));
+
+        List<EntryValues> entries = entries(report);
+        assertTrue(entries.stream().anyMatch(e -> e.name.startsWith("Units: parse ")));
+        assertTrue(entries.stream().anyMatch(e -> e.name.equals("Quantities: registerDefaultFactories")));
+        assertTrue(entries.stream().anyMatch(e -> e.name.equals("Quantities: registerSystemUnits")));
+
+        for (EntryValues entry : entries) {
+            assertTrue(entry.count > 0,           entry.name);
+            assertTrue(entry.elapsedNanos >= 0,   entry.name);
+            assertTrue(entry.allocatedBytes >= 0, entry.name);
+        }
+    }
+
+    @Test
+    public void recordedPhase() throws Exception {
+        Class<?> report = loadIsolated(true);
+        Method   record = report.getMethod("record", String.class, Runnable.class);
+
+        boolean[] executed = new boolean[1];
+        record.invoke(null, "action", (Runnable) () -> executed[0] = true);
+
+        assertTrue(executed[0]);
+        assertEquals(1, find(entries(report), "action").count);
+    }
+
+    @Test
+    public void nestedPhases() throws Exception {
+        Class<?> report = loadIsolated(true);
+        Method   begin  = report.getMethod("begin", String.class);
+
+        for (int i = 0; i < 2; i++) {
+            try (AutoCloseable outer = (AutoCloseable) begin.invoke(null, "outer")) {
+                try (AutoCloseable inner = (AutoCloseable) begin.invoke(null, "inner")) {
+                    assertNotNull(inner);
+                }
+            }
+        }
+
+        EntryValues outer = find(entries(report), "outer");
+        EntryValues inner = find(entries(report), "inner");
+
+        assertEquals(0, outer.depth);
+        assertEquals(1, inner.depth);
+        assertEquals(2, outer.count);
+        assertEquals(2, inner.count);
+        assertTrue(outer.elapsedNanos >= inner.elapsedNanos);
+        assertTrue(outer.allocatedBytes >= inner.allocatedBytes);
+    }
+
+    /**
+     * Loads and initializes the library with the startup report enabled or
+     * disabled, and returns the {@link StartupReport} class of that instance.
+     */
+    private static Class<?> loadIsolated(boolean enabled) throws ReflectiveOperationException {
+        String previous = System.getProperty(StartupReport.PROPERTY);
+        System.setProperty(StartupReport.PROPERTY, Boolean.toString(enabled));
+        try {
+            ClassLoader loader = new IsolatingClassLoader(StartupReportTest.class.getClassLoader());
+            Class.forName(QUANTITIES, true, loader);
+            Class<?> report = Class.forName(StartupReport.class.getName(), true, loader);
+
+            // do not print the report of the isolated instance when the tests are finished.
+            Method removeShutdownHook = report.getDeclaredMethod("removeShutdownHook");
+            removeShutdownHook.setAccessible(true);
+            removeShutdownHook.invoke(null);
+
+            return report;
+        } finally {
+            if (previous == null) {
+                System.clearProperty(StartupReport.PROPERTY);
+            } else {
+                System.setProperty(StartupReport.PROPERTY, previous);
+            }
+        }
+    }
+
+    private static List<EntryValues> entries(Class<?> report) throws Exception {
+        List<EntryValues> result = new ArrayList<>();
+        for (Object entry : (List<?>) report.getMethod("getEntries").invoke(null)) {
+            result.add(new EntryValues(entry));
+        }
+        return result;
+    }
+
+    private static EntryValues find(List<EntryValues> entries, String name) {
+        return entries.stream()
+                      .filter(e -> e.name.equals(name))
+                      .findFirst()
+                      .orElseThrow(() -> new AssertionError("no entry for phase " + name));
+    }
+
+    /**
+     * The values of a {@link StartupReport.Entry} loaded by another class loader.
+     */
+    private static final class EntryValues {
+        final String name;
+        final int    depth;
+        final int    count;
+        final long   elapsedNanos;
+        final long   allocatedBytes;
+
+        EntryValues(Object entry) throws Exception {
+            Class<?> entryClass = entry.getClass();
+
+            this.name           = (String) entryClass.getMethod("getName").invoke(entry);
+            this.depth          = (Integer) entryClass.getMethod("getDepth").invoke(entry);
+            this.count          = (Integer) entryClass.getMethod("getCount").invoke(entry);
+            this.elapsedNanos   = (Long) entryClass.getMethod("getElapsedNanos").invoke(entry);
+            this.allocatedBytes = (Long) entryClass.getMethod("getAllocatedBytes").invoke(entry);
+        }
+    }
+
+    /**
+     * A class loader that defines the classes of the library itself again,
+     * all other classes and resources are delegated to the parent.
+     */
+    private static final class IsolatingClassLoader extends ClassLoader {
+        private static final String PACKAGE_PREFIX = "com.github.netomi.uom.";
+
+        IsolatingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PACKAGE_PREFIX)) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    byte[] bytes = readClass(name);
+                    clazz = defineClass(name, bytes, 0, bytes.length);
+                }
+                if (resolve) {
+                    resolveClass(clazz);
+                }
+                return clazz;
+            }
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            try (InputStream is = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (is == null) {
+                    throw new ClassNotFoundException(name);
+                }
+
+                ByteArrayOutputStream os     = new ByteArrayOutputStream();
+                byte[]                buffer = new byte[8192];
+                int                   read;
+                while ((read = is.read(buffer)) != -1) {
+                    os.write(buffer, 0, read);
+                }
+                return os.toByteArray();
+            } catch (IOException ex) {
+                throw new ClassNotFoundException(name, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2020 Thomas Neidhart
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.netomi.uom.flow;
+
+import org.junit.jupiter.api.Test;
+import com.github.netomi.uom.Quantity;
+import com.github.netomi.uom.quantity.Length;
+import com.github.netomi.uom.quantity.Mass;
+import com.github.netomi.uom.quantity.Quantities;
+import com.github.netomi.uom.quantity.impl.DecimalQuantity;
+import com.github.netomi.uom.unit.Prefixes;
+import com.github.netomi.uom.unit.systems.Intl;
+import com.github.netomi.uom.unit.systems.NonSI;
+import com.github.netomi.uom.unit.systems.SI;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link QuantityProcessor} class.
+ */
+public class QuantityProcessorTest {
+
+    @Test
+    public void normalizeAndBatch() {
+        QuantityProcessor processor = QuantityProcessor.builder()
+                                                       .normalize(Length.class, SI.METRE)
+                                                       .normalize(Mass.class,   SI.KILOGRAM)
+                                                       .batchSize(3)
+                                                       .build();
+
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        TestSubscription upstream = new TestSubscription();
+        processor.onSubscribe(upstream);
+        assertEquals(Long.MAX_VALUE, upstream.requested);
+
+        processor.onNext(Quantities.create(1.5, SI.METRE.withPrefix(Prefixes.Metric.KILO)));
+        processor.onNext(Quantities.create(1, Intl.FOOT));
+        processor.onNext(Quantities.create(250, SI.KILOGRAM.withPrefix(Prefixes.Metric.MILLI)));
+        processor.onNext(Quantities.create(2, SI.METRE));
+        processor.onComplete();
+
+        assertEquals(2, subscriber.batches.size());
+        assertEquals(3, subscriber.batches.get(0).size());
+        assertEquals(1, subscriber.batches.get(1).size());
+        assertTrue(subscriber.completed);
+
+        List<Quantity<?>> batch = subscriber.batches.get(0);
+        assertEquals(SI.METRE,    batch.get(0).getUnit());
+        assertEquals(1500,        batch.get(0).doubleValue(), 1e-9);
+        assertEquals(SI.METRE,    batch.get(1).getUnit());
+        assertEquals(0.3048,      batch.get(1).doubleValue(), 1e-12);
+        assertEquals(SI.KILOGRAM, batch.get(2).getUnit());
+        assertEquals(0.25,        batch.get(2).doubleValue(), 1e-12);
+        assertTrue(batch.get(0) instanceof Length);
+    }
+
+    @Test
+    public void passThrough() {
+        QuantityProcessor processor = QuantityProcessor.builder()
+                                                       .normalize(Length.class, SI.METRE)
+                                                       .batchSize(1)
+                                                       .build();
+
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        processor.onSubscribe(new TestSubscription());
+
+        Quantity<?> time   = Quantities.create(5, NonSI.MINUTE);
+        Quantity<?> length = Quantities.create(5, SI.METRE);
+        processor.onNext(time);
+        processor.onNext(length);
+
+        assertSame(time,   subscriber.batches.get(0).get(0));
+        assertSame(length, subscriber.batches.get(1).get(0));
+    }
+
+    @Test
+    public void retainPrecision() {
+        QuantityProcessor processor = QuantityProcessor.builder()
+                                                       .normalize(Length.class, SI.METRE)
+                                                       .batchSize(1)
+                                                       .build();
+
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        processor.onSubscribe(new TestSubscription());
+
+        processor.onNext(DecimalQuantity.factory(Length.class).create(new BigDecimal("0.1"), Intl.FOOT));
+
+        Quantity<?> result = subscriber.batches.get(0).get(0);
+        assertTrue(result instanceof DecimalQuantity);
+        assertEquals(0, new BigDecimal("0.03048").compareTo(result.decimalValue()));
+    }
+
+    @Test
+    public void backpressure() {
+        QuantityProcessor processor = QuantityProcessor.builder()
+                                                       .normalize(Length.class, SI.METRE)
+                                                       .batchSize(2)
+                                                       .build();
+
+        TestSubscription upstream = new TestSubscription();
+        processor.onSubscribe(upstream);
+
+        TestSubscriber subscriber = new TestSubscriber(1);
+        processor.subscribe(subscriber);
+
+        // one batch requested downstream translates to a full batch upstream.
+        assertEquals(2, upstream.requested);
+
+        processor.onNext(Quantities.create(1, SI.METRE));
+        processor.onNext(Quantities.create(2, SI.METRE));
+        assertEquals(1, subscriber.batches.size());
+
+        processor.onNext(Quantities.create(3, SI.METRE));
+        processor.onNext(Quantities.create(4, SI.METRE));
+        assertEquals(1, subscriber.batches.size());
+
+        subscriber.subscription.request(1);
+        assertEquals(2, subscriber.batches.size());
+        assertEquals(4, upstream.requested);
+
+        processor.onComplete();
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void deferredUpstream() {
+        QuantityProcessor processor = QuantityProcessor.builder().batchSize(10).build();
+
+        TestSubscriber subscriber = new TestSubscriber(3);
+        processor.subscribe(subscriber);
+
+        TestSubscription upstream = new TestSubscription();
+        processor.onSubscribe(upstream);
+        assertEquals(30, upstream.requested);
+
+        TestSubscription other = new TestSubscription();
+        processor.onSubscribe(other);
+        assertTrue(other.cancelled);
+    }
+
+    @Test
+    public void cancel() {
+        QuantityProcessor processor = QuantityProcessor.builder().batchSize(1).build();
+
+        TestSubscription upstream = new TestSubscription();
+        processor.onSubscribe(upstream);
+
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        subscriber.subscription.cancel();
+        assertTrue(upstream.cancelled);
+
+        processor.onNext(Quantities.create(1, SI.METRE));
+        processor.onComplete();
+        assertTrue(subscriber.batches.isEmpty());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void errors() {
+        QuantityProcessor processor = QuantityProcessor.builder().batchSize(2).build();
+
+        TestSubscription upstream = new TestSubscription();
+        processor.onSubscribe(upstream);
+
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        processor.onNext(Quantities.create(1, SI.METRE));
+        processor.onNext(Quantities.create(2, SI.METRE));
+        processor.onError(new IllegalStateException("failure"));
+
+        assertEquals(1, subscriber.batches.size());
+        assertTrue(subscriber.error instanceof IllegalStateException);
+
+        // non-positive requests are signalled as errors.
+        QuantityProcessor other = QuantityProcessor.builder().build();
+        other.onSubscribe(upstream = new TestSubscription());
+        subscriber = new TestSubscriber(0);
+        other.subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        assertTrue(upstream.cancelled);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+
+        // only a single subscriber is supported.
+        TestSubscriber second = new TestSubscriber(1);
+        processor.subscribe(second);
+        assertTrue(second.error instanceof IllegalStateException);
+
+        assertThrows(IllegalArgumentException.class, () -> QuantityProcessor.builder().batchSize(0));
+    }
+
+    @Test
+    public void invalidRequest() {
+        QuantityProcessor processor = QuantityProcessor.builder().batchSize(1).build();
+
+        TestSubscription upstream = new TestSubscription();
+        processor.onSubscribe(upstream);
+
+        TestSubscriber subscriber = new TestSubscriber(0);
+        processor.subscribe(subscriber);
+
+        processor.onNext(Quantities.create(1, SI.METRE));
+        processor.onNext(Quantities.create(2, SI.METRE));
+        processor.onComplete();
+
+        // the error is signalled immediately, although batches are pending
+        // and there is no outstanding demand.
+        subscriber.subscription.request(-1);
+        assertTrue(upstream.cancelled);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertFalse(subscriber.completed);
+
+        // the pending batches have been discarded.
+        subscriber.subscription.request(2);
+        assertTrue(subscriber.batches.isEmpty());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void submissionPublisher() throws InterruptedException {
+        QuantityProcessor processor = QuantityProcessor.builder()
+                                                       .normalize(Length.class, SI.METRE)
+                                                       .batchSize(16)
+                                                       .build();
+
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+
+        try (SubmissionPublisher<Quantity<?>> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int i = 0; i < 100; i++) {
+                publisher.submit(Quantities.create(i, Intl.FOOT));
+            }
+        }
+
+        synchronized (subscriber) {
+            long deadline = System.currentTimeMillis() + 10000;
+            while (!subscriber.completed && System.currentTimeMillis() < deadline) {
+                subscriber.wait(100);
+            }
+        }
+
+        assertTrue(subscriber.completed);
+        assertEquals(7, subscriber.batches.size());
+
+        double sum = 0;
+        for (List<Quantity<?>> batch : subscriber.batches) {
+            for (Quantity<?> quantity : batch) {
+                assertEquals(SI.METRE, quantity.getUnit());
+                sum += quantity.doubleValue();
+            }
+        }
+        assertEquals(4950 * 0.3048, sum, 1e-9);
+    }
+
+    private static final class TestSubscription implements Flow.Subscription {
+        long    requested;
+        boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static final class TestSubscriber implements Flow.Subscriber<List<Quantity<?>>> {
+        private final long initialRequest;
+
+        final List<List<Quantity<?>>> batches = new ArrayList<>();
+
+        Flow.Subscription subscription;
+        Throwable         error;
+        boolean           completed;
+
+        TestSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public synchronized void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public synchronized void onNext(List<Quantity<?>> batch) {
+            batches.add(batch);
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            error = throwable;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            completed = true;
+            notifyAll();
+        }
+    }
+}